@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.awsxray.propagator;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AwsXrayPropagatorBenchmark {
+
+  private static final TextMapGetter<String> GETTER =
+      new TextMapGetter<String>() {
+        @Override
+        public Iterable<String> keys(String carrier) {
+          return Collections.singletonList(AwsXrayPropagator.TRACE_HEADER_KEY);
+        }
+
+        @Override
+        public String get(@Nullable String carrier, String key) {
+          return carrier;
+        }
+      };
+
+  private static final TextMapSetter<Map<String, String>> SETTER = Map::put;
+
+  /** Typical headers: as sent by the X-Ray SDKs, by a load balancer, and with a lineage. */
+  @Param({
+    "Root=1-8a3c60f7-d188f8fa79d48a391a778fa6;Parent=53995c3f42cd8ad8;Sampled=1",
+    "Self=1-67891234-123456789abcdef012345678;Root=1-8a3c60f7-d188f8fa79d48a391a778fa6",
+    "Root=1-8a3c60f7-d188f8fa79d48a391a778fa6;Parent=53995c3f42cd8ad8;Sampled=1;"
+        + "Lineage=32767:e65a2c4d:255"
+  })
+  public String header;
+
+  @Param({"0", "3"})
+  public int baggageEntries;
+
+  private final AwsXrayPropagator propagator = AwsXrayPropagator.getInstance();
+  private final Map<String, String> carrier = new HashMap<>();
+  private Context extractContext;
+  private Context injectContext;
+
+  @Setup
+  public void setup() {
+    Context context = Context.root();
+    if (baggageEntries > 0) {
+      BaggageBuilder builder = Baggage.builder();
+      for (int i = 0; i < baggageEntries; i++) {
+        builder.put("key" + i, "value" + i);
+      }
+      context = context.with(builder.build());
+    }
+    extractContext = context;
+    injectContext = propagator.extract(context, header, GETTER);
+    if (!Span.fromContext(injectContext).getSpanContext().isValid()) {
+      injectContext =
+          injectContext.with(
+              Span.wrap(
+                  SpanContext.create(
+                      "8a3c60f7d188f8fa79d48a391a778fa6",
+                      "53995c3f42cd8ad8",
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault())));
+    }
+  }
+
+  @Benchmark
+  public Context extract() {
+    return propagator.extract(extractContext, header, GETTER);
+  }
+
+  @Benchmark
+  public Map<String, String> inject() {
+    carrier.clear();
+    propagator.inject(injectContext, carrier, SETTER);
+    return carrier;
+  }
+}
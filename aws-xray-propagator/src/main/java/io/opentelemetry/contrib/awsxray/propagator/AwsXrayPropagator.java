@@ -5,13 +5,11 @@
 
 package io.opentelemetry.contrib.awsxray.propagator;
 
-import static io.opentelemetry.api.internal.OtelEncodingUtils.isValidBase16String;
+import static io.opentelemetry.api.internal.OtelEncodingUtils.isValidBase16Character;
 import static java.util.Collections.singletonList;
 
 import io.opentelemetry.api.baggage.Baggage;
-import io.opentelemetry.api.baggage.BaggageBuilder;
 import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
-import io.opentelemetry.api.internal.StringUtils;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanId;
@@ -22,8 +20,8 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.context.propagation.TextMapSetter;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
@@ -56,11 +54,12 @@ public final class AwsXrayPropagator implements TextMapPropagator {
 
   private static final String TRACE_ID_KEY = "Root";
   private static final int TRACE_ID_LENGTH = 35;
-  private static final String TRACE_ID_VERSION = "1";
+  private static final char TRACE_ID_VERSION = '1';
   private static final char TRACE_ID_DELIMITER = '-';
   private static final int TRACE_ID_DELIMITER_INDEX_1 = 1;
   private static final int TRACE_ID_DELIMITER_INDEX_2 = 10;
   private static final int TRACE_ID_FIRST_PART_LENGTH = 8;
+  private static final int TRACE_ID_UNIQUE_PART_LENGTH = 24;
 
   private static final String PARENT_ID_KEY = "Parent";
   private static final int PARENT_ID_LENGTH = 16;
@@ -78,8 +77,22 @@ public final class AwsXrayPropagator implements TextMapPropagator {
   private static final int LINEAGE_MAX_COUNTER1 = 32767;
   private static final int LINEAGE_MAX_COUNTER2 = 255;
   private static final int LINEAGE_MIN_COUNTER = 0;
-  private static final String INVALID_LINEAGE = "-1:11111111:0";
-  private static final int NUM_OF_LINEAGE_DELIMITERS = 2;
+
+  private static final String TRACE_ID_PREFIX = TRACE_ID_KEY + KV_DELIMITER;
+  private static final String PARENT_ID_PREFIX =
+      "" + TRACE_HEADER_DELIMITER + PARENT_ID_KEY + KV_DELIMITER;
+  private static final String SAMPLED_FLAG_PREFIX =
+      "" + TRACE_HEADER_DELIMITER + SAMPLED_FLAG_KEY + KV_DELIMITER;
+  private static final String LINEAGE_PREFIX =
+      "" + TRACE_HEADER_DELIMITER + LINEAGE_KEY + KV_DELIMITER;
+  private static final int TRACE_HEADER_LENGTH =
+      TRACE_ID_PREFIX.length()
+          + TRACE_ID_LENGTH
+          + PARENT_ID_PREFIX.length()
+          + PARENT_ID_LENGTH
+          + SAMPLED_FLAG_PREFIX.length()
+          + SAMPLED_FLAG_LENGTH;
+  private static final int TRACE_HEADER_MAX_LENGTH = 256;
 
   // Copied from AwsSamplingResult in aws-xray extension
   private static final String AWS_XRAY_SAMPLING_RULE_TRACE_STATE_KEY = "xrsr";
@@ -116,34 +129,10 @@ public final class AwsXrayPropagator implements TextMapPropagator {
     }
 
     SpanContext spanContext = span.getSpanContext();
-
-    String otTraceId = spanContext.getTraceId();
-    String xrayTraceId =
-        TRACE_ID_VERSION
-            + TRACE_ID_DELIMITER
-            + otTraceId.substring(0, TRACE_ID_FIRST_PART_LENGTH)
-            + TRACE_ID_DELIMITER
-            + otTraceId.substring(TRACE_ID_FIRST_PART_LENGTH);
-    String parentId = spanContext.getSpanId();
-    char samplingFlag = spanContext.isSampled() ? IS_SAMPLED : NOT_SAMPLED;
-    // TODO: Add OT trace state to the X-Ray trace header
-
-    StringBuilder traceHeader = new StringBuilder();
-    traceHeader
-        .append(TRACE_ID_KEY)
-        .append(KV_DELIMITER)
-        .append(xrayTraceId)
-        .append(TRACE_HEADER_DELIMITER)
-        .append(PARENT_ID_KEY)
-        .append(KV_DELIMITER)
-        .append(parentId)
-        .append(TRACE_HEADER_DELIMITER)
-        .append(SAMPLED_FLAG_KEY)
-        .append(KV_DELIMITER)
-        .append(samplingFlag);
-
     Baggage baggage = Baggage.fromContext(context);
     String lineageHeader = baggage.getEntryValue(LINEAGE_KEY);
+    setter.set(carrier, TRACE_HEADER_KEY, buildTraceHeader(spanContext, lineageHeader));
+
     // Get sampling rule from trace state and inject into baggage
     // This is a back up in case the next service does not have trace state propagation
     String ruleFromTraceState =
@@ -153,22 +142,44 @@ public final class AwsXrayPropagator implements TextMapPropagator {
           baggage.toBuilder()
               .put(AWS_XRAY_SAMPLING_RULE_TRACE_STATE_KEY, ruleFromTraceState)
               .build();
+      context = context.with(baggage);
     }
 
+    // Ensure baggage is propagated with any modifications
+    W3CBaggagePropagator.getInstance().inject(context, carrier, setter);
+  }
+
+  // The header is written into a buffer of its final length, truncated to 256 characters.
+  private static String buildTraceHeader(SpanContext spanContext, @Nullable String lineageHeader) {
+    int length = TRACE_HEADER_LENGTH;
     if (lineageHeader != null) {
-      traceHeader
-          .append(TRACE_HEADER_DELIMITER)
-          .append(LINEAGE_KEY)
-          .append(KV_DELIMITER)
-          .append(lineageHeader);
+      length += LINEAGE_PREFIX.length() + lineageHeader.length();
     }
+    char[] chars = new char[length];
+    int pos = appendString(chars, 0, TRACE_ID_PREFIX);
+    chars[pos++] = TRACE_ID_VERSION;
+    chars[pos++] = TRACE_ID_DELIMITER;
+    String otTraceId = spanContext.getTraceId();
+    otTraceId.getChars(0, TRACE_ID_FIRST_PART_LENGTH, chars, pos);
+    pos += TRACE_ID_FIRST_PART_LENGTH;
+    chars[pos++] = TRACE_ID_DELIMITER;
+    otTraceId.getChars(TRACE_ID_FIRST_PART_LENGTH, otTraceId.length(), chars, pos);
+    pos += otTraceId.length() - TRACE_ID_FIRST_PART_LENGTH;
+    pos = appendString(chars, pos, PARENT_ID_PREFIX);
+    pos = appendString(chars, pos, spanContext.getSpanId());
+    pos = appendString(chars, pos, SAMPLED_FLAG_PREFIX);
+    // TODO: Add OT trace state to the X-Ray trace header
+    chars[pos++] = spanContext.isSampled() ? IS_SAMPLED : NOT_SAMPLED;
+    if (lineageHeader != null) {
+      pos = appendString(chars, pos, LINEAGE_PREFIX);
+      pos = appendString(chars, pos, lineageHeader);
+    }
+    return new String(chars, 0, Math.min(pos, TRACE_HEADER_MAX_LENGTH));
+  }
 
-    // add 256 character truncation
-    String truncatedTraceHeader = traceHeader.substring(0, Math.min(traceHeader.length(), 256));
-    setter.set(carrier, TRACE_HEADER_KEY, truncatedTraceHeader);
-
-    // Ensure baggage is propagated with any modifications
-    W3CBaggagePropagator.getInstance().inject(context.with(baggage), carrier, setter);
+  private static int appendString(char[] chars, int pos, String value) {
+    value.getChars(0, value.length(), chars, pos);
+    return pos + value.length();
   }
 
   @Override
@@ -188,6 +199,8 @@ public final class AwsXrayPropagator implements TextMapPropagator {
     return "AwsXrayPropagator";
   }
 
+  // Parses the header in a single pass over index ranges of the original string, so the only
+  // strings allocated are the extracted ids and, when present, the lineage value.
   private static <C> Context getContextFromHeader(
       Context context, @Nullable C carrier, TextMapGetter<C> getter) {
     String traceHeader = getter.get(carrier, TRACE_HEADER_KEY);
@@ -197,54 +210,46 @@ public final class AwsXrayPropagator implements TextMapPropagator {
 
     String traceId = TraceId.getInvalid();
     String spanId = SpanId.getInvalid();
-    String lineageHeader;
+    String lineageHeader = null;
     Boolean isSampled = false;
 
-    Baggage contextBaggage = Baggage.fromContext(context);
-    BaggageBuilder baggageBuilder = Baggage.builder();
-    Set<String> baggageMap = contextBaggage.asMap().keySet();
-
-    // Copying baggage over to new Baggage object to add Lineage key
-    for (String baggageKey : baggageMap) {
-      String baggageValue = contextBaggage.getEntryValue(baggageKey);
-      if (baggageValue != null) {
-        baggageBuilder.put(baggageKey, baggageValue);
-      }
-    }
-
     int pos = 0;
-    while (pos < traceHeader.length()) {
+    int headerLength = traceHeader.length();
+    while (pos < headerLength) {
       int delimiterIndex = traceHeader.indexOf(TRACE_HEADER_DELIMITER, pos);
-      String part;
-      if (delimiterIndex >= 0) {
-        part = traceHeader.substring(pos, delimiterIndex);
-        pos = delimiterIndex + 1;
-      } else {
-        // Last part.
-        part = traceHeader.substring(pos);
-        pos = traceHeader.length();
+      int partEnd = delimiterIndex >= 0 ? delimiterIndex : headerLength;
+      int partStart = pos;
+      pos = delimiterIndex >= 0 ? delimiterIndex + 1 : headerLength;
+
+      // Same whitespace handling as String.trim()
+      int start = partStart;
+      int end = partEnd;
+      while (start < end && traceHeader.charAt(start) <= ' ') {
+        start++;
+      }
+      while (end > start && traceHeader.charAt(end - 1) <= ' ') {
+        end--;
       }
-      String trimmedPart = part.trim();
-      int equalsIndex = trimmedPart.indexOf(KV_DELIMITER);
+      int equalsIndex = indexOf(traceHeader, KV_DELIMITER, start, end);
       if (equalsIndex < 0) {
-        logger.fine("Error parsing X-Ray trace header. Invalid key value pair: " + part);
+        logger.fine(
+            "Error parsing X-Ray trace header. Invalid key value pair: "
+                + traceHeader.substring(partStart, partEnd));
         return context;
       }
 
-      String value = trimmedPart.substring(equalsIndex + 1);
-
-      if (trimmedPart.startsWith(TRACE_ID_KEY)) {
-        traceId = parseTraceId(value);
-      } else if (trimmedPart.startsWith(PARENT_ID_KEY)) {
-        spanId = parseSpanId(value);
-      } else if (trimmedPart.startsWith(SAMPLED_FLAG_KEY)) {
-        isSampled = parseTraceFlag(value);
-      } else if (trimmedPart.startsWith(LINEAGE_KEY)) {
-        lineageHeader = parseLineageHeader(value);
-        if (isValidLineage(lineageHeader)) {
-          baggageBuilder.put(LINEAGE_KEY, lineageHeader);
+      int valueStart = equalsIndex + 1;
+      if (startsWith(traceHeader, start, end, TRACE_ID_KEY)) {
+        traceId = parseTraceId(traceHeader, valueStart, end);
+      } else if (startsWith(traceHeader, start, end, PARENT_ID_KEY)) {
+        spanId = parseSpanId(traceHeader, valueStart, end);
+      } else if (startsWith(traceHeader, start, end, SAMPLED_FLAG_KEY)) {
+        isSampled = parseTraceFlag(traceHeader, valueStart, end);
+      } else if (startsWith(traceHeader, start, end, LINEAGE_KEY)) {
+        if (isValidLineage(traceHeader, valueStart, end)) {
+          lineageHeader = traceHeader.substring(valueStart, end);
         } else {
-          logger.fine("Invalid Lineage header: " + value);
+          logger.fine("Invalid Lineage header: " + traceHeader.substring(valueStart, end));
         }
       }
     }
@@ -258,14 +263,10 @@ public final class AwsXrayPropagator implements TextMapPropagator {
       return context;
     }
 
-    if (spanId == null || traceId == null) {
-      logger.finest("Both traceId and spanId are required to extract a valid span context. ");
-    }
-
     SpanContext upstreamSpanContext = Span.fromContext(context).getSpanContext();
     SpanContext spanContext =
         SpanContext.createFromRemoteParent(
-            StringUtils.padLeft(traceId, TraceId.getLength()),
+            traceId,
             spanId,
             isSampled ? TraceFlags.getSampled() : TraceFlags.getDefault(),
             upstreamSpanContext.isValid()
@@ -276,112 +277,111 @@ public final class AwsXrayPropagator implements TextMapPropagator {
       context = context.with(Span.wrap(spanContext));
     }
 
-    Baggage baggage = baggageBuilder.build();
-
-    if (!baggage.isEmpty()) {
+    // Baggage is only rebuilt when there is a lineage to add to it.
+    if (lineageHeader != null) {
+      Baggage baggage =
+          Baggage.fromContext(context).toBuilder().put(LINEAGE_KEY, lineageHeader).build();
       context = context.with(baggage);
     }
 
     return context;
   }
 
-  private static String parseTraceId(String xrayTraceId) {
-    return (xrayTraceId.length() == TRACE_ID_LENGTH
-        ? parseSpecTraceId(xrayTraceId)
-        : parseShortTraceId(xrayTraceId));
-  }
-
-  private static String parseSpecTraceId(String xrayTraceId) {
-
-    // Check version trace id version
-    if (!xrayTraceId.startsWith(TRACE_ID_VERSION)) {
-      return TraceId.getInvalid();
-    }
-
-    // Check delimiters
-    if (xrayTraceId.charAt(TRACE_ID_DELIMITER_INDEX_1) != TRACE_ID_DELIMITER
-        || xrayTraceId.charAt(TRACE_ID_DELIMITER_INDEX_2) != TRACE_ID_DELIMITER) {
-      return TraceId.getInvalid();
-    }
-
-    String epochPart =
-        xrayTraceId.substring(TRACE_ID_DELIMITER_INDEX_1 + 1, TRACE_ID_DELIMITER_INDEX_2);
-    String uniquePart = xrayTraceId.substring(TRACE_ID_DELIMITER_INDEX_2 + 1, TRACE_ID_LENGTH);
-
-    // X-Ray trace id format is 1-{8 digit hex}-{24 digit hex}
-    return epochPart + uniquePart;
-  }
-
-  private static String parseShortTraceId(String xrayTraceId) {
-    if (xrayTraceId.length() > TRACE_ID_LENGTH) {
-      return TraceId.getInvalid();
-    }
-
+  // Returns the trace id in OpenTelemetry format, left-padding a truncated epoch part with zeros.
+  private static String parseTraceId(String header, int start, int end) {
+    int length = end - start;
     // Check version trace id version
-    if (!xrayTraceId.startsWith(TRACE_ID_VERSION)) {
+    if (length == 0 || header.charAt(start) != TRACE_ID_VERSION) {
       return TraceId.getInvalid();
     }
 
-    // Check delimiters
-    int firstDelimiter = xrayTraceId.indexOf(TRACE_ID_DELIMITER);
-    // we don't allow the epoch part to be missing completely
-    int secondDelimiter = xrayTraceId.indexOf(TRACE_ID_DELIMITER, firstDelimiter + 2);
-    if (firstDelimiter != TRACE_ID_DELIMITER_INDEX_1
-        || secondDelimiter == -1
-        || secondDelimiter > TRACE_ID_DELIMITER_INDEX_2
-        || xrayTraceId.length() < secondDelimiter + 25) {
-      return TraceId.getInvalid();
+    int firstDelimiter;
+    int secondDelimiter;
+    if (length == TRACE_ID_LENGTH) {
+      firstDelimiter = start + TRACE_ID_DELIMITER_INDEX_1;
+      secondDelimiter = start + TRACE_ID_DELIMITER_INDEX_2;
+      // Check delimiters
+      if (header.charAt(firstDelimiter) != TRACE_ID_DELIMITER
+          || header.charAt(secondDelimiter) != TRACE_ID_DELIMITER) {
+        return TraceId.getInvalid();
+      }
+    } else {
+      if (length > TRACE_ID_LENGTH) {
+        return TraceId.getInvalid();
+      }
+      // Check delimiters
+      firstDelimiter = indexOf(header, TRACE_ID_DELIMITER, start, end);
+      // we don't allow the epoch part to be missing completely
+      secondDelimiter =
+          firstDelimiter < 0 ? -1 : indexOf(header, TRACE_ID_DELIMITER, firstDelimiter + 2, end);
+      if (firstDelimiter != start + TRACE_ID_DELIMITER_INDEX_1
+          || secondDelimiter == -1
+          || secondDelimiter > start + TRACE_ID_DELIMITER_INDEX_2
+          || end < secondDelimiter + 1 + TRACE_ID_UNIQUE_PART_LENGTH) {
+        return TraceId.getInvalid();
+      }
     }
 
-    String epochPart = xrayTraceId.substring(firstDelimiter + 1, secondDelimiter);
-    String uniquePart = xrayTraceId.substring(secondDelimiter + 1, secondDelimiter + 25);
-
     // X-Ray trace id format is 1-{at most 8 digit hex}-{24 digit hex}
     // epoch part can have leading 0s truncated
-    return epochPart + uniquePart;
+    char[] chars = new char[TraceId.getLength()];
+    int epochLength = secondDelimiter - firstDelimiter - 1;
+    int padding = TRACE_ID_FIRST_PART_LENGTH - epochLength;
+    Arrays.fill(chars, 0, padding, '0');
+    header.getChars(firstDelimiter + 1, secondDelimiter, chars, padding);
+    header.getChars(
+        secondDelimiter + 1,
+        secondDelimiter + 1 + TRACE_ID_UNIQUE_PART_LENGTH,
+        chars,
+        TRACE_ID_FIRST_PART_LENGTH);
+    return new String(chars);
   }
 
-  private static String parseSpanId(String xrayParentId) {
-    if (xrayParentId.length() != PARENT_ID_LENGTH) {
+  private static String parseSpanId(String header, int start, int end) {
+    if (end - start != PARENT_ID_LENGTH) {
       return SpanId.getInvalid();
     }
 
-    return xrayParentId;
+    return header.substring(start, end);
   }
 
-  private static String parseLineageHeader(String xrayLineageHeader) {
-    long numOfDelimiters = xrayLineageHeader.chars().filter(ch -> ch == LINEAGE_DELIMITER).count();
-
-    if (xrayLineageHeader.length() < LINEAGE_MIN_LENGTH
-        || xrayLineageHeader.length() > LINEAGE_MAX_LENGTH
-        || numOfDelimiters != NUM_OF_LINEAGE_DELIMITERS) {
-      return INVALID_LINEAGE;
+  private static boolean isValidLineage(String header, int start, int end) {
+    int length = end - start;
+    if (length < LINEAGE_MIN_LENGTH || length > LINEAGE_MAX_LENGTH) {
+      return false;
+    }
+    int firstDelimiter = indexOf(header, LINEAGE_DELIMITER, start, end);
+    int secondDelimiter =
+        firstDelimiter < 0 ? -1 : indexOf(header, LINEAGE_DELIMITER, firstDelimiter + 1, end);
+    if (secondDelimiter < 0 || indexOf(header, LINEAGE_DELIMITER, secondDelimiter + 1, end) >= 0) {
+      return false;
     }
 
-    return xrayLineageHeader;
-  }
-
-  private static boolean isValidLineage(String key) {
-    String[] split = key.split(String.valueOf(LINEAGE_DELIMITER));
-    String hash = split[1];
-    int counter1 = parseIntOrReturnNegative(split[0]);
-    int counter2 = parseIntOrReturnNegative(split[2]);
+    if (secondDelimiter - firstDelimiter - 1 != LINEAGE_HASH_LENGTH) {
+      return false;
+    }
+    for (int i = firstDelimiter + 1; i < secondDelimiter; i++) {
+      if (!isValidBase16Character(header.charAt(i))) {
+        return false;
+      }
+    }
+    int counter1 = parseIntOrReturnNegative(header, start, firstDelimiter);
+    int counter2 = parseIntOrReturnNegative(header, secondDelimiter + 1, end);
 
-    boolean isHashValid = hash.length() == LINEAGE_HASH_LENGTH && isValidBase16String(hash);
     boolean isValidCounter2 = counter2 <= LINEAGE_MAX_COUNTER2 && counter2 >= LINEAGE_MIN_COUNTER;
     boolean isValidCounter1 = counter1 <= LINEAGE_MAX_COUNTER1 && counter1 >= LINEAGE_MIN_COUNTER;
 
-    return isHashValid && isValidCounter2 && isValidCounter1;
+    return isValidCounter2 && isValidCounter1;
   }
 
   @Nullable
-  private static Boolean parseTraceFlag(String xraySampledFlag) {
-    if (xraySampledFlag.length() != SAMPLED_FLAG_LENGTH) {
+  private static Boolean parseTraceFlag(String header, int start, int end) {
+    if (end - start != SAMPLED_FLAG_LENGTH) {
       // Returning null as there is no invalid trace flag defined.
       return null;
     }
 
-    char flag = xraySampledFlag.charAt(0);
+    char flag = header.charAt(start);
     if (flag == IS_SAMPLED) {
       return true;
     } else if (flag == NOT_SAMPLED) {
@@ -391,11 +391,34 @@ public final class AwsXrayPropagator implements TextMapPropagator {
     }
   }
 
-  private static int parseIntOrReturnNegative(String num) {
-    try {
-      return Integer.parseInt(num);
-    } catch (NumberFormatException e) {
+  private static boolean startsWith(String header, int start, int end, String prefix) {
+    return end - start >= prefix.length() && header.startsWith(prefix, start);
+  }
+
+  private static int indexOf(String header, char ch, int start, int end) {
+    int index = header.indexOf(ch, start);
+    return index < end ? index : -1;
+  }
+
+  // Counters are at most 8 characters long, so they cannot overflow an int.
+  private static int parseIntOrReturnNegative(String header, int start, int end) {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (header.charAt(i) == '-' || header.charAt(i) == '+')) {
+      negative = header.charAt(i) == '-';
+      i++;
+    }
+    if (i == end) {
       return -1;
     }
+    int result = 0;
+    for (; i < end; i++) {
+      int digit = Character.digit(header.charAt(i), 10);
+      if (digit < 0) {
+        return -1;
+      }
+      result = result * 10 + digit;
+    }
+    return negative ? -result : result;
   }
 }
@@ -6,9 +6,11 @@
 package io.opentelemetry.contrib.awsxray.propagator;
 
 import static io.opentelemetry.contrib.awsxray.propagator.AwsXrayPropagator.TRACE_HEADER_KEY;
+import static java.util.Collections.nCopies;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageEntryMetadata;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.TraceFlags;
@@ -128,6 +130,24 @@ class AwsXrayPropagatorTest {
             "Root=1-8a3c60f7-d188f8fa79d48a391a778fa6;Parent=53995c3f42cd8ad8;Sampled=0;Lineage=32767:e65a2c4d:255");
   }
 
+  @Test
+  void inject_TruncatesLongHeader() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    subject.inject(
+        withSpanContext(
+                SpanContext.create(
+                    TRACE_ID, SPAN_ID, TraceFlags.getDefault(), TraceState.getDefault()),
+                Context.current())
+            .with(Baggage.builder().put("Lineage", String.join("", nCopies(300, "a"))).build()),
+        carrier,
+        SETTER);
+
+    assertThat(carrier.get(TRACE_HEADER_KEY))
+        .hasSize(256)
+        .startsWith(
+            "Root=1-8a3c60f7-d188f8fa79d48a391a778fa6;Parent=53995c3f42cd8ad8;Sampled=0;Lineage=aaa");
+  }
+
   @Test
   void inject_WithTraceState() {
     Map<String, String> carrier = new LinkedHashMap<>();
@@ -230,6 +250,35 @@ class AwsXrayPropagatorTest {
         .isEqualTo("32767:e65a2c4d:255");
   }
 
+  @Test
+  void extract_WithoutLineageKeepsBaggage() {
+    Baggage baggage =
+        Baggage.builder()
+            .put("cat", "meow", BaggageEntryMetadata.create("meta"))
+            .put("dog", "bark")
+            .build();
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(
+        TRACE_HEADER_KEY, "Root=1-8a3c60f7-d188f8fa79d48a391a778fa6;Parent=53995c3f42cd8ad8");
+
+    Context context = subject.extract(Context.root().with(baggage), carrier, GETTER);
+
+    assertThat(Baggage.fromContext(context)).isSameAs(baggage);
+  }
+
+  @Test
+  void extract_WhitespaceAroundParts() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(
+        TRACE_HEADER_KEY,
+        " Root=1-8a3c60f7-d188f8fa79d48a391a778fa6 ;\tParent=53995c3f42cd8ad8; Sampled=1 ");
+
+    assertThat(getSpanContext(subject.extract(Context.current(), carrier, GETTER)))
+        .isEqualTo(
+            SpanContext.createFromRemoteParent(
+                TRACE_ID, SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault()));
+  }
+
   @Test
   void extract_AddedLineagePreservesExistingBaggage() {
     Baggage expectedBaggage =
@@ -0,0 +1,150 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.awsxray;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.semconv.ServiceAttributes.SERVICE_NAME;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.contrib.awsxray.GetSamplingRulesResponse.SamplingRule;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class XrayRulesSamplerBenchmark {
+
+  private static final AttributeKey<String> URL_PATH = stringKey("url.path");
+  private static final AttributeKey<String> HTTP_REQUEST_METHOD = stringKey("http.request.method");
+  private static final AttributeKey<String> SERVER_ADDRESS = stringKey("server.address");
+  private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+  @Param({"10", "100"})
+  public int ruleCount;
+
+  @Param({"0", "8", "32"})
+  public int extraAttributeCount;
+
+  private Sampler sampler;
+  private Attributes[] attributes;
+  private String[] traceIds;
+
+  @Setup
+  public void setup() {
+    Resource resource = Resource.builder().put(SERVICE_NAME, "cat-service").build();
+    // A mix of rules for other services, exact paths, path prefixes and host patterns, as found in
+    // accounts shared by many services, followed by the default rule.
+    List<SamplingRule> rules = new ArrayList<>();
+    for (int i = 0; i < ruleCount - 1; i++) {
+      switch (i % 4) {
+        case 0:
+          rules.add(rule(i, "service-" + i, "*", "*", "*"));
+          break;
+        case 1:
+          rules.add(rule(i, "cat-service", "*", METHODS[i % METHODS.length], "/api/v1/r" + i));
+          break;
+        case 2:
+          rules.add(rule(i, "cat-*", "*", "*", "/api/v2/r" + i + "/*"));
+          break;
+        default:
+          rules.add(rule(i, "*", "host-" + i + ".example.com", "*", "*"));
+          break;
+      }
+    }
+    rules.add(rule(10000, "*", "*", "*", "*"));
+    sampler =
+        new XrayRulesSampler(
+            "CLIENT_ID", resource, Clock.getDefault(), Sampler.alwaysOn(), rules, null);
+
+    attributes = new Attributes[4];
+    for (int i = 0; i < attributes.length; i++) {
+      int route = (ruleCount / attributes.length) * i + 1;
+      AttributesBuilder builder =
+          Attributes.builder()
+              .put(URL_PATH, (i % 2 == 0 ? "/api/v1/r" : "/api/v2/r") + route + "/items")
+              .put(HTTP_REQUEST_METHOD, METHODS[i])
+              .put(SERVER_ADDRESS, "host-" + route + ".example.com");
+      for (int j = 0; j < extraAttributeCount; j++) {
+        builder.put("attribute." + j, "value" + j);
+      }
+      attributes[i] = builder.build();
+    }
+    Random random = new Random(0);
+    traceIds = new String[64];
+    for (int i = 0; i < traceIds.length; i++) {
+      traceIds[i] = TraceId.fromLongs(random.nextLong(), random.nextLong());
+    }
+  }
+
+  private static SamplingRule rule(
+      int priority, String serviceName, String host, String httpMethod, String urlPath) {
+    return SamplingRule.create(
+        Collections.emptyMap(),
+        0.05,
+        host,
+        httpMethod,
+        priority,
+        1,
+        "*",
+        null,
+        "rule-" + priority,
+        serviceName,
+        "*",
+        urlPath,
+        1,
+        null);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public SamplingResult shouldSample_01Thread(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public SamplingResult shouldSample_04Threads(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  private SamplingResult shouldSample(ThreadState threadState) {
+    int i = threadState.next++;
+    return sampler.shouldSample(
+        Context.root(),
+        traceIds[i & (traceIds.length - 1)],
+        "GET /api",
+        SpanKind.SERVER,
+        attributes[i & (attributes.length - 1)],
+        Collections.emptyList());
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int next;
+  }
+}
@@ -20,17 +20,24 @@ import static io.opentelemetry.contrib.awsxray.AwsAttributeKeys.AWS_TABLE_NAME;
 import static io.opentelemetry.semconv.ServiceAttributes.SERVICE_NAME;
 import static java.util.logging.Level.FINEST;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.semconv.ServiceAttributes;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * AwsMetricAttributeGenerator generates very specific metric attributes based on low-cardinality
@@ -82,8 +89,97 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
   private static final AttributeKey<String> RPC_METHOD = stringKey("rpc.method");
   private static final AttributeKey<String> RPC_SERVICE = stringKey("rpc.service");
 
+  // Span attributes read for ingress and egress spans. Together with the span kind, the name of
+  // ingress spans and the service name, they determine the generated attributes.
+  private static final List<AttributeKey<?>> INGRESS_INPUT_KEYS =
+      Arrays.asList(HTTP_METHOD, HTTP_TARGET);
+  private static final List<AttributeKey<?>> EGRESS_INPUT_KEYS =
+      Arrays.asList(
+          AWS_LOCAL_OPERATION,
+          AWS_REMOTE_SERVICE,
+          AWS_REMOTE_OPERATION,
+          RPC_SERVICE,
+          RPC_METHOD,
+          DB_SYSTEM,
+          DB_OPERATION,
+          FAAS_INVOKED_NAME,
+          FAAS_TRIGGER,
+          MESSAGING_SYSTEM,
+          MESSAGING_OPERATION,
+          GRAPHQL_OPERATION_TYPE,
+          PEER_SERVICE,
+          NET_PEER_NAME,
+          NET_PEER_PORT,
+          NET_SOCK_PEER_ADDR,
+          NET_SOCK_PEER_PORT,
+          HTTP_URL,
+          HTTP_METHOD,
+          AWS_BUCKET_NAME,
+          AWS_QUEUE_NAME,
+          AWS_STREAM_NAME,
+          AWS_TABLE_NAME);
+
+  // Bounds the memory used by the cache when inputs have a high cardinality, eg full URLs. Rarely
+  // used inputs are evicted, so that the frequent ones stay cached.
+  static final int MAX_CACHED_ATTRIBUTES = 4096;
+
+  private final Cache<CacheKey, Attributes> cache;
+
+  AwsMetricAttributeGenerator() {
+    this(MAX_CACHED_ATTRIBUTES);
+  }
+
+  // Visible for testing
+  AwsMetricAttributeGenerator(long maxCachedAttributes) {
+    cache = Caffeine.newBuilder().maximumSize(maxCachedAttributes).build();
+  }
+
   @Override
   public Attributes generateMetricAttributesFromSpan(SpanData span, Resource resource) {
+    return generateMetricAttributes(new SpanDataView(span), resource);
+  }
+
+  /**
+   * Reads the span directly, without converting it to {@link SpanData}. Equal inputs return the
+   * same {@link Attributes} instance, so metric storage lookups are cheap.
+   */
+  @Override
+  public Attributes generateMetricAttributesFromSpan(ReadableSpan span, Resource resource) {
+    return generateMetricAttributes(new ReadableSpanView(span), resource);
+  }
+
+  private Attributes generateMetricAttributes(SpanView span, Resource resource) {
+    List<AttributeKey<?>> inputKeys;
+    String name = null;
+    switch (span.getKind()) {
+      case CONSUMER:
+      case SERVER:
+        inputKeys = INGRESS_INPUT_KEYS;
+        name = span.getName();
+        break;
+      case PRODUCER:
+      case CLIENT:
+        inputKeys = EGRESS_INPUT_KEYS;
+        break;
+      default:
+        // Add no attributes, signalling no metrics should be emitted.
+        return Attributes.empty();
+    }
+    Object[] values = new Object[inputKeys.size()];
+    for (int i = 0; i < values.length; i++) {
+      AttributeKey<?> inputKey = inputKeys.get(i);
+      Object value = span.getAttribute(inputKey);
+      if (inputKey == HTTP_TARGET && value != null) {
+        // Only the first part of the path is used, keeping ids of the full target out of the key.
+        value = extractApiPathValue((String) value);
+      }
+      values[i] = value;
+    }
+    CacheKey key = new CacheKey(span.getKind(), name, resource.getAttribute(SERVICE_NAME), values);
+    return cache.get(key, unused -> generate(span, resource));
+  }
+
+  private static Attributes generate(SpanView span, Resource resource) {
     AttributesBuilder builder = Attributes.builder();
     switch (span.getKind()) {
       case CONSUMER:
@@ -106,7 +202,7 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
     return builder.build();
   }
 
-  private static void setRemoteTarget(SpanData span, AttributesBuilder builder) {
+  private static void setRemoteTarget(SpanView span, AttributesBuilder builder) {
     Optional<String> remoteTarget = getRemoteTarget(span);
     remoteTarget.ifPresent(s -> builder.put(AWS_REMOTE_TARGET, s));
   }
@@ -117,21 +213,21 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
    * support AWS resource name, will be extended to support the general remote targets, such as
    * ActiveMQ name, etc.
    */
-  private static Optional<String> getRemoteTarget(SpanData span) {
+  private static Optional<String> getRemoteTarget(SpanView span) {
     if (isKeyPresent(span, AWS_BUCKET_NAME)) {
-      return Optional.ofNullable(span.getAttributes().get(AWS_BUCKET_NAME));
+      return Optional.ofNullable(span.getAttribute(AWS_BUCKET_NAME));
     } else if (isKeyPresent(span, AWS_QUEUE_NAME)) {
-      return Optional.ofNullable(span.getAttributes().get(AWS_QUEUE_NAME));
+      return Optional.ofNullable(span.getAttribute(AWS_QUEUE_NAME));
     } else if (isKeyPresent(span, AWS_STREAM_NAME)) {
-      return Optional.ofNullable(span.getAttributes().get(AWS_STREAM_NAME));
+      return Optional.ofNullable(span.getAttribute(AWS_STREAM_NAME));
     } else if (isKeyPresent(span, AWS_TABLE_NAME)) {
-      return Optional.ofNullable(span.getAttributes().get(AWS_TABLE_NAME));
+      return Optional.ofNullable(span.getAttribute(AWS_TABLE_NAME));
     }
     return Optional.empty();
   }
 
   /** Service is always derived from {@link ServiceAttributes#SERVICE_NAME} */
-  private static void setService(Resource resource, SpanData span, AttributesBuilder builder) {
+  private static void setService(Resource resource, SpanView span, AttributesBuilder builder) {
     String service = resource.getAttribute(SERVICE_NAME);
     if (service == null) {
       logUnknownAttribute(AWS_LOCAL_SERVICE, span);
@@ -145,7 +241,7 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
    * "http.method + http.target/with the first API path parameter" if the default span name equals
    * null, UnknownOperation or http.method value.
    */
-  private static void setIngressOperation(SpanData span, AttributesBuilder builder) {
+  private static void setIngressOperation(SpanView span, AttributesBuilder builder) {
     String operation;
     if (!isValidOperation(span)) {
       operation = generateIngressOperation(span);
@@ -162,13 +258,13 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
    * When Span name is null, UnknownOperation or HttpMethod value, it will be treated as invalid
    * local operation value that needs to be further processed
    */
-  private static boolean isValidOperation(SpanData span) {
+  private static boolean isValidOperation(SpanView span) {
     String operation = span.getName();
     if (operation == null || operation.equals(UNKNOWN_OPERATION)) {
       return false;
     }
     if (isKeyPresent(span, HTTP_METHOD)) {
-      String httpMethod = span.getAttributes().get(HTTP_METHOD);
+      String httpMethod = span.getAttribute(HTTP_METHOD);
       return !operation.equals(httpMethod);
     }
     return true;
@@ -179,8 +275,8 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
    * special span attribute, {@link AwsAttributeKeys#AWS_LOCAL_OPERATION}. This attribute is
    * generated with a separate SpanProcessor, {@link AttributePropagatingSpanProcessor}
    */
-  private static void setEgressOperation(SpanData span, AttributesBuilder builder) {
-    String operation = span.getAttributes().get(AWS_LOCAL_OPERATION);
+  private static void setEgressOperation(SpanView span, AttributesBuilder builder) {
+    String operation = span.getAttribute(AWS_LOCAL_OPERATION);
     if (operation == null) {
       logUnknownAttribute(AWS_LOCAL_OPERATION, span);
       operation = UNKNOWN_OPERATION;
@@ -225,7 +321,7 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
    * `net.peer.sock.port` will be used to derive the RemoteService. And `http.method` and `http.url`
    * will be used to derive the RemoteOperation.
    */
-  private static void setRemoteServiceAndOperation(SpanData span, AttributesBuilder builder) {
+  private static void setRemoteServiceAndOperation(SpanView span, AttributesBuilder builder) {
     String remoteService = UNKNOWN_REMOTE_SERVICE;
     String remoteOperation = UNKNOWN_REMOTE_OPERATION;
     if (isKeyPresent(span, AWS_REMOTE_SERVICE) || isKeyPresent(span, AWS_REMOTE_OPERATION)) {
@@ -269,17 +365,17 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
    * When span name is not meaningful(null, unknown or http_method value) as operation name for http
    * use cases. Will try to extract the operation name from http target string
    */
-  private static String generateIngressOperation(SpanData span) {
+  private static String generateIngressOperation(SpanView span) {
     String operation = UNKNOWN_OPERATION;
     if (isKeyPresent(span, HTTP_TARGET)) {
-      String httpTarget = span.getAttributes().get(HTTP_TARGET);
+      String httpTarget = span.getAttribute(HTTP_TARGET);
       // get the first part from API path string as operation value
       // the more levels/parts we get from API path the higher chance for getting high cardinality
       // data
       if (httpTarget != null) {
         operation = extractApiPathValue(httpTarget);
         if (isKeyPresent(span, HTTP_METHOD)) {
-          String httpMethod = span.getAttributes().get(HTTP_METHOD);
+          String httpMethod = span.getAttribute(HTTP_METHOD);
           if (httpMethod != null) {
             operation = httpMethod + " " + operation;
           }
@@ -293,10 +389,10 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
    * When the remote call operation is undetermined for http use cases, will try to extract the
    * remote operation name from http url string
    */
-  private static String generateRemoteOperation(SpanData span) {
+  private static String generateRemoteOperation(SpanView span) {
     String remoteOperation = UNKNOWN_REMOTE_OPERATION;
     if (isKeyPresent(span, HTTP_URL)) {
-      String httpUrl = span.getAttributes().get(HTTP_URL);
+      String httpUrl = span.getAttribute(HTTP_URL);
       try {
         URL url;
         if (httpUrl != null) {
@@ -308,7 +404,7 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
       }
     }
     if (isKeyPresent(span, HTTP_METHOD)) {
-      String httpMethod = span.getAttributes().get(HTTP_METHOD);
+      String httpMethod = span.getAttribute(HTTP_METHOD);
       remoteOperation = httpMethod + " " + remoteOperation;
     }
     if (remoteOperation.equals(UNKNOWN_REMOTE_OPERATION)) {
@@ -334,18 +430,18 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
     return "/";
   }
 
-  private static String generateRemoteService(SpanData span) {
+  private static String generateRemoteService(SpanView span) {
     String remoteService = UNKNOWN_REMOTE_SERVICE;
     if (isKeyPresent(span, NET_PEER_NAME)) {
       remoteService = getRemoteService(span, NET_PEER_NAME);
       if (isKeyPresent(span, NET_PEER_PORT)) {
-        Long port = span.getAttributes().get(NET_PEER_PORT);
+        Long port = span.getAttribute(NET_PEER_PORT);
         remoteService += ":" + port;
       }
     } else if (isKeyPresent(span, NET_SOCK_PEER_ADDR)) {
       remoteService = getRemoteService(span, NET_SOCK_PEER_ADDR);
       if (isKeyPresent(span, NET_SOCK_PEER_PORT)) {
-        Long port = span.getAttributes().get(NET_SOCK_PEER_PORT);
+        Long port = span.getAttribute(NET_SOCK_PEER_PORT);
         remoteService += ":" + port;
       }
     } else {
@@ -355,35 +451,143 @@ final class AwsMetricAttributeGenerator implements MetricAttributeGenerator {
   }
 
   /** Span kind is needed for differentiating metrics in the EMF exporter */
-  private static void setSpanKind(SpanData span, AttributesBuilder builder) {
+  private static void setSpanKind(SpanView span, AttributesBuilder builder) {
     String spanKind = span.getKind().name();
     builder.put(AWS_SPAN_KIND, spanKind);
   }
 
-  private static boolean isKeyPresent(SpanData span, AttributeKey<?> key) {
-    return span.getAttributes().get(key) != null;
+  private static boolean isKeyPresent(SpanView span, AttributeKey<?> key) {
+    return span.getAttribute(key) != null;
   }
 
-  private static String getRemoteService(SpanData span, AttributeKey<String> remoteServiceKey) {
-    String remoteService = span.getAttributes().get(remoteServiceKey);
+  private static String getRemoteService(SpanView span, AttributeKey<String> remoteServiceKey) {
+    String remoteService = span.getAttribute(remoteServiceKey);
     if (remoteService == null) {
       remoteService = UNKNOWN_REMOTE_SERVICE;
     }
     return remoteService;
   }
 
-  private static String getRemoteOperation(SpanData span, AttributeKey<String> remoteOperationKey) {
-    String remoteOperation = span.getAttributes().get(remoteOperationKey);
+  private static String getRemoteOperation(SpanView span, AttributeKey<String> remoteOperationKey) {
+    String remoteOperation = span.getAttribute(remoteOperationKey);
     if (remoteOperation == null) {
       remoteOperation = UNKNOWN_REMOTE_OPERATION;
     }
     return remoteOperation;
   }
 
-  private static void logUnknownAttribute(AttributeKey<String> attributeKey, SpanData span) {
+  private static void logUnknownAttribute(AttributeKey<String> attributeKey, SpanView span) {
     String[] params = {
-      attributeKey.getKey(), span.getKind().name(), span.getSpanContext().getSpanId()
+      attributeKey.getKey(), span.getKind().name(), span.getSpanId()
     };
     logger.log(FINEST, "No valid {0} value found for {1} span {2}", params);
   }
+
+  /** The parts of a span read by this generator. */
+  private interface SpanView {
+    String getName();
+
+    SpanKind getKind();
+
+    @Nullable
+    <T> T getAttribute(AttributeKey<T> key);
+
+    String getSpanId();
+  }
+
+  private static final class SpanDataView implements SpanView {
+    private final SpanData span;
+
+    private SpanDataView(SpanData span) {
+      this.span = span;
+    }
+
+    @Override
+    public String getName() {
+      return span.getName();
+    }
+
+    @Override
+    public SpanKind getKind() {
+      return span.getKind();
+    }
+
+    @Override
+    @Nullable
+    public <T> T getAttribute(AttributeKey<T> key) {
+      return span.getAttributes().get(key);
+    }
+
+    @Override
+    public String getSpanId() {
+      return span.getSpanContext().getSpanId();
+    }
+  }
+
+  private static final class ReadableSpanView implements SpanView {
+    private final ReadableSpan span;
+
+    private ReadableSpanView(ReadableSpan span) {
+      this.span = span;
+    }
+
+    @Override
+    public String getName() {
+      return span.getName();
+    }
+
+    @Override
+    public SpanKind getKind() {
+      return span.getKind();
+    }
+
+    @Override
+    @Nullable
+    public <T> T getAttribute(AttributeKey<T> key) {
+      return span.getAttribute(key);
+    }
+
+    @Override
+    public String getSpanId() {
+      return span.getSpanContext().getSpanId();
+    }
+  }
+
+  private static final class CacheKey {
+    private final SpanKind kind;
+    @Nullable private final String name;
+    @Nullable private final String service;
+    private final Object[] values;
+    private final int hashCode;
+
+    private CacheKey(
+        SpanKind kind, @Nullable String name, @Nullable String service, Object[] values) {
+      this.kind = kind;
+      this.name = name;
+      this.service = service;
+      this.values = values;
+      this.hashCode = 31 * Objects.hash(kind, name, service) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) obj;
+      return hashCode == that.hashCode
+          && kind == that.kind
+          && Objects.equals(name, that.name)
+          && Objects.equals(service, that.service)
+          && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
 }
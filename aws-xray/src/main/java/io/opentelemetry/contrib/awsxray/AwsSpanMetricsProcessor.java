@@ -18,8 +18,9 @@ import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.ExceptionEventData;
-import io.opentelemetry.sdk.trace.data.SpanData;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
@@ -46,6 +47,14 @@ public final class AwsSpanMetricsProcessor implements SpanProcessor {
 
   private static final double NANOS_TO_MILLIS = 1_000_000.0;
 
+  private static final ClassValue<Method[]> STATUS_CODE_METHODS =
+      new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+          return findStatusCodeMethods(type);
+        }
+      };
+
   // Constants for deriving error and fault metrics
   private static final int ERROR_CODE_LOWER_BOUND = 400;
   private static final int ERROR_CODE_UPPER_BOUND = 499;
@@ -94,12 +103,12 @@ public final class AwsSpanMetricsProcessor implements SpanProcessor {
 
   @Override
   public void onEnd(ReadableSpan span) {
-    SpanData spanData = span.toSpanData();
-    Attributes attributes = generator.generateMetricAttributesFromSpan(spanData, resource);
+    // The span is read directly, it is only converted to SpanData to look for AWS SDK exceptions.
+    Attributes attributes = generator.generateMetricAttributesFromSpan(span, resource);
 
     // Only record metrics if non-empty attributes are returned.
     if (!attributes.isEmpty()) {
-      recordErrorOrFault(spanData, attributes);
+      recordErrorOrFault(span, attributes);
       recordLatency(span, attributes);
     }
   }
@@ -109,10 +118,10 @@ public final class AwsSpanMetricsProcessor implements SpanProcessor {
     return true;
   }
 
-  private void recordErrorOrFault(SpanData spanData, Attributes attributes) {
-    Long httpStatusCode = spanData.getAttributes().get(HTTP_STATUS_CODE);
+  private void recordErrorOrFault(ReadableSpan span, Attributes attributes) {
+    Long httpStatusCode = span.getAttribute(HTTP_STATUS_CODE);
     if (httpStatusCode == null) {
-      httpStatusCode = getAwsStatusCode(spanData);
+      httpStatusCode = getAwsStatusCode(span);
 
       if (httpStatusCode == null || httpStatusCode < 100L || httpStatusCode > 599L) {
         return;
@@ -135,37 +144,31 @@ public final class AwsSpanMetricsProcessor implements SpanProcessor {
    * getStatusCode (for AWS SDK V1) and statusCode (for AWS SDK V2) to get the status code fromt the
    * exception. We rely on reflection here because we cannot cast the throwable to
    * AmazonServiceExceptions (V1) or AwsServiceExceptions (V2) because the throwable comes from a
-   * separate class loader and attempts to cast will fail with ClassCastException.
+   * separate class loader and attempts to cast will fail with ClassCastException. The methods are
+   * looked up once per exception class.
    *
    * <p>TODO: Short term workaround. This can be completely removed once
    * https://github.com/open-telemetry/opentelemetry-java-contrib/issues/919 is resolved.
    */
   @Nullable
-  private static Long getAwsStatusCode(SpanData spanData) {
-    String scopeName = spanData.getInstrumentationScopeInfo().getName();
+  private static Long getAwsStatusCode(ReadableSpan span) {
+    String scopeName = span.getInstrumentationScopeInfo().getName();
     if (!scopeName.contains("aws-sdk")) {
       return null;
     }
 
-    for (EventData event : spanData.getEvents()) {
+    for (EventData event : span.toSpanData().getEvents()) {
       if (event instanceof ExceptionEventData) {
         ExceptionEventData exceptionEvent = (ExceptionEventData) event;
         Throwable throwable = exceptionEvent.getException();
 
-        try {
-          Method method = throwable.getClass().getMethod("getStatusCode");
-          Object code = method.invoke(throwable);
-          return Long.valueOf((Integer) code);
-        } catch (Exception e) {
-          // Take no action
-        }
-
-        try {
-          Method method = throwable.getClass().getMethod("statusCode");
-          Object code = method.invoke(throwable);
-          return Long.valueOf((Integer) code);
-        } catch (Exception e) {
-          // Take no action
+        for (Method method : STATUS_CODE_METHODS.get(throwable.getClass())) {
+          try {
+            Object code = method.invoke(throwable);
+            return Long.valueOf((Integer) code);
+          } catch (Exception e) {
+            // Take no action
+          }
         }
       }
     }
@@ -173,6 +176,18 @@ public final class AwsSpanMetricsProcessor implements SpanProcessor {
     return null;
   }
 
+  private static Method[] findStatusCodeMethods(Class<?> type) {
+    List<Method> methods = new ArrayList<>(2);
+    for (String name : new String[] {"getStatusCode", "statusCode"}) {
+      try {
+        methods.add(type.getMethod(name));
+      } catch (NoSuchMethodException | SecurityException e) {
+        // Take no action
+      }
+    }
+    return methods.toArray(new Method[0]);
+  }
+
   private void recordLatency(ReadableSpan span, Attributes attributes) {
     long nanos = span.getLatencyNanos();
     double millis = nanos / NANOS_TO_MILLIS;
@@ -7,6 +7,7 @@ package io.opentelemetry.contrib.awsxray;
 
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.data.SpanData;
 
 /**
@@ -26,4 +27,17 @@ public interface MetricAttributeGenerator {
    * @return A set of zero or more attributes. Must not return null.
    */
   Attributes generateMetricAttributesFromSpan(SpanData span, Resource resource);
+
+  /**
+   * Same as {@link #generateMetricAttributesFromSpan(SpanData, Resource)}, for a span that has not
+   * been converted to {@link SpanData}. The default implementation converts the span,
+   * implementations should override it if they can read the span directly.
+   *
+   * @param span - ReadableSpan to be used to generate metric attributes.
+   * @param resource - Resource associated with Span to be used to generate metric attributes.
+   * @return A set of zero or more attributes. Must not return null.
+   */
+  default Attributes generateMetricAttributesFromSpan(ReadableSpan span, Resource resource) {
+    return generateMetricAttributesFromSpan(span.toSpanData(), resource);
+  }
 }
@@ -215,37 +215,40 @@ final class SamplingRuleApplier {
     this.boostedFixedRateSampler = createFixedRate(this.boostedFixedRate);
   }
 
-  @SuppressWarnings("deprecation") // TODO
   boolean matches(Attributes attributes, Resource resource) {
-    int matchedAttributes = 0;
-
-    String httpTarget = attributes.get(UrlAttributes.URL_PATH);
-    if (httpTarget == null) {
-      httpTarget = attributes.get(HTTP_TARGET);
-    }
-
-    String httpUrl = attributes.get(UrlAttributes.URL_FULL);
-    if (httpUrl == null) {
-      httpUrl = attributes.get(HTTP_URL);
-    }
-
-    String httpMethod = attributes.get(HttpAttributes.HTTP_REQUEST_METHOD);
-    if (httpMethod == null) {
-      httpMethod = attributes.get(HTTP_METHOD);
-    }
-
-    if (httpMethod != null && httpMethod.equals(_OTHER_REQUEST_METHOD)) {
-      httpMethod = attributes.get(HttpAttributes.HTTP_REQUEST_METHOD_ORIGINAL);
-    }
+    return matchesResource(resource)
+        && matchesSpan(
+            attributes,
+            getHttpTarget(attributes),
+            getHttpMethod(attributes),
+            getHost(attributes),
+            isArnFromSpan(resource));
+  }
 
-    String host = attributes.get(ServerAttributes.SERVER_ADDRESS);
-    if (host == null) {
-      host = attributes.get(NET_HOST_NAME);
-      if (host == null) {
-        host = attributes.get(HTTP_HOST);
-      }
-    }
+  /**
+   * Returns whether this rule can match spans from the given {@link Resource}. The resource does
+   * not change for the lifetime of the sampler, so this only needs to be evaluated when rules are
+   * refreshed. The resource ARN is only checked here if it does not depend on span attributes, see
+   * {@link #isArnFromSpan(Resource)}.
+   */
+  boolean matchesResource(Resource resource) {
+    return serviceNameMatcher.matches(resource.getAttribute(SERVICE_NAME))
+        && serviceTypeMatcher.matches(getServiceType(resource))
+        && (isArnFromSpan(resource)
+            || resourceArnMatcher.matches(getArn(Attributes.empty(), resource)));
+  }
 
+  /**
+   * Returns whether this rule matches the span-derived inputs, assuming {@link
+   * #matchesResource(Resource)} already returned {@code true}.
+   */
+  boolean matchesSpan(
+      Attributes attributes,
+      @Nullable String httpTarget,
+      @Nullable String httpMethod,
+      @Nullable String host,
+      boolean arnFromSpan) {
+    int matchedAttributes = 0;
     for (Map.Entry<AttributeKey<?>, Object> entry : attributes.asMap().entrySet()) {
       Matcher matcher = attributeMatchers.get(entry.getKey().getKey());
       if (matcher == null) {
@@ -262,28 +265,10 @@ final class SamplingRuleApplier {
       return false;
     }
 
-    // URL Path may be in either http.target or http.url
-    if (httpTarget == null && httpUrl != null) {
-      int schemeEndIndex = httpUrl.indexOf("://");
-      // Per spec, http.url is always populated with scheme://host/target. If scheme doesn't
-      // match, assume it's bad instrumentation and ignore.
-      if (schemeEndIndex > 0) {
-        int pathIndex = httpUrl.indexOf('/', schemeEndIndex + "://".length());
-        if (pathIndex < 0) {
-          // No path, equivalent to root path.
-          httpTarget = "/";
-        } else {
-          httpTarget = httpUrl.substring(pathIndex);
-        }
-      }
-    }
-
     return urlPathMatcher.matches(httpTarget)
-        && serviceNameMatcher.matches(resource.getAttribute(SERVICE_NAME))
         && httpMethodMatcher.matches(httpMethod)
         && hostMatcher.matches(host)
-        && serviceTypeMatcher.matches(getServiceType(resource))
-        && resourceArnMatcher.matches(getArn(attributes, resource));
+        && (!arnFromSpan || resourceArnMatcher.matches(attributes.get(CLOUD_RESOURCE_ID)));
   }
 
   SamplingResult shouldSample(
@@ -480,6 +465,88 @@ final class SamplingRuleApplier {
     return hasBoost;
   }
 
+  String getUrlPathGlob() {
+    return urlPathMatcher.glob();
+  }
+
+  String getHttpMethodGlob() {
+    return httpMethodMatcher.glob();
+  }
+
+  String getHostGlob() {
+    return hostMatcher.glob();
+  }
+
+  @Nullable
+  @SuppressWarnings("deprecation") // TODO
+  static String getHttpTarget(Attributes attributes) {
+    String httpTarget = attributes.get(UrlAttributes.URL_PATH);
+    if (httpTarget == null) {
+      httpTarget = attributes.get(HTTP_TARGET);
+    }
+    if (httpTarget != null) {
+      return httpTarget;
+    }
+
+    // URL Path may be in either http.target or http.url
+    String httpUrl = attributes.get(UrlAttributes.URL_FULL);
+    if (httpUrl == null) {
+      httpUrl = attributes.get(HTTP_URL);
+    }
+    if (httpUrl == null) {
+      return null;
+    }
+    int schemeEndIndex = httpUrl.indexOf("://");
+    // Per spec, http.url is always populated with scheme://host/target. If scheme doesn't
+    // match, assume it's bad instrumentation and ignore.
+    if (schemeEndIndex <= 0) {
+      return null;
+    }
+    int pathIndex = httpUrl.indexOf('/', schemeEndIndex + "://".length());
+    if (pathIndex < 0) {
+      // No path, equivalent to root path.
+      return "/";
+    }
+    return httpUrl.substring(pathIndex);
+  }
+
+  @Nullable
+  @SuppressWarnings("deprecation") // TODO
+  static String getHttpMethod(Attributes attributes) {
+    String httpMethod = attributes.get(HttpAttributes.HTTP_REQUEST_METHOD);
+    if (httpMethod == null) {
+      httpMethod = attributes.get(HTTP_METHOD);
+    }
+
+    if (httpMethod != null && httpMethod.equals(_OTHER_REQUEST_METHOD)) {
+      httpMethod = attributes.get(HttpAttributes.HTTP_REQUEST_METHOD_ORIGINAL);
+    }
+    return httpMethod;
+  }
+
+  @Nullable
+  static String getHost(Attributes attributes) {
+    String host = attributes.get(ServerAttributes.SERVER_ADDRESS);
+    if (host == null) {
+      host = attributes.get(NET_HOST_NAME);
+      if (host == null) {
+        host = attributes.get(HTTP_HOST);
+      }
+    }
+    return host;
+  }
+
+  /**
+   * Returns whether the resource ARN of spans from this {@link Resource} has to be read from span
+   * attributes, which is only the case for Lambda functions without a resource level {@code
+   * cloud.resource_id}.
+   */
+  static boolean isArnFromSpan(Resource resource) {
+    return resource.getAttributes().get(AWS_ECS_CONTAINER_ARN) == null
+        && AWS_LAMBDA.equals(resource.getAttributes().get(CLOUD_PLATFORM))
+        && resource.getAttributes().get(CLOUD_RESOURCE_ID) == null;
+  }
+
   @Nullable
   private static String getArn(Attributes attributes, Resource resource) {
     String arn = resource.getAttributes().get(AWS_ECS_CONTAINER_ARN);
@@ -519,7 +586,7 @@ final class SamplingRuleApplier {
     for (int i = 0; i < globPattern.length(); i++) {
       char c = globPattern.charAt(i);
       if (c == '*' || c == '?') {
-        return new PatternMatcher(toRegexPattern(globPattern));
+        return new PatternMatcher(globPattern, toRegexPattern(globPattern));
       }
     }
 
@@ -556,6 +623,8 @@ final class SamplingRuleApplier {
 
   private interface Matcher {
     boolean matches(@Nullable String s);
+
+    String glob();
   }
 
   private enum TrueMatcher implements Matcher {
@@ -566,6 +635,11 @@ final class SamplingRuleApplier {
       return true;
     }
 
+    @Override
+    public String glob() {
+      return "*";
+    }
+
     @Override
     public String toString() {
       return "TrueMatcher";
@@ -588,6 +662,11 @@ final class SamplingRuleApplier {
       return target.equalsIgnoreCase(s);
     }
 
+    @Override
+    public String glob() {
+      return target;
+    }
+
     @Override
     public String toString() {
       return target;
@@ -595,9 +674,11 @@ final class SamplingRuleApplier {
   }
 
   private static class PatternMatcher implements Matcher {
+    private final String glob;
     private final Pattern pattern;
 
-    PatternMatcher(Pattern pattern) {
+    PatternMatcher(String glob, Pattern pattern) {
+      this.glob = glob;
       this.pattern = pattern;
     }
 
@@ -609,6 +690,11 @@ final class SamplingRuleApplier {
       return pattern.matcher(s).matches();
     }
 
+    @Override
+    public String glob() {
+      return glob;
+    }
+
     @Override
     public String toString() {
       return pattern.toString();
@@ -0,0 +1,284 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.awsxray;
+
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * An index over the {@link SamplingRuleApplier}s of a {@link XrayRulesSampler}, built whenever
+ * rules are fetched from X-Ray.
+ *
+ * <p>Rules that can never match the {@link Resource} are excluded up front. The URL path, HTTP
+ * method and host globs of the remaining rules are grouped per field so that a single lookup per
+ * field returns every rule that may match the span. Candidates are identified by their position in
+ * the applier array, so iterating them in ascending order preserves rule priority. The index only
+ * narrows down the rules to consider, candidates still need to be checked with {@link
+ * SamplingRuleApplier#matchesSpan}.
+ */
+final class SamplingRuleIndex {
+
+  private final int ruleCount;
+  private final boolean arnFromSpan;
+  private final long[] resourceMatches;
+  private final GlobIndex urlPathIndex;
+  private final GlobIndex httpMethodIndex;
+  private final GlobIndex hostIndex;
+
+  static SamplingRuleIndex create(SamplingRuleApplier[] appliers, Resource resource) {
+    int words = wordCount(appliers.length);
+    long[] resourceMatches = new long[words];
+    GlobIndex.Builder urlPathIndex = new GlobIndex.Builder(words);
+    GlobIndex.Builder httpMethodIndex = new GlobIndex.Builder(words);
+    GlobIndex.Builder hostIndex = new GlobIndex.Builder(words);
+    for (int i = 0; i < appliers.length; i++) {
+      SamplingRuleApplier applier = appliers[i];
+      if (!applier.matchesResource(resource)) {
+        continue;
+      }
+      set(resourceMatches, i);
+      urlPathIndex.add(i, applier.getUrlPathGlob());
+      httpMethodIndex.add(i, applier.getHttpMethodGlob());
+      hostIndex.add(i, applier.getHostGlob());
+    }
+    return new SamplingRuleIndex(
+        appliers.length,
+        SamplingRuleApplier.isArnFromSpan(resource),
+        resourceMatches,
+        urlPathIndex.build(),
+        httpMethodIndex.build(),
+        hostIndex.build());
+  }
+
+  private SamplingRuleIndex(
+      int ruleCount,
+      boolean arnFromSpan,
+      long[] resourceMatches,
+      GlobIndex urlPathIndex,
+      GlobIndex httpMethodIndex,
+      GlobIndex hostIndex) {
+    this.ruleCount = ruleCount;
+    this.arnFromSpan = arnFromSpan;
+    this.resourceMatches = resourceMatches;
+    this.urlPathIndex = urlPathIndex;
+    this.httpMethodIndex = httpMethodIndex;
+    this.hostIndex = hostIndex;
+  }
+
+  /**
+   * Returns the set of rules that may match a span with the given fields. Iterate over it with
+   * {@link #nextCandidate(long[], int)}.
+   */
+  long[] candidates(
+      @Nullable String httpTarget, @Nullable String httpMethod, @Nullable String host) {
+    long[] candidates = urlPathIndex.lookup(httpTarget);
+    retain(candidates, httpMethodIndex.lookup(httpMethod));
+    retain(candidates, hostIndex.lookup(host));
+    return candidates;
+  }
+
+  /**
+   * Returns the position of the next candidate at or after {@code fromIndex}, or {@code -1} if
+   * there is none.
+   */
+  int nextCandidate(long[] candidates, int fromIndex) {
+    if (fromIndex >= ruleCount) {
+      return -1;
+    }
+    int word = fromIndex >>> 6;
+    long bits = candidates[word] & (-1L << fromIndex);
+    while (true) {
+      if (bits != 0) {
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+      }
+      if (++word == candidates.length) {
+        return -1;
+      }
+      bits = candidates[word];
+    }
+  }
+
+  /** Returns whether the rule at the given position can match spans of the resource. */
+  boolean matchesResource(int ruleIndex) {
+    return (resourceMatches[ruleIndex >>> 6] & (1L << ruleIndex)) != 0;
+  }
+
+  /** See {@link SamplingRuleApplier#isArnFromSpan(Resource)}. */
+  boolean isArnFromSpan() {
+    return arnFromSpan;
+  }
+
+  private static int wordCount(int ruleCount) {
+    return Math.max(1, (ruleCount + 63) >>> 6);
+  }
+
+  private static void set(long[] bits, int index) {
+    bits[index >>> 6] |= 1L << index;
+  }
+
+  private static void or(long[] target, long[] bits) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] |= bits[i];
+    }
+  }
+
+  private static void retain(long[] target, long[] bits) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] &= bits[i];
+    }
+  }
+
+  // Mirrors String.equalsIgnoreCase, which compares characters after upper casing and then lower
+  // casing them, so that equal keys are found with a hash lookup.
+  private static String foldCase(String s) {
+    char[] chars = new char[s.length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Groups the globs of a single field across all rules. A glob of {@code *} matches everything,
+   * globs without wildcards are matched case-insensitively through a hash lookup and any other
+   * glob is stored in a trie keyed by its literal prefix, so that all of them are narrowed down in
+   * a single pass over the value.
+   */
+  private static final class GlobIndex {
+
+    private final long[] matchAll;
+    private final Map<String, long[]> exact;
+    @Nullable private final TrieNode patterns;
+
+    private GlobIndex(long[] matchAll, Map<String, long[]> exact, @Nullable TrieNode patterns) {
+      this.matchAll = matchAll;
+      this.exact = exact;
+      this.patterns = patterns;
+    }
+
+    long[] lookup(@Nullable String value) {
+      long[] result = matchAll.clone();
+      // Only the match-all glob matches a missing value.
+      if (value == null) {
+        return result;
+      }
+      if (!exact.isEmpty()) {
+        long[] exactMatches = exact.get(foldCase(value));
+        if (exactMatches != null) {
+          or(result, exactMatches);
+        }
+      }
+      TrieNode node = patterns;
+      int i = 0;
+      while (node != null) {
+        if (node.rules != null) {
+          or(result, node.rules);
+        }
+        if (i == value.length()) {
+          break;
+        }
+        node = node.child(value.charAt(i++));
+      }
+      return result;
+    }
+
+    static final class Builder {
+      private final int words;
+      private final long[] matchAll;
+      private final Map<String, long[]> exact = new HashMap<>();
+      @Nullable private TrieNode.Builder patterns;
+
+      Builder(int words) {
+        this.words = words;
+        this.matchAll = new long[words];
+      }
+
+      void add(int ruleIndex, String glob) {
+        if (glob.equals("*")) {
+          set(matchAll, ruleIndex);
+          return;
+        }
+        int wildcard = 0;
+        while (wildcard < glob.length()
+            && glob.charAt(wildcard) != '*'
+            && glob.charAt(wildcard) != '?') {
+          wildcard++;
+        }
+        if (wildcard == glob.length()) {
+          set(exact.computeIfAbsent(foldCase(glob), unused -> new long[words]), ruleIndex);
+          return;
+        }
+        // Glob patterns are matched case-sensitively, so the literal prefix is too.
+        if (patterns == null) {
+          patterns = new TrieNode.Builder();
+        }
+        TrieNode.Builder node = patterns;
+        for (int i = 0; i < wildcard; i++) {
+          node = node.children.computeIfAbsent(glob.charAt(i), unused -> new TrieNode.Builder());
+        }
+        if (node.rules == null) {
+          node.rules = new long[words];
+        }
+        set(node.rules, ruleIndex);
+      }
+
+      GlobIndex build() {
+        return new GlobIndex(matchAll, exact, patterns != null ? patterns.build() : null);
+      }
+    }
+  }
+
+  private static final class TrieNode {
+    private final char[] keys;
+    private final TrieNode[] children;
+    @Nullable private final long[] rules;
+
+    private TrieNode(char[] keys, TrieNode[] children, @Nullable long[] rules) {
+      this.keys = keys;
+      this.children = children;
+      this.rules = rules;
+    }
+
+    @Nullable
+    TrieNode child(char c) {
+      int low = 0;
+      int high = keys.length - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        char key = keys[mid];
+        if (key < c) {
+          low = mid + 1;
+        } else if (key > c) {
+          high = mid - 1;
+        } else {
+          return children[mid];
+        }
+      }
+      return null;
+    }
+
+    static final class Builder {
+      // Sorted so that the built node can be searched with a binary search.
+      private final TreeMap<Character, Builder> children = new TreeMap<>();
+      @Nullable private long[] rules;
+
+      TrieNode build() {
+        char[] keys = new char[children.size()];
+        TrieNode[] nodes = new TrieNode[children.size()];
+        int i = 0;
+        for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+          keys[i] = entry.getKey();
+          nodes[i] = entry.getValue().build();
+          i++;
+        }
+        return new TrieNode(keys, nodes, rules);
+      }
+    }
+  }
+}
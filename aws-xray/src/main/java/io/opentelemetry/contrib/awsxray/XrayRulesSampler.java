@@ -65,6 +65,7 @@ final class XrayRulesSampler implements Sampler {
   private final Clock clock;
   private final Sampler fallbackSampler;
   private final SamplingRuleApplier[] ruleAppliers;
+  private final SamplingRuleIndex ruleIndex;
   private final Map<String, String> ruleToHashMap;
   private final Map<String, String> hashToRuleMap;
 
@@ -95,6 +96,27 @@ final class XrayRulesSampler implements Sampler {
                     new SamplingRuleApplier(
                         clientId, rule, resource.getAttribute(SERVICE_NAME), clock))
             .toArray(SamplingRuleApplier[]::new),
+        rules,
+        adaptiveSamplingConfig);
+  }
+
+  private XrayRulesSampler(
+      String clientId,
+      Resource resource,
+      Clock clock,
+      Sampler fallbackSampler,
+      SamplingRuleApplier[] ruleAppliers,
+      List<GetSamplingRulesResponse.SamplingRule> rules,
+      @Nullable AwsXrayAdaptiveSamplingConfig adaptiveSamplingConfig) {
+    this(
+        clientId,
+        resource,
+        clock,
+        fallbackSampler,
+        ruleAppliers,
+        // The resource never changes, so which rules can match it and how their globs are grouped
+        // only needs to be computed when rules are fetched.
+        SamplingRuleIndex.create(ruleAppliers, resource),
         createRuleHashMaps(rules),
         rules.stream().anyMatch(r -> r.getSamplingRateBoost() != null),
         adaptiveSamplingConfig,
@@ -111,6 +133,7 @@ final class XrayRulesSampler implements Sampler {
       Clock clock,
       Sampler fallbackSampler,
       SamplingRuleApplier[] ruleAppliers,
+      SamplingRuleIndex ruleIndex,
       Map<String, String> ruleToHashMap,
       boolean adaptiveSamplingRuleExists,
       @Nullable AwsXrayAdaptiveSamplingConfig adaptiveSamplingConfig,
@@ -120,6 +143,7 @@ final class XrayRulesSampler implements Sampler {
     this.clock = clock;
     this.fallbackSampler = fallbackSampler;
     this.ruleAppliers = ruleAppliers;
+    this.ruleIndex = ruleIndex;
     this.ruleToHashMap = ruleToHashMap;
     this.hashToRuleMap = new HashMap<>();
     for (Map.Entry<String, String> entry : ruleToHashMap.entrySet()) {
@@ -163,8 +187,16 @@ final class XrayRulesSampler implements Sampler {
               ? b.getEntryValue(AwsSamplingResult.AWS_XRAY_SAMPLING_RULE_TRACE_STATE_KEY)
               : null;
     }
-    for (SamplingRuleApplier applier : ruleAppliers) {
-      if (applier.matches(attributes, resource)) {
+    String httpTarget = SamplingRuleApplier.getHttpTarget(attributes);
+    String httpMethod = SamplingRuleApplier.getHttpMethod(attributes);
+    String host = SamplingRuleApplier.getHost(attributes);
+    long[] candidates = ruleIndex.candidates(httpTarget, httpMethod, host);
+    for (int i = ruleIndex.nextCandidate(candidates, 0);
+        i >= 0;
+        i = ruleIndex.nextCandidate(candidates, i + 1)) {
+      SamplingRuleApplier applier = ruleAppliers[i];
+      if (applier.matchesSpan(
+          attributes, httpTarget, httpMethod, host, ruleIndex.isArnFromSpan())) {
         SamplingResult result =
             applier.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
 
@@ -259,15 +291,22 @@ final class XrayRulesSampler implements Sampler {
           traceStateValue != null
               ? hashToRuleMap.getOrDefault(traceStateValue, traceStateValue)
               : traceStateValue;
+      Attributes attributes = spanData.getAttributes();
+      String httpTarget = SamplingRuleApplier.getHttpTarget(attributes);
+      String httpMethod = SamplingRuleApplier.getHttpMethod(attributes);
+      String host = SamplingRuleApplier.getHost(attributes);
       SamplingRuleApplier ruleToReportTo = null;
       SamplingRuleApplier matchedRule = null;
-      for (SamplingRuleApplier applier : ruleAppliers) {
+      for (int i = 0; i < ruleAppliers.length; i++) {
+        SamplingRuleApplier applier = ruleAppliers[i];
         // Rule propagated from when sampling decision was made, otherwise the matched rule
         if (applier.getRuleName().equals(upstreamRuleName)) {
           ruleToReportTo = applier;
           break;
         }
-        if (applier.matches(spanData.getAttributes(), resource)) {
+        if (ruleIndex.matchesResource(i)
+            && applier.matchesSpan(
+                attributes, httpTarget, httpMethod, host, ruleIndex.isArnFromSpan())) {
           matchedRule = applier;
         }
       }
@@ -343,6 +382,8 @@ final class XrayRulesSampler implements Sampler {
         clock,
         fallbackSampler,
         newAppliers,
+        // Targets only change rates, rules and their order stay the same.
+        ruleIndex,
         ruleToHashMap,
         adaptiveSamplingRuleExists,
         adaptiveSamplingConfig,
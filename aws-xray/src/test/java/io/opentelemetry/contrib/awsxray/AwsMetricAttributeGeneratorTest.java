@@ -35,7 +35,10 @@ import static io.opentelemetry.semconv.incubating.PeerIncubatingAttributes.PEER_
 import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_METHOD;
 import static io.opentelemetry.semconv.incubating.RpcIncubatingAttributes.RPC_SERVICE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.opentelemetry.api.common.AttributeKey;
@@ -43,6 +46,7 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -356,6 +360,86 @@ class AwsMetricAttributeGeneratorTest {
     assertThat(actualAttributes.get(AWS_REMOTE_SERVICE)).isEqualTo("TestString");
   }
 
+  @Test
+  void testReusesAttributesForSameInputs() {
+    mockAttribute(AWS_LOCAL_OPERATION, AWS_LOCAL_OPERATION_VALUE);
+    mockAttribute(RPC_SERVICE, "Rpc service");
+    when(spanDataMock.getKind()).thenReturn(SpanKind.CLIENT);
+    when(spanDataMock.getName()).thenReturn("first");
+
+    Attributes first = GENERATOR.generateMetricAttributesFromSpan(spanDataMock, resource);
+    // The name of egress spans is not an input.
+    when(spanDataMock.getName()).thenReturn("second");
+    Attributes second = GENERATOR.generateMetricAttributesFromSpan(spanDataMock, resource);
+    mockAttribute(RPC_SERVICE, "Other rpc service");
+    Attributes third = GENERATOR.generateMetricAttributesFromSpan(spanDataMock, resource);
+
+    assertThat(second).isSameAs(first);
+    assertThat(third.get(AWS_REMOTE_SERVICE)).isEqualTo("Other rpc service");
+    mockAttribute(AWS_LOCAL_OPERATION, null);
+    mockAttribute(RPC_SERVICE, null);
+  }
+
+  @Test
+  void testKeepsFrequentInputsCachedWhenFull() {
+    AwsMetricAttributeGenerator generator = new AwsMetricAttributeGenerator(100);
+    mockAttribute(AWS_LOCAL_OPERATION, AWS_LOCAL_OPERATION_VALUE);
+    mockAttribute(HTTP_METHOD, "GET");
+    when(spanDataMock.getKind()).thenReturn(SpanKind.CLIENT);
+    mockAttribute(HTTP_URL, "http://example.com/hot");
+    Attributes hot = generator.generateMetricAttributesFromSpan(spanDataMock, resource);
+
+    for (int i = 0; i < 1000; i++) {
+      mockAttribute(HTTP_URL, "http://example.com/cold/" + i);
+      generator.generateMetricAttributesFromSpan(spanDataMock, resource);
+      mockAttribute(HTTP_URL, "http://example.com/hot");
+      assertThat(generator.generateMetricAttributesFromSpan(spanDataMock, resource)).isSameAs(hot);
+    }
+    mockAttribute(AWS_LOCAL_OPERATION, null);
+    mockAttribute(HTTP_METHOD, null);
+    mockAttribute(HTTP_URL, null);
+  }
+
+  @Test
+  void testIngressTargetsWithSameFirstPathPartShareAttributes() {
+    mockAttribute(HTTP_METHOD, "GET");
+    mockAttribute(HTTP_TARGET, "/users/123");
+    when(spanDataMock.getKind()).thenReturn(SpanKind.SERVER);
+    when(spanDataMock.getName()).thenReturn("GET");
+    Attributes first = GENERATOR.generateMetricAttributesFromSpan(spanDataMock, resource);
+    mockAttribute(HTTP_TARGET, "/users/456");
+    Attributes second = GENERATOR.generateMetricAttributesFromSpan(spanDataMock, resource);
+
+    assertThat(first.get(AWS_LOCAL_OPERATION)).isEqualTo("GET /users");
+    assertThat(second).isSameAs(first);
+    mockAttribute(HTTP_METHOD, null);
+    mockAttribute(HTTP_TARGET, null);
+  }
+
+  @Test
+  void testReadableSpanProducesSameAttributesAsSpanData() {
+    mockAttribute(HTTP_METHOD, "GET");
+    mockAttribute(HTTP_TARGET, "/users/123");
+    when(spanDataMock.getKind()).thenReturn(SpanKind.SERVER);
+    when(spanDataMock.getName()).thenReturn("GET");
+    ReadableSpan readableSpanMock = mock(ReadableSpan.class);
+    when(readableSpanMock.getKind()).thenReturn(SpanKind.SERVER);
+    when(readableSpanMock.getName()).thenReturn("GET");
+    when(readableSpanMock.getSpanContext()).thenReturn(mock(SpanContext.class));
+    when(readableSpanMock.getAttribute(any()))
+        .thenAnswer(invocation -> attributesMock.get(invocation.getArgument(0)));
+
+    Attributes actualAttributes =
+        GENERATOR.generateMetricAttributesFromSpan(readableSpanMock, resource);
+
+    assertThat(actualAttributes.get(AWS_LOCAL_OPERATION)).isEqualTo("GET /users");
+    assertThat(actualAttributes)
+        .isEqualTo(GENERATOR.generateMetricAttributesFromSpan(spanDataMock, resource));
+    verify(readableSpanMock, never()).toSpanData();
+    mockAttribute(HTTP_METHOD, null);
+    mockAttribute(HTTP_TARGET, null);
+  }
+
   @Test
   void testClientSpanWithRemoteTargetAttributes() {
     // Validate behaviour of aws bucket name attribute, then remove it.
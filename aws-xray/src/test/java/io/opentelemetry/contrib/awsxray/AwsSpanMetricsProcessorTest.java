@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -164,6 +165,8 @@ class AwsSpanMetricsProcessorTest {
     verifyNoInteractions(errorCounterMock);
     verify(faultCounterMock, times(1)).add(eq(1L), eq(metricAttributes));
     verify(latencyHistogramMock, times(1)).record(eq(TEST_LATENCY_MILLIS), eq(metricAttributes));
+    // Spans with a status code attribute are never converted to SpanData.
+    verify(readableSpanMock, never()).toSpanData();
   }
 
   @Test
@@ -239,6 +242,7 @@ class AwsSpanMetricsProcessorTest {
     when(mockSpanData.getInstrumentationScopeInfo()).thenReturn(awsSdkScopeInfo);
     when(mockSpanData.getAttributes()).thenReturn(spanAttributes);
     when(mockSpanData.getTotalAttributeCount()).thenReturn(spanAttributes.size());
+    when(readableSpanMock.getInstrumentationScopeInfo()).thenReturn(awsSdkScopeInfo);
     when(readableSpanMock.toSpanData()).thenReturn(mockSpanData);
 
     return readableSpanMock;
@@ -267,6 +271,7 @@ class AwsSpanMetricsProcessorTest {
     when(mockSpanData.getTotalAttributeCount()).thenReturn(spanAttributes.size());
     when(mockSpanData.getEvents()).thenReturn(events);
     when(mockEventData.getException()).thenReturn(throwable);
+    when(readableSpanMock.getInstrumentationScopeInfo()).thenReturn(awsSdkScopeInfo);
     when(readableSpanMock.toSpanData()).thenReturn(mockSpanData);
 
     return readableSpanMock;
@@ -274,8 +279,7 @@ class AwsSpanMetricsProcessorTest {
 
   private void configureMocksForOnEnd(ReadableSpan readableSpanMock, Attributes metricAttributes) {
     // Configure generated attributes
-    when(generatorMock.generateMetricAttributesFromSpan(
-            eq(readableSpanMock.toSpanData()), eq(testResource)))
+    when(generatorMock.generateMetricAttributesFromSpan(eq(readableSpanMock), eq(testResource)))
         .thenReturn(metricAttributes);
   }
 
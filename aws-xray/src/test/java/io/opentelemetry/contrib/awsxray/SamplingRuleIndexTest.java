@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.awsxray;
+
+import static io.opentelemetry.semconv.ServiceAttributes.SERVICE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.contrib.awsxray.GetSamplingRulesResponse.SamplingRule;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class SamplingRuleIndexTest {
+
+  private static final Resource RESOURCE =
+      Resource.builder().put(SERVICE_NAME, "cat-service").build();
+
+  @Test
+  void excludesRulesNotMatchingResource() {
+    SamplingRuleApplier[] appliers =
+        appliers(
+            rule("dog-rule", "dog-service", "*", "*", "*"),
+            rule("cat-rule", "cat-*", "*", "*", "*"),
+            rule("default", "*", "*", "*", "*"));
+    SamplingRuleIndex index = SamplingRuleIndex.create(appliers, RESOURCE);
+
+    assertThat(index.matchesResource(0)).isFalse();
+    assertThat(index.matchesResource(1)).isTrue();
+    assertThat(index.matchesResource(2)).isTrue();
+    assertThat(candidates(index, "/", "GET", "localhost")).containsExactly(1, 2);
+    assertThat(candidates(index, null, null, null)).containsExactly(1, 2);
+  }
+
+  @Test
+  void groupsGlobs() {
+    SamplingRuleApplier[] appliers =
+        appliers(
+            rule("exact-path", "*", "*", "*", "/api/users"),
+            rule("prefix-path", "*", "*", "*", "/api/*"),
+            rule("suffix-path", "*", "*", "*", "*/health"),
+            rule("exact-method", "*", "*", "post", "*"),
+            rule("pattern-host", "*", "*.example.com", "*", "*"),
+            rule("default", "*", "*", "*", "*"));
+    SamplingRuleIndex index = SamplingRuleIndex.create(appliers, RESOURCE);
+
+    assertThat(candidates(index, "/api/users", "GET", "localhost")).containsExactly(0, 1, 2, 5);
+    assertThat(candidates(index, "/API/USERS", "GET", "localhost")).containsExactly(0, 2, 5);
+    assertThat(candidates(index, "/other", "GET", "localhost")).containsExactly(2, 5);
+    // Exact matches are case-insensitive.
+    assertThat(candidates(index, "/other", "POST", "localhost")).containsExactly(2, 3, 5);
+    assertThat(candidates(index, "/other", "GET", "foo.example.com")).containsExactly(2, 4, 5);
+    // Only match-all globs match missing values.
+    assertThat(candidates(index, null, null, null)).containsExactly(5);
+  }
+
+  @Test
+  void manyRules() {
+    List<SamplingRule> rules = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rules.add(rule("rule-" + i, "*", "*", "*", "/path-" + i + "/*"));
+    }
+    rules.add(rule("default", "*", "*", "*", "*"));
+    SamplingRuleIndex index =
+        SamplingRuleIndex.create(appliers(rules.toArray(new SamplingRule[0])), RESOURCE);
+
+    assertThat(candidates(index, "/path-70/foo", "GET", "localhost")).containsExactly(70, 100);
+    assertThat(candidates(index, "/path-7/foo", "GET", "localhost")).containsExactly(7, 100);
+    assertThat(candidates(index, "/foo", "GET", "localhost")).containsExactly(100);
+  }
+
+  private static List<Integer> candidates(
+      SamplingRuleIndex index,
+      @Nullable String httpTarget,
+      @Nullable String httpMethod,
+      @Nullable String host) {
+    long[] candidates = index.candidates(httpTarget, httpMethod, host);
+    List<Integer> result = new ArrayList<>();
+    for (int i = index.nextCandidate(candidates, 0);
+        i >= 0;
+        i = index.nextCandidate(candidates, i + 1)) {
+      result.add(i);
+    }
+    return result;
+  }
+
+  private static SamplingRuleApplier[] appliers(SamplingRule... rules) {
+    return Arrays.stream(rules)
+        .map(rule -> new SamplingRuleApplier("CLIENT_ID", rule, "cat-service", Clock.getDefault()))
+        .toArray(SamplingRuleApplier[]::new);
+  }
+
+  private static SamplingRule rule(
+      String name, String serviceName, String host, String httpMethod, String urlPath) {
+    return SamplingRule.create(
+        Collections.emptyMap(),
+        1.0,
+        host,
+        httpMethod,
+        1,
+        0,
+        "*",
+        "*",
+        name,
+        serviceName,
+        "*",
+        urlPath,
+        1,
+        null);
+  }
+}
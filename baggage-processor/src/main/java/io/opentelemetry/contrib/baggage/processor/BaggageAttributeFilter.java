@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.baggage.processor;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+/**
+ * Converts {@link Baggage} into the {@link Attributes} copied by the baggage processors.
+ *
+ * <p>Baggage keys usually come from a small set, so the decision of the key predicate is cached per
+ * key, up to {@link #MAX_CACHED_KEYS} keys. Baggage is immutable and child spans usually see the
+ * same instance as their parent, so the attributes of the last converted baggage are reused when
+ * the same instance is converted again.
+ */
+final class BaggageAttributeFilter {
+  static final int MAX_CACHED_KEYS = 1024;
+
+  private final Predicate<String> keyPredicate;
+  @Nullable private final ConcurrentHashMap<String, Boolean> decisions;
+  @Nullable private volatile Converted last;
+
+  /**
+   * @param keyPredicate predicate selecting the copied baggage keys
+   * @param memoize whether the predicate is free of side effects, so its decisions and the
+   *     resulting attributes can be reused
+   */
+  BaggageAttributeFilter(Predicate<String> keyPredicate, boolean memoize) {
+    this.keyPredicate = keyPredicate;
+    this.decisions = memoize ? new ConcurrentHashMap<>() : null;
+  }
+
+  Attributes toAttributes(Baggage baggage) {
+    if (baggage.isEmpty()) {
+      return Attributes.empty();
+    }
+    Converted converted = last;
+    if (converted != null && converted.baggage == baggage) {
+      return converted.attributes;
+    }
+    AttributesBuilder builder = Attributes.builder();
+    baggage.forEach(
+        (key, entry) -> {
+          if (test(key)) {
+            builder.put(key, entry.getValue());
+          }
+        });
+    Attributes attributes = builder.build();
+    if (decisions != null) {
+      last = new Converted(baggage, attributes);
+    }
+    return attributes;
+  }
+
+  private boolean test(String key) {
+    if (decisions == null) {
+      return keyPredicate.test(key);
+    }
+    Boolean decision = decisions.get(key);
+    if (decision == null) {
+      decision = keyPredicate.test(key);
+      if (decisions.size() < MAX_CACHED_KEYS) {
+        decisions.put(key, decision);
+      }
+    }
+    return decision;
+  }
+
+  @Override
+  public String toString() {
+    return keyPredicate.toString();
+  }
+
+  private static final class Converted {
+    private final Baggage baggage;
+    private final Attributes attributes;
+
+    private Converted(Baggage baggage, Attributes attributes) {
+      this.baggage = baggage;
+      this.attributes = attributes;
+    }
+  }
+}
@@ -6,7 +6,7 @@
 package io.opentelemetry.contrib.baggage.processor;
 
 import io.opentelemetry.api.baggage.Baggage;
-import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.internal.IncludeExcludePredicate;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
@@ -21,7 +21,7 @@ import javax.annotation.Nullable;
  */
 public final class BaggageLogRecordProcessor implements LogRecordProcessor {
 
-  private final Predicate<String> baggageKeyPredicate;
+  private final BaggageAttributeFilter attributeFilter;
 
   /**
    * @deprecated Use {@link #BaggageLogRecordProcessor(Collection, Collection)} instead. Most usages
@@ -30,7 +30,7 @@ public final class BaggageLogRecordProcessor implements LogRecordProcessor {
    */
   @Deprecated
   public BaggageLogRecordProcessor(Predicate<String> baggageKeyPredicate) {
-    this.baggageKeyPredicate = baggageKeyPredicate;
+    this.attributeFilter = new BaggageAttributeFilter(baggageKeyPredicate, false);
   }
 
   /**
@@ -43,7 +43,9 @@ public final class BaggageLogRecordProcessor implements LogRecordProcessor {
    */
   public BaggageLogRecordProcessor(
       @Nullable Collection<String> included, @Nullable Collection<String> excluded) {
-    this.baggageKeyPredicate = IncludeExcludePredicate.createPatternMatching(included, excluded);
+    this.attributeFilter =
+        new BaggageAttributeFilter(
+            IncludeExcludePredicate.createPatternMatching(included, excluded), true);
   }
 
   /**
@@ -58,17 +60,14 @@ public final class BaggageLogRecordProcessor implements LogRecordProcessor {
 
   @Override
   public void onEmit(Context context, ReadWriteLogRecord logRecord) {
-    Baggage.fromContext(context)
-        .forEach(
-            (s, baggageEntry) -> {
-              if (baggageKeyPredicate.test(s)) {
-                logRecord.setAttribute(AttributeKey.stringKey(s), baggageEntry.getValue());
-              }
-            });
+    Attributes attributes = attributeFilter.toAttributes(Baggage.fromContext(context));
+    if (!attributes.isEmpty()) {
+      logRecord.setAllAttributes(attributes);
+    }
   }
 
   @Override
   public String toString() {
-    return "BaggageLogRecordProcessor{baggageKeyPredicate=" + baggageKeyPredicate + '}';
+    return "BaggageLogRecordProcessor{baggageKeyPredicate=" + attributeFilter + '}';
   }
 }
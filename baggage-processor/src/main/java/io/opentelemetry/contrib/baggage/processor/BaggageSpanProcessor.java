@@ -6,6 +6,7 @@
 package io.opentelemetry.contrib.baggage.processor;
 
 import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.internal.IncludeExcludePredicate;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
@@ -20,7 +21,7 @@ import javax.annotation.Nullable;
  * io.opentelemetry.api.trace.Span}.
  */
 public final class BaggageSpanProcessor implements SpanProcessor {
-  private final Predicate<String> baggageKeyPredicate;
+  private final BaggageAttributeFilter attributeFilter;
 
   /**
    * @deprecated Use {@link #BaggageSpanProcessor(Collection, Collection)} instead. Most usages of
@@ -29,7 +30,7 @@ public final class BaggageSpanProcessor implements SpanProcessor {
    */
   @Deprecated
   public BaggageSpanProcessor(Predicate<String> baggageKeyPredicate) {
-    this.baggageKeyPredicate = baggageKeyPredicate;
+    this.attributeFilter = new BaggageAttributeFilter(baggageKeyPredicate, false);
   }
 
   /**
@@ -43,7 +44,9 @@ public final class BaggageSpanProcessor implements SpanProcessor {
    */
   public BaggageSpanProcessor(
       @Nullable Collection<String> included, @Nullable Collection<String> excluded) {
-    this.baggageKeyPredicate = IncludeExcludePredicate.createPatternMatching(included, excluded);
+    this.attributeFilter =
+        new BaggageAttributeFilter(
+            IncludeExcludePredicate.createPatternMatching(included, excluded), true);
   }
 
   /**
@@ -58,13 +61,10 @@ public final class BaggageSpanProcessor implements SpanProcessor {
 
   @Override
   public void onStart(Context parentContext, ReadWriteSpan span) {
-    Baggage.fromContext(parentContext)
-        .forEach(
-            (s, baggageEntry) -> {
-              if (baggageKeyPredicate.test(s)) {
-                span.setAttribute(s, baggageEntry.getValue());
-              }
-            });
+    Attributes attributes = attributeFilter.toAttributes(Baggage.fromContext(parentContext));
+    if (!attributes.isEmpty()) {
+      span.setAllAttributes(attributes);
+    }
   }
 
   @Override
@@ -82,6 +82,6 @@ public final class BaggageSpanProcessor implements SpanProcessor {
 
   @Override
   public String toString() {
-    return "BaggageSpanProcessor{baggageKeyPredicate=" + baggageKeyPredicate + '}';
+    return "BaggageSpanProcessor{baggageKeyPredicate=" + attributeFilter + '}';
   }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.baggage.processor;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.common.Attributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class BaggageAttributeFilterTest {
+
+  private final List<String> testedKeys = new ArrayList<>();
+  private final Predicate<String> predicate =
+      key -> {
+        testedKeys.add(key);
+        return key.startsWith("k");
+      };
+
+  @Test
+  void copiesMatchingEntries() {
+    BaggageAttributeFilter filter = new BaggageAttributeFilter(predicate, true);
+    Baggage baggage = Baggage.builder().put("key", "value").put("other", "value").build();
+
+    assertThat(filter.toAttributes(baggage)).isEqualTo(Attributes.of(stringKey("key"), "value"));
+    assertThat(filter.toAttributes(Baggage.empty())).isEqualTo(Attributes.empty());
+  }
+
+  @Test
+  void reusesAttributesOfSameBaggage() {
+    BaggageAttributeFilter filter = new BaggageAttributeFilter(predicate, true);
+    Baggage baggage = Baggage.builder().put("key", "value").build();
+
+    Attributes attributes = filter.toAttributes(baggage);
+
+    assertThat(filter.toAttributes(baggage)).isSameAs(attributes);
+    assertThat(testedKeys).containsExactly("key");
+  }
+
+  @Test
+  void cachesDecisionsPerKey() {
+    BaggageAttributeFilter filter = new BaggageAttributeFilter(predicate, true);
+
+    filter.toAttributes(Baggage.builder().put("key", "a").put("other", "a").build());
+    Attributes attributes =
+        filter.toAttributes(Baggage.builder().put("key", "b").put("other", "b").build());
+
+    assertThat(attributes).isEqualTo(Attributes.of(stringKey("key"), "b"));
+    assertThat(testedKeys).containsExactlyInAnyOrder("key", "other");
+  }
+
+  @Test
+  void evaluatesPredicateEveryTimeWithoutMemoization() {
+    BaggageAttributeFilter filter = new BaggageAttributeFilter(predicate, false);
+    Baggage baggage = Baggage.builder().put("key", "value").build();
+
+    filter.toAttributes(baggage);
+    filter.toAttributes(baggage);
+
+    assertThat(testedKeys).containsExactly("key", "key");
+  }
+}
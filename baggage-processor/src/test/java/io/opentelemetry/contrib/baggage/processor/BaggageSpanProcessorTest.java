@@ -5,9 +5,11 @@
 
 package io.opentelemetry.contrib.baggage.processor;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static java.util.Collections.singletonList;
 
 import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
@@ -25,7 +27,7 @@ class BaggageSpanProcessorTest {
     try (BaggageSpanProcessor processor = BaggageSpanProcessor.allowAllBaggageKeys()) {
       try (Scope ignore = Baggage.current().toBuilder().put("key", "value").build().makeCurrent()) {
         processor.onStart(Context.current(), span);
-        Mockito.verify(span).setAttribute("key", "value");
+        Mockito.verify(span).setAllAttributes(Attributes.of(stringKey("key"), "value"));
       }
     }
   }
@@ -41,8 +43,7 @@ class BaggageSpanProcessorTest {
               .build()
               .makeCurrent()) {
         processor.onStart(Context.current(), span);
-        Mockito.verify(span).setAttribute("key", "value");
-        Mockito.verify(span, Mockito.never()).setAttribute("other", "value");
+        Mockito.verify(span).setAllAttributes(Attributes.of(stringKey("key"), "value"));
       }
     }
   }
@@ -59,9 +60,17 @@ class BaggageSpanProcessorTest {
               .build()
               .makeCurrent()) {
         processor.onStart(Context.current(), span);
-        Mockito.verify(span).setAttribute("key", "value");
-        Mockito.verify(span, Mockito.never()).setAttribute("key_is_ignored", "value");
+        Mockito.verify(span).setAllAttributes(Attributes.of(stringKey("key"), "value"));
       }
     }
   }
+
+  @Test
+  void test_baggageSpanProcessor_skips_spans_without_matching_baggage(@Mock ReadWriteSpan span) {
+    try (BaggageSpanProcessor processor = new BaggageSpanProcessor(singletonList("k*"), null)) {
+      processor.onStart(Context.root(), span);
+      processor.onStart(Context.root().with(Baggage.builder().put("other", "value").build()), span);
+      Mockito.verifyNoInteractions(span);
+    }
+  }
 }
@@ -21,6 +21,7 @@ dependencies {
   implementation("ru.vyarus.animalsniffer:ru.vyarus.animalsniffer.gradle.plugin:2.0.1")
   implementation("com.gradle.develocity:com.gradle.develocity.gradle.plugin:4.5.0")
   implementation("me.champeau.gradle.japicmp:me.champeau.gradle.japicmp.gradle.plugin:0.4.6")
+  implementation("me.champeau.jmh:jmh-gradle-plugin:0.7.3")
   implementation("com.google.auto.value:auto-value-annotations:1.11.1")
 }
 
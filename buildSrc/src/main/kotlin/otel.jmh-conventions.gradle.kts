@@ -0,0 +1,14 @@
+plugins {
+  id("otel.java-conventions")
+  id("me.champeau.jmh")
+}
+
+// Short runs that are enough to compare two implementations, with the allocation rate of each.
+jmh {
+  warmupIterations.set(5)
+  warmup.set("1s")
+  iterations.set(5)
+  timeOnIteration.set("1s")
+  fork.set(1)
+  profilers.add("gc")
+}
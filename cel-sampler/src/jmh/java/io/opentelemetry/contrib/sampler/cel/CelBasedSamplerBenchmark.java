@@ -0,0 +1,104 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.sampler.cel;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import dev.cel.common.CelValidationException;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CelBasedSamplerBenchmark {
+
+  private static final AttributeKey<String> URL_PATH = stringKey("url.path");
+  private static final AttributeKey<Long> HTTP_RESPONSE_STATUS_CODE =
+      longKey("http.response.status_code");
+  private static final String[] PATHS = {
+    "/actuator/health", "/api/orders/42", "/api/users", "/static/app.js"
+  };
+
+  @Param({"0", "8", "32"})
+  public int extraAttributeCount;
+
+  private Sampler sampler;
+  private Attributes[] attributes;
+  private String[] traceIds;
+
+  @Setup
+  public void setup() throws CelValidationException {
+    sampler =
+        CelBasedSampler.builder(Sampler.alwaysOn())
+            .drop("spanKind == \"SERVER\" && attribute[\"url.path\"].matches(\"/actuator.*\")")
+            .drop("attribute[\"url.path\"].startsWith(\"/static/\")")
+            .recordAndSample("attribute[\"http.response.status_code\"] >= 500")
+            .build();
+
+    attributes = new Attributes[PATHS.length];
+    for (int i = 0; i < PATHS.length; i++) {
+      AttributesBuilder builder =
+          Attributes.builder().put(URL_PATH, PATHS[i]).put(HTTP_RESPONSE_STATUS_CODE, 200L);
+      for (int j = 0; j < extraAttributeCount; j++) {
+        builder.put("attribute." + j, "value" + j);
+      }
+      attributes[i] = builder.build();
+    }
+    Random random = new Random(0);
+    traceIds = new String[64];
+    for (int i = 0; i < traceIds.length; i++) {
+      traceIds[i] = TraceId.fromLongs(random.nextLong(), random.nextLong());
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public SamplingResult shouldSample_01Thread(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public SamplingResult shouldSample_04Threads(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  private SamplingResult shouldSample(ThreadState threadState) {
+    int i = threadState.next++;
+    return sampler.shouldSample(
+        Context.root(),
+        traceIds[i & (traceIds.length - 1)],
+        "GET",
+        SpanKind.SERVER,
+        attributes[i & (attributes.length - 1)],
+        Collections.emptyList());
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int next;
+  }
+}
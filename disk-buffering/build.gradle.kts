@@ -5,7 +5,7 @@ plugins {
   id("otel.publish-conventions")
   id("otel.animalsniffer-conventions")
   id("com.gradleup.shadow")
-  id("me.champeau.jmh") version "0.7.3"
+  id("me.champeau.jmh")
   id("com.squareup.wire") version "6.4.5"
 }
 
@@ -2,6 +2,7 @@ plugins {
   id("com.gradleup.shadow")
   id("otel.java-conventions")
   id("otel.publish-conventions")
+  id("otel.jmh-conventions")
 }
 
 description = "Dynamic control of some specific features of the agent"
@@ -41,6 +42,9 @@ dependencies {
   testImplementation("org.assertj:assertj-core")
   testImplementation("org.mockito:mockito-inline")
   testImplementation("org.mockito:mockito-junit-jupiter")
+
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk-extension-autoconfigure-spi")
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk-extension-incubator")
 }
 
 tasks {
@@ -0,0 +1,114 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DelegatingSamplerBenchmark {
+
+  private static final AttributeKey<String> HTTP_ROUTE = stringKey("http.route");
+
+  @Param({"delegating", "route"})
+  public String samplerType;
+
+  @Param({"0", "8", "32"})
+  public int extraAttributeCount;
+
+  private Sampler sampler;
+  private String[] spanNames;
+  private Attributes[] attributes;
+  private String[] traceIds;
+
+  @Setup
+  public void setup() {
+    DelegatingSampler delegatingSampler = new DelegatingSampler();
+    delegatingSampler.setSamplingProbability(0.25);
+    if ("route".equals(samplerType)) {
+      List<RouteSamplingTable.Rule> rules = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        rules.add(RouteSamplingTable.Rule.forSpanName("GET /span/" + i, 0.5));
+        rules.add(RouteSamplingTable.Rule.forAttribute("http.route", "/route/" + i, 0.1));
+      }
+      RouteSampler routeSampler = new RouteSampler(delegatingSampler);
+      routeSampler.setTable(RouteSamplingTable.create(rules));
+      sampler = routeSampler;
+    } else {
+      sampler = delegatingSampler;
+    }
+
+    // Span name match, attribute match and no match.
+    spanNames = new String[] {"GET /span/7", "GET /other", "GET /other", "GET /other"};
+    String[] routes = {"/route/7", "/route/7", "/other", "/other"};
+    attributes = new Attributes[routes.length];
+    for (int i = 0; i < routes.length; i++) {
+      AttributesBuilder builder = Attributes.builder().put(HTTP_ROUTE, routes[i]);
+      for (int j = 0; j < extraAttributeCount; j++) {
+        builder.put("attribute." + j, "value" + j);
+      }
+      attributes[i] = builder.build();
+    }
+    Random random = new Random(0);
+    traceIds = new String[64];
+    for (int i = 0; i < traceIds.length; i++) {
+      traceIds[i] = TraceId.fromLongs(random.nextLong(), random.nextLong());
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public SamplingResult shouldSample_01Thread(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public SamplingResult shouldSample_04Threads(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  private SamplingResult shouldSample(ThreadState threadState) {
+    int i = threadState.next++;
+    int request = i & (attributes.length - 1);
+    return sampler.shouldSample(
+        Context.root(),
+        traceIds[i & (traceIds.length - 1)],
+        spanNames[request],
+        SpanKind.SERVER,
+        attributes[request],
+        Collections.emptyList());
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int next;
+  }
+}
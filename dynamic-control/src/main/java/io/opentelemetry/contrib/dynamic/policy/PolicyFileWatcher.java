@@ -0,0 +1,167 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Shared {@link WatchService} watching the directories of policy files, so that all the {@link
+ * WatchingFilePolicyProvider}s use a single thread.
+ *
+ * <p>The watch service and its thread are started with the first registration, and closed when no
+ * directory is watched anymore, either because all the registrations were closed or because the
+ * watched directories are no longer accessible.
+ */
+@SuppressWarnings("NonFinalStaticField")
+final class PolicyFileWatcher {
+  private static final Logger logger = Logger.getLogger(PolicyFileWatcher.class.getName());
+
+  static final String THREAD_NAME = "policy-file-watcher";
+
+  private static final Object LOCK = new Object();
+  // Guarded by LOCK.
+  private static final Map<WatchKey, List<Listener>> LISTENERS = new HashMap<>();
+  @Nullable private static WatchService watchService;
+
+  /** Callbacks for one watched directory, invoked from the watch thread. */
+  interface Listener {
+    /** Invoked after a burst of events in the directory. */
+    void onDirectoryChanged();
+
+    /**
+     * Invoked when the directory can no longer be watched, eg because it was deleted. The
+     * registration is then already closed.
+     */
+    void onWatchInvalid();
+  }
+
+  /**
+   * Starts watching {@code directory} for created, deleted and modified entries.
+   *
+   * @return handle that stops notifying {@code listener} when closed
+   * @throws IOException if the directory cannot be watched
+   * @throws UnsupportedOperationException if the directory is not on the default file system, or
+   *     its file system does not support watching
+   */
+  static Closeable register(Path directory, Listener listener) throws IOException {
+    if (directory.getFileSystem() != FileSystems.getDefault()) {
+      throw new UnsupportedOperationException(
+          "only directories of the default file system are watched: " + directory);
+    }
+    synchronized (LOCK) {
+      WatchService service = watchService;
+      if (service == null) {
+        service = FileSystems.getDefault().newWatchService();
+        watchService = service;
+        startThread(service);
+      }
+      WatchKey key;
+      try {
+        key = directory.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+      } catch (IOException | RuntimeException e) {
+        closeIfUnusedLocked();
+        throw e;
+      }
+      // Registering a directory again returns the same key.
+      LISTENERS.computeIfAbsent(key, unused -> new ArrayList<>()).add(listener);
+      return () -> unregister(key, listener);
+    }
+  }
+
+  /** Returns whether the shared watch service is open, which is useful for test assertions. */
+  static boolean isRunning() {
+    synchronized (LOCK) {
+      return watchService != null;
+    }
+  }
+
+  private static void unregister(WatchKey key, Listener listener) {
+    synchronized (LOCK) {
+      List<Listener> listeners = LISTENERS.get(key);
+      if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+        LISTENERS.remove(key);
+        key.cancel();
+      }
+      closeIfUnusedLocked();
+    }
+  }
+
+  private static void closeIfUnusedLocked() {
+    WatchService service = watchService;
+    if (service == null || !LISTENERS.isEmpty()) {
+      return;
+    }
+    watchService = null;
+    try {
+      // Stops the watch thread.
+      service.close();
+    } catch (IOException e) {
+      logger.log(Level.FINE, "Failed to close policy file watch service", e);
+    }
+  }
+
+  private static void startThread(WatchService service) {
+    Thread thread = new Thread(() -> watch(service), THREAD_NAME);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private static void watch(WatchService service) {
+    while (true) {
+      WatchKey key;
+      try {
+        key = service.take();
+      } catch (ClosedWatchServiceException e) {
+        return;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      // A single update usually produces a burst of events, only the resulting state matters.
+      key.pollEvents();
+      boolean valid = key.reset();
+      List<Listener> listeners;
+      synchronized (LOCK) {
+        List<Listener> registered = LISTENERS.get(key);
+        listeners = registered == null ? Collections.emptyList() : new ArrayList<>(registered);
+        if (!valid) {
+          LISTENERS.remove(key);
+          closeIfUnusedLocked();
+        }
+      }
+      for (Listener listener : listeners) {
+        try {
+          listener.onDirectoryChanged();
+          if (!valid) {
+            listener.onWatchInvalid();
+          }
+        } catch (RuntimeException e) {
+          logger.log(Level.WARNING, "Unexpected error handling policy file change", e);
+        }
+      }
+    }
+  }
+
+  private PolicyFileWatcher() {}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link PolicyProvider} for the same line-per-policy files as {@link LinePerPolicyFileProvider}
+ * that pushes updates as soon as the file changes, instead of waiting for the next {@link
+ * PolicyProviderPoller} tick.
+ *
+ * <p>The parent directory of the file is watched through the {@link PolicyFileWatcher} shared by
+ * all the providers, rather than the file itself. This catches in-place edits as well as Kubernetes
+ * ConfigMap updates, where the file is a symlink into a {@code ..data} directory that is atomically
+ * swapped. Any event in the directory triggers a comparison of the resolved file state (real path,
+ * timestamp, size and content hash), and policies are only re-read and published when that state
+ * changed. The content hash catches rewrites of the same size within the timestamp granularity.
+ *
+ * <p>If the file system does not support watching, or once the directory can no longer be watched,
+ * eg because it was deleted, this falls back to registering the file with {@link
+ * PolicyProviderPoller}, which also notices the file coming back.
+ */
+final class WatchingFilePolicyProvider extends AbstractPolicyProvider {
+  private static final Logger logger = Logger.getLogger(WatchingFilePolicyProvider.class.getName());
+
+  private final Path file;
+  private final LinePerPolicyFileProvider delegate;
+
+  WatchingFilePolicyProvider(Path file, List<PolicyValidator> validators) {
+    Objects.requireNonNull(file, "file cannot be null");
+    this.file = file.toAbsolutePath();
+    this.delegate = new LinePerPolicyFileProvider(this.file, validators);
+  }
+
+  @Override
+  public List<TelemetryPolicy> fetchPolicies() throws IOException {
+    return updateCurrentPolicies(delegate.fetchPolicies());
+  }
+
+  /**
+   * Starts watching the policy file and publishes re-read policies to {@code onUpdate} whenever it
+   * changes.
+   *
+   * @param onUpdate callback invoked with an immutable snapshot whenever policies change
+   * @return a {@link Closeable} that stops watching
+   */
+  @Override
+  public Closeable startWatching(Consumer<List<TelemetryPolicy>> onUpdate) {
+    Objects.requireNonNull(onUpdate, "onUpdate cannot be null");
+    Watch watch = new Watch(onUpdate);
+    Path directory = file.getParent();
+    try {
+      if (directory == null) {
+        throw new UnsupportedOperationException("policy file has no parent directory");
+      }
+      watch.watchDirectory(directory);
+    } catch (IOException | UnsupportedOperationException e) {
+      logger.log(
+          Level.INFO,
+          "Watching is not supported for policy file " + file + ", falling back to polling",
+          e);
+      watch.pollInstead();
+    }
+    return watch;
+  }
+
+  private FileState readFileState() {
+    try {
+      if (!Files.exists(file)) {
+        return FileState.MISSING;
+      }
+      // The real path changes when a ConfigMap symlink is swapped, even if timestamp and size
+      // happen to be identical.
+      return new FileState(
+          file.toRealPath().toString(),
+          Files.getLastModifiedTime(file).toMillis(),
+          Files.size(file),
+          Arrays.hashCode(Files.readAllBytes(file)));
+    } catch (NoSuchFileException e) {
+      return FileState.MISSING;
+    } catch (IOException e) {
+      logger.log(Level.INFO, "Failed to read policy file state: " + file, e);
+      return FileState.UNREADABLE;
+    }
+  }
+
+  private final class Watch implements PolicyFileWatcher.Listener, Closeable {
+    private final Consumer<List<TelemetryPolicy>> onUpdate;
+    private final AtomicReference<FileState> lastKnownFileState;
+    @Nullable private Closeable registration;
+    private boolean closed;
+
+    private Watch(Consumer<List<TelemetryPolicy>> onUpdate) {
+      this.onUpdate = onUpdate;
+      this.lastKnownFileState = new AtomicReference<>(readFileState());
+    }
+
+    // Synchronized so that a directory found invalid right away falls back to polling afterwards.
+    private synchronized void watchDirectory(Path directory) throws IOException {
+      registration = PolicyFileWatcher.register(directory, this);
+    }
+
+    private synchronized void pollInstead() {
+      if (closed) {
+        return;
+      }
+      registration =
+          PolicyProviderPoller.registerFile(
+              file, modified -> updateCurrentPoliciesAndNotify(delegate.fetchPolicies(), onUpdate));
+    }
+
+    @Override
+    public void onDirectoryChanged() {
+      FileState currentFileState = readFileState();
+      FileState previousFileState =
+          Objects.requireNonNull(lastKnownFileState.get(), "lastKnownFileState cannot be null");
+      if (currentFileState.equals(previousFileState)) {
+        return;
+      }
+      try {
+        updateCurrentPoliciesAndNotify(delegate.fetchPolicies(), onUpdate);
+        // Update only after successful handling so a failure is retried on the next event.
+        lastKnownFileState.set(currentFileState);
+      } catch (IOException | RuntimeException e) {
+        logger.log(Level.WARNING, "Failed to reload policy file: " + file, e);
+      }
+    }
+
+    @Override
+    public void onWatchInvalid() {
+      logger.info(
+          "Policy file directory is no longer accessible, falling back to polling: "
+              + file.getParent());
+      pollInstead();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      closed = true;
+      if (registration != null) {
+        registration.close();
+        registration = null;
+      }
+    }
+  }
+
+  private static final class FileState {
+    private static final FileState MISSING = new FileState("", -1, -1, 0);
+    private static final FileState UNREADABLE = new FileState("", -2, -1, 0);
+
+    private final String realPath;
+    private final long lastModifiedMillis;
+    private final long size;
+    private final int contentHash;
+
+    private FileState(String realPath, long lastModifiedMillis, long size, int contentHash) {
+      this.realPath = realPath;
+      this.lastModifiedMillis = lastModifiedMillis;
+      this.size = size;
+      this.contentHash = contentHash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof FileState)) {
+        return false;
+      }
+      FileState that = (FileState) obj;
+      return realPath.equals(that.realPath)
+          && lastModifiedMillis == that.lastModifiedMillis
+          && size == that.size
+          && contentHash == that.contentHash;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(realPath, lastModifiedMillis, size, contentHash);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link Sampler} that applies the sampling rate of the matching {@link RouteSamplingTable} rule
+ * and delegates spans that match no rule to a fallback sampler.
+ *
+ * <p>This class is thread-safe. The table and fallback are held in volatile fields and replaced as
+ * a whole, so sampling decisions never observe a partially updated table.
+ */
+public final class RouteSampler implements Sampler {
+
+  private volatile RouteSamplingTable table = RouteSamplingTable.EMPTY;
+  private volatile Sampler fallback;
+
+  /**
+   * Creates a new {@link RouteSampler} with an empty table.
+   *
+   * @param fallback sampler used for spans that match no rule
+   */
+  public RouteSampler(Sampler fallback) {
+    this.fallback = Objects.requireNonNull(fallback, "fallback cannot be null");
+  }
+
+  /**
+   * Replaces the decision table.
+   *
+   * @param table the new table
+   * @return {@code true} if the table changed, {@code false} if an equal table was already applied
+   */
+  public synchronized boolean setTable(RouteSamplingTable table) {
+    Objects.requireNonNull(table, "table cannot be null");
+    if (this.table.getRules().equals(table.getRules())) {
+      return false;
+    }
+    this.table = table;
+    return true;
+  }
+
+  public RouteSamplingTable getTable() {
+    return table;
+  }
+
+  /**
+   * Replaces the sampler used for spans that match no rule.
+   *
+   * @param fallback the new fallback sampler
+   */
+  public void setFallback(Sampler fallback) {
+    this.fallback = Objects.requireNonNull(fallback, "fallback cannot be null");
+  }
+
+  @Override
+  public SamplingResult shouldSample(
+      Context ctx,
+      String traceId,
+      String name,
+      SpanKind kind,
+      Attributes attrs,
+      List<LinkData> links) {
+    Sampler sampler = table.lookup(name, attrs);
+    if (sampler == null) {
+      sampler = fallback;
+    }
+    return sampler.shouldSample(ctx, traceId, name, kind, attrs, links);
+  }
+
+  @Override
+  public String getDescription() {
+    return "RouteSampler{rules="
+        + table.getRules()
+        + ", fallback="
+        + fallback.getDescription()
+        + "}";
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+}
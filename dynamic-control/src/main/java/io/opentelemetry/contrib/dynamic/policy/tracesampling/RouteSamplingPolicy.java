@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import io.opentelemetry.contrib.dynamic.policy.PolicyImplementer;
+import io.opentelemetry.contrib.dynamic.policy.TelemetryPolicy;
+import io.opentelemetry.contrib.dynamic.policy.TelemetryPolicyIdentity;
+import io.opentelemetry.contrib.dynamic.policy.registry.PolicyInit;
+import io.opentelemetry.contrib.dynamic.policy.source.SourceKind;
+import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizer;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Policy assigning sampling rates to spans by span name or attribute value, eg sampling {@code GET
+ * /health} at 1% while keeping rare endpoints at 100%.
+ *
+ * <p>The rules are compiled into a {@link RouteSamplingTable} when the policy is validated, so
+ * applying the policy only swaps the table used by the {@link RouteSampler}.
+ */
+public final class RouteSamplingPolicy implements TelemetryPolicy {
+  public static final String POLICY_TYPE = "route-sampling";
+  public static final TelemetryPolicyIdentity DEFAULT_IDENTITY =
+      new TelemetryPolicyIdentity("route-sampling", "Per-route trace sampling rates");
+
+  @Nullable private static volatile RouteSampler initializedSampler;
+
+  private final TelemetryPolicyIdentity identity;
+  private final RouteSamplingTable table;
+  private final SourceKind sourceKind;
+
+  public RouteSamplingPolicy(RouteSamplingTable table, SourceKind sourceKind) {
+    this.identity = DEFAULT_IDENTITY;
+    this.table = Objects.requireNonNull(table, "table cannot be null");
+    this.sourceKind = Objects.requireNonNull(sourceKind, "sourceKind cannot be null");
+  }
+
+  @Override
+  public TelemetryPolicyIdentity getIdentity() {
+    return identity;
+  }
+
+  @Override
+  public String getType() {
+    return POLICY_TYPE;
+  }
+
+  @Override
+  public SourceKind getSourceKind() {
+    return sourceKind;
+  }
+
+  public RouteSamplingTable getTable() {
+    return table;
+  }
+
+  /**
+   * Initializes runtime wiring for this policy type.
+   *
+   * <p>This installs a {@link RouteSampler} in front of the configured sampler, which is used for
+   * spans that match no rule. When combined with the {@code trace-sampling} policy, the sampler of
+   * that policy is used for these spans, whichever policy is initialized first.
+   */
+  public static PolicyImplementer initialize(AutoConfigurationCustomizer autoConfiguration) {
+    Objects.requireNonNull(autoConfiguration, "autoConfiguration cannot be null");
+    RouteSampler routeSampler = new RouteSampler(TraceSamplingRatePolicy.createSampler(1.0));
+    initializedSampler = routeSampler;
+    autoConfiguration.addSamplerCustomizer(
+        (sampler, config) -> {
+          routeSampler.setFallback(sampler);
+          return routeSampler;
+        });
+    return new RouteSamplingPolicyImplementer(routeSampler);
+  }
+
+  public static void registerPolicyType() {
+    PolicyInit.registerPolicyType(
+        POLICY_TYPE, RouteSamplingPolicy.class, RouteSamplingPolicy::initialize);
+  }
+
+  @Nullable
+  public static RouteSampler getInitializedSampler() {
+    return initializedSampler;
+  }
+
+  static void resetForTest() {
+    initializedSampler = null;
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import io.opentelemetry.contrib.dynamic.policy.PolicyImplementer;
+import io.opentelemetry.contrib.dynamic.policy.PolicyValidator;
+import io.opentelemetry.contrib.dynamic.policy.TelemetryPolicy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Implements the {@code route-sampling} policy by swapping the {@link RouteSamplingTable} of a
+ * {@link RouteSampler}.
+ *
+ * <p>If a deleted policy of type {@code "route-sampling"} is received, the table is reset to {@link
+ * RouteSamplingTable#EMPTY}, so all spans use the fallback sampler again.
+ *
+ * <p>This class is thread-safe. Calls to {@link #onPoliciesChanged(List)} can occur concurrently
+ * with sampling operations on the associated {@link RouteSampler}.
+ */
+public final class RouteSamplingPolicyImplementer implements PolicyImplementer {
+  private static final Logger logger =
+      Logger.getLogger(RouteSamplingPolicyImplementer.class.getName());
+
+  private static final List<PolicyValidator> VALIDATORS =
+      Collections.<PolicyValidator>singletonList(new RouteSamplingValidator());
+
+  private final RouteSampler routeSampler;
+
+  /**
+   * Creates a new implementer that updates the provided {@link RouteSampler}.
+   *
+   * @param routeSampler the sampler to update when policies change
+   */
+  public RouteSamplingPolicyImplementer(RouteSampler routeSampler) {
+    Objects.requireNonNull(routeSampler, "routeSampler cannot be null");
+    this.routeSampler = routeSampler;
+  }
+
+  @Override
+  public List<PolicyValidator> getValidators() {
+    return VALIDATORS;
+  }
+
+  @Override
+  public void onPoliciesChanged(List<TelemetryPolicy> policies) {
+    for (TelemetryPolicy policy : policies) {
+      if (!RouteSamplingPolicy.POLICY_TYPE.equals(policy.getType())) {
+        continue;
+      }
+      if (policy.isDeleted()) {
+        applyTable(RouteSamplingTable.EMPTY, "reset");
+        continue;
+      }
+      if (!(policy instanceof RouteSamplingPolicy)) {
+        continue;
+      }
+      applyTable(((RouteSamplingPolicy) policy).getTable(), "update");
+    }
+  }
+
+  private void applyTable(RouteSamplingTable table, String action) {
+    if (routeSampler.setTable(table)) {
+      logger.info(
+          "Applied route sampling policy " + action + ": " + table.getRules().size() + " rules");
+    }
+  }
+}
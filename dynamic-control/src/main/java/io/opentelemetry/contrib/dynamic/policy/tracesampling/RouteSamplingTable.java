@@ -0,0 +1,204 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable decision table mapping span names and string attribute values to sampling rates.
+ *
+ * <p>Rules are compiled into hash indexes when the table is created, so a lookup costs one hash
+ * lookup for the span name plus one per distinct configured attribute key, regardless of how many
+ * rules are configured. Span name rules take precedence over attribute rules, attribute rules are
+ * checked in the order their key first appears, and for duplicate predicates the first rule wins.
+ *
+ * <p>Samplers are created once per distinct probability with {@link
+ * TraceSamplingRatePolicy#createSampler(double)}, so they respect the parent sampling decision.
+ */
+public final class RouteSamplingTable {
+  public static final RouteSamplingTable EMPTY = create(Collections.emptyList());
+
+  private final List<Rule> rules;
+  private final Map<String, Sampler> spanNameSamplers;
+  private final AttributeIndex[] attributeIndexes;
+
+  /**
+   * Compiles the given rules into a decision table.
+   *
+   * @param rules rules in precedence order
+   * @return compiled table
+   */
+  public static RouteSamplingTable create(List<Rule> rules) {
+    Objects.requireNonNull(rules, "rules cannot be null");
+    Map<Double, Sampler> samplersByProbability = new HashMap<>();
+    Map<String, Sampler> spanNameSamplers = new HashMap<>();
+    Map<String, Map<String, Sampler>> attributeSamplers = new LinkedHashMap<>();
+    for (Rule rule : rules) {
+      Objects.requireNonNull(rule, "rules cannot contain null elements");
+      Sampler sampler =
+          samplersByProbability.computeIfAbsent(
+              rule.probability, TraceSamplingRatePolicy::createSampler);
+      if (rule.attributeKey == null) {
+        spanNameSamplers.putIfAbsent(rule.value, sampler);
+      } else {
+        attributeSamplers
+            .computeIfAbsent(rule.attributeKey, unused -> new HashMap<>())
+            .putIfAbsent(rule.value, sampler);
+      }
+    }
+    AttributeIndex[] attributeIndexes = new AttributeIndex[attributeSamplers.size()];
+    int i = 0;
+    for (Map.Entry<String, Map<String, Sampler>> entry : attributeSamplers.entrySet()) {
+      attributeIndexes[i++] =
+          new AttributeIndex(AttributeKey.stringKey(entry.getKey()), entry.getValue());
+    }
+    return new RouteSamplingTable(
+        Collections.unmodifiableList(new ArrayList<>(rules)), spanNameSamplers, attributeIndexes);
+  }
+
+  private RouteSamplingTable(
+      List<Rule> rules, Map<String, Sampler> spanNameSamplers, AttributeIndex[] attributeIndexes) {
+    this.rules = rules;
+    this.spanNameSamplers = spanNameSamplers;
+    this.attributeIndexes = attributeIndexes;
+  }
+
+  /**
+   * Returns the sampler of the first matching rule, or {@code null} if no rule matches.
+   *
+   * @param spanName name of the span being sampled
+   * @param attributes attributes of the span being sampled
+   */
+  @Nullable
+  public Sampler lookup(String spanName, Attributes attributes) {
+    Sampler sampler = spanNameSamplers.get(spanName);
+    if (sampler != null) {
+      return sampler;
+    }
+    for (AttributeIndex index : attributeIndexes) {
+      String value = attributes.get(index.key);
+      if (value != null) {
+        sampler = index.samplers.get(value);
+        if (sampler != null) {
+          return sampler;
+        }
+      }
+    }
+    return null;
+  }
+
+  /** Returns the rules this table was compiled from. */
+  public List<Rule> getRules() {
+    return rules;
+  }
+
+  public boolean isEmpty() {
+    return rules.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "RouteSamplingTable{rules=" + rules + "}";
+  }
+
+  /** One predicate and the sampling probability applied to spans matching it. */
+  public static final class Rule {
+    @Nullable private final String attributeKey;
+    private final String value;
+    private final double probability;
+
+    /**
+     * Creates a rule matching spans by exact span name.
+     *
+     * @throws IllegalArgumentException if probability is NaN or outside {@code [0.0, 1.0]}
+     */
+    public static Rule forSpanName(String spanName, double probability) {
+      Objects.requireNonNull(spanName, "spanName cannot be null");
+      return new Rule(null, spanName, probability);
+    }
+
+    /**
+     * Creates a rule matching spans whose string attribute {@code attributeKey} equals {@code
+     * value}.
+     *
+     * @throws IllegalArgumentException if probability is NaN or outside {@code [0.0, 1.0]}
+     */
+    public static Rule forAttribute(String attributeKey, String value, double probability) {
+      Objects.requireNonNull(attributeKey, "attributeKey cannot be null");
+      Objects.requireNonNull(value, "value cannot be null");
+      return new Rule(attributeKey, value, probability);
+    }
+
+    private Rule(@Nullable String attributeKey, String value, double probability) {
+      if (Double.isNaN(probability) || probability < 0.0 || probability > 1.0) {
+        throw new IllegalArgumentException("probability must be within [0.0, 1.0]");
+      }
+      this.attributeKey = attributeKey;
+      this.value = value;
+      // Normalize -0.0 to +0.0 so equal probabilities share a sampler.
+      this.probability = probability == 0.0 ? 0.0 : probability;
+    }
+
+    /** Returns the attribute key, or {@code null} for span name rules. */
+    @Nullable
+    public String getAttributeKey() {
+      return attributeKey;
+    }
+
+    /** Returns the span name or attribute value to match. */
+    public String getValue() {
+      return value;
+    }
+
+    public double getProbability() {
+      return probability;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Rule)) {
+        return false;
+      }
+      Rule that = (Rule) obj;
+      return Objects.equals(attributeKey, that.attributeKey)
+          && value.equals(that.value)
+          && Double.compare(probability, that.probability) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(attributeKey, value, probability);
+    }
+
+    @Override
+    public String toString() {
+      return (attributeKey == null ? "spanName" : attributeKey) + "=" + value + ":" + probability;
+    }
+  }
+
+  private static final class AttributeIndex {
+    private final AttributeKey<String> key;
+    private final Map<String, Sampler> samplers;
+
+    private AttributeIndex(AttributeKey<String> key, Map<String, Sampler> samplers) {
+      this.key = key;
+      this.samplers = samplers;
+    }
+  }
+}
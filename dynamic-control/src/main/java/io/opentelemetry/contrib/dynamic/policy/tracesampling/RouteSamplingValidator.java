@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.opentelemetry.contrib.dynamic.policy.AbstractSourcePolicyValidator;
+import io.opentelemetry.contrib.dynamic.policy.TelemetryPolicy;
+import io.opentelemetry.contrib.dynamic.policy.source.SourceKind;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Validator for route sampling policies.
+ *
+ * <p>This validator handles the "route-sampling" policy type. The JSON value is an array of rules
+ * (optionally wrapped in an object under {@code "rules"}), each matching either a span name or a
+ * string attribute value:
+ *
+ * <pre>{@code
+ * {"route-sampling": [
+ *   {"spanName": "GET /health", "probability": 0.01},
+ *   {"attribute": "http.route", "value": "/api/orders", "probability": 0.1}
+ * ]}
+ * }</pre>
+ *
+ * <p>The key-value form only supports span name rules, as comma separated {@code name=probability}
+ * pairs, eg {@code route-sampling=GET /health=0.01,GET /api/orders=0.1}.
+ *
+ * <p>A policy with any invalid rule is rejected as a whole.
+ */
+public final class RouteSamplingValidator extends AbstractSourcePolicyValidator {
+  private static final Logger logger = Logger.getLogger(RouteSamplingValidator.class.getName());
+
+  @Override
+  public String getPolicyType() {
+    return RouteSamplingPolicy.POLICY_TYPE;
+  }
+
+  @Override
+  @Nullable
+  protected TelemetryPolicy validateJsonValue(JsonNode valueNode, SourceKind sourceKind) {
+    JsonNode rulesNode = valueNode;
+    if (valueNode.isObject()) {
+      rulesNode = valueNode.get("rules");
+      if (rulesNode == null) {
+        return null;
+      }
+    }
+    if (!rulesNode.isArray()) {
+      return null;
+    }
+    List<RouteSamplingTable.Rule> rules = new ArrayList<>();
+    for (JsonNode ruleNode : rulesNode) {
+      RouteSamplingTable.Rule rule = parseRule(ruleNode);
+      if (rule == null) {
+        logger.info("Invalid route-sampling rule '" + ruleNode + "', policy will be ignored");
+        return null;
+      }
+      rules.add(rule);
+    }
+    return new RouteSamplingPolicy(RouteSamplingTable.create(rules), sourceKind);
+  }
+
+  @Override
+  @Nullable
+  protected TelemetryPolicy validateKeyValueValue(String value, SourceKind sourceKind) {
+    List<RouteSamplingTable.Rule> rules = new ArrayList<>();
+    for (String pair : value.split(",", -1)) {
+      int separatorIndex = pair.lastIndexOf('=');
+      if (separatorIndex <= 0) {
+        logger.info("Invalid route-sampling rule '" + pair + "', policy will be ignored");
+        return null;
+      }
+      String spanName = pair.substring(0, separatorIndex).trim();
+      Double probability = parseDouble(pair.substring(separatorIndex + 1));
+      RouteSamplingTable.Rule rule =
+          spanName.isEmpty() ? null : createRule(null, spanName, probability);
+      if (rule == null) {
+        logger.info("Invalid route-sampling rule '" + pair + "', policy will be ignored");
+        return null;
+      }
+      rules.add(rule);
+    }
+    return new RouteSamplingPolicy(RouteSamplingTable.create(rules), sourceKind);
+  }
+
+  @Nullable
+  private static RouteSamplingTable.Rule parseRule(JsonNode ruleNode) {
+    if (!ruleNode.isObject()) {
+      return null;
+    }
+    JsonNode probabilityNode = ruleNode.get("probability");
+    Double probability = probabilityNode == null ? null : parseDouble(probabilityNode);
+    JsonNode spanNameNode = ruleNode.get("spanName");
+    JsonNode attributeNode = ruleNode.get("attribute");
+    if (spanNameNode != null && attributeNode == null && spanNameNode.isTextual()) {
+      return createRule(null, spanNameNode.asText(), probability);
+    }
+    JsonNode attributeValueNode = ruleNode.get("value");
+    if (attributeNode != null
+        && spanNameNode == null
+        && attributeNode.isTextual()
+        && attributeValueNode != null
+        && attributeValueNode.isTextual()) {
+      return createRule(attributeNode.asText(), attributeValueNode.asText(), probability);
+    }
+    return null;
+  }
+
+  @Nullable
+  private static RouteSamplingTable.Rule createRule(
+      @Nullable String attributeKey, String value, @Nullable Double probability) {
+    if (probability == null) {
+      return null;
+    }
+    try {
+      return attributeKey == null
+          ? RouteSamplingTable.Rule.forSpanName(value, probability)
+          : RouteSamplingTable.Rule.forAttribute(attributeKey, value, probability);
+    } catch (IllegalArgumentException e) {
+      logger.info(
+          "Invalid route-sampling probability '"
+              + probability
+              + "' will be ignored: "
+              + e.getMessage());
+      return null;
+    }
+  }
+}
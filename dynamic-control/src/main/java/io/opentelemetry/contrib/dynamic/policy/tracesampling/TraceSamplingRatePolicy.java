@@ -57,14 +57,23 @@ public final class TraceSamplingRatePolicy implements TelemetryPolicy {
    * Initializes runtime wiring for this policy type.
    *
    * <p>If the extension is configured to use this policy, this installs an opinionated sampler that
-   * overrides any other sampler
+   * overrides any other sampler, except for the {@link RouteSampler} of the {@code route-sampling}
+   * policy, which then uses it for spans that match no route.
    */
   public static PolicyImplementer initialize(AutoConfigurationCustomizer autoConfiguration) {
     Objects.requireNonNull(autoConfiguration, "autoConfiguration cannot be null");
     Sampler initialDelegate = createSampler(1.0);
     DelegatingSampler delegatingSampler = new DelegatingSampler(initialDelegate);
     initializedSampler = delegatingSampler;
-    autoConfiguration.addSamplerCustomizer((sampler, config) -> delegatingSampler);
+    autoConfiguration.addSamplerCustomizer(
+        (sampler, config) -> {
+          if (sampler instanceof RouteSampler) {
+            // route-sampling was initialized first
+            ((RouteSampler) sampler).setFallback(delegatingSampler);
+            return sampler;
+          }
+          return delegatingSampler;
+        });
     return new TraceSamplingRatePolicyImplementer(delegatingSampler);
   }
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.contrib.dynamic.policy.tracesampling.TraceSamplingRatePolicy;
+import io.opentelemetry.contrib.dynamic.policy.tracesampling.TraceSamplingValidator;
+import java.io.Closeable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WatchingFilePolicyProviderTest {
+
+  @TempDir Path tempDir;
+
+  @AfterEach
+  void tearDown() {
+    PolicyProviderPoller.reset();
+  }
+
+  @Test
+  void publishesPoliciesWhenFileIsModified() throws Exception {
+    Path file = tempDir.resolve("policies.txt");
+    Files.write(file, Collections.singletonList("trace-sampling=0.5"));
+    WatchingFilePolicyProvider provider = newProvider(file);
+    assertThat(samplingRates(provider.fetchPolicies())).containsExactly(0.5);
+
+    BlockingQueue<List<TelemetryPolicy>> updates = new LinkedBlockingQueue<>();
+    try (Closeable ignored = provider.startWatching(updates::add)) {
+      Files.write(file, Collections.singletonList("trace-sampling=0.25"));
+
+      assertThat(awaitUpdate(updates, 0.25)).isTrue();
+      assertThat(samplingRates(provider.getCurrentPolicies())).containsExactly(0.25);
+    }
+    // Watching through a WatchService does not involve the shared poller.
+    assertThat(PolicyProviderPoller.getActiveTargetCount()).isZero();
+  }
+
+  @Test
+  void publishesPoliciesWhenSymlinkIsSwapped() throws Exception {
+    // Mimics the layout Kubernetes uses for ConfigMap volumes.
+    Path firstVersion = Files.createDirectory(tempDir.resolve("..2024_01"));
+    Files.write(
+        firstVersion.resolve("policies.txt"), Collections.singletonList("trace-sampling=0.5"));
+    Path secondVersion = Files.createDirectory(tempDir.resolve("..2024_02"));
+    Files.write(
+        secondVersion.resolve("policies.txt"), Collections.singletonList("trace-sampling=0.1"));
+    Path data = Files.createSymbolicLink(tempDir.resolve("..data"), firstVersion.getFileName());
+    Path file =
+        Files.createSymbolicLink(
+            tempDir.resolve("policies.txt"), data.getFileName().resolve("policies.txt"));
+    WatchingFilePolicyProvider provider = newProvider(file);
+    assertThat(samplingRates(provider.fetchPolicies())).containsExactly(0.5);
+
+    BlockingQueue<List<TelemetryPolicy>> updates = new LinkedBlockingQueue<>();
+    try (Closeable ignored = provider.startWatching(updates::add)) {
+      Path tmp =
+          Files.createSymbolicLink(tempDir.resolve("..data_tmp"), secondVersion.getFileName());
+      Files.move(tmp, data, StandardCopyOption.ATOMIC_MOVE);
+
+      assertThat(awaitUpdate(updates, 0.1)).isTrue();
+    }
+  }
+
+  @Test
+  void ignoresUnrelatedFilesInDirectory() throws Exception {
+    Path file = tempDir.resolve("policies.txt");
+    Files.write(file, Collections.singletonList("trace-sampling=0.5"));
+    WatchingFilePolicyProvider provider = newProvider(file);
+
+    BlockingQueue<List<TelemetryPolicy>> updates = new LinkedBlockingQueue<>();
+    try (Closeable ignored = provider.startWatching(updates::add)) {
+      Files.write(tempDir.resolve("other.txt"), Arrays.asList("a", "b"));
+
+      assertThat(updates.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+  }
+
+  @Test
+  void publishesRewriteOfSameSizeAndTimestamp() throws Exception {
+    Path file = tempDir.resolve("policies.txt");
+    Files.write(file, Collections.singletonList("trace-sampling=0.5"));
+    Path staged = Files.createDirectory(tempDir.resolve("staging")).resolve("policies.txt");
+    Files.write(staged, Collections.singletonList("trace-sampling=0.4"));
+    Files.setLastModifiedTime(staged, Files.getLastModifiedTime(file));
+    WatchingFilePolicyProvider provider = newProvider(file);
+
+    BlockingQueue<List<TelemetryPolicy>> updates = new LinkedBlockingQueue<>();
+    try (Closeable ignored = provider.startWatching(updates::add)) {
+      // Only the content differs, as with a rewrite within the timestamp granularity.
+      Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      assertThat(awaitUpdate(updates, 0.4)).isTrue();
+    }
+  }
+
+  @Test
+  void providersShareOneWatchThread() throws Exception {
+    Path first = tempDir.resolve("policies.txt");
+    Files.write(first, Collections.singletonList("trace-sampling=0.5"));
+    Path second = Files.createDirectory(tempDir.resolve("other")).resolve("policies.txt");
+    Files.write(second, Collections.singletonList("trace-sampling=0.5"));
+
+    try (Closeable ignored1 = newProvider(first).startWatching(update -> {});
+        Closeable ignored2 = newProvider(second).startWatching(update -> {})) {
+      await().untilAsserted(() -> assertThat(watchThreadCount()).isEqualTo(1));
+    }
+    assertThat(PolicyFileWatcher.isRunning()).isFalse();
+    await().untilAsserted(() -> assertThat(watchThreadCount()).isZero());
+  }
+
+  @Test
+  void fallsBackToPollingWhenDirectoryIsDeleted() throws Exception {
+    Path directory = Files.createDirectory(tempDir.resolve("policies"));
+    Path file = directory.resolve("policies.txt");
+    Files.write(file, Collections.singletonList("trace-sampling=0.5"));
+    WatchingFilePolicyProvider provider = newProvider(file);
+
+    BlockingQueue<List<TelemetryPolicy>> updates = new LinkedBlockingQueue<>();
+    try (Closeable ignored = provider.startWatching(updates::add)) {
+      Files.delete(file);
+      Files.delete(directory);
+      await()
+          .untilAsserted(
+              () -> assertThat(PolicyProviderPoller.getActiveTargetCount()).isEqualTo(1));
+      assertThat(PolicyFileWatcher.isRunning()).isFalse();
+
+      Files.createDirectory(directory);
+      Files.write(file, Collections.singletonList("trace-sampling=0.2"));
+      PolicyProviderPoller.poll();
+
+      assertThat(awaitUpdate(updates, 0.2)).isTrue();
+    }
+    assertThat(PolicyProviderPoller.getActiveTargetCount()).isZero();
+  }
+
+  private static long watchThreadCount() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> thread.getName().equals(PolicyFileWatcher.THREAD_NAME))
+        .count();
+  }
+
+  // Writes are not atomic, so intermediate states such as a truncated file may be published first.
+  private static boolean awaitUpdate(
+      BlockingQueue<List<TelemetryPolicy>> updates, double expectedRate)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (System.nanoTime() < deadline) {
+      List<TelemetryPolicy> update = updates.poll(100, TimeUnit.MILLISECONDS);
+      if (update != null && Arrays.equals(samplingRates(update), new double[] {expectedRate})) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static WatchingFilePolicyProvider newProvider(Path file) {
+    return new WatchingFilePolicyProvider(
+        file, Collections.singletonList(new TraceSamplingValidator()));
+  }
+
+  private static double[] samplingRates(List<TelemetryPolicy> policies) {
+    return policies.stream()
+        .map(TraceSamplingRatePolicy.class::cast)
+        .mapToDouble(TraceSamplingRatePolicy::getProbability)
+        .toArray();
+  }
+}
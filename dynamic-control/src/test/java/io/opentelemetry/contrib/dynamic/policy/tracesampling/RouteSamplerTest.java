@@ -0,0 +1,117 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class RouteSamplerTest {
+
+  private static final String TRACE_ID = "00000000000000000000000000000001";
+  private static final AttributeKey<String> HTTP_ROUTE = AttributeKey.stringKey("http.route");
+  private static final AttributeKey<String> RPC_METHOD = AttributeKey.stringKey("rpc.method");
+
+  @Test
+  void unmatchedSpansUseFallback() {
+    RouteSampler sampler = new RouteSampler(Sampler.alwaysOn());
+    sampler.setTable(
+        RouteSamplingTable.create(
+            Collections.singletonList(RouteSamplingTable.Rule.forSpanName("GET /health", 0.0))));
+
+    assertThat(decisionFor(sampler, "GET /orders", Attributes.empty()))
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(decisionFor(sampler, "GET /health", Attributes.empty()))
+        .isEqualTo(SamplingDecision.DROP);
+
+    sampler.setFallback(Sampler.alwaysOff());
+    assertThat(decisionFor(sampler, "GET /orders", Attributes.empty()))
+        .isEqualTo(SamplingDecision.DROP);
+  }
+
+  @Test
+  void spanNameRulesTakePrecedenceOverAttributeRules() {
+    RouteSampler sampler = new RouteSampler(Sampler.alwaysOff());
+    sampler.setTable(
+        RouteSamplingTable.create(
+            Arrays.asList(
+                RouteSamplingTable.Rule.forAttribute("http.route", "/orders", 0.0),
+                RouteSamplingTable.Rule.forSpanName("GET /orders", 1.0))));
+
+    assertThat(decisionFor(sampler, "GET /orders", Attributes.of(HTTP_ROUTE, "/orders")))
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(decisionFor(sampler, "other", Attributes.of(HTTP_ROUTE, "/orders")))
+        .isEqualTo(SamplingDecision.DROP);
+  }
+
+  @Test
+  void attributeRulesAreCheckedInOrderOfFirstKeyAppearance() {
+    RouteSampler sampler = new RouteSampler(Sampler.alwaysOff());
+    sampler.setTable(
+        RouteSamplingTable.create(
+            Arrays.asList(
+                RouteSamplingTable.Rule.forAttribute("rpc.method", "Get", 1.0),
+                RouteSamplingTable.Rule.forAttribute("http.route", "/orders", 0.0),
+                RouteSamplingTable.Rule.forAttribute("rpc.method", "Get", 0.0))));
+
+    assertThat(
+            decisionFor(sampler, "span", Attributes.of(HTTP_ROUTE, "/orders", RPC_METHOD, "Get")))
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(decisionFor(sampler, "span", Attributes.of(HTTP_ROUTE, "/orders")))
+        .isEqualTo(SamplingDecision.DROP);
+  }
+
+  @Test
+  void setTableReportsWhetherRulesChanged() {
+    RouteSampler sampler = new RouteSampler(Sampler.alwaysOn());
+
+    assertThat(sampler.setTable(RouteSamplingTable.EMPTY)).isFalse();
+    assertThat(
+            sampler.setTable(
+                RouteSamplingTable.create(
+                    Collections.singletonList(RouteSamplingTable.Rule.forSpanName("a", 0.5)))))
+        .isTrue();
+    assertThat(
+            sampler.setTable(
+                RouteSamplingTable.create(
+                    Collections.singletonList(RouteSamplingTable.Rule.forSpanName("a", 0.5)))))
+        .isFalse();
+    assertThat(sampler.getTable().getRules())
+        .containsExactly(RouteSamplingTable.Rule.forSpanName("a", 0.5));
+  }
+
+  @Test
+  void ruleRejectsInvalidProbability() {
+    assertThatThrownBy(() -> RouteSamplingTable.Rule.forSpanName("a", 1.5))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RouteSamplingTable.Rule.forAttribute("k", "v", Double.NaN))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(RouteSamplingTable.Rule.forSpanName("a", -0.0))
+        .isEqualTo(RouteSamplingTable.Rule.forSpanName("a", 0.0));
+  }
+
+  private static SamplingDecision decisionFor(
+      Sampler sampler, String spanName, Attributes attributes) {
+    return sampler
+        .shouldSample(
+            Context.root(),
+            TRACE_ID,
+            spanName,
+            SpanKind.SERVER,
+            attributes,
+            Collections.emptyList())
+        .getDecision();
+  }
+}
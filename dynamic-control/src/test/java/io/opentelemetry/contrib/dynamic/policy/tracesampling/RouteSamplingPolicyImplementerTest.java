@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.contrib.dynamic.policy.DeletedTelemetryPolicy;
+import io.opentelemetry.contrib.dynamic.policy.source.SourceKind;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+class RouteSamplingPolicyImplementerTest {
+
+  private static final RouteSamplingTable TABLE =
+      RouteSamplingTable.create(
+          singletonList(RouteSamplingTable.Rule.forSpanName("GET /health", 0.01)));
+
+  @Test
+  void appliesTableToSampler() {
+    RouteSampler sampler = new RouteSampler(Sampler.alwaysOn());
+    RouteSamplingPolicyImplementer implementer = new RouteSamplingPolicyImplementer(sampler);
+
+    implementer.onPoliciesChanged(singletonList(new RouteSamplingPolicy(TABLE, SourceKind.CUSTOM)));
+
+    assertThat(sampler.getTable()).isSameAs(TABLE);
+  }
+
+  @Test
+  void deletedPolicyResetsTable() {
+    RouteSampler sampler = new RouteSampler(Sampler.alwaysOn());
+    sampler.setTable(TABLE);
+    RouteSamplingPolicyImplementer implementer = new RouteSamplingPolicyImplementer(sampler);
+
+    implementer.onPoliciesChanged(
+        singletonList(
+            new DeletedTelemetryPolicy(
+                RouteSamplingPolicy.DEFAULT_IDENTITY,
+                RouteSamplingPolicy.POLICY_TYPE,
+                SourceKind.CUSTOM)));
+
+    assertThat(sampler.getTable().isEmpty()).isTrue();
+  }
+
+  @Test
+  void ignoresUnrelatedPolicyTypes() {
+    RouteSampler sampler = new RouteSampler(Sampler.alwaysOn());
+    RouteSamplingPolicyImplementer implementer = new RouteSamplingPolicyImplementer(sampler);
+
+    implementer.onPoliciesChanged(
+        singletonList(new TraceSamplingRatePolicy(0.5, SourceKind.CUSTOM)));
+
+    assertThat(sampler.getTable().isEmpty()).isTrue();
+  }
+
+  @Test
+  void validatorsContainRouteSamplingValidator() {
+    RouteSamplingPolicyImplementer implementer =
+        new RouteSamplingPolicyImplementer(new RouteSampler(Sampler.alwaysOn()));
+
+    assertThat(implementer.getValidators()).hasSize(1);
+    assertThat(implementer.getValidators().get(0)).isInstanceOf(RouteSamplingValidator.class);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizer;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import java.util.Collections;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class RouteSamplingPolicyTest {
+
+  private static final String TRACE_ID = "00000000000000000000000000000001";
+
+  private final AutoConfigurationCustomizer autoConfiguration =
+      mock(AutoConfigurationCustomizer.class);
+
+  @AfterEach
+  void tearDown() {
+    RouteSamplingPolicy.resetForTest();
+    TraceSamplingRatePolicy.resetForTest();
+  }
+
+  @Test
+  void unmatchedSpansUseTraceSamplingWhenInitializedFirst() {
+    TraceSamplingRatePolicy.initialize(autoConfiguration);
+    RouteSamplingPolicy.initialize(autoConfiguration);
+
+    assertRoutesFallBackToTraceSampling(customizedSampler());
+  }
+
+  @Test
+  void unmatchedSpansUseTraceSamplingWhenInitializedLast() {
+    RouteSamplingPolicy.initialize(autoConfiguration);
+    TraceSamplingRatePolicy.initialize(autoConfiguration);
+
+    assertRoutesFallBackToTraceSampling(customizedSampler());
+  }
+
+  private static void assertRoutesFallBackToTraceSampling(Sampler sampler) {
+    RouteSampler routeSampler = RouteSamplingPolicy.getInitializedSampler();
+    DelegatingSampler traceSampler = TraceSamplingRatePolicy.getInitializedSampler();
+    assertThat(sampler).isSameAs(routeSampler);
+    routeSampler.setTable(
+        RouteSamplingTable.create(
+            Collections.singletonList(RouteSamplingTable.Rule.forSpanName("GET /orders", 1.0))));
+    traceSampler.setSamplingProbability(0.0);
+
+    assertThat(decisionFor(sampler, "GET /orders")).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(decisionFor(sampler, "GET /health")).isEqualTo(SamplingDecision.DROP);
+  }
+
+  // applies the registered customizers in order, as the autoconfiguration does
+  @SuppressWarnings("unchecked")
+  private Sampler customizedSampler() {
+    ArgumentCaptor<BiFunction<Sampler, ConfigProperties, Sampler>> captor =
+        ArgumentCaptor.forClass(BiFunction.class);
+    verify(autoConfiguration, times(2)).addSamplerCustomizer(captor.capture());
+    Sampler sampler = Sampler.alwaysOn();
+    for (BiFunction<Sampler, ConfigProperties, Sampler> customizer : captor.getAllValues()) {
+      sampler = customizer.apply(sampler, mock(ConfigProperties.class));
+    }
+    return sampler;
+  }
+
+  private static SamplingDecision decisionFor(Sampler sampler, String spanName) {
+    return sampler
+        .shouldSample(
+            Context.root(),
+            TRACE_ID,
+            spanName,
+            SpanKind.SERVER,
+            Attributes.empty(),
+            Collections.emptyList())
+        .getDecision();
+  }
+}
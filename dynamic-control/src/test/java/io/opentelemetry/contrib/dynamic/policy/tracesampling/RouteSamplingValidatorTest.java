@@ -0,0 +1,117 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.dynamic.policy.tracesampling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.contrib.dynamic.policy.TelemetryPolicy;
+import io.opentelemetry.contrib.dynamic.policy.source.SourceFormat;
+import io.opentelemetry.contrib.dynamic.policy.source.SourceKind;
+import io.opentelemetry.contrib.dynamic.policy.source.SourceWrapper;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RouteSamplingValidatorTest {
+
+  private static final String ROUTE_SAMPLING_POLICY_TYPE = RouteSamplingPolicy.POLICY_TYPE;
+  private static final Set<String> MAPPED_POLICY_IDS =
+      new HashSet<>(Arrays.asList(ROUTE_SAMPLING_POLICY_TYPE, "other-policy"));
+
+  private final RouteSamplingValidator validator = new RouteSamplingValidator();
+
+  @Test
+  void testGetPolicyType() {
+    assertThat(validator.getPolicyType()).isEqualTo(ROUTE_SAMPLING_POLICY_TYPE);
+  }
+
+  @Test
+  void testValidate_ValidJsonArray() {
+    String json =
+        "{\""
+            + ROUTE_SAMPLING_POLICY_TYPE
+            + "\": [{\"spanName\": \"GET /health\", \"probability\": 0.01},"
+            + " {\"attribute\": \"http.route\", \"value\": \"/api/orders\","
+            + " \"probability\": 0.1}]}";
+    TelemetryPolicy policy = validateJson(json);
+
+    assertThat(policy).isInstanceOf(RouteSamplingPolicy.class);
+    assertThat(policy.getType()).isEqualTo(ROUTE_SAMPLING_POLICY_TYPE);
+    assertThat(policy.getSourceKind()).isEqualTo(SourceKind.CUSTOM);
+    assertThat(((RouteSamplingPolicy) policy).getTable().getRules())
+        .containsExactly(
+            RouteSamplingTable.Rule.forSpanName("GET /health", 0.01),
+            RouteSamplingTable.Rule.forAttribute("http.route", "/api/orders", 0.1));
+  }
+
+  @Test
+  void testValidate_ValidJsonRulesObject() {
+    String json =
+        "{\""
+            + ROUTE_SAMPLING_POLICY_TYPE
+            + "\": {\"rules\": [{\"spanName\": \"GET /health\", \"probability\": \"0.5\"}]}}";
+    TelemetryPolicy policy = validateJson(json);
+
+    assertThat(policy).isInstanceOf(RouteSamplingPolicy.class);
+    assertThat(((RouteSamplingPolicy) policy).getTable().getRules())
+        .containsExactly(RouteSamplingTable.Rule.forSpanName("GET /health", 0.5));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "[{\"spanName\": \"a\", \"probability\": 1.1}]",
+        "[{\"spanName\": \"a\"}]",
+        "[{\"spanName\": \"a\", \"attribute\": \"b\", \"value\": \"c\", \"probability\": 0.5}]",
+        "[{\"attribute\": \"b\", \"probability\": 0.5}]",
+        "[{\"spanName\": \"a\", \"probability\": 0.5}, \"b\"]",
+        "{\"other\": []}",
+        "0.5"
+      })
+  void testValidate_InvalidJson(String value) {
+    String json = "{\"" + ROUTE_SAMPLING_POLICY_TYPE + "\": " + value + "}";
+    assertThat(validateJson(json)).isNull();
+  }
+
+  @Test
+  void testValidate_ValidKeyValue() {
+    String keyValue = ROUTE_SAMPLING_POLICY_TYPE + "=GET /health=0.01, GET /api/orders=0.1";
+    TelemetryPolicy policy =
+        validator.validate(
+            first(SourceFormat.KEYVALUE.parse(keyValue, MAPPED_POLICY_IDS)), SourceKind.CUSTOM);
+
+    assertThat(policy).isInstanceOf(RouteSamplingPolicy.class);
+    assertThat(((RouteSamplingPolicy) policy).getTable().getRules())
+        .containsExactly(
+            RouteSamplingTable.Rule.forSpanName("GET /health", 0.01),
+            RouteSamplingTable.Rule.forSpanName("GET /api/orders", 0.1));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"GET /health", "=0.5", "GET /health=high", "a=0.5,b=2"})
+  void testValidate_InvalidKeyValue(String value) {
+    String keyValue = ROUTE_SAMPLING_POLICY_TYPE + "=" + value;
+    assertThat(
+            validator.validate(
+                first(SourceFormat.KEYVALUE.parse(keyValue, MAPPED_POLICY_IDS)), SourceKind.CUSTOM))
+        .isNull();
+  }
+
+  private TelemetryPolicy validateJson(String json) {
+    return validator.validate(
+        first(SourceFormat.JSONKEYVALUE.parse(json, MAPPED_POLICY_IDS)), SourceKind.CUSTOM);
+  }
+
+  private static SourceWrapper first(List<SourceWrapper> parsedSources) {
+    assertThat(parsedSources).isNotNull();
+    assertThat(parsedSources).isNotEmpty();
+    return parsedSources.get(0);
+  }
+}
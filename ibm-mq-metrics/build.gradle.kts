@@ -4,6 +4,7 @@ plugins {
   id("otel.java-conventions")
   id("otel.publish-conventions")
   id("otel.weaver-conventions")
+  id("otel.jmh-conventions")
 }
 
 description = "IBM-MQ metrics"
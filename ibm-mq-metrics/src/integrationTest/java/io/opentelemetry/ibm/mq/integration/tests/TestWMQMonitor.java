@@ -14,7 +14,6 @@ import io.opentelemetry.ibm.mq.metrics.MetricProducer;
 import io.opentelemetry.ibm.mq.opentelemetry.ConfigWrapper;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 
 /**
  * The TestWMQMonitor class extends the WMQMonitor class and provides a test implementation of the
@@ -25,12 +24,10 @@ import java.util.concurrent.ExecutorService;
 class TestWMQMonitor {
 
   private final ConfigWrapper config;
-  private final ExecutorService threadPool;
   private final MetricProducer producer;
 
-  TestWMQMonitor(ConfigWrapper config, MetricProducer producer, ExecutorService service) {
+  TestWMQMonitor(ConfigWrapper config, MetricProducer producer) {
     this.config = config;
-    this.threadPool = service;
     this.producer = producer;
   }
 
@@ -47,12 +44,16 @@ class TestWMQMonitor {
     assertThat(queueManagers).isNotNull();
     ObjectMapper mapper = new ObjectMapper();
 
-    WmqMonitor wmqTask = new WmqMonitor(config, threadPool, producer);
-
-    // we override this helper to pass in our opentelemetry helper instead.
-    for (Map<String, ?> queueManager : queueManagers) {
-      QueueManager qManager = mapper.convertValue(queueManager, QueueManager.class);
-      wmqTask.run(qManager);
+    WmqMonitor wmqTask = new WmqMonitor(config, producer);
+    try {
+      // we override this helper to pass in our opentelemetry helper instead.
+      for (Map<String, ?> queueManager : queueManagers) {
+        QueueManager qManager = mapper.convertValue(queueManager, QueueManager.class);
+        wmqTask.run(qManager);
+      }
+    } finally {
+      // the connections are kept open across runs
+      wmqTask.close();
     }
   }
 }
@@ -183,7 +183,7 @@ class WMQMonitorIntegrationTest {
     MetricProducer producer =
         new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
 
-    TestWMQMonitor monitor = new TestWMQMonitor(config, producer, service);
+    TestWMQMonitor monitor = new TestWMQMonitor(config, producer);
     monitor.runTest();
 
     List<MetricData> data = producer.produce(Resource.empty());
@@ -245,7 +245,7 @@ class WMQMonitorIntegrationTest {
     ConfigWrapper config = ConfigWrapper.parse(configFile);
     MetricProducer producer =
         new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
-    TestWMQMonitor monitor = new TestWMQMonitor(config, producer, service);
+    TestWMQMonitor monitor = new TestWMQMonitor(config, producer);
     monitor.runTest();
     // TODO: Wait why are there no asserts here?
   }
@@ -294,7 +294,7 @@ class WMQMonitorIntegrationTest {
     ConfigWrapper config = ConfigWrapper.parse(configFile);
     MetricProducer producer =
         new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
-    TestWMQMonitor monitor = new TestWMQMonitor(config, producer, service);
+    TestWMQMonitor monitor = new TestWMQMonitor(config, producer);
     monitor.runTest();
 
     List<MetricData> data = producer.produce(Resource.empty());
@@ -0,0 +1,39 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq.metricscollector;
+
+import io.opentelemetry.ibm.mq.metrics.MetricsConfig;
+import io.opentelemetry.ibm.mq.opentelemetry.ConfigWrapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Configuration shared by the benchmarks. */
+final class BenchmarkConfigs {
+
+  /** Returns a configuration with only the given metrics enabled. */
+  static MetricsConfig metricsConfig(String... enabledMetrics) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add("metrics:");
+    for (String metric : enabledMetrics) {
+      lines.add("  \"" + metric + "\":");
+      lines.add("    enabled: true");
+    }
+    // the configuration is only parsed from a file
+    Path configFile = Files.createTempFile("config", ".yml");
+    try {
+      Files.write(configFile, lines, StandardCharsets.UTF_8);
+      return new MetricsConfig(ConfigWrapper.parse(configFile.toString()));
+    } finally {
+      Files.delete(configFile);
+    }
+  }
+
+  private BenchmarkConfigs() {}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq.metricscollector;
+
+import com.ibm.mq.constants.CMQC;
+import com.ibm.mq.constants.CMQCFC;
+import com.ibm.mq.headers.pcf.PCFException;
+import com.ibm.mq.headers.pcf.PCFMessage;
+import com.ibm.mq.headers.pcf.PCFMessageAgent;
+import io.opentelemetry.ibm.mq.config.QueueManager;
+import io.opentelemetry.ibm.mq.metrics.MetricProducer;
+import io.opentelemetry.ibm.mq.metrics.MetricsConfig;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the time and heap allocation to collect the {@code MQCMD_INQUIRE_Q} metrics of a queue
+ * manager with many queues, from synthetic responses. The responses are built on each request, as
+ * the PCF agent decodes them, so that a single request holds all the queues in memory at once while
+ * paged requests only hold the queue names and one page. Run with the gc profiler to get the
+ * allocation per collection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class QueueCollectionBenchmark {
+
+  @Param({"10000", "50000"})
+  public int queueCount;
+
+  @Param({"false", "true"})
+  public boolean paged;
+
+  private MetricProducer producer;
+  private QueueCollectionBuddy queueBuddy;
+  private MetricsCollectorContext context;
+  private int[] attributes;
+
+  @Setup
+  public void setup() throws IOException {
+    MetricsConfig metricsConfig =
+        BenchmarkConfigs.metricsConfig(
+            "ibm.mq.queue.depth",
+            "ibm.mq.max.queue.depth",
+            "ibm.mq.open.input.count",
+            "ibm.mq.open.output.count");
+
+    QueueManager queueManager = new QueueManager();
+    queueManager.setName("QM1");
+    queueManager.setPagedQueueInquiriesEnabled(paged);
+
+    producer = new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
+    queueBuddy = new QueueCollectionBuddy(producer, new QueueCollectorSharedState());
+    context =
+        new MetricsCollectorContext(
+            queueManager, new SyntheticAgent(queueCount), null, metricsConfig);
+    attributes = queueBuddy.selectAttributes(metricsConfig, InquireQCmdCollector.ATTRIBUTES);
+  }
+
+  @Benchmark
+  public int collect() {
+    queueBuddy.processPcfRequestsAndPublishQMetrics(
+        context,
+        "*",
+        name -> {
+          PCFMessage request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q);
+          request.addParameter(CMQC.MQCA_Q_NAME, name);
+          request.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_ALL);
+          request.addParameter(CMQCFC.MQIACF_Q_ATTRS, attributes);
+          return request;
+        },
+        attributes);
+    return producer.produce(Resource.empty()).size();
+  }
+
+  /**
+   * Answers queue name and queue inquiries for queues named {@code A.QUEUE.0}, {@code B.QUEUE.1},
+   * etc.
+   */
+  private static class SyntheticAgent extends PCFMessageAgent {
+    private final String[] queueNames;
+
+    SyntheticAgent(int queueCount) {
+      queueNames = new String[queueCount];
+      for (int i = 0; i < queueCount; i++) {
+        queueNames[i] = (char) ('A' + i % 26) + ".QUEUE." + i;
+      }
+    }
+
+    @Override
+    public PCFMessage[] send(PCFMessage request) throws PCFException {
+      String genericName = request.getStringParameterValue(CMQC.MQCA_Q_NAME);
+      String prefix = genericName.substring(0, genericName.length() - 1);
+      if (request.getCommand() == CMQCFC.MQCMD_INQUIRE_Q_NAMES) {
+        List<String> names = new ArrayList<>();
+        for (String queueName : queueNames) {
+          if (queueName.startsWith(prefix)) {
+            names.add(queueName);
+          }
+        }
+        PCFMessage response = new PCFMessage(2, CMQCFC.MQCMD_INQUIRE_Q_NAMES, 1, true);
+        response.addParameter(CMQCFC.MQCACF_Q_NAMES, names.toArray(new String[0]));
+        return new PCFMessage[] {response};
+      }
+      List<PCFMessage> responses = new ArrayList<>();
+      for (int i = 0; i < queueNames.length; i++) {
+        String queueName = queueNames[i];
+        if (queueName.startsWith(prefix)) {
+          PCFMessage response = new PCFMessage(2, CMQCFC.MQCMD_INQUIRE_Q, i + 1, false);
+          response.addParameter(CMQC.MQCA_Q_NAME, queueName);
+          response.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_LOCAL);
+          response.addParameter(CMQC.MQIA_USAGE, CMQC.MQUS_NORMAL);
+          response.addParameter(CMQC.MQIA_CURRENT_Q_DEPTH, i % 100);
+          response.addParameter(CMQC.MQIA_MAX_Q_DEPTH, 5000);
+          response.addParameter(CMQC.MQIA_OPEN_INPUT_COUNT, 1);
+          response.addParameter(CMQC.MQIA_OPEN_OUTPUT_COUNT, 1);
+          responses.add(response);
+        }
+      }
+      if (responses.isEmpty()) {
+        throw new PCFException(CMQC.MQCC_FAILED, CMQC.MQRC_UNKNOWN_OBJECT_NAME, request);
+      }
+      return responses.toArray(new PCFMessage[0]);
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq.metricscollector;
+
+import com.ibm.mq.constants.CMQC;
+import com.ibm.mq.constants.CMQCFC;
+import com.ibm.mq.headers.pcf.PCFMessage;
+import com.ibm.mq.headers.pcf.PCFMessageAgent;
+import io.opentelemetry.ibm.mq.config.QueueManager;
+import io.opentelemetry.ibm.mq.metrics.MetricProducer;
+import io.opentelemetry.ibm.mq.metrics.MetricsConfig;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures recording a full cycle of queue metrics, from {@code MQCMD_INQUIRE_Q} and {@code
+ * MQCMD_INQUIRE_Q_STATUS} responses decoded beforehand, with the queue attributes kept across
+ * cycles or built again every cycle. Run with the gc profiler to get the allocation per cycle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class QueueMetricsCycleBenchmark {
+
+  private static final int QUEUE_COUNT = 20_000;
+
+  @Param({"false", "true"})
+  public boolean keepAttributes;
+
+  private MetricProducer producer;
+  private QueueCollectionBuddy queueBuddy;
+  private QueueManager queueManager;
+  private MetricsConfig metricsConfig;
+  private ObjectAttributesCache attributesCache;
+  private PCFMessageAgent agent;
+
+  @Setup
+  public void setup() throws IOException {
+    metricsConfig = BenchmarkConfigs.metricsConfig(METRICS);
+
+    queueManager = new QueueManager();
+    queueManager.setName("QM1");
+    producer = new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
+    queueBuddy = new QueueCollectionBuddy(producer, new QueueCollectorSharedState());
+    attributesCache = new ObjectAttributesCache(queueManager.getName());
+    agent = new DecodedResponseAgent();
+  }
+
+  @Benchmark
+  public int recordCycle() {
+    ObjectAttributesCache cache =
+        keepAttributes ? attributesCache : new ObjectAttributesCache(queueManager.getName());
+    MetricsCollectorContext context =
+        new MetricsCollectorContext(queueManager, agent, null, metricsConfig, cache);
+    cache.startCycle();
+    queueBuddy.processPcfRequestAndPublishQMetrics(
+        context, new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q), "*", InquireQCmdCollector.ATTRIBUTES);
+    queueBuddy.processPcfRequestAndPublishQMetrics(
+        context,
+        new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q_STATUS),
+        "*",
+        InquireQStatusCmdCollector.ATTRIBUTES);
+    cache.endCycle();
+    return producer.produce(Resource.empty()).size();
+  }
+
+  private static final String[] METRICS = {
+    "ibm.mq.queue.depth",
+    "ibm.mq.max.queue.depth",
+    "ibm.mq.open.input.count",
+    "ibm.mq.open.output.count",
+    "ibm.mq.service.interval",
+    "ibm.mq.service.interval.event",
+    "ibm.mq.oldest.msg.age",
+    "ibm.mq.uncommitted.messages",
+    "ibm.mq.expired.messages",
+    "ibm.mq.current.queue.filesize",
+    "ibm.mq.current.max.queue.filesize",
+    "ibm.mq.onqtime.short_period",
+    "ibm.mq.onqtime.long_period",
+  };
+
+  /** Returns the same responses for every cycle, so that only their processing is measured. */
+  private static class DecodedResponseAgent extends PCFMessageAgent {
+    private final PCFMessage[] queues = new PCFMessage[QUEUE_COUNT];
+    private final PCFMessage[] statuses = new PCFMessage[QUEUE_COUNT];
+
+    DecodedResponseAgent() {
+      for (int i = 0; i < QUEUE_COUNT; i++) {
+        String queueName = "APP.QUEUE." + i;
+        PCFMessage queue = new PCFMessage(2, CMQCFC.MQCMD_INQUIRE_Q, i + 1, false);
+        queue.addParameter(CMQC.MQCA_Q_NAME, queueName);
+        queue.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_LOCAL);
+        queue.addParameter(CMQC.MQIA_USAGE, CMQC.MQUS_NORMAL);
+        queue.addParameter(CMQC.MQIA_CURRENT_Q_DEPTH, i % 100);
+        queue.addParameter(CMQC.MQIA_MAX_Q_DEPTH, 5000);
+        queue.addParameter(CMQC.MQIA_OPEN_INPUT_COUNT, 1);
+        queue.addParameter(CMQC.MQIA_OPEN_OUTPUT_COUNT, 1);
+        queue.addParameter(CMQC.MQIA_Q_SERVICE_INTERVAL, 1000);
+        queue.addParameter(CMQC.MQIA_Q_SERVICE_INTERVAL_EVENT, CMQC.MQQSIE_NONE);
+        queues[i] = queue;
+
+        PCFMessage status = new PCFMessage(2, CMQCFC.MQCMD_INQUIRE_Q_STATUS, i + 1, false);
+        status.addParameter(CMQC.MQCA_Q_NAME, queueName);
+        status.addParameter(CMQCFC.MQIACF_CUR_Q_FILE_SIZE, 1);
+        status.addParameter(CMQCFC.MQIACF_CUR_MAX_FILE_SIZE, 2048);
+        status.addParameter(CMQCFC.MQIACF_OLDEST_MSG_AGE, -1);
+        status.addParameter(CMQCFC.MQIACF_UNCOMMITTED_MSGS, 0);
+        status.addParameter(CMQCFC.MQIACF_EXPIRY_Q_COUNT, 0);
+        status.addParameter(CMQCFC.MQIACF_Q_TIME_INDICATOR, new int[] {-1, -1});
+        status.addParameter(CMQC.MQIA_CURRENT_Q_DEPTH, i % 100);
+        statuses[i] = status;
+      }
+    }
+
+    @Override
+    public PCFMessage[] send(PCFMessage request) {
+      return request.getCommand() == CMQCFC.MQCMD_INQUIRE_Q ? queues : statuses;
+    }
+  }
+}
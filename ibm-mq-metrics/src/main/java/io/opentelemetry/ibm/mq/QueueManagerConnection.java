@@ -0,0 +1,213 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq;
+
+import com.ibm.mq.MQQueueManager;
+import com.ibm.mq.headers.pcf.PCFMessageAgent;
+import io.opentelemetry.ibm.mq.config.QueueManager;
+import io.opentelemetry.ibm.mq.util.WmqUtil;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the connection to one queue manager and its PCF agent open across collection cycles, so
+ * that the connection handshake is not repeated on every cycle.
+ *
+ * <p>Before being reused, the connection is checked to still be connected, and it is closed and
+ * reopened when it has been idle for longer than the idle timeout, as the server might have
+ * dropped it in the meantime. Failed connection attempts are retried with an exponential backoff.
+ */
+final class QueueManagerConnection {
+
+  private static final Logger logger = LoggerFactory.getLogger(QueueManagerConnection.class);
+
+  static final long INITIAL_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /** Opens the connection and PCF agent, can be replaced for testing. */
+  interface Connector {
+    MQQueueManager connect(QueueManager queueManager);
+
+    PCFMessageAgent createAgent(QueueManager queueManager, MQQueueManager ibmQueueManager);
+  }
+
+  static final Connector DEFAULT_CONNECTOR =
+      new Connector() {
+        @Override
+        public MQQueueManager connect(QueueManager queueManager) {
+          return WmqUtil.connectToQueueManager(queueManager);
+        }
+
+        @Override
+        public PCFMessageAgent createAgent(
+            QueueManager queueManager, MQQueueManager ibmQueueManager) {
+          return WmqUtil.initPcfMessageAgent(queueManager, ibmQueueManager);
+        }
+      };
+
+  private final QueueManager queueManager;
+  private final Connector connector;
+  private final LongSupplier nanoTime;
+  private final long idleTimeoutNanos;
+  private final long maxBackoffNanos;
+
+  @Nullable private Session session;
+  private long lastUsedNanos;
+  private long backoffNanos;
+  private long nextAttemptNanos;
+
+  QueueManagerConnection(
+      QueueManager queueManager,
+      Connector connector,
+      long idleTimeoutMillis,
+      long maxBackoffMillis) {
+    this(
+        queueManager,
+        connector,
+        System::nanoTime,
+        TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis),
+        TimeUnit.MILLISECONDS.toNanos(maxBackoffMillis));
+  }
+
+  // Visible for testing
+  QueueManagerConnection(
+      QueueManager queueManager,
+      Connector connector,
+      LongSupplier nanoTime,
+      long idleTimeoutNanos,
+      long maxBackoffNanos) {
+    this.queueManager = queueManager;
+    this.connector = connector;
+    this.nanoTime = nanoTime;
+    this.idleTimeoutNanos = idleTimeoutNanos;
+    this.maxBackoffNanos = maxBackoffNanos;
+  }
+
+  /**
+   * Returns the open connection, reusing the one of the previous cycle when it is still healthy.
+   *
+   * @throws BackoffException if a previous attempt failed and the backoff delay has not elapsed
+   *     yet
+   * @throws IllegalStateException if connecting fails
+   */
+  synchronized Session open() {
+    long now = nanoTime.getAsLong();
+    Session current = session;
+    if (current != null) {
+      if (now - lastUsedNanos > idleTimeoutNanos) {
+        logger.debug("Connection to queueManager {} idle for too long", queueManager.getName());
+        close();
+      } else if (!current.getIbmQueueManager().isConnected()) {
+        logger.debug("Connection to queueManager {} was lost", queueManager.getName());
+        close();
+      } else {
+        lastUsedNanos = now;
+        return current;
+      }
+    }
+
+    if (backoffNanos != 0 && now - nextAttemptNanos < 0) {
+      throw new BackoffException(
+          "Not reconnecting to queueManager "
+              + queueManager.getName()
+              + " before "
+              + TimeUnit.NANOSECONDS.toMillis(nextAttemptNanos - now)
+              + " ms");
+    }
+
+    MQQueueManager ibmQueueManager = null;
+    Session opened;
+    try {
+      ibmQueueManager = connector.connect(queueManager);
+      PCFMessageAgent agent = connector.createAgent(queueManager, ibmQueueManager);
+      opened = new Session(ibmQueueManager, agent);
+    } catch (RuntimeException e) {
+      if (ibmQueueManager != null) {
+        disconnect(ibmQueueManager);
+      }
+      backoffNanos =
+          backoffNanos == 0 ? INITIAL_BACKOFF_NANOS : Math.min(backoffNanos * 2, maxBackoffNanos);
+      nextAttemptNanos = now + backoffNanos;
+      throw e;
+    }
+    session = opened;
+    backoffNanos = 0;
+    lastUsedNanos = now;
+    logger.debug("Connected to queueManager {}", queueManager.getName());
+    return opened;
+  }
+
+  /** Returns whether the last connection attempt failed and the next one is delayed. */
+  synchronized boolean isBackingOff() {
+    return backoffNanos != 0;
+  }
+
+  /** Closes the connection, the next call to {@link #open()} reconnects. */
+  synchronized void close() {
+    Session current = session;
+    session = null;
+    if (current == null) {
+      return;
+    }
+    String qMgrName = queueManager.getName();
+    try {
+      current.getAgent().disconnect();
+      logger.debug(
+          "PCFMessageAgent disconnected for queueManager {} in thread {}",
+          qMgrName,
+          Thread.currentThread().getName());
+    } catch (Exception e) {
+      logger.error(
+          "Error occurred  while disconnecting PCFMessageAgent for queueManager {} in thread {}",
+          qMgrName,
+          Thread.currentThread().getName(),
+          e);
+    }
+    disconnect(current.getIbmQueueManager());
+  }
+
+  private void disconnect(MQQueueManager ibmQueueManager) {
+    try {
+      ibmQueueManager.disconnect();
+    } catch (Exception e) {
+      logger.error(
+          "Error occurred while disconnecting queueManager {} in thread {}",
+          queueManager.getName(),
+          Thread.currentThread().getName(),
+          e);
+    }
+  }
+
+  /** Thrown when a cycle is skipped because the backoff delay of a failed attempt is running. */
+  static final class BackoffException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    BackoffException(String message) {
+      super(message);
+    }
+  }
+
+  /** An open connection to a queue manager and the PCF agent using it. */
+  static final class Session {
+    private final MQQueueManager ibmQueueManager;
+    private final PCFMessageAgent agent;
+
+    Session(MQQueueManager ibmQueueManager, PCFMessageAgent agent) {
+      this.ibmQueueManager = ibmQueueManager;
+      this.agent = agent;
+    }
+
+    MQQueueManager getIbmQueueManager() {
+      return ibmQueueManager;
+    }
+
+    PCFMessageAgent getAgent() {
+      return agent;
+    }
+  }
+}
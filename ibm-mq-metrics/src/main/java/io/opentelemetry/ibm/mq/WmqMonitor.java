@@ -13,6 +13,7 @@ import com.ibm.mq.MQException;
 import com.ibm.mq.MQQueueManager;
 import com.ibm.mq.headers.pcf.PCFMessageAgent;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.ibm.mq.QueueManagerConnection.Session;
 import io.opentelemetry.ibm.mq.config.QueueManager;
 import io.opentelemetry.ibm.mq.metrics.MetricProducer;
 import io.opentelemetry.ibm.mq.metrics.MetricsConfig;
@@ -21,6 +22,7 @@ import io.opentelemetry.ibm.mq.metricscollector.InquireChannelCmdCollector;
 import io.opentelemetry.ibm.mq.metricscollector.InquireQueueManagerCmdCollector;
 import io.opentelemetry.ibm.mq.metricscollector.ListenerMetricsCollector;
 import io.opentelemetry.ibm.mq.metricscollector.MetricsCollectorContext;
+import io.opentelemetry.ibm.mq.metricscollector.ObjectAttributesCache;
 import io.opentelemetry.ibm.mq.metricscollector.PerformanceEventQueueCollector;
 import io.opentelemetry.ibm.mq.metricscollector.QueueManagerEventCollector;
 import io.opentelemetry.ibm.mq.metricscollector.QueueManagerMetricsCollector;
@@ -28,14 +30,27 @@ import io.opentelemetry.ibm.mq.metricscollector.QueueMetricsCollector;
 import io.opentelemetry.ibm.mq.metricscollector.ReadConfigurationEventQueueCollector;
 import io.opentelemetry.ibm.mq.metricscollector.TopicMetricsCollector;
 import io.opentelemetry.ibm.mq.opentelemetry.ConfigWrapper;
-import io.opentelemetry.ibm.mq.util.WmqUtil;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import javax.annotation.Nullable;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,13 +59,37 @@ public final class WmqMonitor {
 
   private static final Logger logger = LoggerFactory.getLogger(WmqMonitor.class);
 
+  private static final int DEFAULT_CONNECTION_IDLE_TIMEOUT_SECONDS = 300;
+  private static final int DEFAULT_CONNECTION_MAX_BACKOFF_SECONDS = 300;
+  private static final long JOB_THREAD_KEEP_ALIVE_SECONDS = 60;
+
   private final List<QueueManager> queueManagers;
-  private final List<Consumer<MetricsCollectorContext>> jobs = new ArrayList<>();
-  private final ExecutorService threadPool;
+  private final Set<QueueManager> inFlight = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final ExecutorService queueManagerPool;
+  private final ScheduledExecutorService deadlineScheduler;
+  private final ExecutorService connectionCloser;
+  private final long queueManagerTimeoutMillis;
+  private final Map<QueueManager, QueueManagerConnection> connections = new IdentityHashMap<>();
+  private final Map<QueueManager, ObjectAttributesCache> attributesCaches =
+      new ConcurrentHashMap<>();
+  private final long connectionIdleTimeoutMillis;
+  private final long connectionMaxBackoffMillis;
+  private final QueueManagerConnection.Connector connector;
+  private final List<Consumer<MetricsCollectorContext>> jobs;
+  private final Map<QueueManager, ExecutorService> jobPools = new ConcurrentHashMap<>();
   private final MetricsConfig metricsConfig;
   private final MetricProducer producer;
 
-  public WmqMonitor(ConfigWrapper config, ExecutorService threadPool, MetricProducer producer) {
+  public WmqMonitor(ConfigWrapper config, MetricProducer producer) {
+    this(config, producer, QueueManagerConnection.DEFAULT_CONNECTOR, defaultJobs(producer));
+  }
+
+  // Visible for testing
+  WmqMonitor(
+      ConfigWrapper config,
+      MetricProducer producer,
+      QueueManagerConnection.Connector connector,
+      List<Consumer<MetricsCollectorContext>> jobs) {
     List<Map<String, ?>> queueManagers = getQueueManagers(config);
     ObjectMapper mapper = new ObjectMapper();
 
@@ -67,23 +106,114 @@ public final class WmqMonitor {
     }
 
     this.metricsConfig = new MetricsConfig(config);
-    this.threadPool = threadPool;
+    this.connector = connector;
+    this.jobs = jobs;
+    this.connectionIdleTimeoutMillis =
+        TimeUnit.SECONDS.toMillis(
+            config.getInt("connectionIdleTimeoutSeconds", DEFAULT_CONNECTION_IDLE_TIMEOUT_SECONDS));
+    this.connectionMaxBackoffMillis =
+        TimeUnit.SECONDS.toMillis(
+            config.getInt("connectionMaxBackoffSeconds", DEFAULT_CONNECTION_MAX_BACKOFF_SECONDS));
+    int parallelism =
+        config.getInt("queueManagerCollectionParallelism", Math.max(1, this.queueManagers.size()));
+    if (parallelism < 1) {
+      throw new IllegalArgumentException(
+          "queueManagerCollectionParallelism must be positive, got " + parallelism);
+    }
+    this.queueManagerTimeoutMillis =
+        TimeUnit.SECONDS.toMillis(
+            config.getInt("queueManagerCollectionTimeoutInSeconds", config.getTaskDelaySeconds()));
+    this.queueManagerPool =
+        Executors.newFixedThreadPool(parallelism, daemonThreadFactory("wmq-queue-manager-"));
+    this.deadlineScheduler =
+        Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("wmq-deadline-"));
+    this.connectionCloser = Executors.newCachedThreadPool(daemonThreadFactory("wmq-close-"));
+  }
 
+  private static List<Consumer<MetricsCollectorContext>> defaultJobs(MetricProducer producer) {
+    List<Consumer<MetricsCollectorContext>> jobs = new ArrayList<>();
     jobs.add(new QueueManagerMetricsCollector(producer));
     jobs.add(new InquireQueueManagerCmdCollector(producer));
     jobs.add(new ChannelMetricsCollector(producer));
     jobs.add(new InquireChannelCmdCollector(producer));
-    jobs.add(new QueueMetricsCollector(producer, threadPool, config));
+    jobs.add(new QueueMetricsCollector(producer));
     jobs.add(new ListenerMetricsCollector(producer));
     jobs.add(new TopicMetricsCollector(producer));
     jobs.add(new ReadConfigurationEventQueueCollector(producer));
     jobs.add(new PerformanceEventQueueCollector(producer));
     jobs.add(new QueueManagerEventCollector(producer));
+    return jobs;
   }
 
+  /**
+   * Collects the metrics of all the queue managers concurrently, and waits until each of them
+   * either completes or reaches its deadline.
+   */
   public void run() {
+    List<FutureTask<Void>> tasks = new ArrayList<>();
     for (QueueManager qm : this.queueManagers) {
-      run(qm);
+      if (!inFlight.add(qm)) {
+        // a previous collection that timed out has not returned yet, it still uses the connection
+        logger.warn(
+            "Skipping queueManager {}, its previous collection is still running", qm.getName());
+        continue;
+      }
+      FutureTask<Void> task = new FutureTask<>(() -> run(qm), null);
+      tasks.add(task);
+      queueManagerPool.execute(() -> runWithDeadline(qm, task));
+    }
+
+    for (FutureTask<Void> task : tasks) {
+      try {
+        task.get();
+      } catch (CancellationException e) {
+        // timed out, already reported
+      } catch (ExecutionException e) {
+        logger.error("Error while collecting queueManager metrics", e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void runWithDeadline(QueueManager queueManager, FutureTask<Void> task) {
+    // the deadline starts when the collection starts, not when it is queued
+    ScheduledFuture<?> deadline =
+        deadlineScheduler.schedule(
+            () -> {
+              if (task.cancel(true)) {
+                onTimeout(queueManager);
+              }
+            },
+            queueManagerTimeoutMillis,
+            TimeUnit.MILLISECONDS);
+    try {
+      task.run();
+    } finally {
+      deadline.cancel(false);
+      inFlight.remove(queueManager);
+    }
+  }
+
+  private void onTimeout(QueueManager queueManager) {
+    String queueManagerName = queueManager.getName();
+    logger.warn(
+        "Collection for queueManager {} did not complete within {} ms and was interrupted",
+        queueManagerName,
+        queueManagerTimeoutMillis);
+    if (metricsConfig.isIbmMqQueueManagerCollectionTimeoutsEnabled()) {
+      producer.addIbmMqQueueManagerCollectionTimeouts(
+          1, Attributes.of(IBM_MQ_QUEUE_MANAGER, queueManagerName));
+    }
+    QueueManagerConnection connection;
+    synchronized (connections) {
+      connection = connections.get(queueManager);
+    }
+    if (connection != null) {
+      // fails the MQ calls still waiting for a response, which an interrupt does not stop. Closed
+      // off the deadline thread, as closing waits for a connection attempt in progress.
+      connectionCloser.execute(connection::close);
     }
   }
 
@@ -91,21 +221,30 @@ public final class WmqMonitor {
     String queueManagerName = queueManager.getName();
     logger.debug("WMQMonitor thread for queueManager {} started.", queueManagerName);
     long startTime = System.currentTimeMillis();
-    MQQueueManager ibmQueueManager = null;
-    PCFMessageAgent agent = null;
+    QueueManagerConnection connection = getConnection(queueManager);
+    boolean retrying = connection.isBackingOff();
     int heartBeatMetricValue = 0;
     try {
-      ibmQueueManager = WmqUtil.connectToQueueManager(queueManager);
+      Session session = connection.open();
       heartBeatMetricValue = 1;
-      agent = WmqUtil.initPcfMessageAgent(queueManager, ibmQueueManager);
-      extractAndReportMetrics(ibmQueueManager, queueManager, agent);
+      extractAndReportMetrics(session.getIbmQueueManager(), queueManager, session.getAgent());
+    } catch (QueueManagerConnection.BackoffException e) {
+      // the failure that started the backoff was already reported
+      logger.debug("Skipping queueManager {}: {}", queueManagerName, e.getMessage());
     } catch (RuntimeException e) {
-      logger.error(
-          "Error connecting to QueueManager {} by thread {}: {}",
-          queueManagerName,
-          Thread.currentThread().getName(),
-          e.getMessage(),
-          e);
+      if (retrying && heartBeatMetricValue == 0) {
+        logger.warn(
+            "Reconnecting to QueueManager {} failed again: {}", queueManagerName, e.getMessage());
+      } else {
+        logger.error(
+            "Error connecting to QueueManager {} by thread {}: {}",
+            queueManagerName,
+            Thread.currentThread().getName(),
+            e.getMessage(),
+            e);
+      }
+      // the connection might be broken, reconnect on the next cycle
+      connection.close();
       if (e.getCause() instanceof MQException) {
         MQException mqe = (MQException) e.getCause();
         String errorCode = String.valueOf(mqe.getReason());
@@ -117,8 +256,11 @@ public final class WmqMonitor {
         producer.recordIbmMqHeartbeat(
             heartBeatMetricValue, Attributes.of(IBM_MQ_QUEUE_MANAGER, queueManagerName));
       }
-      cleanUp(ibmQueueManager, agent);
       long endTime = System.currentTimeMillis() - startTime;
+      if (this.metricsConfig.isIbmMqQueueManagerCollectionDurationEnabled()) {
+        producer.recordIbmMqQueueManagerCollectionDuration(
+            endTime, Attributes.of(IBM_MQ_QUEUE_MANAGER, queueManagerName));
+      }
       logger.debug(
           "WMQMonitor thread for queueManager {} ended. Time taken = {} ms",
           queueManagerName,
@@ -126,6 +268,56 @@ public final class WmqMonitor {
     }
   }
 
+  /** Stops the collection threads and closes the connections kept open across runs. */
+  public void close() {
+    queueManagerPool.shutdownNow();
+    deadlineScheduler.shutdownNow();
+    connectionCloser.shutdown();
+    jobPools.values().forEach(ExecutorService::shutdownNow);
+    List<QueueManagerConnection> toClose;
+    synchronized (connections) {
+      toClose = new ArrayList<>(connections.values());
+      connections.clear();
+    }
+    toClose.forEach(QueueManagerConnection::close);
+  }
+
+  private QueueManagerConnection getConnection(QueueManager queueManager) {
+    synchronized (connections) {
+      return connections.computeIfAbsent(
+          queueManager,
+          qm ->
+              new QueueManagerConnection(
+                  qm, connector, connectionIdleTimeoutMillis, connectionMaxBackoffMillis));
+    }
+  }
+
+  // One thread per job, so that the jobs of a queue manager never wait for the ones of the other
+  // queue managers, including jobs that a timed out collection left blocked in an MQ call.
+  private ExecutorService newJobPool(QueueManager queueManager) {
+    int threads = Math.max(1, jobs.size());
+    ThreadPoolExecutor jobPool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            JOB_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            daemonThreadFactory("wmq-" + queueManager.getName() + "-job-"));
+    // the threads are idle between the collections
+    jobPool.allowCoreThreadTimeOut(true);
+    return jobPool;
+  }
+
+  private static ThreadFactory daemonThreadFactory(String namePrefix) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
   @NotNull
   private static List<Map<String, ?>> getQueueManagers(ConfigWrapper config) {
     List<Map<String, ?>> queueManagers = config.getQueueManagers();
@@ -139,8 +331,13 @@ public final class WmqMonitor {
   private void extractAndReportMetrics(
       MQQueueManager mqQueueManager, QueueManager queueManager, PCFMessageAgent agent) {
     logger.debug("Queueing {} jobs", jobs.size());
+    ObjectAttributesCache attributesCache =
+        attributesCaches.computeIfAbsent(
+            queueManager, qm -> new ObjectAttributesCache(qm.getName()));
+    attributesCache.startCycle();
     MetricsCollectorContext context =
-        new MetricsCollectorContext(queueManager, agent, mqQueueManager, this.metricsConfig);
+        new MetricsCollectorContext(
+            queueManager, agent, mqQueueManager, this.metricsConfig, attributesCache);
     List<Callable<Void>> tasks = new ArrayList<>();
     for (Consumer<MetricsCollectorContext> collector : jobs) {
       tasks.add(
@@ -169,47 +366,13 @@ public final class WmqMonitor {
     }
 
     try {
-      this.threadPool.invokeAll(tasks);
+      jobPools.computeIfAbsent(queueManager, this::newJobPool).invokeAll(tasks);
+      // objects not seen by a complete cycle are gone
+      attributesCache.endCycle();
     } catch (InterruptedException e) {
-      logger.error("Error while the thread {} is waiting ", Thread.currentThread().getName(), e);
-    }
-  }
-
-  /** Destroy the agent and disconnect from queue manager */
-  private static void cleanUp(
-      @Nullable MQQueueManager ibmQueueManager, @Nullable PCFMessageAgent agent) {
-    // Disconnect the agent.
-
-    if (agent != null) {
-      String qMgrName = agent.getQManagerName();
-      try {
-        agent.disconnect();
-        logger.debug(
-            "PCFMessageAgent disconnected for queueManager {} in thread {}",
-            qMgrName,
-            Thread.currentThread().getName());
-      } catch (Exception e) {
-        logger.error(
-            "Error occurred  while disconnecting PCFMessageAgent for queueManager {} in thread {}",
-            qMgrName,
-            Thread.currentThread().getName(),
-            e);
-      }
-    }
-
-    // Disconnect queue manager
-    if (ibmQueueManager != null) {
-      String name = "";
-      try {
-        name = ibmQueueManager.getName();
-        ibmQueueManager.disconnect();
-      } catch (Exception e) {
-        logger.error(
-            "Error occurred while disconnecting queueManager {} in thread {}",
-            name,
-            Thread.currentThread().getName(),
-            e);
-      }
+      // the deadline of the queue manager was reached, invokeAll cancelled the remaining jobs
+      logger.debug("Jobs of queueManager {} interrupted", queueManager.getName());
+      Thread.currentThread().interrupt();
     }
   }
 }
@@ -34,6 +34,8 @@ public final class QueueManager {
   // Config default is 100.
   // https://www.ibm.com/docs/en/ibm-mq/9.3.x?topic=qmini-channels-stanza-file
   private int maxActiveChannels = 100;
+  private boolean pagedQueueInquiriesEnabled;
+  private int pagedQueueInquiriesPageSize = 1000;
 
   @Nullable private ResourceFilters queueFilters;
   @Nullable private ResourceFilters channelFilters;
@@ -254,4 +256,20 @@ public final class QueueManager {
   public void setMaxActiveChannels(int maxActiveChannels) {
     this.maxActiveChannels = maxActiveChannels;
   }
+
+  public boolean isPagedQueueInquiriesEnabled() {
+    return pagedQueueInquiriesEnabled;
+  }
+
+  public void setPagedQueueInquiriesEnabled(boolean pagedQueueInquiriesEnabled) {
+    this.pagedQueueInquiriesEnabled = pagedQueueInquiriesEnabled;
+  }
+
+  public int getPagedQueueInquiriesPageSize() {
+    return pagedQueueInquiriesPageSize;
+  }
+
+  public void setPagedQueueInquiriesPageSize(int pagedQueueInquiriesPageSize) {
+    this.pagedQueueInquiriesPageSize = pagedQueueInquiriesPageSize;
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq.metrics;
+
+import static io.opentelemetry.ibm.mq.metrics.MetricData.createMetricData;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.GaugeData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.data.SumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Points of one metric of the {@link MetricProducer}, buffered until the next collection where
+ * they are exported as a single {@link MetricData}.
+ *
+ * <p>Counters keep the cumulative value of each of their series. A series that is not incremented
+ * during {@link #MAX_IDLE_COLLECTIONS} collections is dropped, e.g. the series of a deleted queue,
+ * and starts again from zero if incremented later.
+ */
+final class LongMetric {
+
+  // an hour at the default metric export interval of one minute
+  static final int MAX_IDLE_COLLECTIONS = 60;
+
+  private final String name;
+  private final String description;
+  private final String unit;
+  private final boolean counter;
+  private final BlockingQueue<LongPointData> points = new LinkedBlockingQueue<>();
+  private final Map<Attributes, CounterSeries> series = new ConcurrentHashMap<>();
+  private final AtomicLong collection = new AtomicLong();
+
+  static LongMetric gauge(String name, String description, String unit) {
+    return new LongMetric(name, description, unit, false);
+  }
+
+  static LongMetric counter(String name, String description, String unit) {
+    return new LongMetric(name, description, unit, true);
+  }
+
+  private LongMetric(String name, String description, String unit, boolean counter) {
+    this.name = name;
+    this.description = description;
+    this.unit = unit;
+    this.counter = counter;
+  }
+
+  /** Records the value of a gauge. */
+  void record(long startEpochNanos, long value, Attributes attributes) {
+    points.add(LongPointData.create(startEpochNanos, Clock.getDefault().now(), attributes, value));
+  }
+
+  /** Increments a counter, whose cumulative value is recorded. */
+  void add(long startEpochNanos, long value, Attributes attributes) {
+    long current = collection.get();
+    CounterSeries updated =
+        series.compute(
+            attributes,
+            (unused, previous) ->
+                new CounterSeries(previous == null ? value : previous.value + value, current));
+    record(startEpochNanos, updated.value, attributes);
+  }
+
+  /**
+   * Returns the points recorded since the previous collection, or {@code null} when there are
+   * none.
+   */
+  @Nullable
+  MetricData collect(Resource resource, InstrumentationScopeInfo instrumentationScopeInfo) {
+    long current = collection.incrementAndGet();
+    if (counter) {
+      // a series updated concurrently is a new instance, thus is not removed
+      series.values().removeIf(idle -> current - idle.lastCollection > MAX_IDLE_COLLECTIONS);
+    }
+    if (points.isEmpty()) {
+      return null;
+    }
+    List<LongPointData> collected = new ArrayList<>(points.size());
+    points.drainTo(collected);
+    return createMetricData(
+        resource,
+        instrumentationScopeInfo,
+        name,
+        description,
+        unit,
+        counter ? MetricDataType.LONG_SUM : MetricDataType.LONG_GAUGE,
+        counter
+            ? SumData.createLongSumData(
+                /* isMonotonic= */ true, AggregationTemporality.CUMULATIVE, collected)
+            : GaugeData.createLongGaugeData(collected));
+  }
+
+  // visible for testing
+  int seriesCount() {
+    return series.size();
+  }
+
+  private static final class CounterSeries {
+    private final long value;
+    private final long lastCollection;
+
+    private CounterSeries(long value, long lastCollection) {
+      this.value = value;
+      this.lastCollection = lastCollection;
+    }
+  }
+}
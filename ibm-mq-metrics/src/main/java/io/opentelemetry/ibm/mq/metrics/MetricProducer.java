@@ -5,25 +5,14 @@
 
 package io.opentelemetry.ibm.mq.metrics;
 
-import static io.opentelemetry.ibm.mq.metrics.MetricData.createMetricData;
-
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
-import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
-import io.opentelemetry.sdk.metrics.data.GaugeData;
-import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
-import io.opentelemetry.sdk.metrics.data.MetricDataType;
-import io.opentelemetry.sdk.metrics.data.SumData;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingDeque;
 
 // This file is generated using weaver. Do not edit manually.
 
@@ -31,828 +20,435 @@ import java.util.concurrent.LinkedBlockingDeque;
 public final class MetricProducer implements io.opentelemetry.sdk.metrics.export.MetricProducer {
   private final Resource resource;
   private final InstrumentationScopeInfo instrumentationScopeInfo;
-  private final BlockingQueue<MetricData> metricData;
-
-  private final Map<Attributes, Long> counterIbmMqQueueDepthFullEvent;
-  private final Map<Attributes, Long> counterIbmMqQueueDepthHighEvent;
-  private final Map<Attributes, Long> counterIbmMqQueueDepthLowEvent;
-  private final Map<Attributes, Long> counterIbmMqUnauthorizedEvent;
-  private final Map<Attributes, Long> counterIbmMqConnectionErrors;
 
-  private long currentEpochNanos;
+  private final LongMetric gaugeIbmMqMessageRetryCount =
+      LongMetric.gauge("ibm.mq.message.retry.count", "Number of message retries", "{message}");
+  private final LongMetric gaugeIbmMqStatus =
+      LongMetric.gauge("ibm.mq.status", "Channel status", "1");
+  private final LongMetric gaugeIbmMqMaxSharingConversations =
+      LongMetric.gauge(
+          "ibm.mq.max.sharing.conversations",
+          "Maximum number of conversations permitted on this channel instance.",
+          "{conversation}");
+  private final LongMetric gaugeIbmMqCurrentSharingConversations =
+      LongMetric.gauge(
+          "ibm.mq.current.sharing.conversations",
+          "Current number of conversations permitted on this channel instance.",
+          "{conversation}");
+  private final LongMetric gaugeIbmMqByteReceived =
+      LongMetric.gauge("ibm.mq.byte.received", "Number of bytes received", "By");
+  private final LongMetric gaugeIbmMqByteSent =
+      LongMetric.gauge("ibm.mq.byte.sent", "Number of bytes sent", "By");
+  private final LongMetric gaugeIbmMqBuffersReceived =
+      LongMetric.gauge("ibm.mq.buffers.received", "Buffers received", "{buffer}");
+  private final LongMetric gaugeIbmMqBuffersSent =
+      LongMetric.gauge("ibm.mq.buffers.sent", "Buffers sent", "{buffer}");
+  private final LongMetric gaugeIbmMqMessageCount =
+      LongMetric.gauge("ibm.mq.message.count", "Message count", "{message}");
+  private final LongMetric gaugeIbmMqOpenInputCount =
+      LongMetric.gauge(
+          "ibm.mq.open.input.count",
+          "Count of applications sending messages to the queue",
+          "{application}");
+  private final LongMetric gaugeIbmMqOpenOutputCount =
+      LongMetric.gauge(
+          "ibm.mq.open.output.count",
+          "Count of applications consuming messages from the queue",
+          "{application}");
+  private final LongMetric gaugeIbmMqHighQueueDepth =
+      LongMetric.gauge("ibm.mq.high.queue.depth", "The current high queue depth", "{percent}");
+  private final LongMetric gaugeIbmMqServiceInterval =
+      LongMetric.gauge("ibm.mq.service.interval", "The queue service interval", "{percent}");
+  private final LongMetric counterIbmMqQueueDepthFullEvent =
+      LongMetric.counter(
+          "ibm.mq.queue.depth.full.event",
+          "The number of full queue events",
+          "{event}");
+  private final LongMetric counterIbmMqQueueDepthHighEvent =
+      LongMetric.counter(
+          "ibm.mq.queue.depth.high.event",
+          "The number of high queue events",
+          "{event}");
+  private final LongMetric counterIbmMqQueueDepthLowEvent =
+      LongMetric.counter(
+          "ibm.mq.queue.depth.low.event",
+          "The number of low queue events",
+          "{event}");
+  private final LongMetric gaugeIbmMqExpiredMessages =
+      LongMetric.gauge("ibm.mq.expired.messages", "Number of expired messages", "{message}");
+  private final LongMetric gaugeIbmMqUncommittedMessages =
+      LongMetric.gauge(
+          "ibm.mq.uncommitted.messages",
+          "Number of uncommitted messages",
+          "{message}");
+  private final LongMetric gaugeIbmMqOldestMsgAge =
+      LongMetric.gauge("ibm.mq.oldest.msg.age", "Queue message oldest age", "us");
+  private final LongMetric gaugeIbmMqCurrentMaxQueueFilesize =
+      LongMetric.gauge(
+          "ibm.mq.current.max.queue.filesize",
+          "Current maximum queue file size",
+          "By");
+  private final LongMetric gaugeIbmMqCurrentQueueFilesize =
+      LongMetric.gauge("ibm.mq.current.queue.filesize", "Current queue file size", "By");
+  private final LongMetric gaugeIbmMqInstancesPerClient =
+      LongMetric.gauge("ibm.mq.instances.per.client", "Instances per client", "{instance}");
+  private final LongMetric gaugeIbmMqMessageDeqCount =
+      LongMetric.gauge("ibm.mq.message.deq.count", "Message dequeue count", "{message}");
+  private final LongMetric gaugeIbmMqMessageEnqCount =
+      LongMetric.gauge("ibm.mq.message.enq.count", "Message enqueue count", "{message}");
+  private final LongMetric gaugeIbmMqQueueDepth =
+      LongMetric.gauge("ibm.mq.queue.depth", "Current queue depth", "{message}");
+  private final LongMetric gaugeIbmMqServiceIntervalEvent =
+      LongMetric.gauge("ibm.mq.service.interval.event", "Queue service interval event", "1");
+  private final LongMetric gaugeIbmMqReusableLogSize =
+      LongMetric.gauge(
+          "ibm.mq.reusable.log.size",
+          "The amount of space occupied, in megabytes, by log extents available to be reused.",
+          "By");
+  private final LongMetric gaugeIbmMqManagerActiveChannels =
+      LongMetric.gauge(
+          "ibm.mq.manager.active.channels",
+          "The queue manager active maximum channels limit",
+          "{channel}");
+  private final LongMetric gaugeIbmMqRestartLogSize =
+      LongMetric.gauge(
+          "ibm.mq.restart.log.size",
+          "Size of the log data required for restart recovery in megabytes.",
+          "By");
+  private final LongMetric gaugeIbmMqMaxQueueDepth =
+      LongMetric.gauge("ibm.mq.max.queue.depth", "Maximum queue depth", "{message}");
+  private final LongMetric gaugeIbmMqOnqtimeShortPeriod =
+      LongMetric.gauge(
+          "ibm.mq.onqtime.short_period",
+          "Amount of time, in microseconds, that a message spent on the queue, over a short period",
+          "us");
+  private final LongMetric gaugeIbmMqOnqtimeLongPeriod =
+      LongMetric.gauge(
+          "ibm.mq.onqtime.long_period",
+          "Amount of time, in microseconds, that a message spent on the queue, over a longer period",
+          "us");
+  private final LongMetric gaugeIbmMqMessageReceivedCount =
+      LongMetric.gauge("ibm.mq.message.received.count", "Number of messages received", "{message}");
+  private final LongMetric gaugeIbmMqMessageSentCount =
+      LongMetric.gauge("ibm.mq.message.sent.count", "Number of messages sent", "{message}");
+  private final LongMetric gaugeIbmMqMaxInstances =
+      LongMetric.gauge("ibm.mq.max.instances", "Max channel instances", "{instance}");
+  private final LongMetric gaugeIbmMqConnectionCount =
+      LongMetric.gauge("ibm.mq.connection.count", "Active connections count", "{connection}");
+  private final LongMetric gaugeIbmMqManagerStatus =
+      LongMetric.gauge("ibm.mq.manager.status", "Queue manager status", "1");
+  private final LongMetric gaugeIbmMqHeartbeat =
+      LongMetric.gauge("ibm.mq.heartbeat", "Queue manager heartbeat", "1");
+  private final LongMetric gaugeIbmMqQueueManagerUptime =
+      LongMetric.gauge("ibm.mq.queue_manager.uptime", "Queue manager uptime", "s");
+  private final LongMetric gaugeIbmMqArchiveLogSize =
+      LongMetric.gauge("ibm.mq.archive.log.size", "Queue manager archive log size", "By");
+  private final LongMetric gaugeIbmMqManagerMaxActiveChannels =
+      LongMetric.gauge(
+          "ibm.mq.manager.max.active.channels",
+          "Queue manager max active channels",
+          "{channel}");
+  private final LongMetric gaugeIbmMqManagerStatisticsInterval =
+      LongMetric.gauge(
+          "ibm.mq.manager.statistics.interval",
+          "Queue manager statistics interval",
+          "1");
+  private final LongMetric gaugeIbmMqPublishCount =
+      LongMetric.gauge("ibm.mq.publish.count", "Topic publication count", "{publication}");
+  private final LongMetric gaugeIbmMqSubscriptionCount =
+      LongMetric.gauge("ibm.mq.subscription.count", "Topic subscription count", "{subscription}");
+  private final LongMetric gaugeIbmMqListenerStatus =
+      LongMetric.gauge("ibm.mq.listener.status", "Listener status", "1");
+  private final LongMetric counterIbmMqUnauthorizedEvent =
+      LongMetric.counter(
+          "ibm.mq.unauthorized.event",
+          "Number of authentication error events",
+          "{event}");
+  private final LongMetric gaugeIbmMqManagerMaxHandles =
+      LongMetric.gauge("ibm.mq.manager.max.handles", "Max open handles", "{event}");
+  private final LongMetric counterIbmMqConnectionErrors =
+      LongMetric.counter("ibm.mq.connection.errors", "Number of connection errors", "{errors}");
+  private final LongMetric gaugeIbmMqQueueManagerCollectionDuration =
+      LongMetric.gauge(
+          "ibm.mq.queue_manager.collection.duration",
+          "Duration of the last metrics collection of the queue manager",
+          "ms");
+  private final LongMetric counterIbmMqQueueManagerCollectionTimeouts =
+      LongMetric.counter(
+          "ibm.mq.queue_manager.collection.timeouts",
+          "Number of metrics collections of the queue manager interrupted by their deadline",
+          "{timeout}");
+  private final List<LongMetric> metrics =
+      Arrays.asList(
+          gaugeIbmMqMessageRetryCount,
+          gaugeIbmMqStatus,
+          gaugeIbmMqMaxSharingConversations,
+          gaugeIbmMqCurrentSharingConversations,
+          gaugeIbmMqByteReceived,
+          gaugeIbmMqByteSent,
+          gaugeIbmMqBuffersReceived,
+          gaugeIbmMqBuffersSent,
+          gaugeIbmMqMessageCount,
+          gaugeIbmMqOpenInputCount,
+          gaugeIbmMqOpenOutputCount,
+          gaugeIbmMqHighQueueDepth,
+          gaugeIbmMqServiceInterval,
+          counterIbmMqQueueDepthFullEvent,
+          counterIbmMqQueueDepthHighEvent,
+          counterIbmMqQueueDepthLowEvent,
+          gaugeIbmMqExpiredMessages,
+          gaugeIbmMqUncommittedMessages,
+          gaugeIbmMqOldestMsgAge,
+          gaugeIbmMqCurrentMaxQueueFilesize,
+          gaugeIbmMqCurrentQueueFilesize,
+          gaugeIbmMqInstancesPerClient,
+          gaugeIbmMqMessageDeqCount,
+          gaugeIbmMqMessageEnqCount,
+          gaugeIbmMqQueueDepth,
+          gaugeIbmMqServiceIntervalEvent,
+          gaugeIbmMqReusableLogSize,
+          gaugeIbmMqManagerActiveChannels,
+          gaugeIbmMqRestartLogSize,
+          gaugeIbmMqMaxQueueDepth,
+          gaugeIbmMqOnqtimeShortPeriod,
+          gaugeIbmMqOnqtimeLongPeriod,
+          gaugeIbmMqMessageReceivedCount,
+          gaugeIbmMqMessageSentCount,
+          gaugeIbmMqMaxInstances,
+          gaugeIbmMqConnectionCount,
+          gaugeIbmMqManagerStatus,
+          gaugeIbmMqHeartbeat,
+          gaugeIbmMqQueueManagerUptime,
+          gaugeIbmMqArchiveLogSize,
+          gaugeIbmMqManagerMaxActiveChannels,
+          gaugeIbmMqManagerStatisticsInterval,
+          gaugeIbmMqPublishCount,
+          gaugeIbmMqSubscriptionCount,
+          gaugeIbmMqListenerStatus,
+          counterIbmMqUnauthorizedEvent,
+          gaugeIbmMqManagerMaxHandles,
+          counterIbmMqConnectionErrors,
+          gaugeIbmMqQueueManagerCollectionDuration,
+          counterIbmMqQueueManagerCollectionTimeouts);
+
+  private volatile long currentEpochNanos;
 
   public MetricProducer(Resource resource, InstrumentationScopeInfo info) {
     this.resource = resource;
     this.instrumentationScopeInfo = info;
-    this.metricData = new LinkedBlockingDeque<>();
     this.currentEpochNanos = Clock.getDefault().now();
-    this.counterIbmMqQueueDepthFullEvent = new ConcurrentHashMap<>();
-    this.counterIbmMqQueueDepthHighEvent = new ConcurrentHashMap<>();
-    this.counterIbmMqQueueDepthLowEvent = new ConcurrentHashMap<>();
-    this.counterIbmMqUnauthorizedEvent = new ConcurrentHashMap<>();
-    this.counterIbmMqConnectionErrors = new ConcurrentHashMap<>();
   }
 
   public void recordIbmMqMessageRetryCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.message.retry.count",
-            "Number of message retries",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMessageRetryCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqStatus(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.status",
-            "Channel status",
-            "1",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqStatus.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMaxSharingConversations(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.max.sharing.conversations",
-            "Maximum number of conversations permitted on this channel instance.",
-            "{conversation}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMaxSharingConversations.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqCurrentSharingConversations(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.current.sharing.conversations",
-            "Current number of conversations permitted on this channel instance.",
-            "{conversation}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqCurrentSharingConversations.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqByteReceived(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.byte.received",
-            "Number of bytes received",
-            "By",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqByteReceived.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqByteSent(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.byte.sent",
-            "Number of bytes sent",
-            "By",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqByteSent.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqBuffersReceived(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.buffers.received",
-            "Buffers received",
-            "{buffer}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqBuffersReceived.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqBuffersSent(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.buffers.sent",
-            "Buffers sent",
-            "{buffer}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqBuffersSent.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMessageCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.message.count",
-            "Message count",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMessageCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqOpenInputCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.open.input.count",
-            "Count of applications sending messages to the queue",
-            "{application}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqOpenInputCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqOpenOutputCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.open.output.count",
-            "Count of applications consuming messages from the queue",
-            "{application}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqOpenOutputCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqHighQueueDepth(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.high.queue.depth",
-            "The current high queue depth",
-            "{percent}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqHighQueueDepth.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqServiceInterval(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.service.interval",
-            "The queue service interval",
-            "{percent}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqServiceInterval.record(this.currentEpochNanos, value, attributes);
   }
 
   public void addIbmMqQueueDepthFullEvent(long value, Attributes attributes) {
-    long cumulativeValue =
-        this.counterIbmMqQueueDepthFullEvent.compute(
-            attributes,
-            (k, v) -> {
-              if (v == null) {
-                return value;
-              } else {
-                return v + value;
-              }
-            });
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.queue.depth.full.event",
-            "The number of full queue events",
-            "{event}",
-            MetricDataType.LONG_SUM,
-            SumData.createLongSumData(
-                /* isMonotonic= */ true,
-                AggregationTemporality.CUMULATIVE,
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos,
-                        Clock.getDefault().now(),
-                        attributes,
-                        cumulativeValue)))));
+    counterIbmMqQueueDepthFullEvent.add(this.currentEpochNanos, value, attributes);
   }
 
   public void addIbmMqQueueDepthHighEvent(long value, Attributes attributes) {
-    long cumulativeValue =
-        this.counterIbmMqQueueDepthHighEvent.compute(
-            attributes,
-            (k, v) -> {
-              if (v == null) {
-                return value;
-              } else {
-                return v + value;
-              }
-            });
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.queue.depth.high.event",
-            "The number of high queue events",
-            "{event}",
-            MetricDataType.LONG_SUM,
-            SumData.createLongSumData(
-                /* isMonotonic= */ true,
-                AggregationTemporality.CUMULATIVE,
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos,
-                        Clock.getDefault().now(),
-                        attributes,
-                        cumulativeValue)))));
+    counterIbmMqQueueDepthHighEvent.add(this.currentEpochNanos, value, attributes);
   }
 
   public void addIbmMqQueueDepthLowEvent(long value, Attributes attributes) {
-    long cumulativeValue =
-        this.counterIbmMqQueueDepthLowEvent.compute(
-            attributes,
-            (k, v) -> {
-              if (v == null) {
-                return value;
-              } else {
-                return v + value;
-              }
-            });
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.queue.depth.low.event",
-            "The number of low queue events",
-            "{event}",
-            MetricDataType.LONG_SUM,
-            SumData.createLongSumData(
-                /* isMonotonic= */ true,
-                AggregationTemporality.CUMULATIVE,
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos,
-                        Clock.getDefault().now(),
-                        attributes,
-                        cumulativeValue)))));
+    counterIbmMqQueueDepthLowEvent.add(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqExpiredMessages(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.expired.messages",
-            "Number of expired messages",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqExpiredMessages.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqUncommittedMessages(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.uncommitted.messages",
-            "Number of uncommitted messages",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqUncommittedMessages.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqOldestMsgAge(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.oldest.msg.age",
-            "Queue message oldest age",
-            "us",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqOldestMsgAge.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqCurrentMaxQueueFilesize(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.current.max.queue.filesize",
-            "Current maximum queue file size",
-            "By",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqCurrentMaxQueueFilesize.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqCurrentQueueFilesize(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.current.queue.filesize",
-            "Current queue file size",
-            "By",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqCurrentQueueFilesize.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqInstancesPerClient(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.instances.per.client",
-            "Instances per client",
-            "{instance}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqInstancesPerClient.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMessageDeqCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.message.deq.count",
-            "Message dequeue count",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMessageDeqCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMessageEnqCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.message.enq.count",
-            "Message enqueue count",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMessageEnqCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqQueueDepth(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.queue.depth",
-            "Current queue depth",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqQueueDepth.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqServiceIntervalEvent(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.service.interval.event",
-            "Queue service interval event",
-            "1",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqServiceIntervalEvent.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqReusableLogSize(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.reusable.log.size",
-            "The amount of space occupied, in megabytes, by log extents available to be reused.",
-            "By",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqReusableLogSize.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqManagerActiveChannels(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.manager.active.channels",
-            "The queue manager active maximum channels limit",
-            "{channel}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqManagerActiveChannels.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqRestartLogSize(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.restart.log.size",
-            "Size of the log data required for restart recovery in megabytes.",
-            "By",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqRestartLogSize.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMaxQueueDepth(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.max.queue.depth",
-            "Maximum queue depth",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMaxQueueDepth.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqOnqtimeShortPeriod(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.onqtime.short_period",
-            "Amount of time, in microseconds, that a message spent on the queue, over a short period",
-            "us",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqOnqtimeShortPeriod.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqOnqtimeLongPeriod(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.onqtime.long_period",
-            "Amount of time, in microseconds, that a message spent on the queue, over a longer period",
-            "us",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqOnqtimeLongPeriod.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMessageReceivedCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.message.received.count",
-            "Number of messages received",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMessageReceivedCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMessageSentCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.message.sent.count",
-            "Number of messages sent",
-            "{message}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMessageSentCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqMaxInstances(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.max.instances",
-            "Max channel instances",
-            "{instance}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqMaxInstances.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqConnectionCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.connection.count",
-            "Active connections count",
-            "{connection}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqConnectionCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqManagerStatus(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.manager.status",
-            "Queue manager status",
-            "1",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqManagerStatus.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqHeartbeat(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.heartbeat",
-            "Queue manager heartbeat",
-            "1",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqHeartbeat.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqQueueManagerUptime(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.queue_manager.uptime",
-            "Queue manager uptime",
-            "s",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqQueueManagerUptime.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqArchiveLogSize(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.archive.log.size",
-            "Queue manager archive log size",
-            "By",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqArchiveLogSize.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqManagerMaxActiveChannels(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.manager.max.active.channels",
-            "Queue manager max active channels",
-            "{channel}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqManagerMaxActiveChannels.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqManagerStatisticsInterval(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.manager.statistics.interval",
-            "Queue manager statistics interval",
-            "1",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqManagerStatisticsInterval.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqPublishCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.publish.count",
-            "Topic publication count",
-            "{publication}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqPublishCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqSubscriptionCount(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.subscription.count",
-            "Topic subscription count",
-            "{subscription}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqSubscriptionCount.record(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqListenerStatus(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.listener.status",
-            "Listener status",
-            "1",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqListenerStatus.record(this.currentEpochNanos, value, attributes);
   }
 
   public void addIbmMqUnauthorizedEvent(long value, Attributes attributes) {
-    long cumulativeValue =
-        this.counterIbmMqUnauthorizedEvent.compute(
-            attributes,
-            (k, v) -> {
-              if (v == null) {
-                return value;
-              } else {
-                return v + value;
-              }
-            });
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.unauthorized.event",
-            "Number of authentication error events",
-            "{event}",
-            MetricDataType.LONG_SUM,
-            SumData.createLongSumData(
-                /* isMonotonic= */ true,
-                AggregationTemporality.CUMULATIVE,
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos,
-                        Clock.getDefault().now(),
-                        attributes,
-                        cumulativeValue)))));
+    counterIbmMqUnauthorizedEvent.add(this.currentEpochNanos, value, attributes);
   }
 
   public void recordIbmMqManagerMaxHandles(long value, Attributes attributes) {
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.manager.max.handles",
-            "Max open handles",
-            "{event}",
-            MetricDataType.LONG_GAUGE,
-            GaugeData.createLongGaugeData(
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos, Clock.getDefault().now(), attributes, value)))));
+    gaugeIbmMqManagerMaxHandles.record(this.currentEpochNanos, value, attributes);
   }
 
   public void addIbmMqConnectionErrors(long value, Attributes attributes) {
-    long cumulativeValue =
-        this.counterIbmMqConnectionErrors.compute(
-            attributes,
-            (k, v) -> {
-              if (v == null) {
-                return value;
-              } else {
-                return v + value;
-              }
-            });
-    metricData.add(
-        createMetricData(
-            this.resource,
-            this.instrumentationScopeInfo,
-            "ibm.mq.connection.errors",
-            "Number of connection errors",
-            "{errors}",
-            MetricDataType.LONG_SUM,
-            SumData.createLongSumData(
-                /* isMonotonic= */ true,
-                AggregationTemporality.CUMULATIVE,
-                Collections.singletonList(
-                    LongPointData.create(
-                        this.currentEpochNanos,
-                        Clock.getDefault().now(),
-                        attributes,
-                        cumulativeValue)))));
+    counterIbmMqConnectionErrors.add(this.currentEpochNanos, value, attributes);
+  }
+
+  public void recordIbmMqQueueManagerCollectionDuration(long value, Attributes attributes) {
+    gaugeIbmMqQueueManagerCollectionDuration.record(this.currentEpochNanos, value, attributes);
+  }
+
+  public void addIbmMqQueueManagerCollectionTimeouts(long value, Attributes attributes) {
+    counterIbmMqQueueManagerCollectionTimeouts.add(this.currentEpochNanos, value, attributes);
   }
 
   @Override
   public List<MetricData> produce(Resource resource) {
-    List<MetricData> collectedPoints = new ArrayList<>();
-    this.metricData.drainTo(collectedPoints);
+    List<MetricData> collected = new ArrayList<>();
+    for (LongMetric metric : this.metrics) {
+      MetricData data = metric.collect(this.resource, this.instrumentationScopeInfo);
+      if (data != null) {
+        collected.add(data);
+      }
+    }
     this.currentEpochNanos = Clock.getDefault().now();
-    return collectedPoints;
+    return collected;
   }
 }
@@ -211,6 +211,14 @@ public final class MetricsConfig {
     return isEnabled("ibm.mq.connection.errors");
   }
 
+  public boolean isIbmMqQueueManagerCollectionDurationEnabled() {
+    return isEnabled("ibm.mq.queue_manager.collection.duration");
+  }
+
+  public boolean isIbmMqQueueManagerCollectionTimeoutsEnabled() {
+    return isEnabled("ibm.mq.queue_manager.collection.timeouts");
+  }
+
   private boolean isEnabled(String key) {
     Object metricInfo = config.get(key);
     if (!(metricInfo instanceof Map)) {
@@ -5,10 +5,6 @@
 
 package io.opentelemetry.ibm.mq.metricscollector;
 
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_CHANNEL_NAME;
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_CHANNEL_TYPE;
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_MANAGER;
-
 import com.ibm.mq.constants.CMQCFC;
 import com.ibm.mq.constants.MQConstants;
 import com.ibm.mq.headers.pcf.MQCFIL;
@@ -98,12 +94,7 @@ public final class InquireChannelCmdCollector implements Consumer<MetricsCollect
   private void updateMetrics(
       PCFMessage message, String channelName, String channelType, MetricsCollectorContext context)
       throws PCFException {
-    Attributes attributes =
-        Attributes.builder()
-            .put(IBM_MQ_CHANNEL_NAME, channelName)
-            .put(IBM_MQ_CHANNEL_TYPE, channelType)
-            .put(IBM_MQ_QUEUE_MANAGER, context.getQueueManagerName())
-            .build();
+    Attributes attributes = context.getAttributesCache().channel(channelName, channelType);
     if (context.getMetricsConfig().isIbmMqMaxInstancesEnabled()
         && message.getParameter(CMQCFC.MQIACH_MAX_INSTANCES) != null) {
       this.producer.recordIbmMqMaxInstances(
@@ -43,22 +43,29 @@ final class InquireQCmdCollector implements Consumer<MetricsCollectorContext> {
     logger.info("Collecting metrics for command {}", COMMAND);
     long entryTime = System.currentTimeMillis();
 
+    // always sent, even without enabled metrics, as it provides the queue types to the other
+    // queue commands
+    int[] attributes = queueBuddy.selectAttributes(context.getMetricsConfig(), ATTRIBUTES);
     logger.debug(
         "Attributes being sent along PCF agent request to query queue metrics: {} for command {}",
-        Arrays.toString(ATTRIBUTES),
+        Arrays.toString(attributes),
         COMMAND);
 
     Set<String> queueGenericNames = context.getQueueIncludeFilterNames();
     for (String queueGenericName : queueGenericNames) {
       // list of all metrics extracted through MQCMD_INQUIRE_Q is mentioned here
       // https://www.ibm.com/support/knowledgecenter/SSFKSJ_7.5.0/com.ibm.mq.ref.adm.doc/q087810_.htm
-      PCFMessage request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q);
-      request.addParameter(CMQC.MQCA_Q_NAME, queueGenericName);
-      request.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_ALL);
-      request.addParameter(CMQCFC.MQIACF_Q_ATTRS, ATTRIBUTES);
-
-      queueBuddy.processPcfRequestAndPublishQMetrics(
-          context, request, queueGenericName, ATTRIBUTES);
+      queueBuddy.processPcfRequestsAndPublishQMetrics(
+          context,
+          queueGenericName,
+          name -> {
+            PCFMessage request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q);
+            request.addParameter(CMQC.MQCA_Q_NAME, name);
+            request.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_ALL);
+            request.addParameter(CMQCFC.MQIACF_Q_ATTRS, attributes);
+            return request;
+          },
+          attributes);
     }
     long exitTime = System.currentTimeMillis() - entryTime;
     logger.debug(
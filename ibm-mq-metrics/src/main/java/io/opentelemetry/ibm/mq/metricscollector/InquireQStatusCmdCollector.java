@@ -57,15 +57,26 @@ final class InquireQStatusCmdCollector implements Consumer<MetricsCollectorConte
     logger.info("Collecting metrics for command MQCMD_INQUIRE_Q_STATUS");
     long entryTime = System.currentTimeMillis();
 
+    int[] attributes = queueBuddy.selectAttributes(context.getMetricsConfig(), ATTRIBUTES);
+    if (!QueueCollectionBuddy.hasMetricAttributes(attributes)) {
+      logger.debug("No metric enabled for command MQCMD_INQUIRE_Q_STATUS");
+      return;
+    }
+
     Set<String> queueGenericNames = context.getQueueIncludeFilterNames();
     for (String queueGenericName : queueGenericNames) {
       // list of all metrics extracted through MQCMD_INQUIRE_Q_STATUS is mentioned here
       // https://www.ibm.com/support/knowledgecenter/SSFKSJ_8.0.0/com.ibm.mq.ref.adm.doc/q087880_.htm
-      PCFMessage request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q_STATUS);
-      request.addParameter(CMQC.MQCA_Q_NAME, queueGenericName);
-      request.addParameter(CMQCFC.MQIACF_Q_STATUS_ATTRS, ATTRIBUTES);
-      queueBuddy.processPcfRequestAndPublishQMetrics(
-          context, request, queueGenericName, ATTRIBUTES);
+      queueBuddy.processPcfRequestsAndPublishQMetrics(
+          context,
+          queueGenericName,
+          name -> {
+            PCFMessage request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q_STATUS);
+            request.addParameter(CMQC.MQCA_Q_NAME, name);
+            request.addParameter(CMQCFC.MQIACF_Q_STATUS_ATTRS, attributes);
+            return request;
+          },
+          attributes);
     }
     long exitTime = System.currentTimeMillis() - entryTime;
     logger.debug(
@@ -5,9 +5,6 @@
 
 package io.opentelemetry.ibm.mq.metricscollector;
 
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_MANAGER;
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.MESSAGING_DESTINATION_NAME;
-
 import com.ibm.mq.constants.CMQC;
 import com.ibm.mq.constants.CMQCFC;
 import com.ibm.mq.headers.MQDataException;
@@ -107,12 +104,7 @@ final class InquireTStatusCmdCollector implements Consumer<MetricsCollectorConte
   private void extractMetrics(
       MetricsCollectorContext context, PCFMessage pcfMessage, String topicString)
       throws PCFException {
-    Attributes attributes =
-        Attributes.of(
-            MESSAGING_DESTINATION_NAME,
-            topicString,
-            IBM_MQ_QUEUE_MANAGER,
-            context.getQueueManagerName());
+    Attributes attributes = context.getAttributesCache().topic(topicString);
     if (context.getMetricsConfig().isIbmMqPublishCountEnabled()) {
       int publisherCount = 0;
       if (pcfMessage.getParameter(CMQC.MQIA_PUB_COUNT) != null) {
@@ -5,13 +5,9 @@
 
 package io.opentelemetry.ibm.mq.metricscollector;
 
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_LISTENER_NAME;
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_MANAGER;
-
 import com.ibm.mq.constants.CMQCFC;
 import com.ibm.mq.headers.pcf.PCFException;
 import com.ibm.mq.headers.pcf.PCFMessage;
-import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.ibm.mq.metrics.MetricProducer;
 import java.util.Arrays;
 import java.util.List;
@@ -100,12 +96,7 @@ public final class ListenerMetricsCollector implements Consumer<MetricsCollector
     if (context.getMetricsConfig().isIbmMqListenerStatusEnabled()) {
       int status = message.getIntParameterValue(CMQCFC.MQIACH_LISTENER_STATUS);
       this.producer.recordIbmMqListenerStatus(
-          status,
-          Attributes.of(
-              IBM_MQ_LISTENER_NAME,
-              listenerName,
-              IBM_MQ_QUEUE_MANAGER,
-              context.getQueueManagerName()));
+          status, context.getAttributesCache().listener(listenerName));
     }
   }
 }
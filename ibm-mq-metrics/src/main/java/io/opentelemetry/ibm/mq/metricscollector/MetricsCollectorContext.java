@@ -33,16 +33,32 @@ public final class MetricsCollectorContext {
   private final PCFMessageAgent agent;
   private final MQQueueManager mqQueueManager;
   private final MetricsConfig metricsConfig;
+  private final ObjectAttributesCache attributesCache;
 
   public MetricsCollectorContext(
       QueueManager queueManager,
       PCFMessageAgent agent,
       MQQueueManager mqQueueManager,
       MetricsConfig metricsConfig) {
+    this(
+        queueManager,
+        agent,
+        mqQueueManager,
+        metricsConfig,
+        new ObjectAttributesCache(queueManager.getName()));
+  }
+
+  public MetricsCollectorContext(
+      QueueManager queueManager,
+      PCFMessageAgent agent,
+      MQQueueManager mqQueueManager,
+      MetricsConfig metricsConfig,
+      ObjectAttributesCache attributesCache) {
     this.queueManager = queueManager;
     this.agent = agent;
     this.mqQueueManager = mqQueueManager;
     this.metricsConfig = metricsConfig;
+    this.attributesCache = attributesCache;
   }
 
   Set<String> getChannelIncludeFilterNames() {
@@ -77,6 +93,14 @@ public final class MetricsCollectorContext {
     return queueManager.getQueueFilters().getExclude();
   }
 
+  boolean isPagedQueueInquiriesEnabled() {
+    return queueManager.isPagedQueueInquiriesEnabled();
+  }
+
+  int getPagedQueueInquiriesPageSize() {
+    return queueManager.getPagedQueueInquiriesPageSize();
+  }
+
   @NotNull
   List<PCFMessage> send(PCFMessage request) throws IOException, MQDataException {
     PCFMessage[] result = agent.send(request);
@@ -98,4 +122,8 @@ public final class MetricsCollectorContext {
   public MetricsConfig getMetricsConfig() {
     return metricsConfig;
   }
+
+  ObjectAttributesCache getAttributesCache() {
+    return attributesCache;
+  }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq.metricscollector;
+
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_CHANNEL_NAME;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_CHANNEL_START_TIME;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_CHANNEL_TYPE;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_JOB_NAME;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_LISTENER_NAME;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_MANAGER;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_TYPE;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.MESSAGING_DESTINATION_NAME;
+
+import io.opentelemetry.api.common.Attributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the attributes of the objects of one queue manager across collection cycles, so that the
+ * same {@link Attributes} instance is reused every cycle for a given queue, channel, topic or
+ * listener instead of being built again for each of its metrics.
+ *
+ * <p>Entries are keyed by object type and name, and by job name for channel statuses as several
+ * instances of a channel can run at the same time, e.g. one per client of a server-connection
+ * channel. An entry is replaced when the other values of its attributes change, e.g. the type of a
+ * queue, and evicted by {@link #endCycle()} when its object was not seen during the cycle, e.g.
+ * because the queue was deleted.
+ */
+public final class ObjectAttributesCache {
+
+  private final String queueManagerName;
+
+  private final Map<String, Entry> queues = new ConcurrentHashMap<>();
+  private final Map<String, Entry> channels = new ConcurrentHashMap<>();
+  private final Map<String, Entry> channelStatuses = new ConcurrentHashMap<>();
+  private final Map<String, Entry> topics = new ConcurrentHashMap<>();
+  private final Map<String, Entry> listeners = new ConcurrentHashMap<>();
+  private final List<Map<String, Entry>> objectTypes =
+      Arrays.asList(queues, channels, channelStatuses, topics, listeners);
+
+  private final AtomicLong cycle = new AtomicLong();
+
+  public ObjectAttributesCache(String queueManagerName) {
+    this.queueManagerName = queueManagerName;
+  }
+
+  /** Starts a collection cycle, the entries not used until {@link #endCycle()} are evicted. */
+  public void startCycle() {
+    cycle.incrementAndGet();
+  }
+
+  /** Evicts the entries of the objects that were not seen since {@link #startCycle()}. */
+  public void endCycle() {
+    long current = cycle.get();
+    for (Map<String, Entry> entries : objectTypes) {
+      entries.values().removeIf(entry -> entry.lastCycle != current);
+    }
+  }
+
+  /** Returns the number of objects having attributes in the cache. */
+  int size() {
+    return objectTypes.stream().mapToInt(Map::size).sum();
+  }
+
+  Attributes queue(String queueName, String queueType) {
+    Entry entry = queues.get(queueName);
+    if (entry == null || !entry.matches(queueType, null, 0)) {
+      entry =
+          new Entry(
+              queueType,
+              null,
+              0,
+              Attributes.of(
+                  MESSAGING_DESTINATION_NAME,
+                  queueName,
+                  IBM_MQ_QUEUE_TYPE,
+                  queueType,
+                  IBM_MQ_QUEUE_MANAGER,
+                  queueManagerName));
+      queues.put(queueName, entry);
+    }
+    return entry.use(cycle.get());
+  }
+
+  Attributes channel(String channelName, String channelType) {
+    Entry entry = channels.get(channelName);
+    if (entry == null || !entry.matches(channelType, null, 0)) {
+      entry =
+          new Entry(
+              channelType,
+              null,
+              0,
+              Attributes.of(
+                  IBM_MQ_CHANNEL_NAME,
+                  channelName,
+                  IBM_MQ_CHANNEL_TYPE,
+                  channelType,
+                  IBM_MQ_QUEUE_MANAGER,
+                  queueManagerName));
+      channels.put(channelName, entry);
+    }
+    return entry.use(cycle.get());
+  }
+
+  Attributes channelStatus(
+      String channelName, String channelType, long channelStartTime, String jobName) {
+    // MQ object names cannot contain a space
+    String key = channelName + ' ' + jobName;
+    Entry entry = channelStatuses.get(key);
+    if (entry == null || !entry.matches(channelType, jobName, channelStartTime)) {
+      entry =
+          new Entry(
+              channelType,
+              jobName,
+              channelStartTime,
+              Attributes.builder()
+                  .put(IBM_MQ_CHANNEL_NAME, channelName)
+                  .put(IBM_MQ_CHANNEL_TYPE, channelType)
+                  .put(IBM_MQ_QUEUE_MANAGER, queueManagerName)
+                  .put(IBM_MQ_CHANNEL_START_TIME, channelStartTime)
+                  .put(IBM_MQ_JOB_NAME, jobName)
+                  .build());
+      channelStatuses.put(key, entry);
+    }
+    return entry.use(cycle.get());
+  }
+
+  Attributes topic(String topicString) {
+    Entry entry = topics.get(topicString);
+    if (entry == null) {
+      entry =
+          new Entry(
+              null,
+              null,
+              0,
+              Attributes.of(
+                  MESSAGING_DESTINATION_NAME, topicString, IBM_MQ_QUEUE_MANAGER, queueManagerName));
+      topics.put(topicString, entry);
+    }
+    return entry.use(cycle.get());
+  }
+
+  Attributes listener(String listenerName) {
+    Entry entry = listeners.get(listenerName);
+    if (entry == null) {
+      entry =
+          new Entry(
+              null,
+              null,
+              0,
+              Attributes.of(
+                  IBM_MQ_LISTENER_NAME, listenerName, IBM_MQ_QUEUE_MANAGER, queueManagerName));
+      listeners.put(listenerName, entry);
+    }
+    return entry.use(cycle.get());
+  }
+
+  private static final class Entry {
+    // the values of the attributes other than the object name
+    @Nullable private final String type;
+    @Nullable private final String detail;
+    private final long number;
+    private final Attributes attributes;
+    private volatile long lastCycle;
+
+    private Entry(
+        @Nullable String type, @Nullable String detail, long number, Attributes attributes) {
+      this.type = type;
+      this.detail = detail;
+      this.number = number;
+      this.attributes = attributes;
+    }
+
+    private boolean matches(@Nullable String type, @Nullable String detail, long number) {
+      return Objects.equals(this.type, type)
+          && Objects.equals(this.detail, detail)
+          && this.number == number;
+    }
+
+    private Attributes use(long cycle) {
+      lastCycle = cycle;
+      return attributes;
+    }
+  }
+}
@@ -10,9 +10,6 @@ import static com.ibm.mq.constants.CMQC.MQQT_CLUSTER;
 import static com.ibm.mq.constants.CMQC.MQQT_LOCAL;
 import static com.ibm.mq.constants.CMQC.MQQT_MODEL;
 import static com.ibm.mq.constants.CMQC.MQQT_REMOTE;
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_MANAGER;
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_TYPE;
-import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.MESSAGING_DESTINATION_NAME;
 import static io.opentelemetry.ibm.mq.util.MetricsUtil.MIBY_TO_BYTES;
 
 import com.ibm.mq.constants.CMQC;
@@ -27,6 +24,10 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.ibm.mq.metrics.MetricProducer;
 import io.opentelemetry.ibm.mq.metrics.MetricsConfig;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,14 +43,16 @@ import org.slf4j.LoggerFactory;
  */
 final class QueueCollectionBuddy {
   private static final Logger logger = LoggerFactory.getLogger(QueueCollectionBuddy.class);
+
   private final Map<Integer, AllowedGauge> gauges = new HashMap<>();
 
   private final QueueCollectorSharedState sharedState;
   private final MetricProducer producer;
 
-  @FunctionalInterface
   private interface AllowedGauge {
     void set(MetricsCollectorContext context, Integer value, Attributes attributes);
+
+    boolean isAllowed(MetricsConfig metricsConfig);
   }
 
   private static AllowedGauge createAllowedGauge(
@@ -61,9 +64,17 @@ final class QueueCollectionBuddy {
       BiConsumer<Long, Attributes> recorder,
       Function<MetricsConfig, Boolean> allowed,
       Function<Integer, Long> unitMangler) {
-    return (context, val, attributes) -> {
-      if (allowed.apply(context.getMetricsConfig())) {
-        recorder.accept(unitMangler.apply(val), attributes);
+    return new AllowedGauge() {
+      @Override
+      public void set(MetricsCollectorContext context, Integer val, Attributes attributes) {
+        if (isAllowed(context.getMetricsConfig())) {
+          recorder.accept(unitMangler.apply(val), attributes);
+        }
+      }
+
+      @Override
+      public boolean isAllowed(MetricsConfig metricsConfig) {
+        return allowed.apply(metricsConfig);
       }
     };
   }
@@ -135,15 +146,174 @@ final class QueueCollectionBuddy {
             MIBY_TO_BYTES));
   }
 
+  /**
+   * Returns the given attributes without the ones of disabled metrics, so that the queue manager
+   * does not return values that are dropped anyway. The attributes identifying the queue are kept.
+   */
+  int[] selectAttributes(MetricsConfig metricsConfig, int[] attributes) {
+    return Arrays.stream(attributes)
+        .filter(attribute -> isIdentifying(attribute) || isAllowed(metricsConfig, attribute))
+        .toArray();
+  }
+
+  /** Returns whether the given attributes contain at least one metric. */
+  static boolean hasMetricAttributes(int[] attributes) {
+    return Arrays.stream(attributes).anyMatch(attribute -> !isIdentifying(attribute));
+  }
+
+  private static boolean isIdentifying(int attribute) {
+    return attribute == CMQC.MQCA_Q_NAME
+        || attribute == CMQC.MQIA_USAGE
+        || attribute == CMQC.MQIA_Q_TYPE;
+  }
+
+  private boolean isAllowed(MetricsConfig metricsConfig, int attribute) {
+    if (attribute == CMQCFC.MQIACF_Q_TIME_INDICATOR) {
+      return metricsConfig.isIbmMqOnqtimeShortPeriodEnabled()
+          || metricsConfig.isIbmMqOnqtimeLongPeriodEnabled();
+    }
+    AllowedGauge gauge = gauges.get(attribute);
+    return gauge != null && gauge.isAllowed(metricsConfig);
+  }
+
+  /**
+   * Inquires the queues matching the generic name with requests created by the given factory, and
+   * generates metrics from the responses.
+   *
+   * <p>When paged queue inquiries are enabled, the names of the matching queues are listed first,
+   * and the generic name is split into generic names matching at most the configured page size of
+   * queues each, e.g. {@code APP.*} into {@code APP.ORDERS.A*}, {@code APP.ORDERS.B*} and {@code
+   * APP.PAYMENTS*}. Each page is received and published before the next one is requested, so that
+   * the responses for queue managers with many queues are never held in memory all at once.
+   */
+  void processPcfRequestsAndPublishQMetrics(
+      MetricsCollectorContext context,
+      String queueGenericName,
+      Function<String, PCFMessage> requestFactory,
+      int[] fields) {
+    if (!context.isPagedQueueInquiriesEnabled() || !queueGenericName.endsWith("*")) {
+      processPcfRequestAndPublishQMetrics(
+          context, requestFactory.apply(queueGenericName), queueGenericName, fields);
+      return;
+    }
+    List<String> queueNames;
+    try {
+      queueNames = inquireQueueNames(context, queueGenericName);
+    } catch (Exception e) {
+      logger.error(
+          "Error listing the queues matching {}, inquiring them with a single request",
+          queueGenericName,
+          e);
+      processPcfRequestAndPublishQMetrics(
+          context, requestFactory.apply(queueGenericName), queueGenericName, fields);
+      return;
+    }
+    for (String page :
+        pageNames(queueGenericName, queueNames, context.getPagedQueueInquiriesPageSize())) {
+      // the queues of a page might have been deleted since they were listed
+      process(context, requestFactory.apply(page), page, fields, /* missingIsEmpty= */ true);
+    }
+  }
+
+  private static List<String> inquireQueueNames(
+      MetricsCollectorContext context, String queueGenericName)
+      throws IOException, MQDataException {
+    PCFMessage request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q_NAMES);
+    request.addParameter(CMQC.MQCA_Q_NAME, queueGenericName);
+    request.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_ALL);
+    List<String> queueNames = new ArrayList<>();
+    try {
+      for (PCFMessage response : context.send(request)) {
+        Object names = response.getParameterValue(CMQCFC.MQCACF_Q_NAMES);
+        if (names instanceof String[]) {
+          for (String name : (String[]) names) {
+            queueNames.add(name.trim());
+          }
+        }
+      }
+    } catch (PCFException e) {
+      if (e.getReason() != CMQC.MQRC_UNKNOWN_OBJECT_NAME) {
+        throw e;
+      }
+    }
+    return queueNames;
+  }
+
+  /**
+   * Splits a generic queue name into generic names matching at most {@code maxPageSize} of the
+   * given queue names each, by extending its prefix with the next characters of the queue names
+   * where more queues share it. Only the characters that occur are used, and a prefix that cannot
+   * be extended by one more character within the maximum queue name length is not split further.
+   */
+  static List<String> pageNames(
+      String queueGenericName, Collection<String> queueNames, int maxPageSize) {
+    if (!queueGenericName.endsWith("*")) {
+      return Collections.singletonList(queueGenericName);
+    }
+    String prefix = queueGenericName.substring(0, queueGenericName.length() - 1);
+    List<String> matching = new ArrayList<>();
+    for (String queueName : queueNames) {
+      if (queueName.startsWith(prefix)) {
+        matching.add(queueName);
+      }
+    }
+    // the queues sharing a longer prefix are then adjacent
+    Collections.sort(matching);
+    List<String> pages = new ArrayList<>();
+    addPageNames(matching, 0, matching.size(), prefix, Math.max(1, maxPageSize), pages);
+    return pages;
+  }
+
+  private static void addPageNames(
+      List<String> queueNames,
+      int from,
+      int to,
+      String prefix,
+      int maxPageSize,
+      List<String> pages) {
+    if (to - from <= maxPageSize || prefix.length() + 1 >= CMQC.MQ_Q_NAME_LENGTH) {
+      pages.add(prefix + "*");
+      return;
+    }
+    int start = from;
+    if (queueNames.get(start).length() == prefix.length()) {
+      // the queue named exactly as the prefix sorts first
+      pages.add(prefix);
+      start++;
+    }
+    while (start < to) {
+      char next = queueNames.get(start).charAt(prefix.length());
+      int end = start + 1;
+      while (end < to && queueNames.get(end).charAt(prefix.length()) == next) {
+        end++;
+      }
+      addPageNames(queueNames, start, end, prefix + next, maxPageSize, pages);
+      start = end;
+    }
+  }
+
   /**
    * Sends a PCFMessage request, reads the response, and generates metrics from the response. It
    * handles all exceptions.
    */
   void processPcfRequestAndPublishQMetrics(
       MetricsCollectorContext context, PCFMessage request, String queueGenericName, int[] fields) {
+    process(context, request, queueGenericName, fields, /* missingIsEmpty= */ false);
+  }
+
+  private void process(
+      MetricsCollectorContext context,
+      PCFMessage request,
+      String queueGenericName,
+      int[] fields,
+      boolean missingIsEmpty) {
     try {
       doProcessPcfRequestAndPublishQMetrics(context, request, queueGenericName, fields);
     } catch (PCFException pcfe) {
+      if (missingIsEmpty && pcfe.getReason() == CMQC.MQRC_UNKNOWN_OBJECT_NAME) {
+        logger.debug("No queue matching {}", queueGenericName);
+        return;
+      }
       logger.error(
           "PCFException caught while collecting metric for Queue: {}", queueGenericName, pcfe);
       if (pcfe.exceptionSource instanceof PCFMessage[]) {
@@ -262,7 +432,7 @@ final class QueueCollectionBuddy {
       throws PCFException {
 
     for (int field : fields) {
-      if (field == CMQC.MQCA_Q_NAME || field == CMQC.MQIA_USAGE || field == CMQC.MQIA_Q_TYPE) {
+      if (isIdentifying(field)) {
         continue;
       }
       updateMetrics(context, pcfMessage, queueName, queueType, field);
@@ -277,14 +447,7 @@ final class QueueCollectionBuddy {
       int constantValue)
       throws PCFException {
     PCFParameter pcfParam = pcfMessage.getParameter(constantValue);
-    Attributes attributes =
-        Attributes.of(
-            MESSAGING_DESTINATION_NAME,
-            queueName,
-            IBM_MQ_QUEUE_TYPE,
-            queueType,
-            IBM_MQ_QUEUE_MANAGER,
-            context.getQueueManagerName());
+    Attributes attributes = context.getAttributesCache().queue(queueName, queueType);
 
     if (pcfParam instanceof MQCFIN) {
       AllowedGauge g = this.gauges.get(constantValue);
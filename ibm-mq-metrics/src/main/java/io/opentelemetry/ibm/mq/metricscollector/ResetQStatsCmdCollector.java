@@ -33,19 +33,30 @@ final class ResetQStatsCmdCollector implements Consumer<MetricsCollectorContext>
     logger.info("Collecting metrics for command {}", COMMAND);
     long entryTime = System.currentTimeMillis();
 
+    int[] attributes = queueBuddy.selectAttributes(context.getMetricsConfig(), ATTRIBUTES);
+    if (!QueueCollectionBuddy.hasMetricAttributes(attributes)) {
+      // the command resets the statistics of the queues, don't send it for nothing
+      logger.debug("No metric enabled for command {}", COMMAND);
+      return;
+    }
     logger.debug(
         "Attributes being sent along PCF agent request to query queue metrics: {} for command {}",
-        Arrays.toString(ATTRIBUTES),
+        Arrays.toString(attributes),
         COMMAND);
 
     Set<String> queueGenericNames = context.getQueueIncludeFilterNames();
     for (String queueGenericName : queueGenericNames) {
       // list of all metrics extracted through MQCMD_RESET_Q_STATS is mentioned here
       // https://www.ibm.com/support/knowledgecenter/SSFKSJ_8.0.0/com.ibm.mq.ref.adm.doc/q088310_.htm
-      PCFMessage request = new PCFMessage(CMQCFC.MQCMD_RESET_Q_STATS);
-      request.addParameter(CMQC.MQCA_Q_NAME, queueGenericName);
-      queueBuddy.processPcfRequestAndPublishQMetrics(
-          context, request, queueGenericName, ATTRIBUTES);
+      queueBuddy.processPcfRequestsAndPublishQMetrics(
+          context,
+          queueGenericName,
+          name -> {
+            PCFMessage request = new PCFMessage(CMQCFC.MQCMD_RESET_Q_STATS);
+            request.addParameter(CMQC.MQCA_Q_NAME, name);
+            return request;
+          },
+          attributes);
     }
     long exitTime = System.currentTimeMillis() - entryTime;
     logger.debug(
@@ -65,7 +65,7 @@ public final class ConfigWrapper {
     return value;
   }
 
-  int getTaskDelaySeconds() {
+  public int getTaskDelaySeconds() {
     return defaultedInt(getTaskSchedule(), "taskDelaySeconds", DEFAULT_DELAY_SECONDS);
   }
 
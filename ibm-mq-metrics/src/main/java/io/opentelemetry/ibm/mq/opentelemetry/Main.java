@@ -71,7 +71,8 @@ public final class Main {
                 builder.setResource(Resource.empty()).registerMetricProducer(producer))
         .build();
 
-    WmqMonitor monitor = new WmqMonitor(config, service, producer);
+    WmqMonitor monitor = new WmqMonitor(config, producer);
+    Runtime.getRuntime().addShutdownHook(new Thread(monitor::close));
     ScheduledFuture<?> unused =
         service.scheduleAtFixedRate(
             monitor::run,
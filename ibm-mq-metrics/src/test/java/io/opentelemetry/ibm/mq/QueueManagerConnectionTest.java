@@ -0,0 +1,138 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ibm.mq.MQQueueManager;
+import com.ibm.mq.headers.pcf.PCFMessageAgent;
+import io.opentelemetry.ibm.mq.QueueManagerConnection.Session;
+import io.opentelemetry.ibm.mq.config.QueueManager;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueueManagerConnectionTest {
+
+  private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+  private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+  @Mock QueueManagerConnection.Connector connector;
+  @Mock MQQueueManager ibmQueueManager;
+  @Mock PCFMessageAgent agent;
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private QueueManager queueManager;
+  private QueueManagerConnection connection;
+
+  @BeforeEach
+  void setUp() {
+    queueManager = new QueueManager();
+    queueManager.setName("QM1");
+    connection =
+        new QueueManagerConnection(
+            queueManager, connector, nanoTime::get, IDLE_TIMEOUT_NANOS, MAX_BACKOFF_NANOS);
+  }
+
+  @Test
+  void reusesConnectionAcrossCycles() {
+    connectSucceeds();
+
+    Session first = connection.open();
+    when(ibmQueueManager.isConnected()).thenReturn(true);
+    nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+    Session second = connection.open();
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getAgent()).isSameAs(agent);
+    verify(connector, times(1)).connect(queueManager);
+  }
+
+  @Test
+  void reconnectsWhenConnectionIsLost() throws Exception {
+    connectSucceeds();
+    connection.open();
+
+    when(ibmQueueManager.isConnected()).thenReturn(false);
+    connection.open();
+
+    verify(agent).disconnect();
+    verify(ibmQueueManager).disconnect();
+    verify(connector, times(2)).connect(queueManager);
+  }
+
+  @Test
+  void reconnectsAfterIdleTimeout() throws Exception {
+    connectSucceeds();
+    connection.open();
+
+    nanoTime.addAndGet(IDLE_TIMEOUT_NANOS + 1);
+    connection.open();
+
+    verify(agent).disconnect();
+    verify(connector, times(2)).connect(queueManager);
+  }
+
+  @Test
+  void backsOffAfterConnectionFailures() {
+    when(connector.connect(queueManager)).thenThrow(new IllegalStateException("refused"));
+
+    assertThat(connection.isBackingOff()).isFalse();
+    assertThatThrownBy(connection::open).hasMessage("refused");
+    assertThat(connection.isBackingOff()).isTrue();
+    // first retry after 1s
+    assertThatThrownBy(connection::open)
+        .isInstanceOf(QueueManagerConnection.BackoffException.class)
+        .hasMessageStartingWith("Not reconnecting");
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThatThrownBy(connection::open).hasMessage("refused");
+    // then after 2s
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThatThrownBy(connection::open).hasMessageStartingWith("Not reconnecting");
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertThatThrownBy(connection::open).hasMessage("refused");
+    // then capped to the maximum backoff of 3s
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(3));
+    assertThatThrownBy(connection::open).hasMessage("refused");
+    verify(connector, times(4)).connect(queueManager);
+  }
+
+  @Test
+  void disconnectsWhenAgentCreationFails() throws Exception {
+    when(connector.connect(queueManager)).thenReturn(ibmQueueManager);
+    when(connector.createAgent(queueManager, ibmQueueManager))
+        .thenThrow(new IllegalStateException("no agent"));
+
+    assertThatThrownBy(connection::open).hasMessage("no agent");
+    verify(ibmQueueManager).disconnect();
+  }
+
+  @Test
+  void closeDisconnects() throws Exception {
+    connectSucceeds();
+    connection.open();
+
+    connection.close();
+    connection.close();
+
+    verify(agent, times(1)).disconnect();
+    verify(ibmQueueManager, times(1)).disconnect();
+  }
+
+  private void connectSucceeds() {
+    when(connector.connect(queueManager)).thenReturn(ibmQueueManager);
+    when(connector.createAgent(queueManager, ibmQueueManager)).thenReturn(agent);
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq;
+
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_MANAGER;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ibm.mq.MQQueueManager;
+import com.ibm.mq.headers.pcf.PCFMessageAgent;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.ibm.mq.config.QueueManager;
+import io.opentelemetry.ibm.mq.metrics.MetricProducer;
+import io.opentelemetry.ibm.mq.metricscollector.MetricsCollectorContext;
+import io.opentelemetry.ibm.mq.opentelemetry.ConfigWrapper;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+@Timeout(value = 20, unit = TimeUnit.SECONDS)
+class WmqMonitorTest {
+
+  @TempDir Path tempDir;
+
+  private final MQQueueManager qm1 = mock(MQQueueManager.class);
+  private final MQQueueManager qm2 = mock(MQQueueManager.class);
+  private final PCFMessageAgent agent = mock(PCFMessageAgent.class);
+  private final QueueManagerConnection.Connector connector =
+      mock(QueueManagerConnection.Connector.class);
+  private final MetricProducer producer =
+      new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
+  private final Map<String, MQQueueManager> otherQueueManagers = new ConcurrentHashMap<>();
+  private final List<MetricData> produced = new ArrayList<>();
+  private WmqMonitor monitor;
+
+  @BeforeEach
+  void setUp() {
+    when(connector.connect(any())).thenAnswer(invocation -> connect(invocation.getArgument(0)));
+    when(connector.createAgent(any(), any())).thenReturn(agent);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (monitor != null) {
+      monitor.close();
+    }
+  }
+
+  @Test
+  void queueManagersAreCollectedConcurrently() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    Set<String> concurrentlyCollected = ConcurrentHashMap.newKeySet();
+    monitor =
+        monitor(
+            5,
+            context -> {
+              started.countDown();
+              try {
+                // returns only once the collection of the other queue manager has started too
+                if (started.await(10, TimeUnit.SECONDS)) {
+                  concurrentlyCollected.add(name(context));
+                }
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+
+    monitor.run();
+
+    assertThat(concurrentlyCollected).containsExactlyInAnyOrder("QM1", "QM2");
+    assertThat(points("ibm.mq.queue_manager.collection.timeouts")).isEmpty();
+    assertThat(points("ibm.mq.queue_manager.collection.duration"))
+        .extracting(LongPointData::getAttributes)
+        .containsExactlyInAnyOrder(queueManager("QM1"), queueManager("QM2"));
+  }
+
+  @Test
+  void jobsOfConcurrentQueueManagersDoNotWaitForEachOther() throws Exception {
+    List<String> queueManagers = asList("QM1", "QM2", "QM3", "QM4", "QM5", "QM6");
+    Map<MQQueueManager, CountDownLatch> started = new ConcurrentHashMap<>();
+    Set<MQQueueManager> collected = ConcurrentHashMap.newKeySet();
+    // each job returns only once all the jobs of its queue manager run at the same time
+    Consumer<MetricsCollectorContext> job =
+        context -> {
+          CountDownLatch jobsStarted =
+              started.computeIfAbsent(context.getMqQueueManager(), qm -> new CountDownLatch(3));
+          jobsStarted.countDown();
+          try {
+            if (jobsStarted.await(10, TimeUnit.SECONDS)) {
+              collected.add(context.getMqQueueManager());
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    monitor = monitor(15, queueManagers, 3, asList(job, job, job));
+
+    monitor.run();
+
+    assertThat(collected).hasSize(6);
+    assertThat(points("ibm.mq.queue_manager.collection.timeouts")).isEmpty();
+  }
+
+  @Test
+  void collectionIsInterruptedAtItsDeadline() throws Exception {
+    AtomicBoolean interrupted = new AtomicBoolean();
+    monitor =
+        monitor(
+            1,
+            context -> {
+              if (name(context).equals("QM2")) {
+                return;
+              }
+              try {
+                new CountDownLatch(1).await();
+              } catch (InterruptedException e) {
+                interrupted.set(true);
+              }
+            });
+
+    monitor.run();
+
+    await().untilTrue(interrupted);
+    // the connection is closed to fail the MQ calls that an interrupt does not stop
+    await().untilAsserted(() -> verify(qm1).disconnect());
+    verify(qm2, never()).disconnect();
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(points("ibm.mq.queue_manager.collection.timeouts"))
+                    .extracting(LongPointData::getAttributes, LongPointData::getValue)
+                    .containsExactly(tuple(queueManager("QM1"), 1L)));
+    // the interrupted collection still reports its duration
+    await()
+        .untilAsserted(
+            () ->
+                assertThat(points("ibm.mq.queue_manager.collection.duration"))
+                    .extracting(LongPointData::getAttributes)
+                    .containsExactlyInAnyOrder(queueManager("QM1"), queueManager("QM2")));
+  }
+
+  @Test
+  void queueManagerIsSkippedWhileItsPreviousCollectionRuns() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger connects = new AtomicInteger();
+    when(connector.connect(any()))
+        .thenAnswer(
+            invocation -> {
+              if (connects.getAndIncrement() == 0) {
+                // like a network call, does not return when interrupted
+                awaitUninterruptibly(release);
+              }
+              return qm1;
+            });
+    AtomicInteger collections = new AtomicInteger();
+    monitor = monitor(1, singletonList("QM1"), context -> collections.incrementAndGet());
+
+    // times out while connecting
+    monitor.run();
+    monitor.run();
+    assertThat(connects).hasValue(1);
+    assertThat(collections).hasValue(0);
+
+    release.countDown();
+    await()
+        .untilAsserted(
+            () -> {
+              monitor.run();
+              assertThat(collections).hasPositiveValue();
+            });
+  }
+
+  private WmqMonitor monitor(int timeoutSeconds, Consumer<MetricsCollectorContext> job)
+      throws Exception {
+    return monitor(timeoutSeconds, asList("QM1", "QM2"), job);
+  }
+
+  private WmqMonitor monitor(
+      int timeoutSeconds, List<String> queueManagers, Consumer<MetricsCollectorContext> job)
+      throws Exception {
+    return monitor(timeoutSeconds, queueManagers, queueManagers.size(), singletonList(job));
+  }
+
+  private WmqMonitor monitor(
+      int timeoutSeconds,
+      List<String> queueManagers,
+      int parallelism,
+      List<Consumer<MetricsCollectorContext>> jobs)
+      throws Exception {
+    StringBuilder yaml = new StringBuilder();
+    yaml.append("queueManagerCollectionTimeoutInSeconds: ").append(timeoutSeconds).append('\n');
+    yaml.append("queueManagerCollectionParallelism: ").append(parallelism).append('\n');
+    yaml.append("queueManagers:\n");
+    for (String queueManager : queueManagers) {
+      yaml.append("  - name: ").append(queueManager).append('\n');
+    }
+    yaml.append("metrics:\n")
+        .append("  \"ibm.mq.queue_manager.collection.duration\":\n")
+        .append("    enabled: true\n")
+        .append("  \"ibm.mq.queue_manager.collection.timeouts\":\n")
+        .append("    enabled: true\n");
+    Path file = tempDir.resolve("config.yml");
+    Files.write(file, yaml.toString().getBytes(StandardCharsets.UTF_8));
+    ConfigWrapper config = ConfigWrapper.parse(file.toString());
+    return new WmqMonitor(config, producer, connector, jobs);
+  }
+
+  private MQQueueManager connect(QueueManager queueManager) {
+    switch (queueManager.getName()) {
+      case "QM1":
+        return qm1;
+      case "QM2":
+        return qm2;
+      default:
+        return otherQueueManagers.computeIfAbsent(
+            queueManager.getName(), name -> mock(MQQueueManager.class));
+    }
+  }
+
+  private String name(MetricsCollectorContext context) {
+    return context.getMqQueueManager() == qm1 ? "QM1" : "QM2";
+  }
+
+  // the producer exports each point once, thus the points of all the collections are kept
+  private List<LongPointData> points(String name) {
+    produced.addAll(producer.produce(Resource.empty()));
+    return produced.stream()
+        .filter(metric -> metric.getName().equals(name))
+        .flatMap(metric -> metric.getData().getPoints().stream())
+        .map(LongPointData.class::cast)
+        .collect(Collectors.toList());
+  }
+
+  private static Attributes queueManager(String name) {
+    return Attributes.of(IBM_MQ_QUEUE_MANAGER, name);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq.metrics;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class LongMetricTest {
+
+  private static final Attributes QUEUE_1 = Attributes.of(stringKey("queue"), "DEV.QUEUE.1");
+  private static final Attributes QUEUE_2 = Attributes.of(stringKey("queue"), "DEV.QUEUE.2");
+
+  @Test
+  void pointsOfACollectionAreExportedTogether() {
+    LongMetric gauge = LongMetric.gauge("ibm.mq.queue.depth", "Current queue depth", "{message}");
+    gauge.record(0, 3, QUEUE_1);
+    gauge.record(0, 5, QUEUE_2);
+
+    MetricData metric = collect(gauge);
+    assertThat(metric).isNotNull();
+    assertThat(metric.getName()).isEqualTo("ibm.mq.queue.depth");
+    assertThat(metric.getLongGaugeData().getPoints())
+        .extracting(LongPointData::getAttributes, LongPointData::getValue)
+        .containsExactly(tuple(QUEUE_1, 3L), tuple(QUEUE_2, 5L));
+
+    assertThat(collect(gauge)).isNull();
+  }
+
+  @Test
+  void counterRecordsCumulativeValues() {
+    LongMetric counter = LongMetric.counter("ibm.mq.connection.errors", "errors", "{errors}");
+    counter.add(0, 1, QUEUE_1);
+    collect(counter);
+    counter.add(0, 2, QUEUE_1);
+
+    MetricData metric = collect(counter);
+    assertThat(metric).isNotNull();
+    assertThat(metric.getLongSumData().isMonotonic()).isTrue();
+    assertThat(metric.getLongSumData().getPoints())
+        .extracting(LongPointData::getValue)
+        .containsExactly(3L);
+  }
+
+  @Test
+  void idleCounterSeriesAreEvicted() {
+    LongMetric counter = LongMetric.counter("ibm.mq.connection.errors", "errors", "{errors}");
+    counter.add(0, 1, QUEUE_1);
+    counter.add(0, 1, QUEUE_2);
+    for (int i = 0; i < LongMetric.MAX_IDLE_COLLECTIONS; i++) {
+      collect(counter);
+      counter.add(0, 1, QUEUE_2);
+    }
+    assertThat(counter.seriesCount()).isEqualTo(2);
+
+    collect(counter);
+    assertThat(counter.seriesCount()).isEqualTo(1);
+
+    // an evicted series starts again from zero
+    counter.add(0, 1, QUEUE_1);
+    MetricData metric = collect(counter);
+    assertThat(metric).isNotNull();
+    assertThat(metric.getLongSumData().getPoints())
+        .extracting(LongPointData::getAttributes, LongPointData::getValue)
+        .containsExactly(tuple(QUEUE_1, 1L));
+  }
+
+  @Nullable
+  private static MetricData collect(LongMetric metric) {
+    return metric.collect(Resource.empty(), InstrumentationScopeInfo.empty());
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.ibm.mq.metricscollector;
+
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_CHANNEL_START_TIME;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_JOB_NAME;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_MANAGER;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.IBM_MQ_QUEUE_TYPE;
+import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.MESSAGING_DESTINATION_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import org.junit.jupiter.api.Test;
+
+class ObjectAttributesCacheTest {
+
+  private final ObjectAttributesCache cache = new ObjectAttributesCache("QM1");
+
+  @Test
+  void reusesAttributesAcrossCycles() {
+    cache.startCycle();
+    Attributes queue = cache.queue("DEV.QUEUE.1", "local-normal");
+    Attributes topic = cache.topic("dev/");
+    cache.endCycle();
+
+    cache.startCycle();
+    assertThat(cache.queue("DEV.QUEUE.1", "local-normal")).isSameAs(queue);
+    assertThat(cache.topic("dev/")).isSameAs(topic);
+    cache.endCycle();
+
+    assertThat(queue)
+        .isEqualTo(
+            Attributes.of(
+                MESSAGING_DESTINATION_NAME,
+                "DEV.QUEUE.1",
+                IBM_MQ_QUEUE_TYPE,
+                "local-normal",
+                IBM_MQ_QUEUE_MANAGER,
+                "QM1"));
+  }
+
+  @Test
+  void replacesAttributesWhenTheyChange() {
+    cache.startCycle();
+    Attributes queue = cache.queue("DEV.QUEUE.1", "local-normal");
+    Attributes status = cache.channelStatus("DEV.APP.SVRCONN", "server-connection", 1000, "job");
+
+    Attributes changedQueue = cache.queue("DEV.QUEUE.1", "alias");
+    Attributes restarted =
+        cache.channelStatus("DEV.APP.SVRCONN", "server-connection", 2000, "job");
+
+    assertThat(changedQueue).isNotSameAs(queue);
+    assertThat(changedQueue.get(IBM_MQ_QUEUE_TYPE)).isEqualTo("alias");
+    assertThat(restarted).isNotSameAs(status);
+    assertThat(restarted.get(IBM_MQ_CHANNEL_START_TIME)).isEqualTo(2000L);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void keepsOneEntryPerChannelInstance() {
+    cache.startCycle();
+    Attributes first = cache.channelStatus("DEV.APP.SVRCONN", "server-connection", 1000, "job1");
+    Attributes second = cache.channelStatus("DEV.APP.SVRCONN", "server-connection", 1000, "job2");
+    cache.endCycle();
+
+    cache.startCycle();
+    assertThat(cache.channelStatus("DEV.APP.SVRCONN", "server-connection", 1000, "job1"))
+        .isSameAs(first);
+    assertThat(cache.channelStatus("DEV.APP.SVRCONN", "server-connection", 1000, "job2"))
+        .isSameAs(second);
+    cache.endCycle();
+    assertThat(first.get(IBM_MQ_JOB_NAME)).isEqualTo("job1");
+    assertThat(second.get(IBM_MQ_JOB_NAME)).isEqualTo("job2");
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void evictsObjectsNotSeenDuringCycle() {
+    cache.startCycle();
+    cache.queue("DEV.QUEUE.1", "local-normal");
+    cache.queue("DEV.QUEUE.2", "local-normal");
+    cache.channel("DEV.APP.SVRCONN", "server-connection");
+    cache.listener("LISTENER.1");
+    cache.endCycle();
+    assertThat(cache.size()).isEqualTo(4);
+
+    cache.startCycle();
+    cache.queue("DEV.QUEUE.1", "local-normal");
+    cache.listener("LISTENER.1");
+    cache.endCycle();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+}
@@ -7,12 +7,15 @@ package io.opentelemetry.ibm.mq.metricscollector;
 
 import static io.opentelemetry.ibm.mq.metrics.IbmMqAttributes.MESSAGING_DESTINATION_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import com.ibm.mq.constants.CMQC;
 import com.ibm.mq.constants.CMQCFC;
+import com.ibm.mq.headers.pcf.PCFException;
 import com.ibm.mq.headers.pcf.PCFMessage;
 import com.ibm.mq.headers.pcf.PCFMessageAgent;
 import io.opentelemetry.ibm.mq.config.QueueManager;
@@ -23,12 +26,19 @@ import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.resources.Resource;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -154,17 +164,192 @@ class QueueCollectionBuddyTest {
         collectorContext, request, "*", ResetQStatsCmdCollector.ATTRIBUTES);
 
     for (MetricData metric : producer.produce(Resource.empty())) {
-      Iterator<LongPointData> iterator = metric.getLongGaugeData().getPoints().iterator();
-      if (metric.getName().equals("ibm.mq.high.queue.depth")) {
-        assertThat(iterator.next().getValue()).isEqualTo(10);
-      } else if (metric.getName().equals("ibm.mq.message.deq.count")) {
-        assertThat(iterator.next().getValue()).isEqualTo(0);
-      } else if (metric.getName().equals("ibm.mq.message.enq.count")) {
-        assertThat(iterator.next().getValue()).isEqualTo(3);
+      for (LongPointData point : metric.getLongGaugeData().getPoints()) {
+        if (metric.getName().equals("ibm.mq.high.queue.depth")) {
+          assertThat(point.getValue()).isEqualTo(10);
+        } else if (metric.getName().equals("ibm.mq.message.deq.count")) {
+          assertThat(point.getValue()).isEqualTo(0);
+        } else if (metric.getName().equals("ibm.mq.message.enq.count")) {
+          assertThat(point.getValue()).isEqualTo(3);
+        }
       }
     }
   }
 
+  @Test
+  void testProcessPagedPcfRequestsAndPublishQMetrics() throws Exception {
+    queueManager.setPagedQueueInquiriesEnabled(true);
+    queueManager.setPagedQueueInquiriesPageSize(1);
+    List<PCFMessage> responses = Arrays.asList(createPCFResponseForInquireQCmd());
+    List<String> requestedPages = answerPagedInquiries(responses);
+    MetricProducer producer =
+        new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
+    classUnderTest = new QueueCollectionBuddy(producer, new QueueCollectorSharedState());
+    classUnderTest.processPcfRequestsAndPublishQMetrics(
+        collectorContext,
+        "*",
+        QueueCollectionBuddyTest::inquireQRequest,
+        InquireQCmdCollector.ATTRIBUTES);
+
+    assertThat(requestedPages).containsExactly("A*", "DEV.D*", "DEV.Q*");
+    // AMQ queues are excluded by the configuration
+    assertThat(queueDepths(producer))
+        .containsOnly(entry("DEV.DEAD.LETTER.QUEUE", 2L), entry("DEV.QUEUE.1", 3L));
+  }
+
+  @Test
+  void pagesOfSharedPrefixAreCapped() throws Exception {
+    queueManager.setPagedQueueInquiriesEnabled(true);
+    queueManager.setPagedQueueInquiriesPageSize(100);
+    // most queues share a long prefix
+    List<PCFMessage> responses = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      responses.add(queueResponse("APP.ORDERS." + i, i));
+    }
+    responses.add(queueResponse("APP.ORDERS", 2000));
+    responses.add(queueResponse("APP.PAYMENTS.1", 2001));
+    responses.add(queueResponse("BILLING.1", 2002));
+    List<Integer> pageSizes = new ArrayList<>();
+    when(pcfMessageAgent.send(any(PCFMessage.class)))
+        .thenAnswer(
+            invocation -> {
+              PCFMessage[] page = answerPagedInquiry(invocation.getArgument(0), responses);
+              if (((PCFMessage) invocation.getArgument(0)).getCommand()
+                  == CMQCFC.MQCMD_INQUIRE_Q) {
+                pageSizes.add(page.length);
+              }
+              return page;
+            });
+    MetricProducer producer =
+        new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty());
+    classUnderTest = new QueueCollectionBuddy(producer, new QueueCollectorSharedState());
+    classUnderTest.processPcfRequestsAndPublishQMetrics(
+        collectorContext,
+        "*",
+        QueueCollectionBuddyTest::inquireQRequest,
+        InquireQCmdCollector.ATTRIBUTES);
+
+    assertThat(pageSizes).allSatisfy(size -> assertThat(size).isBetween(1, 100));
+    assertThat(queueDepths(producer)).hasSize(2003);
+  }
+
+  @Test
+  void pageNames() {
+    List<String> queueNames = Arrays.asList("DEV.QUEUE.1", "DEV.QUEUE.2", "DEV", "SYSTEM.X");
+    assertThat(QueueCollectionBuddy.pageNames("DEV.QUEUE.1", queueNames, 1))
+        .containsExactly("DEV.QUEUE.1");
+    // small enough for a single page
+    assertThat(QueueCollectionBuddy.pageNames("*", queueNames, 10)).containsExactly("*");
+    assertThat(QueueCollectionBuddy.pageNames("*", Collections.emptyList(), 10))
+        .containsExactly("*");
+
+    assertThat(QueueCollectionBuddy.pageNames("*", queueNames, 1))
+        .containsExactly("DEV", "DEV.QUEUE.1*", "DEV.QUEUE.2*", "S*");
+    assertThat(QueueCollectionBuddy.pageNames("DEV*", queueNames, 2))
+        .containsExactly("DEV", "DEV.*");
+
+    // a page of this prefix would be longer than a queue name
+    String longPrefix = String.join("", Collections.nCopies(CMQC.MQ_Q_NAME_LENGTH - 1, "Q"));
+    assertThat(
+            QueueCollectionBuddy.pageNames(
+                longPrefix + "*", Arrays.asList(longPrefix + "1", longPrefix + "2"), 1))
+        .containsExactly(longPrefix + "*");
+  }
+
+  private List<String> answerPagedInquiries(List<PCFMessage> responses) throws Exception {
+    List<String> requestedPages = new ArrayList<>();
+    when(pcfMessageAgent.send(any(PCFMessage.class)))
+        .thenAnswer(
+            invocation -> {
+              PCFMessage request = invocation.getArgument(0);
+              if (request.getCommand() == CMQCFC.MQCMD_INQUIRE_Q) {
+                requestedPages.add(request.getStringParameterValue(CMQC.MQCA_Q_NAME));
+              }
+              return answerPagedInquiry(request, responses);
+            });
+    return requestedPages;
+  }
+
+  /** Answers queue names and queue inquiries from the given queue responses. */
+  private static PCFMessage[] answerPagedInquiry(PCFMessage request, List<PCFMessage> responses)
+      throws PCFException {
+    String genericName = request.getStringParameterValue(CMQC.MQCA_Q_NAME);
+    List<PCFMessage> matching = new ArrayList<>();
+    for (PCFMessage response : responses) {
+      String queueName = MessageBuddy.queueName(response);
+      if (genericName.endsWith("*")
+          ? queueName.startsWith(genericName.substring(0, genericName.length() - 1))
+          : queueName.equals(genericName)) {
+        matching.add(response);
+      }
+    }
+    if (request.getCommand() == CMQCFC.MQCMD_INQUIRE_Q_NAMES) {
+      String[] names = new String[matching.size()];
+      for (int i = 0; i < names.length; i++) {
+        names[i] = MessageBuddy.queueName(matching.get(i));
+      }
+      PCFMessage response = new PCFMessage(2, CMQCFC.MQCMD_INQUIRE_Q_NAMES, 1, true);
+      response.addParameter(CMQCFC.MQCACF_Q_NAMES, names);
+      return new PCFMessage[] {response};
+    }
+    if (matching.isEmpty()) {
+      throw new PCFException(CMQC.MQCC_FAILED, CMQC.MQRC_UNKNOWN_OBJECT_NAME, request);
+    }
+    return matching.toArray(new PCFMessage[0]);
+  }
+
+  private static PCFMessage inquireQRequest(String queueGenericName) {
+    PCFMessage request = new PCFMessage(CMQCFC.MQCMD_INQUIRE_Q);
+    request.addParameter(CMQC.MQCA_Q_NAME, queueGenericName);
+    return request;
+  }
+
+  private static PCFMessage queueResponse(String queueName, int depth) {
+    PCFMessage response = new PCFMessage(2, CMQCFC.MQCMD_INQUIRE_Q, 1, false);
+    response.addParameter(CMQC.MQCA_Q_NAME, queueName);
+    response.addParameter(CMQC.MQIA_Q_TYPE, CMQC.MQQT_LOCAL);
+    response.addParameter(CMQC.MQIA_USAGE, CMQC.MQUS_NORMAL);
+    response.addParameter(CMQC.MQIA_CURRENT_Q_DEPTH, depth);
+    return response;
+  }
+
+  private static Map<String, Long> queueDepths(MetricProducer producer) {
+    Map<String, Long> depths = new HashMap<>();
+    for (MetricData metric : producer.produce(Resource.empty())) {
+      if (metric.getName().equals("ibm.mq.queue.depth")) {
+        for (LongPointData d : metric.getLongGaugeData().getPoints()) {
+          depths.put(d.getAttributes().get(MESSAGING_DESTINATION_NAME), d.getValue());
+        }
+      }
+    }
+    return depths;
+  }
+
+  @Test
+  void selectAttributesOfEnabledMetrics(@TempDir Path tempDir) throws Exception {
+    Path configFile = tempDir.resolve("config.yml");
+    Files.write(
+        configFile,
+        Arrays.asList("metrics:", "  \"ibm.mq.queue.depth\":", "    enabled: true"),
+        StandardCharsets.UTF_8);
+    MetricsConfig metricsConfig = new MetricsConfig(ConfigWrapper.parse(configFile.toString()));
+    classUnderTest =
+        new QueueCollectionBuddy(
+            new MetricProducer(Resource.empty(), InstrumentationScopeInfo.empty()),
+            new QueueCollectorSharedState());
+
+    int[] attributes =
+        classUnderTest.selectAttributes(metricsConfig, InquireQCmdCollector.ATTRIBUTES);
+    assertThat(attributes)
+        .containsExactly(
+            CMQC.MQCA_Q_NAME, CMQC.MQIA_USAGE, CMQC.MQIA_Q_TYPE, CMQC.MQIA_CURRENT_Q_DEPTH);
+    assertThat(QueueCollectionBuddy.hasMetricAttributes(attributes)).isTrue();
+
+    attributes = classUnderTest.selectAttributes(metricsConfig, ResetQStatsCmdCollector.ATTRIBUTES);
+    assertThat(attributes).isEmpty();
+    assertThat(QueueCollectionBuddy.hasMetricAttributes(attributes)).isFalse();
+  }
+
   /*
       PCFMessage:
       MQCFH [type: 1, strucLength: 36, version: 1, command: 41 (MQCMD_INQUIRE_Q_STATUS), msgSeqNumber: 1, control: 1, compCode: 0, reason: 0, parameterCount: 2]
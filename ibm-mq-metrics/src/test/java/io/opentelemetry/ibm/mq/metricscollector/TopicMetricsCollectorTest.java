@@ -19,6 +19,7 @@ import io.opentelemetry.ibm.mq.metrics.MetricProducer;
 import io.opentelemetry.ibm.mq.metrics.MetricsConfig;
 import io.opentelemetry.ibm.mq.opentelemetry.ConfigWrapper;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.resources.Resource;
 import java.util.List;
@@ -57,22 +58,16 @@ class TopicMetricsCollectorTest {
     classUnderTest.accept(context);
 
     List<MetricData> result = producer.produce(Resource.empty());
-    assertThat(result.size()).isEqualTo(4);
+    assertThat(result.size()).isEqualTo(2);
     assertThat(result.get(0).getName()).isEqualTo("ibm.mq.publish.count");
-    assertThat(result.get(0).getLongGaugeData().getPoints().iterator().next().getValue())
-        .isEqualTo(2L);
+    assertThat(result.get(0).getLongGaugeData().getPoints())
+        .extracting(LongPointData::getValue)
+        .containsExactly(2L, 3L);
 
     assertThat(result.get(1).getName()).isEqualTo("ibm.mq.subscription.count");
-    assertThat(result.get(1).getLongGaugeData().getPoints().iterator().next().getValue())
-        .isEqualTo(3L);
-
-    assertThat(result.get(2).getName()).isEqualTo("ibm.mq.publish.count");
-    assertThat(result.get(2).getLongGaugeData().getPoints().iterator().next().getValue())
-        .isEqualTo(3L);
-
-    assertThat(result.get(3).getName()).isEqualTo("ibm.mq.subscription.count");
-    assertThat(result.get(3).getLongGaugeData().getPoints().iterator().next().getValue())
-        .isEqualTo(4L);
+    assertThat(result.get(1).getLongGaugeData().getPoints())
+        .extracting(LongPointData::getValue)
+        .containsExactly(3L, 4L);
   }
 
   private static PCFMessage[] createPCFResponseForInquireTopicStatusCmd() {
@@ -0,0 +1,210 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxmetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+import javax.management.ObjectName;
+
+/**
+ * Tracks how often MBean attribute values change, so that {@link MBeanHelper} reads the attributes
+ * observed to be constant less often than the others.
+ *
+ * <p>Each time a read returns the same value as the previous one, the number of collections for
+ * which the attribute is not read doubles, and the cached value is used instead. A changed value
+ * resets that number, so that the attribute is read on every collection again. Whatever the number
+ * of skipped collections, an attribute is read again once the maximum read interval has elapsed.
+ *
+ * <p>Several {@link MBeanHelper}s can read the same attribute in one collection, e.g. for two
+ * metrics of the same bean. Only the first request of a collection counts: the next ones get the
+ * value read or served for that first request, and a value read again in the same collection does
+ * not count as unchanged.
+ */
+class AttributeChangeTracker {
+
+  /** Reads all the attributes on every collection. */
+  static final AttributeChangeTracker DISABLED = new AttributeChangeTracker(0, System::nanoTime);
+
+  // bounds the doubling, the maximum read interval being the effective limit
+  private static final int MAX_SKIPPED_READS = 1 << 16;
+
+  private final long maxReadIntervalNanos;
+  private final LongSupplier nanoTime;
+  private final Map<ObjectName, Map<String, TrackedValue>> values = new ConcurrentHashMap<>();
+  private volatile long lastEvictionNanos;
+  private final AtomicLong collection = new AtomicLong();
+
+  /**
+   * Creates a tracker.
+   *
+   * @param maxReadIntervalMillis - longest time without reading an attribute, {@code 0} reads all
+   *     the attributes on every collection
+   */
+  static AttributeChangeTracker create(long maxReadIntervalMillis) {
+    return maxReadIntervalMillis <= 0
+        ? DISABLED
+        : new AttributeChangeTracker(
+            TimeUnit.MILLISECONDS.toNanos(maxReadIntervalMillis), System::nanoTime);
+  }
+
+  // Visible for testing
+  AttributeChangeTracker(long maxReadIntervalNanos, LongSupplier nanoTime) {
+    this.maxReadIntervalNanos = maxReadIntervalNanos;
+    this.nanoTime = nanoTime;
+    this.lastEvictionNanos = nanoTime.getAsLong();
+  }
+
+  /** Starts a new collection, to be called before the attributes of each collection are read. */
+  void startCollection() {
+    collection.incrementAndGet();
+  }
+
+  /**
+   * Selects the attributes of a bean to read in this collection.
+   *
+   * @param bean - the bean to read
+   * @param attributes - the attributes needed in this collection
+   * @param cachedValues - receives the values of the attributes that are not read
+   * @return the attributes to read
+   */
+  List<String> select(
+      ObjectName bean, Collection<String> attributes, Map<String, Object> cachedValues) {
+    if (maxReadIntervalNanos <= 0) {
+      return new ArrayList<>(attributes);
+    }
+    long now = nanoTime.getAsLong();
+    long currentCollection = collection.get();
+    evictUnused(now);
+
+    Map<String, TrackedValue> beanValues = values.get(bean);
+    List<String> toRead = new ArrayList<>(attributes.size());
+    for (String attribute : attributes) {
+      TrackedValue tracked = beanValues == null ? null : beanValues.get(attribute);
+      Object cached =
+          tracked == null ? null : tracked.skipRead(now, currentCollection, maxReadIntervalNanos);
+      if (cached == null) {
+        toRead.add(attribute);
+      } else {
+        cachedValues.put(attribute, cached);
+      }
+    }
+    return toRead;
+  }
+
+  /**
+   * Records the values read for the attributes returned by {@link #select}. The attributes that
+   * have no value are not tracked anymore, and will be read on the next collection.
+   */
+  void record(ObjectName bean, Collection<String> attributes, Map<String, Object> readValues) {
+    if (maxReadIntervalNanos <= 0) {
+      return;
+    }
+    long now = nanoTime.getAsLong();
+    long currentCollection = collection.get();
+    Map<String, TrackedValue> beanValues =
+        values.computeIfAbsent(bean, unused -> new ConcurrentHashMap<>());
+    for (String attribute : attributes) {
+      Object value = readValues.get(attribute);
+      if (value == null) {
+        beanValues.remove(attribute);
+        continue;
+      }
+      beanValues.compute(
+          attribute,
+          (unused, tracked) -> {
+            if (tracked == null) {
+              return new TrackedValue(value, now, currentCollection);
+            }
+            tracked.update(value, now, currentCollection);
+            return tracked;
+          });
+    }
+  }
+
+  /** Forgets the tracked values, which may not be the ones of a newly connected JVM. */
+  void clear() {
+    values.clear();
+  }
+
+  /** Returns the number of tracked attributes. */
+  // Visible for testing
+  int size() {
+    return values.values().stream().mapToInt(Map::size).sum();
+  }
+
+  // the attributes of the beans that are not read anymore, e.g. unregistered, are dropped
+  private void evictUnused(long now) {
+    if (now - lastEvictionNanos < maxReadIntervalNanos) {
+      return;
+    }
+    lastEvictionNanos = now;
+    values
+        .values()
+        .forEach(
+            beanValues ->
+                beanValues
+                    .values()
+                    .removeIf(tracked -> now - tracked.lastUsedNanos > maxReadIntervalNanos));
+    values.values().removeIf(Map::isEmpty);
+  }
+
+  private static final class TrackedValue {
+    private Object value;
+    private long lastReadNanos;
+    private volatile long lastUsedNanos;
+    // number of collections to skip since the last read, and number already skipped
+    private int readsToSkip;
+    private int skipped;
+    // collection in which the value was last read or served
+    private long servedCollection;
+
+    private TrackedValue(Object value, long now, long collection) {
+      this.value = value;
+      this.lastReadNanos = now;
+      this.lastUsedNanos = now;
+      this.servedCollection = collection;
+    }
+
+    /** Returns the value to use instead of reading the attribute, {@code null} to read it. */
+    @Nullable
+    private synchronized Object skipRead(long now, long collection, long maxReadIntervalNanos) {
+      lastUsedNanos = now;
+      if (servedCollection == collection) {
+        return value;
+      }
+      if (skipped >= readsToSkip || now - lastReadNanos >= maxReadIntervalNanos) {
+        return null;
+      }
+      skipped++;
+      servedCollection = collection;
+      return value;
+    }
+
+    private synchronized void update(Object newValue, long now, long collection) {
+      // only the first read of a collection tells whether the value changed since the last one
+      if (servedCollection != collection) {
+        if (Objects.deepEquals(value, newValue)) {
+          readsToSkip = Math.min(Math.max(1, readsToSkip * 2), MAX_SKIPPED_READS);
+        } else {
+          readsToSkip = 0;
+        }
+        skipped = 0;
+        servedCollection = collection;
+      }
+      value = newValue;
+      lastReadNanos = now;
+      lastUsedNanos = now;
+    }
+  }
+}
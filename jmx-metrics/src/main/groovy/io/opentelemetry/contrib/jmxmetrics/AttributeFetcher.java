@@ -0,0 +1,193 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxmetrics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Runs the MBean reads of a collection for {@link MBeanHelper}.
+ *
+ * <p>Reads are executed on a bounded pool of worker threads, so that the beans of a collection are
+ * read in parallel over the shared JMX connection. Each collection gets one deadline, set by {@link
+ * #startCollection()} and shared by all the reads of the collection: reads that are not complete by
+ * then are abandoned and reported as timeouts, and their beans are skipped for that collection
+ * instead of delaying the next one.
+ *
+ * <p>Abandoned reads are cancelled, but an interrupt does not stop a thread blocked on an RMI
+ * socket read: such a thread stays busy until the JMX connection returns or fails, e.g. after the
+ * {@code sun.rmi.transport.tcp.responseTimeout} of the RMI client. Reads are thus not submitted
+ * once the deadline has passed, so that threads blocked on a hung connection do not pile up queued
+ * reads.
+ */
+class AttributeFetcher {
+  private static final Logger logger = Logger.getLogger(AttributeFetcher.class.getName());
+
+  /** Runs reads on the calling thread, without deadline nor metrics. */
+  static final AttributeFetcher INLINE = new AttributeFetcher(null, 0, null, null);
+
+  @Nullable private final ExecutorService executor;
+  private final long timeoutNanos;
+  @Nullable private final DoubleHistogram duration;
+  @Nullable private final LongCounter timeouts;
+  private volatile long collectionDeadline;
+
+  /**
+   * Creates a fetcher reporting its metrics through the given environment.
+   *
+   * @param threads - maximum number of concurrent reads
+   * @param timeoutMillis - deadline of each collection from its start, in milliseconds
+   * @param metricEnvironment - used to register the collection duration and timeout metrics
+   */
+  static AttributeFetcher create(
+      int threads, long timeoutMillis, GroovyMetricEnvironment metricEnvironment) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "jmx-metrics-fetcher-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    return new AttributeFetcher(
+        executor,
+        TimeUnit.MILLISECONDS.toNanos(timeoutMillis),
+        metricEnvironment.getDoubleHistogram(
+            "jmx.scrape.duration", "Duration of the MBean reads of a collection", "s"),
+        metricEnvironment.getLongCounter(
+            "jmx.scrape.timeouts",
+            "Number of MBean reads dropped because they did not complete before the deadline",
+            "{read}"));
+  }
+
+  private AttributeFetcher(
+      @Nullable ExecutorService executor,
+      long timeoutNanos,
+      @Nullable DoubleHistogram duration,
+      @Nullable LongCounter timeouts) {
+    this.executor = executor;
+    this.timeoutNanos = timeoutNanos;
+    this.duration = duration;
+    this.timeouts = timeouts;
+    startCollection();
+  }
+
+  /** Starts a new collection, whose reads are to complete within the timeout from now. */
+  void startCollection() {
+    collectionDeadline = System.nanoTime() + timeoutNanos;
+  }
+
+  /** Returns the deadline of the current collection, as a {@link System#nanoTime()} value. */
+  long collectionDeadline() {
+    return collectionDeadline;
+  }
+
+  /** Stops the worker threads, reads still running are interrupted. */
+  void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Runs the given reads and waits for them until the deadline.
+   *
+   * @param reads - the reads to run
+   * @param deadline - deadline of the reads, as a {@link System#nanoTime()} value
+   * @return the result of each read, in the same order, or {@code null} for the reads that failed
+   *     or did not complete before the deadline
+   */
+  <T> List<T> fetchAll(List<Callable<T>> reads, long deadline) {
+    List<T> results = new ArrayList<>(reads.size());
+    if (executor == null) {
+      for (Callable<T> read : reads) {
+        T result = null;
+        try {
+          result = read.call();
+        } catch (Exception e) {
+          logger.log(Level.WARNING, "Failed to read MBean attributes", e);
+        }
+        results.add(result);
+      }
+      return results;
+    }
+
+    long start = System.nanoTime();
+    List<Future<T>> futures = new ArrayList<>(reads.size());
+    for (Callable<T> read : reads) {
+      futures.add(submit(read, deadline - start));
+    }
+
+    int timedOut = 0;
+    for (Future<T> future : futures) {
+      T result = null;
+      if (future == null) {
+        timedOut++;
+      } else {
+        try {
+          result = future.get(Math.max(0, deadline - System.nanoTime()), NANOSECONDS);
+        } catch (TimeoutException e) {
+          future.cancel(true);
+          timedOut++;
+        } catch (ExecutionException e) {
+          logger.log(Level.WARNING, "Failed to read MBean attributes", e.getCause());
+        } catch (InterruptedException e) {
+          // keep the interrupt flag set, so that all the remaining reads are cancelled
+          future.cancel(true);
+          Thread.currentThread().interrupt();
+        }
+      }
+      results.add(result);
+    }
+
+    if (duration != null) {
+      duration.record((System.nanoTime() - start) / 1e9);
+    }
+    if (timedOut > 0) {
+      logger.warning(
+          timedOut
+              + " MBean reads did not complete within the "
+              + NANOSECONDS.toMillis(timeoutNanos)
+              + "ms collection deadline and were dropped");
+      if (timeouts != null) {
+        timeouts.add(timedOut);
+      }
+    }
+    return results;
+  }
+
+  // returns null when the read is not started: the deadline has passed or the fetcher is closed
+  @Nullable
+  private <T> Future<T> submit(Callable<T> read, long remainingNanos) {
+    if (executor == null || remainingNanos <= 0) {
+      return null;
+    }
+    try {
+      return executor.submit(read);
+    } catch (RejectedExecutionException e) {
+      logger.fine("MBean read not started, the fetcher is closed");
+      return null;
+    }
+  }
+}
@@ -24,12 +24,16 @@ import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.InstrumentValueType;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -56,6 +60,7 @@ public class GroovyMetricEnvironment {
       batchCallbackRegistry = new ConcurrentHashMap<>();
   private final Map<Integer, ObservableMeasurement> instrumentOnceRegistry =
       new ConcurrentHashMap<>();
+  private final List<Runnable> collectionListeners = new CopyOnWriteArrayList<>();
 
   /**
    * A central context for creating and exporting metrics, to be used by groovy scripts via {@link
@@ -93,12 +98,13 @@ public class GroovyMetricEnvironment {
                           });
                       return properties;
                     })
+                .addMeterProviderCustomizer((builder, unused) -> notifyCollections(builder))
                 .build()
                 .getOpenTelemetrySdk()
                 .getSdkMeterProvider();
         break;
       default: // inmemory fallback
-        meterProvider = SdkMeterProvider.builder().build();
+        meterProvider = notifyCollections(SdkMeterProvider.builder()).build();
     }
 
     meter =
@@ -126,6 +132,23 @@ public class GroovyMetricEnvironment {
         GroovyMetricEnvironment.class.getPackage().getImplementationVersion());
   }
 
+  /**
+   * Adds a listener run at the start of each collection of the metrics, before the callbacks of
+   * the observable instruments.
+   */
+  void addCollectionListener(Runnable listener) {
+    collectionListeners.add(listener);
+  }
+
+  // metric producers are called before the instruments of the meter provider
+  private SdkMeterProviderBuilder notifyCollections(SdkMeterProviderBuilder builder) {
+    return builder.registerMetricProducer(
+        resource -> {
+          collectionListeners.forEach(Runnable::run);
+          return Collections.emptyList();
+        });
+  }
+
   /** Will collect all metrics from OpenTelemetrySdk and export via configured exporter. */
   public void flush() {
     meterProvider.forceFlush().join(10, TimeUnit.SECONDS);
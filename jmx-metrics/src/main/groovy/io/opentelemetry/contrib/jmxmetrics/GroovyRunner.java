@@ -34,6 +34,8 @@ public class GroovyRunner {
 
   private final List<Script> scripts;
   private final GroovyMetricEnvironment groovyMetricEnvironment;
+  private final AttributeFetcher attributeFetcher;
+  private final AttributeChangeTracker changeTracker;
 
   GroovyRunner(
       final JmxConfig config,
@@ -70,8 +72,23 @@ public class GroovyRunner {
     Binding binding = new Binding();
     binding.setVariable("log", logger);
 
+    this.attributeFetcher =
+        AttributeFetcher.create(
+            config.collectionThreads,
+            config.collectionTimeoutMilliseconds,
+            this.groovyMetricEnvironment);
+    this.changeTracker =
+        AttributeChangeTracker.create(config.attributeMaxReadIntervalMilliseconds);
+    // the observable instruments read their MBeans when the metrics are collected, which is not
+    // aligned with the script runs
+    this.groovyMetricEnvironment.addCollectionListener(this::startCollection);
     OtelHelper otelHelper =
-        new OtelHelper(jmxClient, this.groovyMetricEnvironment, config.aggregateAcrossMBeans);
+        new OtelHelper(
+            jmxClient,
+            this.groovyMetricEnvironment,
+            config.aggregateAcrossMBeans,
+            this.attributeFetcher,
+            this.changeTracker);
     binding.setVariable("otel", otelHelper);
 
     for (Script script : scripts) {
@@ -134,11 +151,23 @@ public class GroovyRunner {
   }
 
   public void run() {
+    startCollection();
     for (Script script : scripts) {
       script.run();
     }
   }
 
+  // all the reads of a collection share one deadline, and each attribute is read at most once
+  private void startCollection() {
+    attributeFetcher.startCollection();
+    changeTracker.startCollection();
+  }
+
+  /** Stops the threads reading the MBeans. */
+  public void close() {
+    attributeFetcher.close();
+  }
+
   // Visible for testing
   List<Script> getScripts() {
     return scripts;
@@ -106,6 +106,10 @@ class InstrumentHelper {
             }
         }
 
+        // all attributes of a bean are read at once and shared with the other instruments of the
+        // same MBeanHelper
+        mBeanHelper.registerAttributes(simpleAttributes + compositeAttributes.collect { it.v1 })
+
         if (simpleAttributes.size() > 0) {
             def simpleUpdateClosure = prepareUpdateClosure(mbeans, simpleAttributes)
             if (instrumentIsDoubleObserver(instrument) || instrumentIsLongObserver(instrument)) {
@@ -192,12 +196,15 @@ class InstrumentHelper {
     // Create a closure for simple attributes that will retrieve mbean information on
     // callback to ensure that metrics are collected on request
     private Closure prepareUpdateClosure(List<GroovyMBean> mbeans, attributes) {
+        def reader = new Object()
         return { result ->
             def aggregations = [:] as Map<String, Aggregation>
             boolean requireAggregation = aggregateAcrossMBeans && mbeans.size() > 1 && instrumentIsValue(instrument)
-            [mbeans, attributes].combinations().each { pair ->
-                def (mbean, attribute) = pair
-                def value = MBeanHelper.getBeanAttribute(mbean, attribute)
+            def values = mBeanHelper.readAttributes(mbeans, reader)
+            [mbeans.indices, attributes].combinations().each { pair ->
+                def (index, attribute) = pair
+                def mbean = mbeans[index]
+                def value = values[index].get(attribute)
                 if (value != null) {
                     def labels = getLabels(mbean, labelFuncs, mBeanAttributes[attribute])
                     if (requireAggregation) {
@@ -228,9 +235,11 @@ class InstrumentHelper {
             def (attribute, keys) = pair
             def instruments = keys.collect { new Tuple2<String, ObservableMeasurement>(it, instrument("${instrumentName}.${it}", description, unit, null)) }
 
+            def reader = new Object()
             metricEnvironment.registerBatchCallback("${instrumentName}.${attribute}", () -> {
-                mbeans.each { mbean ->
-                    def value = MBeanHelper.getBeanAttribute(mbean, attribute)
+                def values = mBeanHelper.readAttributes(mbeans, reader)
+                mbeans.eachWithIndex { mbean, index ->
+                    def value = values[index].get(attribute)
                     if (value != null && value instanceof CompositeData) {
                         instruments.each { inst ->
                             def val = value.get(inst.v1)
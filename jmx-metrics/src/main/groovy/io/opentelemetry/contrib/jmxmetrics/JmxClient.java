@@ -5,6 +5,7 @@
 
 package io.opentelemetry.contrib.jmxmetrics;
 
+import groovy.jmx.GroovyMBean;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.security.Provider;
@@ -14,11 +15,22 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
 import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
 import javax.management.ObjectName;
+import javax.management.relation.MBeanServerNotificationFilter;
 import javax.management.remote.JMXConnector;
 import javax.management.remote.JMXServiceURL;
 
@@ -33,6 +45,22 @@ public class JmxClient {
   private final boolean registrySsl;
   @Nullable private JMXConnector jmxConn;
 
+  // Query results and the GroovyMBean instances of their MBeans are cached per connection and
+  // invalidated by the MBean registration and unregistration notifications of the MBean server
+  // delegate. Notifications might be lost, for example when the connection is interrupted, so
+  // cached entries are also refreshed periodically.
+  static final long QUERY_CACHE_MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+  private final Map<ObjectName, CachedQuery> queryCache = new ConcurrentHashMap<>();
+  private final Map<ObjectName, CachedMBean> mbeanCache = new ConcurrentHashMap<>();
+  private final AtomicLong queryCacheGeneration = new AtomicLong();
+  private final NotificationListener registrationListener =
+      (notification, handback) -> handleRegistration(notification);
+  @Nullable private MBeanServerConnection listenedConnection;
+  private boolean listening;
+
+  private final List<Runnable> connectionListeners = new CopyOnWriteArrayList<>();
+
   JmxClient(JmxConfig config) throws MalformedURLException {
     this.url = new JMXServiceURL(config.serviceUrl);
     this.username = config.username;
@@ -70,6 +98,7 @@ public class JmxClient {
       }
 
       jmxConn = JmxConnectorHelper.connect(url, env, registrySsl);
+      connectionListeners.forEach(Runnable::run);
       return jmxConn.getMBeanServerConnection();
     } catch (IOException e) {
       logger.log(Level.WARNING, "Could not connect to remote JMX server: ", e);
@@ -77,6 +106,16 @@ public class JmxClient {
     }
   }
 
+  /**
+   * Adds a listener run each time a new connection is established, for example after the target
+   * JVM was restarted.
+   *
+   * @param listener the listener to run
+   */
+  void addConnectionListener(Runnable listener) {
+    connectionListeners.add(listener);
+  }
+
   /**
    * Query the MBean server for a given ObjectName.
    *
@@ -89,13 +128,143 @@ public class JmxClient {
       return Collections.emptyList();
     }
 
+    boolean cacheable = listenForRegistrations(mbsc);
+    long now = System.nanoTime();
+    if (cacheable) {
+      CachedQuery cached = queryCache.get(objectName);
+      if (cached != null && now - cached.timestamp < QUERY_CACHE_MAX_AGE_NANOS) {
+        return cached.objectNames;
+      }
+    }
+
+    // a registration notified while querying makes the result potentially stale
+    long generation = queryCacheGeneration.get();
     try {
       List<ObjectName> objectNames = new ArrayList<>(mbsc.queryNames(objectName, null));
       Collections.sort(objectNames);
-      return objectNames;
+      List<ObjectName> result = Collections.unmodifiableList(objectNames);
+      if (cacheable && generation == queryCacheGeneration.get()) {
+        queryCache.put(objectName, new CachedQuery(result, now));
+      }
+      return result;
     } catch (IOException e) {
       logger.log(Level.WARNING, "Could not query remote JMX server: ", e);
       return Collections.emptyList();
     }
   }
+
+  /**
+   * Returns a {@link GroovyMBean} for each of the given MBeans. Creating one reads the MBean info
+   * from the server, thus instances are cached along with the query results, and invalidated the
+   * same way.
+   *
+   * @param objectNames names of the MBeans, typically returned by {@link #query(ObjectName)}
+   * @return the GroovyMBean instances, in the same order
+   * @throws JMException if the info of an MBean can't be read, e.g. when it was unregistered
+   * @throws IOException if the info of an MBean can't be read from the server
+   */
+  public List<GroovyMBean> getMBeans(List<ObjectName> objectNames)
+      throws JMException, IOException {
+    if (objectNames.isEmpty()) {
+      return Collections.emptyList();
+    }
+    MBeanServerConnection mbsc = getConnection();
+    if (mbsc == null) {
+      return Collections.emptyList();
+    }
+
+    boolean cacheable = listenForRegistrations(mbsc);
+    long now = System.nanoTime();
+    long generation = queryCacheGeneration.get();
+    List<GroovyMBean> mbeans = new ArrayList<>(objectNames.size());
+    for (ObjectName objectName : objectNames) {
+      CachedMBean cached = cacheable ? mbeanCache.get(objectName) : null;
+      if (cached != null && now - cached.timestamp < QUERY_CACHE_MAX_AGE_NANOS) {
+        mbeans.add(cached.mbean);
+        continue;
+      }
+      GroovyMBean mbean = new GroovyMBean(mbsc, objectName);
+      if (cacheable && generation == queryCacheGeneration.get()) {
+        mbeanCache.put(objectName, new CachedMBean(mbean, now));
+      }
+      mbeans.add(mbean);
+    }
+    return mbeans;
+  }
+
+  /**
+   * Registers the cache invalidation listener on the given connection if not done yet.
+   *
+   * @return {@code true} if registration notifications are received for this connection
+   */
+  private synchronized boolean listenForRegistrations(MBeanServerConnection mbsc) {
+    if (mbsc == listenedConnection) {
+      return listening;
+    }
+    // entries cached for a previous connection can't be trusted anymore
+    invalidateQueryCache();
+    stopListening();
+    listenedConnection = mbsc;
+    MBeanServerNotificationFilter filter = new MBeanServerNotificationFilter();
+    filter.enableAllObjectNames();
+    try {
+      mbsc.addNotificationListener(
+          MBeanServerDelegate.DELEGATE_NAME, registrationListener, filter, null);
+      listening = true;
+    } catch (InstanceNotFoundException | IOException e) {
+      logger.log(Level.FINE, "Could not listen for MBean registrations, query cache disabled", e);
+      listening = false;
+    }
+    return listening;
+  }
+
+  // the previous connection is typically closed already, but might still send notifications
+  private void stopListening() {
+    if (listenedConnection == null || !listening) {
+      return;
+    }
+    try {
+      listenedConnection.removeNotificationListener(
+          MBeanServerDelegate.DELEGATE_NAME, registrationListener);
+    } catch (JMException | IOException e) {
+      logger.log(Level.FINE, "Could not remove the MBean registration listener", e);
+    }
+    listening = false;
+  }
+
+  private void handleRegistration(Notification notification) {
+    if (!(notification instanceof MBeanServerNotification)) {
+      return;
+    }
+    ObjectName name = ((MBeanServerNotification) notification).getMBeanName();
+    queryCacheGeneration.incrementAndGet();
+    queryCache.keySet().removeIf(pattern -> pattern.apply(name));
+    mbeanCache.remove(name);
+  }
+
+  private void invalidateQueryCache() {
+    queryCacheGeneration.incrementAndGet();
+    queryCache.clear();
+    mbeanCache.clear();
+  }
+
+  private static final class CachedMBean {
+    private final GroovyMBean mbean;
+    private final long timestamp;
+
+    private CachedMBean(GroovyMBean mbean, long timestamp) {
+      this.mbean = mbean;
+      this.timestamp = timestamp;
+    }
+  }
+
+  private static final class CachedQuery {
+    private final List<ObjectName> objectNames;
+    private final long timestamp;
+
+    private CachedQuery(List<ObjectName> objectNames, long timestamp) {
+      this.objectNames = objectNames;
+      this.timestamp = timestamp;
+    }
+  }
 }
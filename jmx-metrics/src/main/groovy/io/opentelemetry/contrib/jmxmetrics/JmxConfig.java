@@ -32,6 +32,11 @@ class JmxConfig {
   static final String JMX_REMOTE_PROFILE = PREFIX + "jmx.remote.profile";
   static final String JMX_REALM = PREFIX + "jmx.realm";
   static final String JMX_AGGREGATE_ACROSS_MBEANS = PREFIX + "jmx.aggregate.across.mbeans";
+  static final String COLLECTION_THREADS = PREFIX + "jmx.collection.threads";
+  static final String COLLECTION_TIMEOUT_MILLISECONDS =
+      PREFIX + "jmx.collection.timeout.milliseconds";
+  static final String ATTRIBUTE_MAX_READ_INTERVAL_MILLISECONDS =
+      PREFIX + "jmx.attribute.max.read.interval.milliseconds";
 
   // These properties need to be copied into System Properties if provided via the property
   // file so that they are available to the JMX Connection builder
@@ -80,6 +85,10 @@ class JmxConfig {
 
   final boolean aggregateAcrossMBeans;
 
+  final int collectionThreads;
+  final int collectionTimeoutMilliseconds;
+  final int attributeMaxReadIntervalMilliseconds;
+
   JmxConfig(Properties props) {
     properties = new Properties();
     // putAll() instead of using constructor defaults
@@ -118,6 +127,13 @@ class JmxConfig {
     aggregateAcrossMBeans =
         Boolean.parseBoolean(properties.getProperty(JMX_AGGREGATE_ACROSS_MBEANS));
 
+    collectionThreads = getProperty(COLLECTION_THREADS, 4);
+    // by default, reads must complete before the next collection is due
+    collectionTimeoutMilliseconds =
+        getProperty(COLLECTION_TIMEOUT_MILLISECONDS, intervalMilliseconds);
+    // by default, all the attributes are read on every collection
+    attributeMaxReadIntervalMilliseconds = getProperty(ATTRIBUTE_MAX_READ_INTERVAL_MILLISECONDS, 0);
+
     // For the list of System Properties, if they have been set in the properties file
     // they need to be set in Java System Properties.
     JAVA_SYSTEM_PROPERTIES.forEach(
@@ -194,6 +210,19 @@ class JmxConfig {
     if (intervalMilliseconds < 0) {
       throw new ConfigurationException(INTERVAL_MILLISECONDS + " must be positive.");
     }
+
+    if (collectionThreads <= 0) {
+      throw new ConfigurationException(COLLECTION_THREADS + " must be positive.");
+    }
+
+    if (collectionTimeoutMilliseconds <= 0) {
+      throw new ConfigurationException(COLLECTION_TIMEOUT_MILLISECONDS + " must be positive.");
+    }
+
+    if (attributeMaxReadIntervalMilliseconds < 0) {
+      throw new ConfigurationException(
+          ATTRIBUTE_MAX_READ_INTERVAL_MILLISECONDS + " must not be negative.");
+    }
   }
 
   /**
@@ -38,6 +38,8 @@ class JmxMetrics {
   }
 
   private void start() {
+    // a run exceeding the interval, e.g. with reads up to the collection deadline, delays the next
+    // one instead of being followed by back to back runs
     exec.scheduleWithFixedDelay(
         new Runnable() {
           @Override
@@ -58,6 +60,7 @@ class JmxMetrics {
   private void shutdown() {
     logger.info("Shutting down JmxMetrics Groovy runner and exporting final metrics.");
     exec.shutdown();
+    runner.close();
   }
 
   private static JmxConfig getConfigFromArgs(String[] args) {
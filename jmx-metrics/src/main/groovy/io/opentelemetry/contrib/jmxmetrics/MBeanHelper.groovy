@@ -7,7 +7,7 @@ package io.opentelemetry.contrib.jmxmetrics
 
 import groovy.jmx.GroovyMBean
 import groovy.transform.PackageScope
-import javax.management.MBeanServerConnection
+import javax.management.Attribute
 import javax.management.ObjectName
 import javax.management.AttributeNotFoundException
 import java.util.logging.Logger
@@ -28,6 +28,13 @@ import java.util.logging.Logger
  * def multipleMBeans = otel.mbeans("com.example:type=MultipleType,*")
  * [singleMBean, multipleMBeans].each { it.fetch() }
  *
+ * Attributes registered with registerAttributes are read for all of them at once, with a single
+ * MBeanServerConnection.getAttributes call per bean, and the values are shared by all readers
+ * until one of them reads the same bean again, which starts a new collection cycle for that bean.
+ * The beans of a cycle are read through the AttributeFetcher, in parallel when one is configured.
+ * When the AttributeChangeTracker is enabled, the attributes whose values do not change are read
+ * less often, their last read values being returned in between.
+ *
  */
 class MBeanHelper {
     private static final Logger logger = Logger.getLogger(MBeanHelper.class.getName());
@@ -39,6 +46,11 @@ class MBeanHelper {
 
     private List<GroovyMBean> mbeans
 
+    @PackageScope AttributeFetcher attributeFetcher = AttributeFetcher.INLINE
+    @PackageScope AttributeChangeTracker changeTracker = AttributeChangeTracker.DISABLED
+    private final Set<String> requestedAttributes = new LinkedHashSet<>()
+    private final Map<ObjectName, AttributeSnapshot> snapshots = [:]
+
     MBeanHelper(JmxClient jmxClient, String objectName, boolean isSingle) {
         this.jmxClient = jmxClient
         this.objectNames = Collections.unmodifiableList([objectName])
@@ -72,13 +84,14 @@ class MBeanHelper {
     }
 
     @PackageScope static List<GroovyMBean> queryJmx(JmxClient jmxClient, ObjectName objName) {
-        List<ObjectName> names = jmxClient.query(objName)
-        MBeanServerConnection server = jmxClient.connection
-        return names.collect { new GroovyMBean(server, it) }
+        return jmxClient.getMBeans(jmxClient.query(objName))
     }
 
     void fetch() {
         this.mbeans = []
+        synchronized (this) {
+            snapshots.clear()
+        }
         for(objectName in objectNames){
             def tmpMbeans = queryJmx(jmxClient, objectName)
             if (tmpMbeans.size() == 0) {
@@ -115,10 +128,89 @@ class MBeanHelper {
         }
 
         def ofInterest = isSingle ? [mbeans[0]]: mbeans
-        return [ofInterest, attributes].combinations().collect { pair ->
-            def (bean, attribute) = pair
-            new Tuple3(bean, attribute, getBeanAttributeWithTransform(bean, attribute))
+        registerAttributes(attributes.findAll { !attributeTransformation.containsKey(it) })
+        def values = readAttributes(ofInterest, this)
+        return [ofInterest.indices, attributes].combinations().collect { pair ->
+            def (index, attribute) = pair
+            def bean = ofInterest[index]
+            def value = attributeTransformation.containsKey(attribute)
+                ? getBeanAttributeWithTransform(bean, attribute)
+                : values[index].get(attribute)
+            new Tuple3(bean, attribute, value)
+        }
+    }
+
+    /**
+     * Adds attributes to the ones read in bulk by readAttributes.
+     */
+    @PackageScope synchronized void registerAttributes(Collection<String> attributes) {
+        requestedAttributes.addAll(attributes)
+    }
+
+    /**
+     * Returns the registered attribute values of each of the given beans, in the same order. Values
+     * read for another reader in the current collection cycle are reused, while a reader reading a
+     * bean again gets fresh values. Attributes missing from a bean have no entry in its map.
+     *
+     * @param beans - the beans to read
+     * @param reader - identifies the caller, typically one instrument callback
+     */
+    @PackageScope synchronized List<Map<String, Object>> readAttributes(List<GroovyMBean> beans, Object reader) {
+        def stale = beans.findAll { bean ->
+            def snapshot = snapshots.get(bean.name())
+            snapshot == null || snapshot.readers.contains(reader) || !snapshot.attributes.containsAll(requestedAttributes)
+        }
+        if (!stale.isEmpty()) {
+            def attributes = new LinkedHashSet<String>(requestedAttributes)
+            def reads = stale.collect { bean -> { -> fetchTrackedAttributes(bean, attributes) } }
+            def values = attributeFetcher.fetchAll(reads, attributeFetcher.collectionDeadline())
+            stale.eachWithIndex { bean, index ->
+                // beans whose read failed or missed the deadline have no values for this cycle
+                snapshots.put(bean.name(), new AttributeSnapshot(attributes, values[index] ?: [:]))
+            }
+        }
+        return beans.collect { bean ->
+            def snapshot = snapshots.get(bean.name())
+            snapshot.readers.add(reader)
+            snapshot.values
+        }
+    }
+
+    private Map<String, Object> fetchTrackedAttributes(GroovyMBean bean, Set<String> attributes) {
+        def values = [:] as Map<String, Object>
+        def toRead = changeTracker.select(bean.name(), attributes, values)
+        def read = fetchAttributes(bean, new LinkedHashSet<String>(toRead))
+        changeTracker.record(bean.name(), toRead, read)
+        values.putAll(read)
+        return values
+    }
+
+    private static Map<String, Object> fetchAttributes(GroovyMBean bean, Set<String> attributes) {
+        if (attributes.isEmpty()) {
+            return [:]
+        }
+        def values = [:] as Map<String, Object>
+        try {
+            bean.server().getAttributes(bean.name(), attributes as String[]).asList().each { Attribute attribute ->
+                values.put(attribute.name, attribute.value)
+            }
+        } catch (Exception e) {
+            // some MBean implementations do not support bulk reads, fall back to one read per attribute
+            logger.fine("Bulk read failed for mbean ${bean.name()}, reading attributes one by one: ${e}")
+            attributes.each { attribute ->
+                def value = getBeanAttribute(bean, attribute)
+                if (value != null) {
+                    values.put(attribute, value)
+                }
+            }
+            return values
         }
+        attributes.each { attribute ->
+            if (!values.containsKey(attribute)) {
+                logger.warning("Expected attribute ${attribute} not found in mbean ${bean.name()}")
+            }
+        }
+        return values
     }
 
     Object getBeanAttributeWithTransform(GroovyMBean bean, String attribute){
@@ -142,4 +234,15 @@ class MBeanHelper {
             null
         }
     }
+
+    private static class AttributeSnapshot {
+        private final Set<String> attributes
+        private final Map<String, Object> values
+        private final Set<Object> readers = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>())
+
+        AttributeSnapshot(Set<String> attributes, Map<String, Object> values) {
+            this.attributes = new HashSet<>(attributes)
+            this.values = values
+        }
+    }
 }
@@ -23,11 +23,28 @@ class OtelHelper {
     private final JmxClient jmxClient
     private final GroovyMetricEnvironment groovyMetricEnvironment
     private final boolean aggregateAcrossMBeans
+    private final AttributeFetcher attributeFetcher
+    // shared by the MBeanHelper instances of all the script runs, so that the tracking outlives them
+    private final AttributeChangeTracker changeTracker
 
     OtelHelper(JmxClient jmxClient, GroovyMetricEnvironment groovyMetricEnvironment, boolean aggregateAcrossMBeans) {
+        this(jmxClient, groovyMetricEnvironment, aggregateAcrossMBeans, AttributeFetcher.INLINE)
+    }
+
+    OtelHelper(JmxClient jmxClient, GroovyMetricEnvironment groovyMetricEnvironment, boolean aggregateAcrossMBeans, AttributeFetcher attributeFetcher) {
+        this(jmxClient, groovyMetricEnvironment, aggregateAcrossMBeans, attributeFetcher, AttributeChangeTracker.DISABLED)
+    }
+
+    OtelHelper(JmxClient jmxClient, GroovyMetricEnvironment groovyMetricEnvironment, boolean aggregateAcrossMBeans, AttributeFetcher attributeFetcher, AttributeChangeTracker changeTracker) {
         this.jmxClient = jmxClient
         this.groovyMetricEnvironment = groovyMetricEnvironment
         this.aggregateAcrossMBeans = aggregateAcrossMBeans
+        this.attributeFetcher = attributeFetcher
+        this.changeTracker = changeTracker
+        if (changeTracker != AttributeChangeTracker.DISABLED) {
+            // the values tracked for a previous connection may be the ones of a restarted JVM
+            jmxClient.addConnectionListener({ changeTracker.clear() } as Runnable)
+        }
     }
 
     /**
@@ -57,6 +74,8 @@ class OtelHelper {
      */
     MBeanHelper mbeans(String objNameStr) {
         def mbeanHelper = new MBeanHelper(jmxClient, objNameStr, false)
+        mbeanHelper.attributeFetcher = attributeFetcher
+        mbeanHelper.changeTracker = changeTracker
         mbeanHelper.fetch()
         return mbeanHelper
     }
@@ -69,6 +88,8 @@ class OtelHelper {
      */
     MBeanHelper mbeans(List<String> objNameStrs) {
         def mbeanHelper = new MBeanHelper(jmxClient, objNameStrs)
+        mbeanHelper.attributeFetcher = attributeFetcher
+        mbeanHelper.changeTracker = changeTracker
         mbeanHelper.fetch()
         return mbeanHelper
     }
@@ -81,18 +102,24 @@ class OtelHelper {
      */
     MBeanHelper mbean(String objNameStr) {
         def mbeanHelper = new MBeanHelper(jmxClient, objNameStr, true)
+        mbeanHelper.attributeFetcher = attributeFetcher
+        mbeanHelper.changeTracker = changeTracker
         mbeanHelper.fetch()
         return mbeanHelper
     }
 
     MBeanHelper mbean(String objNameStr, Map<String,Closure<?>> attributeTransformation) {
       def mbeanHelper = new MBeanHelper(jmxClient, objNameStr, true, attributeTransformation)
+      mbeanHelper.attributeFetcher = attributeFetcher
+      mbeanHelper.changeTracker = changeTracker
       mbeanHelper.fetch()
       return mbeanHelper
     }
 
     MBeanHelper mbeans(List<String> objNameStrs, Map<String,Closure<?>> attributeTransformation) {
       def mbeanHelper = new MBeanHelper(jmxClient, objNameStrs, attributeTransformation)
+      mbeanHelper.attributeFetcher = attributeFetcher
+      mbeanHelper.changeTracker = changeTracker
       mbeanHelper.fetch()
       return mbeanHelper
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxmetrics;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+
+class AttributeChangeTrackerTest {
+
+  private static final long MAX_READ_INTERVAL = Duration.ofMinutes(10).toNanos();
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final AttributeChangeTracker tracker =
+      new AttributeChangeTracker(MAX_READ_INTERVAL, nanoTime::get);
+
+  @Test
+  void constantAttributeIsReadLessOften() throws Exception {
+    ObjectName bean = new ObjectName("test:type=Test");
+
+    // 2 reads to find the value constant, then 1 read out of 2, 4, 8...
+    assertThat(readsOverCollections(bean, "MaxHeap", 16, collection -> 1024L))
+        .containsExactly(0, 1, 3, 6, 11);
+  }
+
+  @Test
+  void changedAttributeIsReadOnEveryCollection() throws Exception {
+    ObjectName bean = new ObjectName("test:type=Test");
+    assertThat(readsOverCollections(bean, "Count", 8, collection -> 1L))
+        .containsExactly(0, 1, 3, 6);
+
+    // the change is seen by the next scheduled read, then the attribute is read every time
+    assertThat(readsOverCollections(bean, "Count", 8, collection -> 2L + collection))
+        .containsExactly(3, 4, 5, 6, 7);
+  }
+
+  @Test
+  void constantAttributeIsReadAtLeastOncePerMaxInterval() throws Exception {
+    ObjectName bean = new ObjectName("test:type=Test");
+    // the last of those reads skips the next 8 collections
+    assertThat(readsOverCollections(bean, "Version", 12, collection -> "1.0"))
+        .containsExactly(0, 1, 3, 6, 11);
+
+    Map<String, Object> cached = new HashMap<>();
+    tracker.startCollection();
+    assertThat(tracker.select(bean, singletonList("Version"), cached)).isEmpty();
+    assertThat(cached).containsEntry("Version", "1.0");
+
+    nanoTime.addAndGet(MAX_READ_INTERVAL);
+    tracker.startCollection();
+    assertThat(tracker.select(bean, singletonList("Version"), new HashMap<>()))
+        .containsExactly("Version");
+  }
+
+  @Test
+  void attributeRequestedTwicePerCollectionCountsOnce() throws Exception {
+    ObjectName bean = new ObjectName("test:type=Test");
+    List<Integer> reads = new ArrayList<>();
+    for (int collection = 0; collection < 16; collection++) {
+      tracker.startCollection();
+      // e.g. two metrics of the same attribute, each reading the bean
+      for (int metric = 0; metric < 2; metric++) {
+        Map<String, Object> cached = new HashMap<>();
+        List<String> toRead = tracker.select(bean, singletonList("MaxHeap"), cached);
+        if (toRead.isEmpty()) {
+          assertThat(cached).containsEntry("MaxHeap", 1024L);
+        } else {
+          reads.add(collection);
+          tracker.record(bean, toRead, singletonMap("MaxHeap", 1024L));
+        }
+      }
+    }
+
+    // the second request of a collection is served with the first one's value
+    assertThat(reads).containsExactly(0, 1, 3, 6, 11);
+  }
+
+  @Test
+  void clearedTrackerReadsAttributesAgain() throws Exception {
+    ObjectName bean = new ObjectName("test:type=Test");
+    assertThat(readsOverCollections(bean, "Version", 4, collection -> "1.0"))
+        .containsExactly(0, 1, 3);
+
+    // e.g. after connecting to a restarted JVM
+    tracker.clear();
+    assertThat(tracker.select(bean, singletonList("Version"), new HashMap<>()))
+        .containsExactly("Version");
+    assertThat(tracker.size()).isZero();
+  }
+
+  @Test
+  void missingAttributesAndUnusedBeansAreNotTracked() throws Exception {
+    ObjectName bean = new ObjectName("test:type=Test");
+    ObjectName removed = new ObjectName("test:type=Removed");
+    tracker.record(bean, asList("Present", "Missing"), singletonMap("Present", 1));
+    tracker.record(removed, singletonList("Present"), singletonMap("Present", 1));
+    assertThat(tracker.size()).isEqualTo(2);
+
+    nanoTime.addAndGet(MAX_READ_INTERVAL / 2);
+    tracker.select(bean, singletonList("Present"), new HashMap<>());
+    nanoTime.addAndGet(MAX_READ_INTERVAL / 2 + 1);
+    tracker.select(bean, singletonList("Present"), new HashMap<>());
+    assertThat(tracker.size()).isEqualTo(1);
+  }
+
+  @Test
+  void disabledTrackerReadsEverything() throws Exception {
+    ObjectName bean = new ObjectName("test:type=Test");
+    AttributeChangeTracker disabled = AttributeChangeTracker.create(0);
+    for (int i = 0; i < 4; i++) {
+      disabled.record(bean, singletonList("Value"), singletonMap("Value", 1));
+    }
+
+    assertThat(disabled.select(bean, singletonList("Value"), new HashMap<>()))
+        .containsExactly("Value");
+    assertThat(disabled.size()).isZero();
+  }
+
+  /** Returns the collections in which the attribute was read. */
+  private List<Integer> readsOverCollections(
+      ObjectName bean, String attribute, int collections, IntFunction<Object> values) {
+    List<Integer> reads = new ArrayList<>();
+    for (int collection = 0; collection < collections; collection++) {
+      tracker.startCollection();
+      Map<String, Object> cached = new HashMap<>();
+      List<String> toRead = tracker.select(bean, singletonList(attribute), cached);
+      if (toRead.isEmpty()) {
+        assertThat(cached).containsKey(attribute);
+      } else {
+        reads.add(collection);
+        tracker.record(bean, toRead, singletonMap(attribute, values.apply(collection)));
+      }
+    }
+    return reads;
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxmetrics;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 10, unit = SECONDS)
+class AttributeFetcherTest {
+
+  private InMemoryMetricReader metricReader;
+  private GroovyMetricEnvironment metricEnvironment;
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    metricEnvironment = new GroovyMetricEnvironment(meterProvider, "otel.test");
+  }
+
+  @AfterEach
+  void releaseReads() {
+    release.countDown();
+  }
+
+  @Test
+  void readsInParallel() {
+    AttributeFetcher fetcher = AttributeFetcher.create(4, 5000, metricEnvironment);
+    CountDownLatch started = new CountDownLatch(4);
+    List<Callable<String>> reads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      String value = "value" + i;
+      reads.add(
+          () -> {
+            // completes only if all the reads run at the same time
+            started.countDown();
+            started.await();
+            return value;
+          });
+    }
+
+    assertThat(fetcher.fetchAll(reads, fetcher.collectionDeadline()))
+        .containsExactly("value0", "value1", "value2", "value3");
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasName("jmx.scrape.duration")
+                    .hasUnit("s")
+                    .hasHistogramSatisfying(
+                        histogram -> histogram.hasPointsSatisfying(point -> point.hasCount(1))));
+  }
+
+  @Test
+  void dropsReadsMissingTheDeadline() {
+    AttributeFetcher fetcher = AttributeFetcher.create(2, 100, metricEnvironment);
+    List<Callable<String>> reads =
+        Arrays.asList(
+            () -> "fast",
+            () -> {
+              release.await();
+              return "slow";
+            });
+
+    assertThat(fetcher.fetchAll(reads, fetcher.collectionDeadline())).containsExactly("fast", null);
+    assertThat(metricReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("jmx.scrape.timeouts")
+                    .hasLongSumSatisfying(
+                        sum -> sum.isMonotonic().hasPointsSatisfying(point -> point.hasValue(1))));
+  }
+
+  @Test
+  void failedReadsHaveNoResult() {
+    AttributeFetcher fetcher = AttributeFetcher.create(2, 5000, metricEnvironment);
+    List<Callable<String>> reads =
+        Arrays.asList(
+            () -> {
+              throw new IllegalStateException("unreachable");
+            },
+            () -> "value");
+
+    assertThat(fetcher.fetchAll(reads, fetcher.collectionDeadline()))
+        .containsExactly(null, "value");
+  }
+
+  @Test
+  void readsOfACollectionShareItsDeadline() {
+    AttributeFetcher fetcher = AttributeFetcher.create(2, 100, metricEnvironment);
+    AtomicInteger started = new AtomicInteger();
+    List<Callable<String>> slowReads =
+        Arrays.asList(
+            () -> {
+              started.incrementAndGet();
+              release.await();
+              return "slow";
+            });
+    List<Callable<String>> fastReads =
+        Arrays.asList(
+            () -> {
+              started.incrementAndGet();
+              return "fast";
+            });
+
+    assertThat(fetcher.fetchAll(slowReads, fetcher.collectionDeadline())).containsOnlyNulls();
+    // the deadline of the collection has passed, the read is not started
+    assertThat(fetcher.fetchAll(fastReads, fetcher.collectionDeadline())).containsOnlyNulls();
+    assertThat(started).hasValue(1);
+
+    fetcher.startCollection();
+    assertThat(fetcher.fetchAll(fastReads, fetcher.collectionDeadline())).containsExactly("fast");
+  }
+
+  @Test
+  void failedInlineReadsHaveNoResult() {
+    List<Callable<String>> reads =
+        Arrays.asList(
+            () -> {
+              throw new IllegalStateException("unreachable");
+            },
+            () -> "value");
+
+    assertThat(AttributeFetcher.INLINE.fetchAll(reads, 0)).containsExactly(null, "value");
+  }
+
+  @Test
+  void closedFetcherDoesNotRead() {
+    AttributeFetcher fetcher = AttributeFetcher.create(2, 5000, metricEnvironment);
+    fetcher.close();
+    List<Callable<String>> reads = Arrays.asList(() -> "value");
+
+    assertThat(fetcher.fetchAll(reads, fetcher.collectionDeadline())).containsOnlyNulls();
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxmetrics;
+
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import groovy.jmx.GroovyMBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 20, unit = SECONDS)
+class JmxClientTest {
+
+  private static final MBeanServer mbeanServer = getPlatformMBeanServer();
+
+  @SuppressWarnings("NonFinalStaticField") // https://github.com/google/error-prone/issues/4239
+  private static JMXConnectorServer jmxServer;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    JMXServiceURL serviceUrl = new JMXServiceURL("rmi", "localhost", 0);
+    jmxServer =
+        JMXConnectorServerFactory.newJMXConnectorServer(
+            serviceUrl, Collections.emptyMap(), mbeanServer);
+    jmxServer.start();
+  }
+
+  @AfterAll
+  static void tearDown() throws Exception {
+    jmxServer.stop();
+  }
+
+  @Test
+  void queryResultsAreCachedUntilRegistrationChanges() throws Exception {
+    String thingName = "io.opentelemetry.contrib.jmxmetrics:type=cachedThing";
+    ObjectName pattern = new ObjectName(thingName + ",*");
+    ObjectName otherPattern = new ObjectName("io.opentelemetry.contrib.jmxmetrics:type=other,*");
+    mbeanServer.registerMBean(new Thing(), new ObjectName(thingName + ",thing=0"));
+    mbeanServer.registerMBean(new Thing(), new ObjectName(thingName + ",thing=1"));
+
+    CountingJmxClient client = new CountingJmxClient();
+    assertThat(client.query(pattern)).hasSize(2);
+    assertThat(client.query(otherPattern)).isEmpty();
+    assertThat(client.query(pattern)).hasSize(2);
+    assertThat(client.query(otherPattern)).isEmpty();
+    assertThat(client.calls("queryNames")).isEqualTo(2);
+
+    ObjectName added = new ObjectName(thingName + ",thing=2");
+    mbeanServer.registerMBean(new Thing(), added);
+    await().untilAsserted(() -> assertThat(client.query(pattern)).hasSize(3));
+
+    mbeanServer.unregisterMBean(added);
+    await().untilAsserted(() -> assertThat(client.query(pattern)).hasSize(2));
+
+    // results for patterns not matching the changed MBean are kept
+    int queryCount = client.calls("queryNames");
+    assertThat(client.query(otherPattern)).isEmpty();
+    assertThat(client.calls("queryNames")).isEqualTo(queryCount);
+  }
+
+  @Test
+  void mbeansAreCachedUntilRegistrationChanges() throws Exception {
+    String thingName = "io.opentelemetry.contrib.jmxmetrics:type=cachedMBean";
+    ObjectName pattern = new ObjectName(thingName + ",*");
+    mbeanServer.registerMBean(new Thing(), new ObjectName(thingName + ",thing=0"));
+    mbeanServer.registerMBean(new Thing(), new ObjectName(thingName + ",thing=1"));
+
+    CountingJmxClient client = new CountingJmxClient();
+    List<GroovyMBean> mbeans = client.getMBeans(client.query(pattern));
+    assertThat(mbeans).hasSize(2);
+    assertThat(client.calls("getMBeanInfo")).isEqualTo(2);
+
+    // the MBean info is not read again
+    assertThat(client.getMBeans(client.query(pattern))).containsExactlyElementsOf(mbeans);
+    assertThat(client.calls("getMBeanInfo")).isEqualTo(2);
+
+    // only the newly registered MBean is read
+    ObjectName added = new ObjectName(thingName + ",thing=2");
+    mbeanServer.registerMBean(new Thing(), added);
+    await().untilAsserted(() -> assertThat(client.getMBeans(client.query(pattern))).hasSize(3));
+    assertThat(client.getMBeans(client.query(pattern))).startsWith(mbeans.get(0), mbeans.get(1));
+    assertThat(client.calls("getMBeanInfo")).isEqualTo(3);
+
+    mbeanServer.unregisterMBean(added);
+    await().untilAsserted(() -> assertThat(client.getMBeans(client.query(pattern))).hasSize(2));
+    assertThat(client.calls("getMBeanInfo")).isEqualTo(3);
+  }
+
+  @Test
+  void registrationListenerIsRemovedFromPreviousConnection() throws Exception {
+    ObjectName pattern = new ObjectName("io.opentelemetry.contrib.jmxmetrics:type=other,*");
+    CountingJmxClient client = new CountingJmxClient();
+    client.query(pattern);
+    assertThat(client.calls("addNotificationListener")).isEqualTo(1);
+
+    client.reconnect();
+    client.query(pattern);
+    assertThat(client.calls("removeNotificationListener")).isEqualTo(1);
+    assertThat(client.calls("addNotificationListener")).isEqualTo(2);
+  }
+
+  @Test
+  void connectionListenersRunOnNewConnections() throws Exception {
+    JmxClient client = new JmxClient(CountingJmxClient.config());
+    AtomicInteger connections = new AtomicInteger();
+    client.addConnectionListener(connections::incrementAndGet);
+
+    assertThat(client.getConnection()).isNotNull();
+    assertThat(client.getConnection()).isNotNull();
+    assertThat(connections).hasValue(1);
+  }
+
+  private static class CountingJmxClient extends JmxClient {
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    @Nullable private MBeanServerConnection connection;
+
+    CountingJmxClient() throws Exception {
+      super(config());
+    }
+
+    private static JmxConfig config() {
+      Properties props = new Properties();
+      props.setProperty(JmxConfig.SERVICE_URL, jmxServer.getAddress().toString());
+      return new JmxConfig(props);
+    }
+
+    @Override
+    public MBeanServerConnection getConnection() {
+      if (connection == null) {
+        MBeanServerConnection delegate = super.getConnection();
+        connection =
+            (MBeanServerConnection)
+                Proxy.newProxyInstance(
+                    MBeanServerConnection.class.getClassLoader(),
+                    new Class<?>[] {MBeanServerConnection.class},
+                    (proxy, method, args) -> {
+                      calls
+                          .computeIfAbsent(method.getName(), unused -> new AtomicInteger())
+                          .incrementAndGet();
+                      try {
+                        return method.invoke(delegate, args);
+                      } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                      }
+                    });
+      }
+      return connection;
+    }
+
+    int calls(String method) {
+      AtomicInteger count = calls.get(method);
+      return count == null ? 0 : count.get();
+    }
+
+    // the next connection is seen as a new one, although to the same server
+    void reconnect() {
+      connection = null;
+    }
+  }
+
+  public interface ThingMBean {
+    String getSomeAttribute();
+  }
+
+  static class Thing implements ThingMBean {
+    @Override
+    public String getSomeAttribute() {
+      return "";
+    }
+  }
+}
@@ -53,6 +53,9 @@ class JmxConfigTest {
     assertThat(config.realm).isNull();
     assertThat(config.properties.getProperty("otel.metric.export.interval")).isEqualTo("10000");
     assertThat(config.aggregateAcrossMBeans).isFalse();
+    assertThat(config.collectionThreads).isEqualTo(4);
+    assertThat(config.collectionTimeoutMilliseconds).isEqualTo(10000);
+    assertThat(config.attributeMaxReadIntervalMilliseconds).isZero();
   }
 
   @Test
@@ -70,6 +73,9 @@ class JmxConfigTest {
   @SetSystemProperty(key = "otel.jmx.password", value = "myPassword")
   @SetSystemProperty(key = "otel.jmx.remote.profile", value = "myRemoteProfile")
   @SetSystemProperty(key = "otel.jmx.realm", value = "myRealm")
+  @SetSystemProperty(key = "otel.jmx.collection.threads", value = "8")
+  @SetSystemProperty(key = "otel.jmx.collection.timeout.milliseconds", value = "100")
+  @SetSystemProperty(key = "otel.jmx.attribute.max.read.interval.milliseconds", value = "600000")
   void specifiedValues() {
     JmxConfig config = new JmxConfig();
 
@@ -89,6 +95,9 @@ class JmxConfigTest {
     assertThat(config.remoteProfile).isEqualTo("myRemoteProfile");
     assertThat(config.realm).isEqualTo("myRealm");
     assertThat(config.aggregateAcrossMBeans).isFalse();
+    assertThat(config.collectionThreads).isEqualTo(8);
+    assertThat(config.collectionTimeoutMilliseconds).isEqualTo(100);
+    assertThat(config.attributeMaxReadIntervalMilliseconds).isEqualTo(600000);
   }
 
   @Test
@@ -199,6 +208,30 @@ class JmxConfigTest {
                 + "kafka, kafka-consumer, kafka-producer, solr, tomcat, wildfly]");
   }
 
+  @Test
+  @SetSystemProperty(key = "otel.jmx.service.url", value = "requiredValue")
+  @SetSystemProperty(key = "otel.jmx.target.system", value = "jvm")
+  @SetSystemProperty(key = "otel.jmx.collection.threads", value = "0")
+  void invalidCollectionThreads() {
+    JmxConfig config = new JmxConfig();
+
+    assertThatThrownBy(config::validate)
+        .isInstanceOf(ConfigurationException.class)
+        .hasMessage("otel.jmx.collection.threads must be positive.");
+  }
+
+  @Test
+  @SetSystemProperty(key = "otel.jmx.service.url", value = "requiredValue")
+  @SetSystemProperty(key = "otel.jmx.target.system", value = "jvm")
+  @SetSystemProperty(key = "otel.jmx.attribute.max.read.interval.milliseconds", value = "-1")
+  void invalidAttributeMaxReadInterval() {
+    JmxConfig config = new JmxConfig();
+
+    assertThatThrownBy(config::validate)
+        .isInstanceOf(ConfigurationException.class)
+        .hasMessage("otel.jmx.attribute.max.read.interval.milliseconds must not be negative.");
+  }
+
   @Test
   @SetSystemProperty(key = "otel.metric.export.interval", value = "123")
   void otelMetricExportIntervalRespected() {
@@ -9,18 +9,27 @@ import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import groovy.jmx.GroovyMBean;
 import groovy.lang.Closure;
+import groovy.lang.Tuple3;
 import groovy.util.Eval;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
 import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 import javax.management.remote.JMXConnectorServer;
@@ -192,6 +201,116 @@ class MBeanHelperTest {
         .hasSameElementsAs(Stream.of("customValue").collect(Collectors.toList()));
   }
 
+  @Test
+  void bulkAttributeReads() throws Exception {
+    String thingName = "io.opentelemetry.contrib.jmxmetrics:type=bulkThing";
+    registerThings(thingName);
+    Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    MBeanHelper mBeanHelper = new MBeanHelper(countingClient(calls), thingName + ",*", false);
+    mBeanHelper.fetch();
+    calls.clear();
+
+    Set<String> attributes =
+        new LinkedHashSet<>(Arrays.asList("SomeAttribute", "AnotherAttribute", "MissingAttribute"));
+    List<Tuple3<GroovyMBean, String, Object>> values = mBeanHelper.getAttributes(attributes);
+
+    assertThat(values).hasSize(300);
+    assertThat(values)
+        .filteredOn(value -> value.getV2().equals("SomeAttribute"))
+        .extracting(Tuple3::getV3)
+        .hasSameElementsAs(
+            IntStream.range(0, 100).mapToObj(Integer::toString).collect(Collectors.toList()));
+    assertThat(values)
+        .filteredOn(value -> value.getV2().equals("MissingAttribute"))
+        .extracting(Tuple3::getV3)
+        .containsOnlyNulls();
+    // one round trip per bean for all attributes
+    assertThat(calls.get("getAttributes")).hasValue(100);
+    assertThat(calls).doesNotContainKey("getAttribute");
+  }
+
+  @Test
+  void bulkAttributeReadsAreSharedWithinCycle() throws Exception {
+    String thingName = "io.opentelemetry.contrib.jmxmetrics:type=sharedThing";
+    registerThings(thingName);
+    Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    MBeanHelper mBeanHelper = new MBeanHelper(countingClient(calls), thingName + ",*", false);
+    mBeanHelper.fetch();
+    mBeanHelper.registerAttributes(Arrays.asList("SomeAttribute", "AnotherAttribute"));
+    calls.clear();
+
+    Object firstInstrument = new Object();
+    Object secondInstrument = new Object();
+    List<GroovyMBean> beans = mBeanHelper.getMBeans();
+
+    List<Map<String, Object>> first = mBeanHelper.readAttributes(beans, firstInstrument);
+    List<Map<String, Object>> second = mBeanHelper.readAttributes(beans, secondInstrument);
+    assertThat(second).isEqualTo(first);
+    assertThat(first.get(0)).containsOnlyKeys("SomeAttribute", "AnotherAttribute");
+    assertThat(calls.get("getAttributes")).hasValue(100);
+
+    // reading again starts a new collection cycle
+    mBeanHelper.readAttributes(beans, firstInstrument);
+    mBeanHelper.readAttributes(beans, secondInstrument);
+    assertThat(calls.get("getAttributes")).hasValue(200);
+    assertThat(calls).doesNotContainKey("getAttribute");
+  }
+
+  @Test
+  void constantAttributesAreReadLessOften() throws Exception {
+    String thingName = "io.opentelemetry.contrib.jmxmetrics:type=constantThing";
+    registerThings(thingName);
+    Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    MBeanHelper mBeanHelper = new MBeanHelper(countingClient(calls), thingName + ",*", false);
+    mBeanHelper.changeTracker = new AttributeChangeTracker(Long.MAX_VALUE, () -> 0L);
+    mBeanHelper.fetch();
+    mBeanHelper.registerAttributes(Arrays.asList("SomeAttribute", "AnotherAttribute"));
+    calls.clear();
+
+    Object instrument = new Object();
+    List<GroovyMBean> beans = mBeanHelper.getMBeans();
+
+    mBeanHelper.changeTracker.startCollection();
+    List<Map<String, Object>> first = mBeanHelper.readAttributes(beans, instrument);
+    mBeanHelper.changeTracker.startCollection();
+    mBeanHelper.readAttributes(beans, instrument);
+    assertThat(calls.get("getAttributes")).hasValue(200);
+
+    // the values did not change, the next collection reuses them without reading the beans
+    mBeanHelper.changeTracker.startCollection();
+    assertThat(mBeanHelper.readAttributes(beans, instrument)).isEqualTo(first);
+    assertThat(calls.get("getAttributes")).hasValue(200);
+
+    mBeanHelper.changeTracker.startCollection();
+    mBeanHelper.readAttributes(beans, instrument);
+    assertThat(calls.get("getAttributes")).hasValue(300);
+  }
+
+  private static JmxClient countingClient(Map<String, AtomicInteger> calls) throws Exception {
+    Properties props = new Properties();
+    props.setProperty(JmxConfig.SERVICE_URL, jmxServer.getAddress().toString());
+    return new JmxClient(new JmxConfig(props)) {
+      @Override
+      public MBeanServerConnection getConnection() {
+        MBeanServerConnection connection = super.getConnection();
+        return (MBeanServerConnection)
+            Proxy.newProxyInstance(
+                MBeanServerConnection.class.getClassLoader(),
+                new Class<?>[] {MBeanServerConnection.class},
+                (proxy, method, args) -> {
+                  calls
+                      .computeIfAbsent(method.getName(), unused -> new AtomicInteger())
+                      .incrementAndGet();
+                  try {
+                    return method.invoke(connection, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                  }
+                });
+      }
+    };
+  }
+
   private static void registerThings(String thingName) throws Exception {
     for (int i = 0; i < 100; i++) {
       Thing thing = new Thing(Integer.toString(i));
@@ -0,0 +1,181 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+import javax.management.ObjectName;
+
+/**
+ * Adapts the read frequency of each MBean attribute of one remote JVM to how often its value
+ * changes.
+ *
+ * <p>An attribute read in two collections with the same value is then served from its last value
+ * for the next collection, then for the next 2, 4, 8... collections while the value stays the same.
+ * A changed value brings the attribute back to one remote read per collection. Attributes are read
+ * at least once per maximum read interval, which bounds how late a change of a constant attribute
+ * is seen.
+ *
+ * <p>Several metrics can be defined on the same attribute, thus an attribute can be requested more
+ * than once per collection: all the requests of a collection are served with the value of its first
+ * request, and only that one counts in the read frequency.
+ */
+final class AttributeChangeTracker {
+
+  // bounds the doubling, the maximum read interval being the effective limit
+  private static final int MAX_SKIPPED_READS = 1 << 16;
+
+  private final long maxReadIntervalNanos;
+  private final LongSupplier nanoTime;
+  private final Map<ObjectName, Map<String, TrackedValue>> values = new ConcurrentHashMap<>();
+  private volatile long lastEvictionNanos;
+  private final AtomicLong collection = new AtomicLong();
+
+  AttributeChangeTracker(Duration maxReadInterval) {
+    this(maxReadInterval, System::nanoTime);
+  }
+
+  // visible for testing
+  AttributeChangeTracker(Duration maxReadInterval, LongSupplier nanoTime) {
+    this.maxReadIntervalNanos = maxReadInterval.toNanos();
+    this.nanoTime = nanoTime;
+    this.lastEvictionNanos = nanoTime.getAsLong();
+  }
+
+  /** Starts a new collection, to be called once per collection of the metrics. */
+  void startCollection() {
+    collection.incrementAndGet();
+  }
+
+  /**
+   * Returns the attributes of {@code bean} that must be read from the remote JVM, and puts the
+   * values of the other ones in {@code cachedValues}.
+   */
+  List<String> select(ObjectName bean, List<String> attributes, Map<String, Object> cachedValues) {
+    long now = nanoTime.getAsLong();
+    long currentCollection = collection.get();
+    evictUnused(now);
+
+    Map<String, TrackedValue> beanValues = values.get(bean);
+    if (beanValues == null) {
+      return attributes;
+    }
+    List<String> toRead = new ArrayList<>(attributes.size());
+    for (String attribute : attributes) {
+      TrackedValue tracked = beanValues.get(attribute);
+      Object cached =
+          tracked == null ? null : tracked.skipRead(now, currentCollection, maxReadIntervalNanos);
+      if (cached == null) {
+        toRead.add(attribute);
+      } else {
+        cachedValues.put(attribute, cached);
+      }
+    }
+    return toRead;
+  }
+
+  /** Records a value read from the remote JVM, {@code null} when the attribute was not found. */
+  void record(ObjectName bean, String attribute, @Nullable Object value) {
+    long now = nanoTime.getAsLong();
+    long currentCollection = collection.get();
+    if (value == null) {
+      Map<String, TrackedValue> beanValues = values.get(bean);
+      if (beanValues != null) {
+        beanValues.remove(attribute);
+      }
+      return;
+    }
+    values
+        .computeIfAbsent(bean, unused -> new ConcurrentHashMap<>())
+        .compute(
+            attribute,
+            (unused, tracked) -> {
+              if (tracked == null) {
+                return new TrackedValue(value, now, currentCollection);
+              }
+              tracked.update(value, now, currentCollection);
+              return tracked;
+            });
+  }
+
+  /** Forgets all the values, e.g. after connecting again to a possibly restarted JVM. */
+  void clear() {
+    values.clear();
+  }
+
+  // visible for testing
+  int size() {
+    return values.values().stream().mapToInt(Map::size).sum();
+  }
+
+  // drops the attributes that are not requested anymore, e.g. of unregistered beans
+  private void evictUnused(long now) {
+    if (now - lastEvictionNanos < maxReadIntervalNanos) {
+      return;
+    }
+    lastEvictionNanos = now;
+    for (Map<String, TrackedValue> beanValues : values.values()) {
+      beanValues
+          .values()
+          .removeIf(tracked -> now - tracked.lastRequestNanos > maxReadIntervalNanos);
+    }
+    values.values().removeIf(Map::isEmpty);
+  }
+
+  private static final class TrackedValue {
+    private Object value;
+    private long lastReadNanos;
+    private volatile long lastRequestNanos;
+    private int readsToSkip;
+    private int skippedReads;
+    // collection in which the value was last read or served
+    private long servedCollection;
+
+    private TrackedValue(Object value, long now, long collection) {
+      this.value = value;
+      this.lastReadNanos = now;
+      this.lastRequestNanos = now;
+      this.servedCollection = collection;
+    }
+
+    /** Returns the value to serve when this read can be skipped, {@code null} otherwise. */
+    @Nullable
+    private synchronized Object skipRead(long now, long collection, long maxReadIntervalNanos) {
+      lastRequestNanos = now;
+      if (servedCollection == collection) {
+        return value;
+      }
+      if (skippedReads >= readsToSkip || now - lastReadNanos >= maxReadIntervalNanos) {
+        return null;
+      }
+      skippedReads++;
+      servedCollection = collection;
+      return value;
+    }
+
+    private synchronized void update(Object newValue, long now, long collection) {
+      if (servedCollection != collection) {
+        readsToSkip =
+            Objects.deepEquals(value, newValue)
+                ? Math.min(Math.max(1, readsToSkip * 2), MAX_SKIPPED_READS)
+                : 0;
+        skippedReads = 0;
+        servedCollection = collection;
+      }
+      // concurrent reads of the same collection only refresh the value
+      value = newValue;
+      lastReadNanos = now;
+      lastRequestNanos = now;
+    }
+  }
+}
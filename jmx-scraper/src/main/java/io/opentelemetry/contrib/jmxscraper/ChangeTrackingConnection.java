@@ -0,0 +1,109 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import static java.util.Arrays.asList;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+
+/**
+ * Serves the attribute reads of an {@link MBeanServerConnection} from an {@link
+ * AttributeChangeTracker} when the attribute value is not due to be read again, and delegates all
+ * the other calls to the remote connection.
+ *
+ * <p>The metrics are read from the connection by the JMX instrumentation, thus this wraps the
+ * connection instead of changing how the instrumentation reads the attributes.
+ */
+final class ChangeTrackingConnection implements InvocationHandler {
+
+  private final MBeanServerConnection delegate;
+  private final AttributeChangeTracker tracker;
+
+  static MBeanServerConnection wrap(
+      MBeanServerConnection connection, AttributeChangeTracker tracker) {
+    return (MBeanServerConnection)
+        Proxy.newProxyInstance(
+            ChangeTrackingConnection.class.getClassLoader(),
+            new Class<?>[] {MBeanServerConnection.class},
+            new ChangeTrackingConnection(connection, tracker));
+  }
+
+  private ChangeTrackingConnection(MBeanServerConnection delegate, AttributeChangeTracker tracker) {
+    this.delegate = delegate;
+    this.tracker = tracker;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getName().equals("getAttribute") && args.length == 2) {
+      return getAttribute((ObjectName) args[0], (String) args[1]);
+    }
+    if (method.getName().equals("getAttributes") && args.length == 2) {
+      return getAttributes((ObjectName) args[0], (String[]) args[1]);
+    }
+    try {
+      return method.invoke(delegate, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private Object getAttribute(ObjectName bean, String attribute) throws Exception {
+    Map<String, Object> cached = new HashMap<>();
+    tracker.select(bean, asList(attribute), cached);
+    Object value = cached.get(attribute);
+    if (value != null) {
+      return value;
+    }
+    try {
+      value = delegate.getAttribute(bean, attribute);
+    } catch (Exception e) {
+      // a failed read is tried again on the next collection
+      tracker.record(bean, attribute, null);
+      throw e;
+    }
+    tracker.record(bean, attribute, value);
+    return value;
+  }
+
+  private AttributeList getAttributes(ObjectName bean, String[] attributes) throws Exception {
+    Map<String, Object> values = new HashMap<>();
+    List<String> toRead = tracker.select(bean, asList(attributes), values);
+    if (!toRead.isEmpty()) {
+      AttributeList read = delegate.getAttributes(bean, toRead.toArray(new String[0]));
+      Map<String, Object> readValues = new HashMap<>();
+      for (Attribute attribute : read.asList()) {
+        readValues.put(attribute.getName(), attribute.getValue());
+      }
+      for (String attribute : toRead) {
+        Object value = readValues.get(attribute);
+        tracker.record(bean, attribute, value);
+        if (readValues.containsKey(attribute)) {
+          values.put(attribute, value);
+        }
+      }
+    }
+
+    // same order as requested, without the attributes that could not be read
+    AttributeList result = new AttributeList(attributes.length);
+    for (String attribute : attributes) {
+      if (values.containsKey(attribute)) {
+        result.add(new Attribute(attribute, values.get(attribute)));
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnectionNotification;
+import javax.management.remote.JMXConnector;
+
+/**
+ * Holds the connection to one remote JVM, connecting again after it is closed or failed.
+ *
+ * <p>The same connection is used to read the remote service instance ID, to test the connection
+ * and to scrape metrics. After a failed attempt or a lost connection, the next attempt is delayed
+ * by an exponential backoff with jitter, so that a flapping target is not flooded with connection
+ * attempts. The backoff is only reset once a connection has stayed up for the maximum backoff.
+ */
+class ConnectionHandler implements Closeable {
+  private static final Logger logger = Logger.getLogger(ConnectionHandler.class.getName());
+
+  static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+  static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+
+  private final JmxConnectorBuilder client;
+  private final String description;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+  private final LongSupplier nanoTime;
+  @Nullable private JMXConnector connector;
+  @Nullable private MBeanServerConnection connection;
+  private volatile boolean connected;
+  private long connectedAtNanos;
+  // number of attempts since the last stable connection, and earliest time of the next one
+  private int failures;
+  private long nextAttemptNanos;
+
+  ConnectionHandler(JmxConnectorBuilder client) {
+    this(client, "");
+  }
+
+  /** Creates a handler prefixing its log messages with {@code description}. */
+  ConnectionHandler(JmxConnectorBuilder client, String description) {
+    this(client, description, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+  }
+
+  ConnectionHandler(
+      JmxConnectorBuilder client,
+      String description,
+      Duration initialBackoff,
+      Duration maxBackoff) {
+    this(client, description, initialBackoff, maxBackoff, System::nanoTime);
+  }
+
+  // visible for testing
+  ConnectionHandler(
+      JmxConnectorBuilder client,
+      String description,
+      Duration initialBackoff,
+      Duration maxBackoff,
+      LongSupplier nanoTime) {
+    this.client = client;
+    this.description = description;
+    this.initialBackoffNanos = initialBackoff.toNanos();
+    this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Returns the connection to the remote JVM, connecting first when needed, or {@code null} when
+   * the connection failed or when the next attempt is still delayed by the backoff.
+   */
+  @Nullable
+  synchronized MBeanServerConnection getMBeanServerConnection() {
+    if (!connected) {
+      if (failures > 0 && nanoTime.getAsLong() - nextAttemptNanos < 0) {
+        logger.log(FINE, description + "JMX connection attempt delayed by backoff");
+        return null;
+      }
+      connect();
+    }
+    return connection;
+  }
+
+  private void connect() {
+    try {
+      connector = client.build();
+      connector.addConnectionNotificationListener(
+          (notification, handback) -> {
+            if (notification.getType().equals(JMXConnectionNotification.CLOSED)
+                || notification.getType().equals(JMXConnectionNotification.FAILED)) {
+              handleDisconnect();
+            }
+          },
+          null,
+          null);
+      connection = connector.getMBeanServerConnection();
+      connected = true;
+      connectedAtNanos = nanoTime.getAsLong();
+    } catch (IOException e) {
+      logger.log(WARNING, description + "Failed to establish JMX connection", e);
+      if (connector != null) {
+        closeQuietly(connector);
+        connector = null;
+      }
+      backOff();
+    }
+  }
+
+  private synchronized void handleDisconnect() {
+    if (connector != null && connected) {
+      logger.info(description + "JMX connection closed, attempting to reconnect");
+
+      connected = false;
+      closeQuietly(connector);
+      connector = null;
+      connection = null;
+      if (nanoTime.getAsLong() - connectedAtNanos >= maxBackoffNanos) {
+        failures = 0;
+      }
+      backOff();
+    }
+  }
+
+  /** Delays the next attempt by a random duration between half and all of the current backoff. */
+  private void backOff() {
+    long backoff = initialBackoffNanos;
+    for (int i = 0; i < failures && backoff < maxBackoffNanos; i++) {
+      backoff *= 2;
+    }
+    backoff = Math.min(backoff, maxBackoffNanos);
+    failures++;
+    nextAttemptNanos =
+        nanoTime.getAsLong() + backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (connector != null) {
+      connected = false;
+      connector.close();
+      connector = null;
+      connection = null;
+    }
+  }
+
+  private static void closeQuietly(AutoCloseable closeable) {
+    try {
+      closeable.close();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+}
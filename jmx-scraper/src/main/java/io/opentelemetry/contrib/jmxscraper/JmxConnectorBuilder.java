@@ -16,6 +16,7 @@ import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.security.Provider;
 import java.security.Security;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -44,6 +45,7 @@ public final class JmxConnectorBuilder {
   @Nullable private String profile;
   @Nullable private String realm;
   private boolean sslRegistry;
+  @Nullable private Duration connectionCheckPeriod;
 
   // used only with ssl registry
   private static final SslRMIClientSocketFactory sslRmiClientSocketFactory =
@@ -91,6 +93,19 @@ public final class JmxConnectorBuilder {
     return this;
   }
 
+  /**
+   * Sets the period of the client-side checks of the connection, which detect a lost connection
+   * even when no request is being made to the remote JVM.
+   *
+   * @param period check period, zero disables the checks
+   * @return this builder
+   */
+  @CanIgnoreReturnValue
+  public JmxConnectorBuilder withConnectionCheckPeriod(Duration period) {
+    this.connectionCheckPeriod = period;
+    return this;
+  }
+
   /**
    * Builds JMX connector instance by connecting to the remote JMX endpoint
    *
@@ -122,6 +137,10 @@ public final class JmxConnectorBuilder {
       env.put("jmx.remote.profile", profile);
     }
 
+    if (connectionCheckPeriod != null) {
+      env.put("jmx.remote.x.client.connection.check.period", connectionCheckPeriod.toMillis());
+    }
+
     try {
       // Not all supported versions of Java contain this Provider
       // Also it might not be accessible due to java.security.sasl module not accessible
@@ -9,42 +9,52 @@ import static io.opentelemetry.semconv.ServiceAttributes.SERVICE_INSTANCE_ID;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.SEVERE;
 import static java.util.logging.Level.WARNING;
 
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig;
 import io.opentelemetry.contrib.jmxscraper.config.PropertiesCustomizer;
 import io.opentelemetry.contrib.jmxscraper.config.PropertiesSupplier;
 import io.opentelemetry.instrumentation.jmx.JmxTelemetry;
 import io.opentelemetry.instrumentation.jmx.JmxTelemetryBuilder;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigurationException;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
 import io.opentelemetry.sdk.resources.Resource;
-import java.io.Closeable;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
-import javax.management.remote.JMXConnectionNotification;
-import javax.management.remote.JMXConnector;
 
 public final class JmxScraper {
   private static final Logger logger = Logger.getLogger(JmxScraper.class.getName());
@@ -52,10 +62,13 @@ public final class JmxScraper {
   private static final String CONFIG_ARG = "-config";
   private static final String TEST_ARG = "-test";
 
-  private final JmxConnectorBuilder client;
+  // the meter provider of each target is read by the metric readers of the shared SDK
+  private static final Map<String, String> TARGET_SDK_PROPERTIES = targetSdkProperties();
+  private static final String CARDINALITY_LIMIT = "otel.java.metrics.cardinality.limit";
+  private static final int DEFAULT_CARDINALITY_LIMIT = 2000;
 
   private final CountDownLatch stopLatch = new CountDownLatch(1);
-  private final JmxTelemetry jmxTelemetry;
+  private final List<Target> targets;
 
   /**
    * Main method to create and run a {@link JmxScraper} instance.
@@ -76,10 +89,25 @@ public final class JmxScraper {
 
       PropertiesCustomizer configCustomizer = new PropertiesCustomizer();
 
+      // with a single target, the connection opened to get the service instance ID is kept to
+      // test the connection or to scrape metrics
+      AtomicReference<ConnectionHandler> singleTargetConnection = new AtomicReference<>();
+      AtomicReference<AttributeChangeTracker> singleTargetTracker = new AtomicReference<>();
+
       // we rely on the config customizer to be executed first to get effective config.
       BiFunction<Resource, ConfigProperties, Resource> resourceCustomizer =
           (resource, configProperties) -> {
-            UUID instanceId = getRemoteServiceInstanceId(configCustomizer.getConnectorBuilder());
+            if (!configCustomizer.getScraperConfig().getTargets().isEmpty()) {
+              // each target gets its own service instance ID
+              return resource;
+            }
+            ConnectionHandler connectionHandler =
+                createConnectionHandler(
+                    configCustomizer.getScraperConfig(),
+                    configCustomizer.getConnectorBuilder(),
+                    "");
+            singleTargetConnection.set(connectionHandler);
+            UUID instanceId = getRemoteServiceInstanceId(connectionHandler);
             if (resource.getAttribute(SERVICE_INSTANCE_ID) != null || instanceId == null) {
               return resource;
             }
@@ -88,25 +116,80 @@ public final class JmxScraper {
                 Resource.create(Attributes.of(SERVICE_INSTANCE_ID, instanceId.toString())));
           };
 
+      // with multiple targets, the metrics of each target are read from its own meter provider
+      // by each metric reader of the shared SDK, and exported along with the other targets
+      List<MultiTargetMetricReader> sdkReaders = new CopyOnWriteArrayList<>();
+
       // auto-configure SDK
       OpenTelemetry openTelemetry =
           AutoConfiguredOpenTelemetrySdk.builder()
               .addPropertiesSupplier(new PropertiesSupplier(argsConfig))
               .addPropertiesCustomizer(configCustomizer)
               .addResourceCustomizer(resourceCustomizer)
+              .addMetricReaderCustomizer(
+                  (reader, configProperties) -> {
+                    if (configCustomizer.getScraperConfig().getTargets().isEmpty()) {
+                      return reader;
+                    }
+                    MultiTargetMetricReader sdkReader = new MultiTargetMetricReader(reader);
+                    sdkReaders.add(sdkReader);
+                    return sdkReader;
+                  })
+              .addMeterProviderCustomizer(
+                  (builder, configProperties) -> {
+                    JmxScraperConfig config = configCustomizer.getScraperConfig();
+                    if (!config.getTargets().isEmpty()) {
+                      return builder;
+                    }
+                    AttributeChangeTracker changeTracker = createChangeTracker(config);
+                    singleTargetTracker.set(changeTracker);
+                    return trackCollections(builder, changeTracker);
+                  })
               .build()
               .getOpenTelemetrySdk();
 
       // scraper configuration and connector builder are built using effective SDK configuration
       // thus we have to get it after the SDK is built
       JmxScraperConfig scraperConfig = configCustomizer.getScraperConfig();
-      JmxConnectorBuilder connectorBuilder = configCustomizer.getConnectorBuilder();
 
-      if (testMode) {
-        System.exit(testConnection(connectorBuilder) ? 0 : 1);
+      if (!scraperConfig.getTargets().isEmpty()) {
+        if (testMode) {
+          boolean success = true;
+          for (JmxScraperConfig targetConfig : scraperConfig.getTargets()) {
+            String description = "[" + targetConfig.getName() + "] ";
+            logger.info(description + "testing JMX connection");
+            try (ConnectionHandler connectionHandler =
+                createConnectionHandler(
+                    targetConfig,
+                    PropertiesCustomizer.createConnectorBuilder(targetConfig),
+                    description)) {
+              success &= testConnection(connectionHandler);
+            }
+          }
+          System.exit(success ? 0 : 1);
+        }
+        new JmxScraper(createTargets(scraperConfig.getTargets(), argsConfig, sdkReaders)).start();
       } else {
-        JmxScraper jmxScraper = new JmxScraper(connectorBuilder, openTelemetry, scraperConfig);
-        jmxScraper.start();
+        ConnectionHandler connectionHandler = singleTargetConnection.get();
+        if (connectionHandler == null) {
+          connectionHandler =
+              createConnectionHandler(scraperConfig, configCustomizer.getConnectorBuilder(), "");
+        }
+        if (testMode) {
+          boolean success;
+          try (ConnectionHandler handler = connectionHandler) {
+            success = testConnection(handler);
+          }
+          System.exit(success ? 0 : 1);
+        }
+        Target target =
+            new Target(
+                "",
+                connectionHandler,
+                singleTargetTracker.get(),
+                createJmxTelemetry(openTelemetry, scraperConfig),
+                null);
+        new JmxScraper(singletonList(target)).start();
       }
     } catch (ConfigurationException e) {
       logger.log(SEVERE, "invalid configuration: " + e.getMessage(), e);
@@ -127,9 +210,31 @@ public final class JmxScraper {
     }
   }
 
-  private static boolean testConnection(JmxConnectorBuilder connectorBuilder) {
-    try (JMXConnector connector = connectorBuilder.build()) {
-      MBeanServerConnection connection = connector.getMBeanServerConnection();
+  private static Map<String, String> targetSdkProperties() {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("otel.metrics.exporter", "none");
+    properties.put("otel.traces.exporter", "none");
+    properties.put("otel.logs.exporter", "none");
+    return unmodifiableMap(properties);
+  }
+
+  private static ConnectionHandler createConnectionHandler(
+      JmxScraperConfig config, JmxConnectorBuilder connectorBuilder, String description) {
+    return new ConnectionHandler(
+        connectorBuilder,
+        description,
+        config.getReconnectInitialBackoff(),
+        config.getReconnectMaxBackoff());
+  }
+
+  private static boolean testConnection(ConnectionHandler connectionHandler) {
+    MBeanServerConnection connection = connectionHandler.getMBeanServerConnection();
+    if (connection == null) {
+      // the cause of the failure is logged by the connection handler
+      logger.log(SEVERE, "JMX connection test ERROR");
+      return false;
+    }
+    try {
       Integer mbeanCount = connection.getMBeanCount();
       if (mbeanCount > 0) {
         logger.log(INFO, "JMX connection test OK");
@@ -145,26 +250,25 @@ public final class JmxScraper {
   }
 
   @Nullable
-  private static UUID getRemoteServiceInstanceId(JmxConnectorBuilder connectorBuilder) {
-    try (JMXConnector jmxConnector = connectorBuilder.build()) {
-      MBeanServerConnection connection = jmxConnector.getMBeanServerConnection();
+  private static UUID getRemoteServiceInstanceId(ConnectionHandler connectionHandler) {
+    MBeanServerConnection connection = connectionHandler.getMBeanServerConnection();
+    if (connection == null) {
+      return null;
+    }
 
-      StringBuilder id = new StringBuilder();
-      try {
-        ObjectName objectName = new ObjectName("java.lang:type=Runtime");
-        for (String attribute : Arrays.asList("StartTime", "Name")) {
-          Object value = connection.getAttribute(objectName, attribute);
-          if (id.length() > 0) {
-            id.append(" ");
-          }
-          id.append(value);
+    StringBuilder id = new StringBuilder();
+    try {
+      ObjectName objectName = new ObjectName("java.lang:type=Runtime");
+      for (String attribute : Arrays.asList("StartTime", "Name")) {
+        Object value = connection.getAttribute(objectName, attribute);
+        if (id.length() > 0) {
+          id.append(" ");
         }
-        return UUID.nameUUIDFromBytes(id.toString().getBytes(StandardCharsets.UTF_8));
-      } catch (Exception e) {
-        throw new IllegalStateException(e);
+        id.append(value);
       }
-    } catch (IOException e) {
-      return null;
+      return UUID.nameUUIDFromBytes(id.toString().getBytes(StandardCharsets.UTF_8));
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
     }
   }
 
@@ -229,10 +333,127 @@ public final class JmxScraper {
     }
   }
 
-  private JmxScraper(
-      JmxConnectorBuilder client, OpenTelemetry openTelemetry, JmxScraperConfig config) {
-    this.client = client;
-    this.jmxTelemetry = createJmxTelemetry(openTelemetry, config);
+  private JmxScraper(List<Target> targets) {
+    this.targets = targets;
+  }
+
+  /** Creates the targets concurrently, as each one connects to its JVM to get its instance ID. */
+  private static List<Target> createTargets(
+      List<JmxScraperConfig> configs,
+      Properties argsConfig,
+      List<MultiTargetMetricReader> sdkReaders) {
+    ExecutorService executor = Executors.newFixedThreadPool(configs.size());
+    try {
+      List<CompletableFuture<Target>> futures = new ArrayList<>(configs.size());
+      for (JmxScraperConfig config : configs) {
+        futures.add(
+            CompletableFuture.supplyAsync(
+                () -> createTarget(config, argsConfig, sdkReaders), executor));
+      }
+      List<Target> targets = new ArrayList<>(configs.size());
+      for (CompletableFuture<Target> future : futures) {
+        try {
+          targets.add(future.join());
+        } catch (CompletionException e) {
+          Throwable cause = e.getCause();
+          throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+      }
+      return targets;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Creates a target scraped into its own meter provider, which is configured from the same
+   * options as the shared SDK, thus with the same views and cardinality limit. Its resource is the
+   * SDK resource merged with the target resource attributes and the remote service instance ID.
+   * The metrics are read by one {@link TargetMetricReader} for each of the SDK metric readers.
+   */
+  // visible for testing
+  static Target createTarget(
+      JmxScraperConfig config,
+      Properties argsConfig,
+      List<MultiTargetMetricReader> sdkReaders) {
+    String description = "[" + config.getName() + "] ";
+    ConnectionHandler connectionHandler =
+        createConnectionHandler(
+            config, PropertiesCustomizer.createConnectorBuilder(config), description);
+    AttributeChangeTracker changeTracker = createChangeTracker(config);
+    OpenTelemetrySdk openTelemetry =
+        AutoConfiguredOpenTelemetrySdk.builder()
+            .addPropertiesSupplier(new PropertiesSupplier(argsConfig))
+            .addPropertiesCustomizer(unused -> TARGET_SDK_PROPERTIES)
+            .addResourceCustomizer(
+                (resource, unused) ->
+                    targetResource(resource, config, connectionHandler, description))
+            .addMeterProviderCustomizer(
+                (builder, configProperties) -> {
+                  int cardinalityLimit =
+                      configProperties.getInt(CARDINALITY_LIMIT, DEFAULT_CARDINALITY_LIMIT);
+                  for (MultiTargetMetricReader sdkReader : sdkReaders) {
+                    builder.registerMetricReader(
+                        sdkReader.newTargetReader(), instrumentType -> cardinalityLimit);
+                  }
+                  return trackCollections(builder, changeTracker);
+                })
+            .disableShutdownHook()
+            .build()
+            .getOpenTelemetrySdk();
+    return new Target(
+        description,
+        connectionHandler,
+        changeTracker,
+        createJmxTelemetry(openTelemetry, config),
+        openTelemetry.getSdkMeterProvider());
+  }
+
+  private static Resource targetResource(
+      Resource sdkResource,
+      JmxScraperConfig config,
+      ConnectionHandler connectionHandler,
+      String description) {
+    AttributesBuilder attributes = Attributes.builder();
+    config.getResourceAttributes().forEach(attributes::put);
+    Resource resource = sdkResource.merge(Resource.create(attributes.build()));
+    if (resource.getAttribute(SERVICE_INSTANCE_ID) == null) {
+      UUID instanceId = null;
+      try {
+        instanceId = getRemoteServiceInstanceId(connectionHandler);
+      } catch (IllegalStateException e) {
+        logger.log(WARNING, description + "Failed to read remote service instance ID", e);
+      }
+      if (instanceId != null) {
+        logger.log(INFO, description + "remote service instance ID: " + instanceId);
+        resource =
+            resource.merge(
+                Resource.create(Attributes.of(SERVICE_INSTANCE_ID, instanceId.toString())));
+      }
+    }
+    return resource;
+  }
+
+  @Nullable
+  private static AttributeChangeTracker createChangeTracker(JmxScraperConfig config) {
+    Duration maxReadInterval = config.getAttributeMaxReadInterval();
+    return maxReadInterval.isZero() ? null : new AttributeChangeTracker(maxReadInterval);
+  }
+
+  /**
+   * Starts a new collection of the change tracker each time the metrics of the meter provider are
+   * collected, so that all the metrics defined on the same attribute see the same value.
+   */
+  private static SdkMeterProviderBuilder trackCollections(
+      SdkMeterProviderBuilder builder, @Nullable AttributeChangeTracker changeTracker) {
+    if (changeTracker == null) {
+      return builder;
+    }
+    return builder.registerMetricProducer(
+        resource -> {
+          changeTracker.startCollection();
+          return emptyList();
+        });
   }
 
   private static JmxTelemetry createJmxTelemetry(
@@ -263,8 +484,50 @@ public final class JmxScraper {
                   stopLatch.countDown();
                 }));
 
-    try (ConnectionHandler connectionHandler = new ConnectionHandler(client)) {
-      ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    try {
+      for (Target target : targets) {
+        target.start(contextClassLoader);
+      }
+
+      logger.info("JMX scraping started");
+
+      try {
+        stopLatch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } finally {
+      for (Target target : targets) {
+        target.close();
+      }
+    }
+  }
+
+  /** One remote JVM, scraped with its own connection and metrics definitions. */
+  static final class Target {
+    private final String description;
+    private final ConnectionHandler connectionHandler;
+    @Nullable private final AttributeChangeTracker changeTracker;
+    private final JmxTelemetry jmxTelemetry;
+    @Nullable private final SdkMeterProvider meterProvider;
+    @Nullable private MBeanServerConnection remoteConnection;
+    @Nullable private MBeanServerConnection trackingConnection;
+
+    Target(
+        String description,
+        ConnectionHandler connectionHandler,
+        @Nullable AttributeChangeTracker changeTracker,
+        JmxTelemetry jmxTelemetry,
+        @Nullable SdkMeterProvider meterProvider) {
+      this.description = description;
+      this.connectionHandler = connectionHandler;
+      this.changeTracker = changeTracker;
+      this.jmxTelemetry = jmxTelemetry;
+      this.meterProvider = meterProvider;
+    }
+
+    void start(ClassLoader contextClassLoader) {
       jmxTelemetry.start(
           () -> {
             // JMXConnectorProvider for custom protocol e.g. wildfly remote+http is loaded from
@@ -275,91 +538,45 @@ public final class JmxScraper {
             Thread.currentThread().setContextClassLoader(contextClassLoader);
             try {
               MBeanServerConnection connection = connectionHandler.getMBeanServerConnection();
-              return connection == null ? emptyList() : singletonList(connection);
+              return connection == null ? emptyList() : singletonList(track(connection));
             } finally {
               Thread.currentThread().setContextClassLoader(original);
             }
           });
-
-      logger.info("JMX scraping started");
-
-      try {
-        stopLatch.await();
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-      }
     }
-  }
 
-  private static class ConnectionHandler implements Closeable {
-    private final JmxConnectorBuilder client;
-    @Nullable private JMXConnector connector;
-    @Nullable private MBeanServerConnection connection;
-    private volatile boolean connected;
-
-    ConnectionHandler(JmxConnectorBuilder client) {
-      this.client = client;
+    /**
+     * Wraps the connection to skip the reads of the attributes found constant. The values seen
+     * through a previous connection are dropped, as the remote JVM may have been restarted.
+     */
+    private synchronized MBeanServerConnection track(MBeanServerConnection connection) {
+      if (changeTracker == null) {
+        return connection;
+      }
+      MBeanServerConnection tracking = trackingConnection;
+      if (connection != remoteConnection || tracking == null) {
+        changeTracker.clear();
+        tracking = ChangeTrackingConnection.wrap(connection, changeTracker);
+        remoteConnection = connection;
+        trackingConnection = tracking;
+      }
+      return tracking;
     }
 
+    // visible for testing
     @Nullable
-    synchronized MBeanServerConnection getMBeanServerConnection() {
-      if (!connected) {
-        connect();
-      }
-      return connection;
+    SdkMeterProvider getMeterProvider() {
+      return meterProvider;
     }
 
-    synchronized void connect() {
+    void close() {
       try {
-        connector = client.build();
-        connector.addConnectionNotificationListener(
-            (notification, handback) -> {
-              if (notification.getType().equals(JMXConnectionNotification.CLOSED)
-                  || notification.getType().equals(JMXConnectionNotification.FAILED)) {
-                handleDisconnect();
-              }
-            },
-            null,
-            null);
-        connection = connector.getMBeanServerConnection();
-        connected = true;
+        connectionHandler.close();
       } catch (IOException e) {
-        logger.log(WARNING, "Failed to establish JMX connection", e);
-        if (connector != null) {
-          closeQuietly(connector);
-          connector = null;
-        }
+        logger.log(WARNING, description + "Failed to close JMX connection", e);
       }
-    }
-
-    private synchronized void handleDisconnect() {
-      if (connector != null && connected) {
-        logger.info("JMX connection closed, attempting to reconnect");
-
-        connected = false;
-        closeQuietly(connector);
-        connector = null;
-        connection = null;
-      }
-    }
-
-    @Override
-    public synchronized void close() throws IOException {
-      if (connector != null) {
-        connected = false;
-        connector.close();
-        connector = null;
-        connection = null;
-      }
-    }
-  }
-
-  private static void closeQuietly(AutoCloseable closeable) {
-    if (closeable != null) {
-      try {
-        closeable.close();
-      } catch (Exception e) {
-        // ignore
+      if (meterProvider != null) {
+        meterProvider.close();
       }
     }
   }
@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.export.MemoryMode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps a metric reader of the shared SDK to also collect the metrics of each target, through a
+ * {@link TargetMetricReader} registered on the meter provider of the target.
+ *
+ * <p>Each SDK metric reader has its own reader on every target, thus the targets metrics are
+ * aggregated with the temporality of each reader, and delta metrics are not split between readers.
+ */
+final class MultiTargetMetricReader implements MetricReader {
+
+  private final MetricReader delegate;
+  private final List<TargetMetricReader> targetReaders = new CopyOnWriteArrayList<>();
+
+  MultiTargetMetricReader(MetricReader delegate) {
+    this.delegate = delegate;
+  }
+
+  /** Creates the reader of a target, to be registered on the meter provider of the target. */
+  TargetMetricReader newTargetReader() {
+    TargetMetricReader targetReader = new TargetMetricReader(delegate);
+    targetReaders.add(targetReader);
+    return targetReader;
+  }
+
+  @Override
+  public void register(CollectionRegistration registration) {
+    delegate.register(
+        new CollectionRegistration() {
+          @Override
+          public Collection<MetricData> collectAllMetrics() {
+            List<MetricData> metrics = new ArrayList<>(registration.collectAllMetrics());
+            for (TargetMetricReader targetReader : targetReaders) {
+              metrics.addAll(targetReader.produce(Resource.empty()));
+            }
+            return metrics;
+          }
+        });
+  }
+
+  @Override
+  public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+    return delegate.getAggregationTemporality(instrumentType);
+  }
+
+  @Override
+  public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+    return delegate.getDefaultAggregation(instrumentType);
+  }
+
+  @Override
+  public MemoryMode getMemoryMode() {
+    return delegate.getMemoryMode();
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    return delegate.forceFlush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return delegate.shutdown();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+}
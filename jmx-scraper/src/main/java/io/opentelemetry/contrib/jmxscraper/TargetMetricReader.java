@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import static java.util.Collections.emptyList;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricProducer;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.Collection;
+import javax.annotation.Nullable;
+
+/**
+ * Reads the metrics of one target's meter provider on behalf of one metric reader of the shared
+ * SDK, with the aggregation temporality and default aggregation of that reader. The metrics keep
+ * the resource of the target's meter provider.
+ */
+final class TargetMetricReader implements MetricReader, MetricProducer {
+
+  private final MetricReader sdkReader;
+  @Nullable private volatile CollectionRegistration registration;
+
+  TargetMetricReader(MetricReader sdkReader) {
+    this.sdkReader = sdkReader;
+  }
+
+  @Override
+  public void register(CollectionRegistration registration) {
+    this.registration = registration;
+  }
+
+  @Override
+  public Collection<MetricData> produce(Resource resource) {
+    CollectionRegistration registration = this.registration;
+    return registration == null ? emptyList() : registration.collectAllMetrics();
+  }
+
+  @Override
+  public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+    return sdkReader.getAggregationTemporality(instrumentType);
+  }
+
+  @Override
+  public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+    return sdkReader.getDefaultAggregation(instrumentType);
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    registration = null;
+    return CompletableResultCode.ofSuccess();
+  }
+}
@@ -6,8 +6,10 @@
 package io.opentelemetry.contrib.jmxscraper.config;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Locale.ROOT;
 
@@ -17,7 +19,9 @@ import java.io.InputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -51,6 +55,32 @@ public final class JmxScraperConfig {
   static final String JMX_REMOTE_PROFILE = "otel.jmx.remote.profile";
   static final String JMX_REALM = "otel.jmx.realm";
 
+  // connection to the remote JVMs, shared by all targets
+  static final String JMX_RECONNECT_INITIAL_BACKOFF = "otel.jmx.reconnect.initial.backoff";
+  static final String JMX_RECONNECT_MAX_BACKOFF = "otel.jmx.reconnect.max.backoff";
+  static final String JMX_CONNECTION_CHECK_PERIOD = "otel.jmx.remote.connection.check.period";
+  static final String JMX_RMI_RESPONSE_TIMEOUT = "otel.jmx.remote.rmi.response.timeout";
+  static final String JMX_RMI_CONNECTION_KEEPALIVE = "otel.jmx.remote.rmi.connection.keepalive";
+
+  // attributes found constant are read less often, and at least once per this interval
+  static final String JMX_ATTRIBUTE_MAX_READ_INTERVAL = "otel.jmx.attribute.max.read.interval";
+
+  // names of the targets to scrape, each configured with 'otel.jmx.targets.<name>.' options
+  static final String JMX_TARGETS = "otel.jmx.targets";
+
+  private static final String SERVICE_URL = "service.url";
+  private static final String CONFIG = "config";
+  private static final String TARGET_SYSTEM = "target.system";
+  private static final String TARGET_SOURCE = "target.source";
+  private static final String USERNAME = "username";
+  private static final String PASSWORD = "password";
+  private static final String REGISTRY_SSL = "remote.registry.ssl";
+  private static final String REMOTE_PROFILE = "remote.profile";
+  private static final String REALM = "realm";
+  private static final String RESOURCE_ATTRIBUTES = "resource.attributes";
+
+  private String name = "";
+
   private String serviceUrl = "";
 
   private List<String> jmxConfig = emptyList();
@@ -70,6 +100,22 @@ public final class JmxScraperConfig {
   @Nullable private String remoteProfile;
   private boolean registrySsl;
 
+  private Duration reconnectInitialBackoff = Duration.ofSeconds(1);
+
+  private Duration reconnectMaxBackoff = Duration.ofMinutes(1);
+
+  @Nullable private Duration connectionCheckPeriod;
+
+  @Nullable private Duration rmiResponseTimeout;
+
+  @Nullable private Duration rmiConnectionKeepAlive;
+
+  private Duration attributeMaxReadInterval = Duration.ZERO;
+
+  private Map<String, String> resourceAttributes = emptyMap();
+
+  private List<JmxScraperConfig> targets = emptyList();
+
   public enum TargetSystemSource {
     AUTO,
     INSTRUMENTATION,
@@ -86,6 +132,11 @@ public final class JmxScraperConfig {
 
   private JmxScraperConfig() {}
 
+  /** Returns the target name, or an empty string when a single target is configured. */
+  public String getName() {
+    return name;
+  }
+
   public String getServiceUrl() {
     return serviceUrl;
   }
@@ -177,6 +228,65 @@ public final class JmxScraperConfig {
     return registrySsl;
   }
 
+  /** Returns the delay before connecting again after the first failed or lost connection. */
+  public Duration getReconnectInitialBackoff() {
+    return reconnectInitialBackoff;
+  }
+
+  /** Returns the delay that the reconnection backoff doubles up to. */
+  public Duration getReconnectMaxBackoff() {
+    return reconnectMaxBackoff;
+  }
+
+  /**
+   * Returns the period of the JMX client checks of the connection, or {@code null} for the JMX
+   * default.
+   */
+  @Nullable
+  public Duration getConnectionCheckPeriod() {
+    return connectionCheckPeriod;
+  }
+
+  /**
+   * Returns the timeout of the RMI responses, applied to the whole JVM with the {@code
+   * sun.rmi.transport.tcp.responseTimeout} system property, or {@code null} for no timeout.
+   */
+  @Nullable
+  public Duration getRmiResponseTimeout() {
+    return rmiResponseTimeout;
+  }
+
+  /**
+   * Returns how long idle RMI connections are kept open to be reused, applied to the whole JVM
+   * with the {@code sun.rmi.transport.connectionTimeout} system property, or {@code null} for the
+   * RMI default.
+   */
+  @Nullable
+  public Duration getRmiConnectionKeepAlive() {
+    return rmiConnectionKeepAlive;
+  }
+
+  /**
+   * Returns the longest time without reading an MBean attribute whose value does not change, or
+   * {@link Duration#ZERO} to read all the attributes on every collection.
+   */
+  public Duration getAttributeMaxReadInterval() {
+    return attributeMaxReadInterval;
+  }
+
+  /** Returns the resource attributes added to the metrics of this target. */
+  public Map<String, String> getResourceAttributes() {
+    return resourceAttributes;
+  }
+
+  /**
+   * Returns the configuration of each target listed in {@code otel.jmx.targets}, or an empty list
+   * when this configuration describes a single target.
+   */
+  public List<JmxScraperConfig> getTargets() {
+    return targets;
+  }
+
   /**
    * Builds JMX scraper configuration from auto-configuration
    *
@@ -194,11 +304,14 @@ public final class JmxScraperConfig {
       scraperConfig.samplingInterval = exportInterval;
     }
 
+    List<String> targetNames = config.getList(JMX_TARGETS);
+    boolean singleTarget = targetNames.isEmpty();
+
     String serviceUrl = config.getString(JMX_SERVICE_URL);
-    if (serviceUrl == null) {
+    if (serviceUrl == null && singleTarget) {
       throw new ConfigurationException("missing mandatory " + JMX_SERVICE_URL);
     }
-    scraperConfig.serviceUrl = serviceUrl;
+    scraperConfig.serviceUrl = serviceUrl == null ? "" : serviceUrl;
 
     List<String> jmxConfig = config.getList(JMX_CONFIG);
     List<String> targetSystem = config.getList(JMX_TARGET_SYSTEM);
@@ -216,7 +329,7 @@ public final class JmxScraperConfig {
       jmxConfig = list;
     }
 
-    if (targetSystem.isEmpty() && jmxConfig.isEmpty()) {
+    if (singleTarget && targetSystem.isEmpty() && jmxConfig.isEmpty()) {
       throw new ConfigurationException(
           "at least one of '" + JMX_TARGET_SYSTEM + "' or '" + JMX_CONFIG + "' must be set");
     }
@@ -230,6 +343,30 @@ public final class JmxScraperConfig {
     scraperConfig.realm = config.getString("otel.jmx.realm");
     scraperConfig.registrySsl = config.getBoolean("otel.jmx.remote.registry.ssl", false);
 
+    Duration initialBackoff = getDuration(config, JMX_RECONNECT_INITIAL_BACKOFF);
+    if (initialBackoff != null) {
+      scraperConfig.reconnectInitialBackoff = initialBackoff;
+    }
+    Duration maxBackoff = getDuration(config, JMX_RECONNECT_MAX_BACKOFF);
+    if (maxBackoff != null) {
+      scraperConfig.reconnectMaxBackoff = maxBackoff;
+    }
+    if (scraperConfig.reconnectMaxBackoff.compareTo(scraperConfig.reconnectInitialBackoff) < 0) {
+      throw new ConfigurationException(
+          "'"
+              + JMX_RECONNECT_MAX_BACKOFF
+              + "' must not be less than '"
+              + JMX_RECONNECT_INITIAL_BACKOFF
+              + "'");
+    }
+    scraperConfig.connectionCheckPeriod = getDuration(config, JMX_CONNECTION_CHECK_PERIOD);
+    scraperConfig.rmiResponseTimeout = getDuration(config, JMX_RMI_RESPONSE_TIMEOUT);
+    scraperConfig.rmiConnectionKeepAlive = getDuration(config, JMX_RMI_CONNECTION_KEEPALIVE);
+    Duration attributeMaxReadInterval = getDuration(config, JMX_ATTRIBUTE_MAX_READ_INTERVAL);
+    if (attributeMaxReadInterval != null) {
+      scraperConfig.attributeMaxReadInterval = attributeMaxReadInterval;
+    }
+
     // checks target system is supported by resolving the yaml resource, throws exception on
     // missing/error
     scraperConfig.targetSystems.forEach(scraperConfig::getTargetSystemYaml);
@@ -237,6 +374,86 @@ public final class JmxScraperConfig {
     String source = config.getString(JMX_TARGET_SOURCE, TargetSystemSource.AUTO.name());
     scraperConfig.targetSystemSource = TargetSystemSource.fromString(source);
 
+    if (!singleTarget) {
+      List<JmxScraperConfig> targets = new ArrayList<>(targetNames.size());
+      for (String targetName : new LinkedHashSet<>(targetNames)) {
+        targets.add(targetFromConfig(config, targetName, scraperConfig));
+      }
+      scraperConfig.targets = unmodifiableList(targets);
+    }
+
     return scraperConfig;
   }
+
+  /**
+   * Builds the configuration of one target from its {@code otel.jmx.targets.<name>.} options. The
+   * options have the same names as the single target options without the {@code otel.jmx.} prefix,
+   * and fall back to them when not set, except for the service URL.
+   */
+  private static JmxScraperConfig targetFromConfig(
+      ConfigProperties config, String targetName, JmxScraperConfig defaults) {
+    String prefix = JMX_TARGETS + "." + targetName + ".";
+    JmxScraperConfig target = new JmxScraperConfig();
+    target.name = targetName;
+    target.samplingInterval = defaults.samplingInterval;
+    target.reconnectInitialBackoff = defaults.reconnectInitialBackoff;
+    target.reconnectMaxBackoff = defaults.reconnectMaxBackoff;
+    target.connectionCheckPeriod = defaults.connectionCheckPeriod;
+    target.rmiResponseTimeout = defaults.rmiResponseTimeout;
+    target.rmiConnectionKeepAlive = defaults.rmiConnectionKeepAlive;
+    target.attributeMaxReadInterval = defaults.attributeMaxReadInterval;
+
+    String serviceUrl = config.getString(prefix + SERVICE_URL);
+    if (serviceUrl == null) {
+      throw new ConfigurationException("missing mandatory " + prefix + SERVICE_URL);
+    }
+    target.serviceUrl = serviceUrl;
+
+    List<String> jmxConfig = config.getList(prefix + CONFIG);
+    List<String> targetSystem = config.getList(prefix + TARGET_SYSTEM);
+    target.jmxConfig = jmxConfig.isEmpty() ? defaults.jmxConfig : unmodifiableList(jmxConfig);
+    target.targetSystems =
+        targetSystem.isEmpty()
+            ? defaults.targetSystems
+            : unmodifiableSet(new HashSet<>(targetSystem));
+    if (target.targetSystems.isEmpty() && target.jmxConfig.isEmpty()) {
+      throw new ConfigurationException(
+          "at least one of '"
+              + prefix
+              + TARGET_SYSTEM
+              + "' or '"
+              + prefix
+              + CONFIG
+              + "' must be set");
+    }
+
+    target.username = getString(config, prefix + USERNAME, defaults.username);
+    target.password = getString(config, prefix + PASSWORD, defaults.password);
+    target.remoteProfile = getString(config, prefix + REMOTE_PROFILE, defaults.remoteProfile);
+    target.realm = getString(config, prefix + REALM, defaults.realm);
+    target.registrySsl = config.getBoolean(prefix + REGISTRY_SSL, defaults.registrySsl);
+    String source = config.getString(prefix + TARGET_SOURCE);
+    target.targetSystemSource =
+        source == null ? defaults.targetSystemSource : TargetSystemSource.fromString(source);
+    target.resourceAttributes = unmodifiableMap(config.getMap(prefix + RESOURCE_ATTRIBUTES));
+
+    target.targetSystems.forEach(target::getTargetSystemYaml);
+    return target;
+  }
+
+  @Nullable
+  private static String getString(
+      ConfigProperties config, String key, @Nullable String defaultValue) {
+    String value = config.getString(key);
+    return value == null ? defaultValue : value;
+  }
+
+  @Nullable
+  private static Duration getDuration(ConfigProperties config, String key) {
+    Duration value = config.getDuration(key);
+    if (value != null && value.isNegative()) {
+      throw new ConfigurationException("'" + key + "' must not be negative");
+    }
+    return value;
+  }
 }
@@ -10,6 +10,7 @@ import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.METRIC
 
 import io.opentelemetry.contrib.jmxscraper.JmxConnectorBuilder;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -52,7 +53,15 @@ public final class PropertiesCustomizer implements Function<ConfigProperties, Ma
     // scraper config and connector builder must be initialized with the effective SDK configuration
     // thus we need to initialize them here and then rely on getter being called after this method.
     scraperConfig = JmxScraperConfig.fromConfig(config);
-    connectorBuilder = createConnectorBuilder(scraperConfig);
+    if (scraperConfig.getTargets().isEmpty()) {
+      connectorBuilder = createConnectorBuilder(scraperConfig);
+    }
+
+    // the RMI transport reads those once for the whole JVM, thus they must be set before the first
+    // connection, which can be made by the resource customizer to get the service instance ID
+    setRmiProperty("sun.rmi.transport.tcp.responseTimeout", scraperConfig.getRmiResponseTimeout());
+    setRmiProperty(
+        "sun.rmi.transport.connectionTimeout", scraperConfig.getRmiConnectionKeepAlive());
 
     long exportSeconds = scraperConfig.getSamplingInterval().toMillis() / 1000;
     logger.log(Level.INFO, "metrics export interval (seconds) =  " + exportSeconds);
@@ -60,7 +69,13 @@ public final class PropertiesCustomizer implements Function<ConfigProperties, Ma
     return result;
   }
 
-  private static JmxConnectorBuilder createConnectorBuilder(JmxScraperConfig scraperConfig) {
+  /**
+   * Creates a connector builder for the service URL and credentials of a single target.
+   *
+   * @param scraperConfig single target configuration
+   * @return JMX connector builder
+   */
+  public static JmxConnectorBuilder createConnectorBuilder(JmxScraperConfig scraperConfig) {
     JmxConnectorBuilder connectorBuilder =
         JmxConnectorBuilder.createNew(scraperConfig.getServiceUrl());
     Optional.ofNullable(scraperConfig.getUsername()).ifPresent(connectorBuilder::withUser);
@@ -68,9 +83,18 @@ public final class PropertiesCustomizer implements Function<ConfigProperties, Ma
     if (scraperConfig.isRegistrySsl()) {
       connectorBuilder.withSslRegistry();
     }
+    Optional.ofNullable(scraperConfig.getConnectionCheckPeriod())
+        .ifPresent(connectorBuilder::withConnectionCheckPeriod);
     return connectorBuilder;
   }
 
+  // explicit JVM system properties take precedence
+  private static void setRmiProperty(String key, @Nullable Duration value) {
+    if (value != null && System.getProperty(key) == null) {
+      System.setProperty(key, Long.toString(value.toMillis()));
+    }
+  }
+
   /**
    * Get scraper configuration from the previous call to {@link #apply(ConfigProperties)}
    *
@@ -84,9 +108,17 @@ public final class PropertiesCustomizer implements Function<ConfigProperties, Ma
     return scraperConfig;
   }
 
+  /**
+   * Get the connector builder of the single configured target
+   *
+   * @return JMX connector builder
+   * @throws IllegalStateException when {@link #apply(ConfigProperties)} hasn't been called first,
+   *     or when multiple targets are configured with {@code otel.jmx.targets}
+   */
   public JmxConnectorBuilder getConnectorBuilder() {
     if (connectorBuilder == null) {
-      throw new IllegalStateException("apply() must be called before getConnectorBuilder()");
+      throw new IllegalStateException(
+          "apply() must be called before getConnectorBuilder(), and only for a single target");
     }
     return connectorBuilder;
   }
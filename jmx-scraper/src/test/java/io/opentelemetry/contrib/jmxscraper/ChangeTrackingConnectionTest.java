@@ -0,0 +1,171 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChangeTrackingConnectionTest {
+
+  private static final Duration MAX_READ_INTERVAL = Duration.ofMinutes(10);
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final AttributeChangeTracker tracker =
+      new AttributeChangeTracker(MAX_READ_INTERVAL, nanoTime::get);
+  private final Sample sample = new Sample();
+  private MBeanServer server;
+  private ObjectName name;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = MBeanServerFactory.newMBeanServer();
+    name = new ObjectName("test:type=Sample");
+    server.registerMBean(sample, name);
+  }
+
+  @AfterEach
+  void tearDown() {
+    MBeanServerFactory.releaseMBeanServer(server);
+  }
+
+  @Test
+  void constantAttributeIsReadLessOften() throws Exception {
+    MBeanServerConnection connection = ChangeTrackingConnection.wrap(server, tracker);
+
+    for (int i = 0; i < 16; i++) {
+      tracker.startCollection();
+      assertThat(connection.getAttribute(name, "Constant")).isEqualTo(42);
+      assertThat(connection.getAttribute(name, "Counter")).isEqualTo(i);
+    }
+
+    // read at 0, 1, 3, 6 and 11
+    assertThat(sample.constantReads).hasValue(5);
+    assertThat(sample.counterReads).hasValue(16);
+  }
+
+  @Test
+  void constantAttributeIsReadAgainAfterMaxInterval() throws Exception {
+    MBeanServerConnection connection = ChangeTrackingConnection.wrap(server, tracker);
+    for (int i = 0; i < 5; i++) {
+      tracker.startCollection();
+      connection.getAttribute(name, "Constant");
+    }
+    // the read at 3 skips the next 2 collections
+    assertThat(sample.constantReads).hasValue(3);
+
+    nanoTime.addAndGet(MAX_READ_INTERVAL.toNanos());
+    tracker.startCollection();
+    connection.getAttribute(name, "Constant");
+    assertThat(sample.constantReads).hasValue(4);
+  }
+
+  @Test
+  void bulkReadMergesCachedValues() throws Exception {
+    MBeanServerConnection connection = ChangeTrackingConnection.wrap(server, tracker);
+    String[] attributes = {"Counter", "Missing", "Constant"};
+
+    tracker.startCollection();
+    connection.getAttributes(name, attributes);
+    tracker.startCollection();
+    connection.getAttributes(name, attributes);
+    tracker.startCollection();
+    AttributeList values = connection.getAttributes(name, attributes);
+
+    assertThat(values.asList())
+        .extracting(Attribute::getName, Attribute::getValue)
+        .containsExactly(tuple("Counter", 2), tuple("Constant", 42));
+    assertThat(sample.constantReads).hasValue(2);
+    assertThat(sample.counterReads).hasValue(3);
+  }
+
+  @Test
+  void attributeReadByTwoMetricsIsReadOncePerCollection() throws Exception {
+    MBeanServerConnection connection = ChangeTrackingConnection.wrap(server, tracker);
+
+    for (int i = 0; i < 8; i++) {
+      tracker.startCollection();
+      sample.usage.set(i);
+      // e.g. the used and committed metrics of the same memory usage attribute
+      assertThat(connection.getAttribute(name, "Usage")).isEqualTo(i);
+      assertThat(connection.getAttribute(name, "Usage")).isEqualTo(i);
+    }
+
+    // the value changes on each collection, thus is never served from a previous one
+    assertThat(sample.usageReads).hasValue(8);
+  }
+
+  @Test
+  void constantAttributeReadByTwoMetricsIsSkippedForBoth() throws Exception {
+    MBeanServerConnection connection = ChangeTrackingConnection.wrap(server, tracker);
+
+    for (int i = 0; i < 16; i++) {
+      tracker.startCollection();
+      assertThat(connection.getAttribute(name, "Constant")).isEqualTo(42);
+      assertThat(connection.getAttribute(name, "Constant")).isEqualTo(42);
+    }
+
+    // same cadence as with a single metric: read at 0, 1, 3, 6 and 11
+    assertThat(sample.constantReads).hasValue(5);
+  }
+
+  @Test
+  void failedReadIsNotTracked() throws Exception {
+    MBeanServerConnection connection = ChangeTrackingConnection.wrap(server, tracker);
+
+    assertThatThrownBy(() -> connection.getAttribute(name, "Missing"))
+        .isInstanceOf(AttributeNotFoundException.class);
+    assertThat(tracker.size()).isZero();
+    // other calls go to the remote connection
+    assertThat(connection.isRegistered(name)).isTrue();
+  }
+
+  public interface SampleMBean {
+    int getConstant();
+
+    int getCounter();
+
+    int getUsage();
+  }
+
+  public static class Sample implements SampleMBean {
+    private final AtomicInteger constantReads = new AtomicInteger();
+    private final AtomicInteger counterReads = new AtomicInteger();
+    private final AtomicInteger usage = new AtomicInteger();
+    private final AtomicInteger usageReads = new AtomicInteger();
+
+    @Override
+    public int getConstant() {
+      constantReads.incrementAndGet();
+      return 42;
+    }
+
+    @Override
+    public int getCounter() {
+      return counterReads.getAndIncrement();
+    }
+
+    @Override
+    public int getUsage() {
+      usageReads.incrementAndGet();
+      return usage.get();
+    }
+  }
+}
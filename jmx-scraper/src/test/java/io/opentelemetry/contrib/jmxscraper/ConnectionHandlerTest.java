@@ -0,0 +1,163 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionHandlerTest {
+
+  private static final String TARGET_OBJECT_NAME = "test:type=Target";
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private LocalJmxServer first;
+  private LocalJmxServer second;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    first = new LocalJmxServer("first");
+    second = new LocalJmxServer("second");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    first.close();
+    second.close();
+  }
+
+  @Test
+  void eachHandlerConnectsToItsOwnServer() throws Exception {
+    try (ConnectionHandler firstHandler = new ConnectionHandler(first.connectorBuilder());
+        ConnectionHandler secondHandler = new ConnectionHandler(second.connectorBuilder())) {
+      assertThat(targetName(firstHandler.getMBeanServerConnection())).isEqualTo("first");
+      assertThat(targetName(secondHandler.getMBeanServerConnection())).isEqualTo("second");
+    }
+  }
+
+  @Test
+  void unreachableTargetDoesNotAffectOthers() throws Exception {
+    first.close();
+    try (ConnectionHandler firstHandler = handlerWithBackoff(first, Duration.ofSeconds(1));
+        ConnectionHandler secondHandler = new ConnectionHandler(second.connectorBuilder())) {
+      assertThat(firstHandler.getMBeanServerConnection()).isNull();
+      assertThat(targetName(secondHandler.getMBeanServerConnection())).isEqualTo("second");
+
+      // the first target connects once it is available again and the backoff has elapsed
+      first = new LocalJmxServer("first", first.port);
+      nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+      assertThat(targetName(firstHandler.getMBeanServerConnection())).isEqualTo("first");
+    }
+  }
+
+  @Test
+  void reconnectsWithExponentialBackoff() throws Exception {
+    first.close();
+    try (ConnectionHandler handler = handlerWithBackoff(first, Duration.ofSeconds(10))) {
+      assertThat(handler.getMBeanServerConnection()).isNull();
+
+      // second attempt between 5 and 10 seconds after the first one
+      nanoTime.addAndGet(Duration.ofSeconds(5).toNanos() - 1);
+      assertThat(handler.getMBeanServerConnection()).isNull();
+      nanoTime.addAndGet(Duration.ofSeconds(5).toNanos() + 1);
+      assertThat(handler.getMBeanServerConnection()).isNull();
+
+      // third attempt between 10 and 20 seconds after the second one
+      first = new LocalJmxServer("first", first.port);
+      nanoTime.addAndGet(Duration.ofSeconds(10).toNanos() - 1);
+      assertThat(handler.getMBeanServerConnection()).isNull();
+      nanoTime.addAndGet(Duration.ofSeconds(10).toNanos() + 1);
+      assertThat(targetName(handler.getMBeanServerConnection())).isEqualTo("first");
+    }
+  }
+
+  private ConnectionHandler handlerWithBackoff(LocalJmxServer server, Duration initialBackoff) {
+    return new ConnectionHandler(
+        server.connectorBuilder(), "", initialBackoff, Duration.ofMinutes(1), nanoTime::get);
+  }
+
+  private static String targetName(MBeanServerConnection connection) throws Exception {
+    assertThat(connection).isNotNull();
+    return (String) connection.getAttribute(new ObjectName(TARGET_OBJECT_NAME), "Name");
+  }
+
+  /** An in-process MBean server exposed over a local RMI connector. */
+  private static final class LocalJmxServer {
+    private final int port;
+    private final Registry registry;
+    private final JMXConnectorServer connectorServer;
+    private boolean closed;
+
+    LocalJmxServer(String name) throws Exception {
+      this(name, freePort());
+    }
+
+    LocalJmxServer(String name, int port) throws Exception {
+      this.port = port;
+      MBeanServer mbeanServer = MBeanServerFactory.newMBeanServer();
+      mbeanServer.registerMBean(new Target(name), new ObjectName(TARGET_OBJECT_NAME));
+      registry = LocateRegistry.createRegistry(port);
+      connectorServer =
+          JMXConnectorServerFactory.newJMXConnectorServer(serviceUrl(port), null, mbeanServer);
+      connectorServer.start();
+    }
+
+    JmxConnectorBuilder connectorBuilder() {
+      return JmxConnectorBuilder.createNew("localhost", port);
+    }
+
+    void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        connectorServer.stop();
+        UnicastRemoteObject.unexportObject(registry, true);
+      }
+    }
+
+    private static JMXServiceURL serviceUrl(int port) throws IOException {
+      return new JMXServiceURL("service:jmx:rmi:///jndi/rmi://localhost:" + port + "/jmxrmi");
+    }
+
+    private static int freePort() throws IOException {
+      try (ServerSocket socket = new ServerSocket(0)) {
+        return socket.getLocalPort();
+      }
+    }
+  }
+
+  public interface TargetMBean {
+    String getName();
+  }
+
+  public static final class Target implements TargetMBean {
+    private final String name;
+
+    Target(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+  }
+}
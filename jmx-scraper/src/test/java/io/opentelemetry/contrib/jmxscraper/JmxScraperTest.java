@@ -5,13 +5,18 @@
 
 package io.opentelemetry.contrib.jmxscraper;
 
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig;
 import io.opentelemetry.contrib.jmxscraper.config.TestUtil;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -130,4 +135,51 @@ class JmxScraperTest {
         .describedAs("already set system properties must be preserved")
         .isEqualTo("/my/key/store");
   }
+
+  @Test
+  void targetHasItsOwnResourceAndSdkConfiguration() {
+    Properties properties = new Properties();
+    properties.setProperty("otel.jmx.targets", "app1");
+    // nothing listens on that port, the service instance ID is not read
+    properties.setProperty(
+        "otel.jmx.targets.app1.service.url", "service:jmx:rmi:///jndi/rmi://localhost:1/jmxrmi");
+    properties.setProperty("otel.jmx.targets.app1.target.system", "jvm");
+    properties.setProperty("otel.jmx.targets.app1.resource.attributes", "service.name=app1");
+    properties.setProperty("otel.resource.attributes", "deployment.environment.name=test");
+    properties.setProperty("otel.java.metrics.cardinality.limit", "2");
+    JmxScraperConfig config =
+        JmxScraperConfig.fromConfig(TestUtil.configProperties(properties)).getTargets().get(0);
+
+    InMemoryMetricReader deltaReader = InMemoryMetricReader.createDelta();
+    MultiTargetMetricReader sdkReader = new MultiTargetMetricReader(deltaReader);
+    SdkMeterProvider sdkMeterProvider =
+        SdkMeterProvider.builder().registerMetricReader(sdkReader).build();
+    JmxScraper.Target target = JmxScraper.createTarget(config, properties, asList(sdkReader));
+    try {
+      LongCounter counter =
+          target.getMeterProvider().get("test").counterBuilder("test.counter").build();
+      counter.add(1, Attributes.of(stringKey("key"), "a"));
+      counter.add(1, Attributes.of(stringKey("key"), "b"));
+      counter.add(1, Attributes.of(stringKey("key"), "c"));
+
+      assertThat(deltaReader.collectAllMetrics())
+          .satisfiesExactly(
+              metric ->
+                  assertThat(metric)
+                      .hasResourceSatisfying(
+                          resource ->
+                              resource
+                                  .hasAttribute(stringKey("service.name"), "app1")
+                                  .hasAttribute(stringKey("deployment.environment.name"), "test"))
+                      // one series and the overflow series
+                      .hasLongSumSatisfying(
+                          sum ->
+                              sum.isDelta()
+                                  .hasPointsSatisfying(
+                                      point -> point.hasValue(1), point -> point.hasValue(2))));
+    } finally {
+      target.close();
+      sdkMeterProvider.close();
+    }
+  }
 }
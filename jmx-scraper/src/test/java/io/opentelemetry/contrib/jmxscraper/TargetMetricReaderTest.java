@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.jmxscraper;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TargetMetricReaderTest {
+
+  private final InMemoryMetricReader deltaReader = InMemoryMetricReader.createDelta();
+  private final InMemoryMetricReader cumulativeReader = InMemoryMetricReader.create();
+  private final MultiTargetMetricReader deltaSdkReader = new MultiTargetMetricReader(deltaReader);
+  private final MultiTargetMetricReader cumulativeSdkReader =
+      new MultiTargetMetricReader(cumulativeReader);
+  private final SdkMeterProvider sdkMeterProvider =
+      SdkMeterProvider.builder()
+          .registerMetricReader(deltaSdkReader)
+          .registerMetricReader(cumulativeSdkReader)
+          .build();
+
+  @AfterEach
+  void tearDown() {
+    sdkMeterProvider.close();
+  }
+
+  @Test
+  void targetReaderHasTheTemporalityOfItsSdkReader() {
+    assertThat(deltaSdkReader.newTargetReader().getAggregationTemporality(InstrumentType.COUNTER))
+        .isEqualTo(AggregationTemporality.DELTA);
+    assertThat(
+            cumulativeSdkReader
+                .newTargetReader()
+                .getAggregationTemporality(InstrumentType.COUNTER))
+        .isEqualTo(AggregationTemporality.CUMULATIVE);
+  }
+
+  @Test
+  void eachSdkReaderCollectsAllTheTargetMetrics() {
+    Resource targetResource = Resource.create(Attributes.of(stringKey("service.name"), "target"));
+    SdkMeterProvider targetMeterProvider =
+        SdkMeterProvider.builder()
+            .setResource(targetResource)
+            .registerMetricReader(deltaSdkReader.newTargetReader())
+            .registerMetricReader(cumulativeSdkReader.newTargetReader())
+            .build();
+    LongCounter counter = targetMeterProvider.get("test").counterBuilder("test.counter").build();
+
+    counter.add(1);
+    assertThat(deltaReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasResource(targetResource)
+                    .hasLongSumSatisfying(
+                        sum -> sum.isDelta().hasPointsSatisfying(point -> point.hasValue(1))));
+
+    // the delta collected above is not lost for the cumulative reader
+    counter.add(2);
+    assertThat(deltaReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasLongSumSatisfying(
+                        sum -> sum.isDelta().hasPointsSatisfying(point -> point.hasValue(2))));
+    assertThat(cumulativeReader.collectAllMetrics())
+        .satisfiesExactly(
+            metric ->
+                assertThat(metric)
+                    .hasResource(targetResource)
+                    .hasLongSumSatisfying(
+                        sum -> sum.isCumulative().hasPointsSatisfying(point -> point.hasValue(3))));
+
+    targetMeterProvider.close();
+    assertThat(deltaReader.collectAllMetrics()).isEmpty();
+  }
+}
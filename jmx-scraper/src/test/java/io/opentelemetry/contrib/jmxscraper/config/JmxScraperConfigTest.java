@@ -5,19 +5,27 @@
 
 package io.opentelemetry.contrib.jmxscraper.config;
 
+import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_ATTRIBUTE_MAX_READ_INTERVAL;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_CONFIG;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_CONFIG_LEGACY;
+import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_CONNECTION_CHECK_PERIOD;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_PASSWORD;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_REALM;
+import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_RECONNECT_INITIAL_BACKOFF;
+import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_RECONNECT_MAX_BACKOFF;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_REGISTRY_SSL;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_REMOTE_PROFILE;
+import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_RMI_CONNECTION_KEEPALIVE;
+import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_RMI_RESPONSE_TIMEOUT;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_SERVICE_URL;
+import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_TARGETS;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_TARGET_SOURCE;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_TARGET_SYSTEM;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.JMX_USERNAME;
 import static io.opentelemetry.contrib.jmxscraper.config.JmxScraperConfig.fromConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigurationException;
 import java.io.InputStream;
@@ -100,6 +108,67 @@ class JmxScraperConfigTest {
     assertThat(config.getPassword()).isNull();
     assertThat(config.getRemoteProfile()).isNull();
     assertThat(config.getRealm()).isNull();
+    assertThat(config.getReconnectInitialBackoff()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(config.getReconnectMaxBackoff()).isEqualTo(Duration.ofMinutes(1));
+    assertThat(config.getConnectionCheckPeriod()).isNull();
+    assertThat(config.getRmiResponseTimeout()).isNull();
+    assertThat(config.getRmiConnectionKeepAlive()).isNull();
+    assertThat(config.getAttributeMaxReadInterval()).isZero();
+  }
+
+  @Test
+  void connectionSettings() {
+    // Given
+    Properties properties = (Properties) validProperties.clone();
+    properties.remove(JMX_SERVICE_URL);
+    properties.setProperty(JMX_RECONNECT_INITIAL_BACKOFF, "2s");
+    properties.setProperty(JMX_RECONNECT_MAX_BACKOFF, "5m");
+    properties.setProperty(JMX_CONNECTION_CHECK_PERIOD, "30s");
+    properties.setProperty(JMX_RMI_RESPONSE_TIMEOUT, "10s");
+    properties.setProperty(JMX_RMI_CONNECTION_KEEPALIVE, "2m");
+    properties.setProperty(JMX_ATTRIBUTE_MAX_READ_INTERVAL, "15m");
+    properties.setProperty(JMX_TARGETS, "first");
+    properties.setProperty(
+        JMX_TARGETS + ".first.service.url", "service:jmx:rmi:///jndi/rmi://first:9010/jmxrmi");
+
+    // When
+    JmxScraperConfig config = fromConfig(TestUtil.configProperties(properties));
+
+    // Then all targets share the connection settings
+    JmxScraperConfig target = config.getTargets().get(0);
+    assertThat(target.getReconnectInitialBackoff()).isEqualTo(Duration.ofSeconds(2));
+    assertThat(target.getReconnectMaxBackoff()).isEqualTo(Duration.ofMinutes(5));
+    assertThat(target.getConnectionCheckPeriod()).isEqualTo(Duration.ofSeconds(30));
+    assertThat(target.getRmiResponseTimeout()).isEqualTo(Duration.ofSeconds(10));
+    assertThat(target.getRmiConnectionKeepAlive()).isEqualTo(Duration.ofMinutes(2));
+    assertThat(target.getAttributeMaxReadInterval()).isEqualTo(Duration.ofMinutes(15));
+  }
+
+  @Test
+  void shouldFailValidation_negativeAttributeMaxReadInterval() {
+    // Given
+    Properties properties = (Properties) validProperties.clone();
+    properties.setProperty(JMX_ATTRIBUTE_MAX_READ_INTERVAL, "-1s");
+
+    // When and Then
+    assertThatThrownBy(() -> fromConfig(TestUtil.configProperties(properties)))
+        .isInstanceOf(ConfigurationException.class)
+        .hasMessage("'otel.jmx.attribute.max.read.interval' must not be negative");
+  }
+
+  @Test
+  void shouldFailValidation_maxBackoffLessThanInitial() {
+    // Given
+    Properties properties = (Properties) validProperties.clone();
+    properties.setProperty(JMX_RECONNECT_INITIAL_BACKOFF, "10s");
+    properties.setProperty(JMX_RECONNECT_MAX_BACKOFF, "5s");
+
+    // When and Then
+    assertThatThrownBy(() -> fromConfig(TestUtil.configProperties(properties)))
+        .isInstanceOf(ConfigurationException.class)
+        .hasMessage(
+            "'otel.jmx.reconnect.max.backoff' must not be less than"
+                + " 'otel.jmx.reconnect.initial.backoff'");
   }
 
   @Test
@@ -142,6 +211,56 @@ class JmxScraperConfigTest {
         .hasMessage("at least one of 'otel.jmx.target.system' or 'otel.jmx.config' must be set");
   }
 
+  @Test
+  void multipleTargets() {
+    // Given
+    Properties properties = (Properties) validProperties.clone();
+    properties.remove(JMX_SERVICE_URL);
+    properties.setProperty(JMX_TARGETS, "first, second");
+    properties.setProperty(
+        JMX_TARGETS + ".first.service.url", "service:jmx:rmi:///jndi/rmi://first:9010/jmxrmi");
+    properties.setProperty(
+        JMX_TARGETS + ".second.service.url", "service:jmx:rmi:///jndi/rmi://second:9010/jmxrmi");
+    properties.setProperty(JMX_TARGETS + ".second.target.system", "jvm");
+    properties.setProperty(JMX_TARGETS + ".second.username", "other-user");
+    properties.setProperty(JMX_TARGETS + ".second.resource.attributes", "service.name=second");
+
+    // When
+    JmxScraperConfig config = fromConfig(TestUtil.configProperties(properties));
+
+    // Then
+    assertThat(config.getTargets()).hasSize(2);
+
+    JmxScraperConfig first = config.getTargets().get(0);
+    assertThat(first.getName()).isEqualTo("first");
+    assertThat(first.getServiceUrl())
+        .isEqualTo("service:jmx:rmi:///jndi/rmi://first:9010/jmxrmi");
+    assertThat(first.getJmxConfig()).containsExactly("/path/to/config.yaml");
+    assertThat(first.getTargetSystems()).containsExactlyInAnyOrder("tomcat", "activemq");
+    assertThat(first.getUsername()).isEqualTo("some-user");
+    assertThat(first.getSamplingInterval()).isEqualTo(Duration.ofSeconds(10));
+    assertThat(first.getResourceAttributes()).isEmpty();
+
+    JmxScraperConfig second = config.getTargets().get(1);
+    assertThat(second.getName()).isEqualTo("second");
+    assertThat(second.getTargetSystems()).containsExactly("jvm");
+    assertThat(second.getUsername()).isEqualTo("other-user");
+    assertThat(second.getPassword()).isEqualTo("some-password");
+    assertThat(second.getResourceAttributes()).containsExactly(entry("service.name", "second"));
+  }
+
+  @Test
+  void shouldFailValidation_missingTargetServiceUrl() {
+    // Given
+    Properties properties = (Properties) validProperties.clone();
+    properties.setProperty(JMX_TARGETS, "first");
+
+    // When and Then
+    assertThatThrownBy(() -> fromConfig(TestUtil.configProperties(properties)))
+        .isInstanceOf(ConfigurationException.class)
+        .hasMessage("missing mandatory otel.jmx.targets.first.service.url");
+  }
+
   @ParameterizedTest
   @EnumSource(JmxScraperConfig.TargetSystemSource.class)
   void shouldFailValidation_invalidTargetSystem(JmxScraperConfig.TargetSystemSource source) {
@@ -1,9 +1,10 @@
 plugins {
   id("otel.java-conventions")
   id("otel.publish-conventions")
+  id("otel.jmh-conventions")
 }
 
-description = "SpanExporter based on Kafka"
+description = "SpanExporter, LogRecordExporter and MetricExporter based on Kafka"
 
 otelJava {
   moduleName.set("io.opentelemetry.contrib.kafka")
@@ -13,6 +14,8 @@ otelJava {
 
 dependencies {
   api("io.opentelemetry:opentelemetry-sdk-trace")
+  api("io.opentelemetry:opentelemetry-sdk-logs")
+  api("io.opentelemetry:opentelemetry-sdk-metrics")
   api("io.opentelemetry:opentelemetry-sdk-common")
   api("io.opentelemetry.proto:opentelemetry-proto:1.11.0-alpha")
   api("org.apache.kafka:kafka-clients")
@@ -37,4 +40,6 @@ dependencies {
   testImplementation("org.testcontainers:testcontainers")
 
   testRuntimeOnly("org.slf4j:slf4j-simple")
+
+  jmhImplementation("io.opentelemetry:opentelemetry-sdk-testing")
 }
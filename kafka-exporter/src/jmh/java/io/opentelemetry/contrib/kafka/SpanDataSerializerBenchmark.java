@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SpanDataSerializerBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  public int spanCount;
+
+  private final SpanDataSerializer serializer = new SpanDataSerializer();
+  private List<SpanData> spans;
+
+  @Setup
+  public void setup() {
+    Resource resource = Resource.getDefault();
+    InstrumentationScopeInfo scope = InstrumentationScopeInfo.create("benchmark");
+    Random random = new Random(0);
+    spans = new ArrayList<>(spanCount);
+    for (int i = 0; i < spanCount; i++) {
+      spans.add(
+          TestSpanData.builder()
+              .setHasEnded(true)
+              .setSpanContext(
+                  SpanContext.create(
+                      TraceId.fromLongs(random.nextLong(), random.nextLong()),
+                      SpanId.fromLong(random.nextLong()),
+                      TraceFlags.getSampled(),
+                      TraceState.getDefault()))
+              .setResource(resource)
+              .setInstrumentationScopeInfo(scope)
+              .setName("GET /api/orders/" + (i % 10))
+              .setKind(SpanKind.SERVER)
+              .setStartEpochNanos(TimeUnit.SECONDS.toNanos(100) + i)
+              .setEndEpochNanos(TimeUnit.SECONDS.toNanos(101) + i)
+              .setAttributes(
+                  Attributes.of(
+                      AttributeKey.stringKey("http.request.method"),
+                      "GET",
+                      AttributeKey.longKey("http.response.status_code"),
+                      200L))
+              .setStatus(StatusData.ok())
+              .setTotalRecordedLinks(0)
+              .setTotalRecordedEvents(0)
+              .build());
+    }
+  }
+
+  @Benchmark
+  public byte[] directMarshaling() {
+    return serializer.serialize("benchmark", spans);
+  }
+
+  /** The previous implementation, which marshals, parses and serializes again. */
+  @Benchmark
+  public byte[] protobufRoundTrip() {
+    return serializer.convertSpansToRequest(spans).toByteArray();
+  }
+}
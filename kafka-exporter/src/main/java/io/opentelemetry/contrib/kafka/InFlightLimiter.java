@@ -0,0 +1,105 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the number of batches and items that were handed to the producer but not yet acknowledged
+ * by the broker. Acquiring never blocks, callers are expected to reject the batch instead.
+ */
+final class InFlightLimiter {
+  private static final AttributeKey<String> SIGNAL = AttributeKey.stringKey("signal");
+
+  private final int maxBatches;
+  private final int maxItems;
+  private final Semaphore batches;
+  private final Semaphore items;
+  private final Attributes attributes;
+  private final LongCounter rejectedItems;
+  private final List<ObservableLongGauge> gauges = new ArrayList<>();
+
+  /**
+   * Creates a new limiter.
+   *
+   * @param signal the exported signal, reported as {@code signal} attribute of the metrics
+   */
+  InFlightLimiter(int maxBatches, int maxItems, String signal, MeterProvider meterProvider) {
+    this.maxBatches = maxBatches;
+    this.maxItems = maxItems;
+    this.batches = new Semaphore(maxBatches);
+    this.items = new Semaphore(maxItems);
+    this.attributes = Attributes.of(SIGNAL, signal);
+    Meter meter = meterProvider.get("io.opentelemetry.contrib.kafka");
+    this.rejectedItems =
+        meter
+            .counterBuilder("otel.contrib.kafka.exporter.rejected")
+            .setDescription("Number of items rejected because the in-flight limit was reached")
+            .setUnit("{item}")
+            .build();
+    gauges.add(
+        meter
+            .gaugeBuilder("otel.contrib.kafka.exporter.in_flight.batches")
+            .setDescription("Number of batches sent to Kafka and not yet acknowledged")
+            .setUnit("{batch}")
+            .ofLongs()
+            .buildWithCallback(
+                measurement -> measurement.record(getInFlightBatches(), attributes)));
+    gauges.add(
+        meter
+            .gaugeBuilder("otel.contrib.kafka.exporter.in_flight.items")
+            .setDescription("Number of items sent to Kafka and not yet acknowledged")
+            .setUnit("{item}")
+            .ofLongs()
+            .buildWithCallback(
+                measurement -> measurement.record(getInFlightItems(), attributes)));
+  }
+
+  /**
+   * Returns the number of item permits taken for a batch of the given size, or {@code -1} if the
+   * limit was reached. A batch larger than the item limit takes all item permits.
+   */
+  int tryAcquire(int batchSize) {
+    if (!batches.tryAcquire()) {
+      rejectedItems.add(batchSize, attributes);
+      return -1;
+    }
+    int permits = Math.min(batchSize, maxItems);
+    if (!items.tryAcquire(permits)) {
+      batches.release();
+      rejectedItems.add(batchSize, attributes);
+      return -1;
+    }
+    return permits;
+  }
+
+  void release(int permits) {
+    items.release(permits);
+    batches.release();
+  }
+
+  int getInFlightBatches() {
+    return maxBatches - batches.availablePermits();
+  }
+
+  int getInFlightItems() {
+    return maxItems - items.availablePermits();
+  }
+
+  void close() {
+    for (ObservableLongGauge gauge : gauges) {
+      gauge.close();
+    }
+  }
+}
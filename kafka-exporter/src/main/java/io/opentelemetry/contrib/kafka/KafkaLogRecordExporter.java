@@ -0,0 +1,46 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import java.util.Collection;
+import java.util.Collections;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/** Sends each export batch of log records to a Kafka topic as a single record without key. */
+@ThreadSafe
+public final class KafkaLogRecordExporter implements LogRecordExporter {
+  private final String topicName;
+  private final KafkaSender<LogRecordData, ?> sender;
+
+  public static KafkaLogRecordExporterBuilder newBuilder() {
+    return new KafkaLogRecordExporterBuilder();
+  }
+
+  KafkaLogRecordExporter(String topicName, KafkaSender<LogRecordData, ?> sender) {
+    this.topicName = topicName;
+    this.sender = sender;
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<LogRecordData> logs) {
+    return sender.send(
+        Collections.singletonList(new ProducerRecord<>(topicName, logs)), logs.size());
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return sender.flush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return sender.shutdown();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import org.apache.kafka.clients.producer.Producer;
+
+public final class KafkaLogRecordExporterBuilder {
+  private final KafkaSenderBuilder<LogRecordData> senderBuilder =
+      new KafkaSenderBuilder<>(
+          "KafkaLogRecordExporter", "log records", "logs", new LogRecordDataSerializer());
+
+  public KafkaLogRecordExporterBuilder() {}
+
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setTopicName(String topicName) {
+    senderBuilder.setTopicName(topicName);
+    return this;
+  }
+
+  /**
+   * Sends log records with a producer owned by the exporter, for example with {@link
+   * LogRecordDataSerializer} as value serializer.
+   */
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setProducer(
+      Producer<String, Collection<LogRecordData>> producer) {
+    senderBuilder.setProducer(producer);
+    return this;
+  }
+
+  /**
+   * Sends log records with a producer that is shared with other exporters. Log records are
+   * serialized with {@link LogRecordDataSerializer} before they are handed to the producer.
+   */
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setProducer(SharedKafkaProducer sharedProducer) {
+    senderBuilder.setProducer(sharedProducer);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setExecutorService(ExecutorService executorService) {
+    senderBuilder.setExecutorService(executorService);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setTimeoutInSeconds(long timeoutInSeconds) {
+    senderBuilder.setTimeoutInSeconds(timeoutInSeconds);
+    return this;
+  }
+
+  /**
+   * Calls {@link Producer#send} on the exporting thread instead of the executor, and fails exports
+   * immediately while {@code maxInFlightBatches} batches are waiting for the broker to acknowledge
+   * them. Disabled by default.
+   */
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setMaxInFlightBatches(int maxInFlightBatches) {
+    if (maxInFlightBatches <= 0) {
+      throw new IllegalArgumentException("maxInFlightBatches must be positive");
+    }
+    senderBuilder.setMaxInFlightBatches(maxInFlightBatches);
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of log records waiting for the broker to acknowledge them, when {@link
+   * #setMaxInFlightBatches(int)} is set. Unbounded by default.
+   */
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setMaxInFlightLogRecords(int maxInFlightLogRecords) {
+    if (maxInFlightLogRecords <= 0) {
+      throw new IllegalArgumentException("maxInFlightLogRecords must be positive");
+    }
+    senderBuilder.setMaxInFlightItems(maxInFlightLogRecords);
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} used to report in-flight batches and log records and rejected
+   * log records, when {@link #setMaxInFlightBatches(int)} is set.
+   */
+  @CanIgnoreReturnValue
+  public KafkaLogRecordExporterBuilder setMeterProvider(MeterProvider meterProvider) {
+    senderBuilder.setMeterProvider(meterProvider);
+    return this;
+  }
+
+  public KafkaLogRecordExporter build() {
+    KafkaSender<LogRecordData, ?> sender = senderBuilder.build();
+    return new KafkaLogRecordExporter(sender.getTopicName(), sender);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.util.Collection;
+import java.util.Collections;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/** Sends each export batch of metrics to a Kafka topic as a single record without key. */
+@ThreadSafe
+public final class KafkaMetricExporter implements MetricExporter {
+  private final String topicName;
+  private final KafkaSender<MetricData, ?> sender;
+  private final AggregationTemporalitySelector aggregationTemporalitySelector;
+
+  public static KafkaMetricExporterBuilder newBuilder() {
+    return new KafkaMetricExporterBuilder();
+  }
+
+  KafkaMetricExporter(
+      String topicName,
+      KafkaSender<MetricData, ?> sender,
+      AggregationTemporalitySelector aggregationTemporalitySelector) {
+    this.topicName = topicName;
+    this.sender = sender;
+    this.aggregationTemporalitySelector = aggregationTemporalitySelector;
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    return sender.send(
+        Collections.singletonList(new ProducerRecord<>(topicName, metrics)), metrics.size());
+  }
+
+  @Override
+  public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+    return aggregationTemporalitySelector.getAggregationTemporality(instrumentType);
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return sender.flush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return sender.shutdown();
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import org.apache.kafka.clients.producer.Producer;
+
+public final class KafkaMetricExporterBuilder {
+  private final KafkaSenderBuilder<MetricData> senderBuilder =
+      new KafkaSenderBuilder<>(
+          "KafkaMetricExporter", "metrics", "metrics", new MetricDataSerializer());
+  private AggregationTemporalitySelector aggregationTemporalitySelector =
+      AggregationTemporalitySelector.alwaysCumulative();
+
+  public KafkaMetricExporterBuilder() {}
+
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setTopicName(String topicName) {
+    senderBuilder.setTopicName(topicName);
+    return this;
+  }
+
+  /**
+   * Sends metrics with a producer owned by the exporter, for example with {@link
+   * MetricDataSerializer} as value serializer.
+   */
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setProducer(Producer<String, Collection<MetricData>> producer) {
+    senderBuilder.setProducer(producer);
+    return this;
+  }
+
+  /**
+   * Sends metrics with a producer that is shared with other exporters. Metrics are serialized with
+   * {@link MetricDataSerializer} before they are handed to the producer.
+   */
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setProducer(SharedKafkaProducer sharedProducer) {
+    senderBuilder.setProducer(sharedProducer);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setExecutorService(ExecutorService executorService) {
+    senderBuilder.setExecutorService(executorService);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setTimeoutInSeconds(long timeoutInSeconds) {
+    senderBuilder.setTimeoutInSeconds(timeoutInSeconds);
+    return this;
+  }
+
+  /**
+   * Calls {@link Producer#send} on the exporting thread instead of the executor, and fails exports
+   * immediately while {@code maxInFlightBatches} batches are waiting for the broker to acknowledge
+   * them. Disabled by default.
+   */
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setMaxInFlightBatches(int maxInFlightBatches) {
+    if (maxInFlightBatches <= 0) {
+      throw new IllegalArgumentException("maxInFlightBatches must be positive");
+    }
+    senderBuilder.setMaxInFlightBatches(maxInFlightBatches);
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of metrics waiting for the broker to acknowledge them, when {@link
+   * #setMaxInFlightBatches(int)} is set. Unbounded by default.
+   */
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setMaxInFlightMetrics(int maxInFlightMetrics) {
+    if (maxInFlightMetrics <= 0) {
+      throw new IllegalArgumentException("maxInFlightMetrics must be positive");
+    }
+    senderBuilder.setMaxInFlightItems(maxInFlightMetrics);
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} used to report in-flight batches and metrics and rejected
+   * metrics, when {@link #setMaxInFlightBatches(int)} is set.
+   */
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setMeterProvider(MeterProvider meterProvider) {
+    senderBuilder.setMeterProvider(meterProvider);
+    return this;
+  }
+
+  /** Sets the aggregation temporality of exported metrics. Always cumulative by default. */
+  @CanIgnoreReturnValue
+  public KafkaMetricExporterBuilder setAggregationTemporalitySelector(
+      AggregationTemporalitySelector aggregationTemporalitySelector) {
+    this.aggregationTemporalitySelector = aggregationTemporalitySelector;
+    return this;
+  }
+
+  public KafkaMetricExporter build() {
+    KafkaSender<MetricData, ?> sender = senderBuilder.build();
+    return new KafkaMetricExporter(sender.getTopicName(), sender, aggregationTemporalitySelector);
+  }
+}
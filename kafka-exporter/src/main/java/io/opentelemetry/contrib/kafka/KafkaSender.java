@@ -0,0 +1,332 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends the records of an exporter to Kafka and handles flushing and shutdown, independently of the
+ * exported signal.
+ *
+ * @param <T> the type of exported items
+ * @param <V> the value type of the producer
+ */
+@ThreadSafe
+@SuppressWarnings("FutureReturnValueIgnored")
+final class KafkaSender<T, V> {
+  private static final Logger logger = LoggerFactory.getLogger(KafkaSender.class);
+  private final String exporterName;
+  private final String itemName;
+  private final String topicName;
+  private final Producer<String, V> producer;
+  private final Function<ProducerRecord<String, Collection<T>>, ProducerRecord<String, V>>
+      recordMapper;
+  @Nullable private final SharedKafkaProducer sharedProducer;
+  @Nullable private final ExecutorService executorService;
+  @Nullable private final InFlightLimiter inFlightLimiter;
+  private final long timeoutInSeconds;
+  private final AtomicBoolean isShutdown = new AtomicBoolean();
+
+  /** Creates a sender owning a producer that serializes the items itself. */
+  static <T> KafkaSender<T, Collection<T>> create(
+      String exporterName,
+      String itemName,
+      String topicName,
+      Producer<String, Collection<T>> producer,
+      @Nullable ExecutorService executorService,
+      @Nullable InFlightLimiter inFlightLimiter,
+      long timeoutInSeconds) {
+    return new KafkaSender<>(
+        exporterName,
+        itemName,
+        topicName,
+        producer,
+        Function.identity(),
+        null,
+        executorService,
+        inFlightLimiter,
+        timeoutInSeconds);
+  }
+
+  /**
+   * Creates a sender using a shared producer, already retained for it and released when it is shut
+   * down. Items are serialized into the record value before it is handed to the producer.
+   */
+  static <T> KafkaSender<T, byte[]> createShared(
+      String exporterName,
+      String itemName,
+      String topicName,
+      SharedKafkaProducer sharedProducer,
+      Serializer<Collection<T>> serializer,
+      @Nullable ExecutorService executorService,
+      @Nullable InFlightLimiter inFlightLimiter,
+      long timeoutInSeconds) {
+    return new KafkaSender<>(
+        exporterName,
+        itemName,
+        topicName,
+        sharedProducer.getProducer(),
+        producerRecord ->
+            new ProducerRecord<>(
+                producerRecord.topic(),
+                producerRecord.key(),
+                serializer.serialize(producerRecord.topic(), producerRecord.value())),
+        sharedProducer,
+        executorService,
+        inFlightLimiter,
+        timeoutInSeconds);
+  }
+
+  private KafkaSender(
+      String exporterName,
+      String itemName,
+      String topicName,
+      Producer<String, V> producer,
+      Function<ProducerRecord<String, Collection<T>>, ProducerRecord<String, V>> recordMapper,
+      @Nullable SharedKafkaProducer sharedProducer,
+      @Nullable ExecutorService executorService,
+      @Nullable InFlightLimiter inFlightLimiter,
+      long timeoutInSeconds) {
+    this.exporterName = exporterName;
+    this.itemName = itemName;
+    this.topicName = topicName;
+    this.producer = producer;
+    this.recordMapper = recordMapper;
+    this.sharedProducer = sharedProducer;
+    this.executorService = executorService;
+    this.inFlightLimiter = inFlightLimiter;
+    this.timeoutInSeconds = timeoutInSeconds;
+  }
+
+  String getTopicName() {
+    return topicName;
+  }
+
+  boolean isShutdown() {
+    return isShutdown.get();
+  }
+
+  /**
+   * Sends the records of one export batch.
+   *
+   * @param records the records, all for the topic of this sender
+   * @param itemCount the number of items in all records
+   */
+  CompletableResultCode send(List<ProducerRecord<String, Collection<T>>> records, int itemCount) {
+    if (isShutdown.get()) {
+      return CompletableResultCode.ofFailure();
+    }
+    if (records.isEmpty()) {
+      return CompletableResultCode.ofSuccess();
+    }
+    if (inFlightLimiter != null) {
+      return sendInline(records, itemCount, inFlightLimiter);
+    }
+    if (records.size() == 1) {
+      return sendAsync(records.get(0));
+    }
+    List<CompletableResultCode> results = new ArrayList<>(records.size());
+    for (ProducerRecord<String, Collection<T>> producerRecord : records) {
+      results.add(sendAsync(producerRecord));
+    }
+    return CompletableResultCode.ofAll(results);
+  }
+
+  private CompletableResultCode sendAsync(ProducerRecord<String, Collection<T>> producerRecord) {
+    CompletableResultCode result = new CompletableResultCode();
+    CompletableFuture.runAsync(
+            () ->
+                producer.send(
+                    recordMapper.apply(producerRecord),
+                    (metadata, exception) -> {
+                      if (exception == null) {
+                        result.succeed();
+                      } else {
+                        logger.error(
+                            String.format(
+                                "Error while sending %s to Kafka topic %s", itemName, topicName),
+                            exception);
+                        result.fail();
+                      }
+                    }),
+            requireExecutorService())
+        .whenComplete(
+            (ignore, exception) -> {
+              if (exception != null) {
+                logger.error(
+                    "Executor task failed while sending to Kafka topic {}", topicName, exception);
+                result.fail();
+              }
+            });
+    return result;
+  }
+
+  /**
+   * {@link Producer#send} is already asynchronous, so it is called on the exporting thread. The
+   * number of unacknowledged export batches and items is bounded, and a batch exceeding the bounds
+   * fails immediately instead of piling up in the producer's buffer.
+   */
+  private CompletableResultCode sendInline(
+      List<ProducerRecord<String, Collection<T>>> records,
+      int itemCount,
+      InFlightLimiter inFlightLimiter) {
+    int permits = inFlightLimiter.tryAcquire(itemCount);
+    if (permits < 0) {
+      logger.warn(
+          "Dropping {} {}, too many batches in flight to Kafka topic {}",
+          itemCount,
+          itemName,
+          topicName);
+      return CompletableResultCode.ofFailure();
+    }
+    CompletableResultCode result;
+    if (records.size() == 1) {
+      result = sendInline(records.get(0));
+    } else {
+      List<CompletableResultCode> results = new ArrayList<>(records.size());
+      for (ProducerRecord<String, Collection<T>> producerRecord : records) {
+        results.add(sendInline(producerRecord));
+      }
+      result = CompletableResultCode.ofAll(results);
+    }
+    result.whenComplete(() -> inFlightLimiter.release(permits));
+    return result;
+  }
+
+  private CompletableResultCode sendInline(ProducerRecord<String, Collection<T>> producerRecord) {
+    CompletableResultCode result = new CompletableResultCode();
+    try {
+      producer.send(
+          recordMapper.apply(producerRecord),
+          (metadata, exception) -> {
+            if (exception == null) {
+              result.succeed();
+            } else {
+              logger.error(
+                  String.format("Error while sending %s to Kafka topic %s", itemName, topicName),
+                  exception);
+              result.fail();
+            }
+          });
+    } catch (RuntimeException e) {
+      // The callback is not invoked when send throws, eg on serialization errors.
+      logger.error(
+          String.format("Error while sending %s to Kafka topic %s", itemName, topicName), e);
+      result.fail();
+    }
+    return result;
+  }
+
+  CompletableResultCode flush() {
+    if (executorService == null) {
+      // Without an executor, flushing blocks the calling thread until all sends complete.
+      try {
+        producer.flush();
+        return CompletableResultCode.ofSuccess();
+      } catch (KafkaException e) {
+        logger.error(
+            String.format("Error while performing the flush operation on topic %s", topicName), e);
+        return CompletableResultCode.ofFailure();
+      }
+    }
+    CompletableResultCode result = new CompletableResultCode();
+    CompletableFuture.runAsync(producer::flush, executorService)
+        .handle(
+            (unused, exception) -> {
+              if (exception == null) {
+                result.succeed();
+              } else {
+                logger.error(
+                    String.format(
+                        "Error while performing the flush operation on topic %s", topicName),
+                    exception);
+                result.fail();
+              }
+              return true;
+            });
+    return result;
+  }
+
+  private ExecutorService requireExecutorService() {
+    if (executorService == null) {
+      throw new IllegalStateException("executorService cannot be null");
+    }
+    return executorService;
+  }
+
+  private CompletableResultCode shutdownExecutorService() {
+    if (executorService == null) {
+      return CompletableResultCode.ofSuccess();
+    }
+    try {
+      executorService.shutdown();
+      boolean terminated = executorService.awaitTermination(timeoutInSeconds, TimeUnit.SECONDS);
+      if (!terminated) {
+        List<Runnable> interrupted = executorService.shutdownNow();
+        if (!interrupted.isEmpty()) {
+          logger.error(
+              "Shutting down {} forced {} tasks to be cancelled.",
+              exporterName,
+              interrupted.size());
+        }
+      }
+      return CompletableResultCode.ofSuccess();
+    } catch (InterruptedException e) {
+      logger.error("Error when trying to shutdown {} executorService.", exporterName, e);
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  private CompletableResultCode shutdownProducer() {
+    if (sharedProducer != null) {
+      // The producer stays open for other exporters, so pending sends are flushed instead.
+      try {
+        producer.flush();
+      } catch (KafkaException e) {
+        logger.error("Error when trying to flush {} Producer.", exporterName, e);
+      }
+      return sharedProducer.release(Duration.ofSeconds(timeoutInSeconds));
+    }
+    try {
+      producer.close(Duration.ofSeconds(timeoutInSeconds));
+      return CompletableResultCode.ofSuccess();
+    } catch (KafkaException e) {
+      logger.error("Error when trying to shutdown {} Producer.", exporterName, e);
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  CompletableResultCode shutdown() {
+    if (!isShutdown.compareAndSet(false, true)) {
+      logger.warn("Calling shutdown() multiple times.");
+      return CompletableResultCode.ofSuccess();
+    }
+    List<CompletableResultCode> codes = new ArrayList<>(2);
+    codes.add(shutdownExecutorService());
+    codes.add(shutdownProducer());
+    if (inFlightLimiter != null) {
+      inFlightLimiter.close();
+    }
+    return CompletableResultCode.ofAll(codes);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Settings shared by the span, log record and metric exporter builders, which delegate to it to
+ * create their {@link KafkaSender}.
+ *
+ * @param <T> the type of exported items
+ */
+final class KafkaSenderBuilder<T> {
+  private static final long DEFAULT_TIMEOUT_IN_SECONDS = 5L;
+  private final String exporterName;
+  private final String itemName;
+  private final String signal;
+  private final Serializer<Collection<T>> sharedSerializer;
+  @Nullable private String topicName;
+  @Nullable private Producer<String, Collection<T>> producer;
+  @Nullable private SharedKafkaProducer sharedProducer;
+  @Nullable private ExecutorService executorService;
+  private long timeoutInSeconds = DEFAULT_TIMEOUT_IN_SECONDS;
+  private int maxInFlightBatches;
+  private int maxInFlightItems = Integer.MAX_VALUE;
+  private MeterProvider meterProvider = MeterProvider.noop();
+
+  /**
+   * Creates a new builder.
+   *
+   * @param signal the exported signal, reported as attribute of the in-flight metrics
+   * @param sharedSerializer serializes the items when sending with a {@link SharedKafkaProducer}
+   */
+  KafkaSenderBuilder(
+      String exporterName,
+      String itemName,
+      String signal,
+      Serializer<Collection<T>> sharedSerializer) {
+    this.exporterName = exporterName;
+    this.itemName = itemName;
+    this.signal = signal;
+    this.sharedSerializer = sharedSerializer;
+  }
+
+  void setTopicName(String topicName) {
+    this.topicName = topicName;
+  }
+
+  void setProducer(Producer<String, Collection<T>> producer) {
+    this.producer = producer;
+  }
+
+  void setProducer(SharedKafkaProducer sharedProducer) {
+    this.sharedProducer = sharedProducer;
+  }
+
+  void setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+  }
+
+  void setTimeoutInSeconds(long timeoutInSeconds) {
+    this.timeoutInSeconds = timeoutInSeconds;
+  }
+
+  void setMaxInFlightBatches(int maxInFlightBatches) {
+    this.maxInFlightBatches = maxInFlightBatches;
+  }
+
+  void setMaxInFlightItems(int maxInFlightItems) {
+    this.maxInFlightItems = maxInFlightItems;
+  }
+
+  void setMeterProvider(MeterProvider meterProvider) {
+    this.meterProvider = meterProvider;
+  }
+
+  KafkaSender<T, ?> build() {
+    String topicName = this.topicName;
+    Producer<String, Collection<T>> producer = this.producer;
+    SharedKafkaProducer sharedProducer = this.sharedProducer;
+    if (topicName == null) {
+      throw new IllegalArgumentException("topicName cannot be null");
+    }
+    if (producer != null && sharedProducer != null) {
+      throw new IllegalArgumentException("producer and shared producer cannot both be set");
+    }
+    if (sharedProducer != null) {
+      // Fails if the shared producer is already closed, thus comes before creating the executor and
+      // the limiter, which are only released when the sender is shut down.
+      sharedProducer.retain();
+      InFlightLimiter inFlightLimiter = createInFlightLimiter();
+      return KafkaSender.createShared(
+          exporterName,
+          itemName,
+          topicName,
+          sharedProducer,
+          sharedSerializer,
+          executorService(inFlightLimiter),
+          inFlightLimiter,
+          timeoutInSeconds);
+    }
+    if (producer == null) {
+      throw new IllegalArgumentException("producer cannot be null");
+    }
+    InFlightLimiter inFlightLimiter = createInFlightLimiter();
+    return KafkaSender.create(
+        exporterName,
+        itemName,
+        topicName,
+        producer,
+        executorService(inFlightLimiter),
+        inFlightLimiter,
+        timeoutInSeconds);
+  }
+
+  @Nullable
+  private InFlightLimiter createInFlightLimiter() {
+    return maxInFlightBatches > 0
+        ? new InFlightLimiter(maxInFlightBatches, maxInFlightItems, signal, meterProvider)
+        : null;
+  }
+
+  // Records are sent on the exporting thread when the in-flight batches are limited.
+  @Nullable
+  private ExecutorService executorService(@Nullable InFlightLimiter inFlightLimiter) {
+    if (inFlightLimiter != null || executorService != null) {
+      return executorService;
+    }
+    return Executors.newCachedThreadPool();
+  }
+}
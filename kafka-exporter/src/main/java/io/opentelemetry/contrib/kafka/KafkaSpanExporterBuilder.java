@@ -11,60 +11,126 @@ import static org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CL
 import static org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.common.serialization.Serializer;
 
 public final class KafkaSpanExporterBuilder {
-  private static final long DEFAULT_TIMEOUT_IN_SECONDS = 5L;
-  private String topicName;
-  private Producer<String, Collection<SpanData>> producer;
-  private ExecutorService executorService;
-  private long timeoutInSeconds = DEFAULT_TIMEOUT_IN_SECONDS;
+  private final KafkaSenderBuilder<SpanData> senderBuilder =
+      new KafkaSenderBuilder<>("KafkaSpanExporter", "spans", "traces", new SpanDataSerializer());
+  private boolean keyByTraceId;
+  private int maxRecordSizeBytes;
 
-  @SuppressWarnings(value = {"NullAway"})
   public KafkaSpanExporterBuilder() {}
 
   @CanIgnoreReturnValue
   public KafkaSpanExporterBuilder setTopicName(String topicName) {
-    this.topicName = topicName;
+    senderBuilder.setTopicName(topicName);
     return this;
   }
 
   @CanIgnoreReturnValue
   public KafkaSpanExporterBuilder setProducer(Producer<String, Collection<SpanData>> producer) {
-    this.producer = producer;
+    senderBuilder.setProducer(producer);
+    return this;
+  }
+
+  /**
+   * Sends spans with a producer that is shared with other exporters. Spans are serialized with
+   * {@link SpanDataSerializer} before they are handed to the producer.
+   */
+  @CanIgnoreReturnValue
+  public KafkaSpanExporterBuilder setProducer(SharedKafkaProducer sharedProducer) {
+    senderBuilder.setProducer(sharedProducer);
     return this;
   }
 
   @CanIgnoreReturnValue
   public KafkaSpanExporterBuilder setExecutorService(ExecutorService executorService) {
-    this.executorService = executorService;
+    senderBuilder.setExecutorService(executorService);
     return this;
   }
 
   @CanIgnoreReturnValue
   public KafkaSpanExporterBuilder setTimeoutInSeconds(long timeoutInSeconds) {
-    this.timeoutInSeconds = timeoutInSeconds;
+    senderBuilder.setTimeoutInSeconds(timeoutInSeconds);
     return this;
   }
 
-  public KafkaSpanExporter build() {
-    if (isNull(topicName)) {
-      throw new IllegalArgumentException("topicName cannot be null");
+  /**
+   * Calls {@link Producer#send} on the exporting thread instead of the executor, and fails exports
+   * immediately while {@code maxInFlightBatches} batches are waiting for the broker to acknowledge
+   * them. Disabled by default.
+   */
+  @CanIgnoreReturnValue
+  public KafkaSpanExporterBuilder setMaxInFlightBatches(int maxInFlightBatches) {
+    if (maxInFlightBatches <= 0) {
+      throw new IllegalArgumentException("maxInFlightBatches must be positive");
     }
-    if (isNull(producer)) {
-      throw new IllegalArgumentException("producer cannot be null");
+    senderBuilder.setMaxInFlightBatches(maxInFlightBatches);
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of spans waiting for the broker to acknowledge them, when {@link
+   * #setMaxInFlightBatches(int)} is set. Unbounded by default.
+   */
+  @CanIgnoreReturnValue
+  public KafkaSpanExporterBuilder setMaxInFlightSpans(int maxInFlightSpans) {
+    if (maxInFlightSpans <= 0) {
+      throw new IllegalArgumentException("maxInFlightSpans must be positive");
     }
-    if (isNull(executorService)) {
-      executorService = Executors.newCachedThreadPool();
+    senderBuilder.setMaxInFlightItems(maxInFlightSpans);
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} used to report in-flight batches and spans and rejected spans,
+   * when {@link #setMaxInFlightBatches(int)} is set.
+   */
+  @CanIgnoreReturnValue
+  public KafkaSpanExporterBuilder setMeterProvider(MeterProvider meterProvider) {
+    senderBuilder.setMeterProvider(meterProvider);
+    return this;
+  }
+
+  /**
+   * Splits each export batch into one record per trace ID, with the trace ID as record key, so all
+   * spans of a trace land in the same partition. Disabled by default, in which case a batch is sent
+   * as a single record without key.
+   */
+  @CanIgnoreReturnValue
+  public KafkaSpanExporterBuilder setKeyByTraceId(boolean keyByTraceId) {
+    this.keyByTraceId = keyByTraceId;
+    return this;
+  }
+
+  /**
+   * Sets the maximum serialized size of a record. Larger records are split, keeping their key, so
+   * they stay below the producer's {@code max.request.size}. A single span is never split.
+   * Unbounded by default.
+   */
+  @CanIgnoreReturnValue
+  public KafkaSpanExporterBuilder setMaxRecordSizeBytes(int maxRecordSizeBytes) {
+    if (maxRecordSizeBytes <= 0) {
+      throw new IllegalArgumentException("maxRecordSizeBytes must be positive");
     }
-    return new KafkaSpanExporter(topicName, producer, executorService, timeoutInSeconds);
+    this.maxRecordSizeBytes = maxRecordSizeBytes;
+    return this;
+  }
+
+  public KafkaSpanExporter build() {
+    KafkaSender<SpanData, ?> sender = senderBuilder.build();
+    SpanRecordSplitter recordSplitter =
+        keyByTraceId || maxRecordSizeBytes > 0
+            ? new SpanRecordSplitter(sender.getTopicName(), keyByTraceId, maxRecordSizeBytes)
+            : null;
+    return new KafkaSpanExporter(sender.getTopicName(), sender, recordSplitter);
   }
 
   public static class ProducerBuilder {
@@ -0,0 +1,42 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.exporter.internal.otlp.logs.LowAllocationLogsRequestMarshaler;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Serializes log records as the bytes of an OTLP {@code ExportLogsServiceRequest}, marshaled the
+ * same way as {@link SpanDataSerializer}.
+ */
+public final class LogRecordDataSerializer implements Serializer<Collection<LogRecordData>> {
+  private final Queue<LowAllocationLogsRequestMarshaler> marshalers =
+      new ConcurrentLinkedQueue<>();
+
+  @Override
+  public byte[] serialize(String topic, Collection<LogRecordData> data) {
+    if (Objects.isNull(data)) {
+      throw new SerializationException("Cannot serialize null");
+    }
+    LowAllocationLogsRequestMarshaler marshaler = marshalers.poll();
+    if (marshaler == null) {
+      marshaler = new LowAllocationLogsRequestMarshaler();
+    }
+    try {
+      marshaler.initialize(data);
+      return MarshalerBytes.toByteArray(marshaler);
+    } finally {
+      marshaler.reset();
+      marshalers.offer(marshaler);
+    }
+  }
+}
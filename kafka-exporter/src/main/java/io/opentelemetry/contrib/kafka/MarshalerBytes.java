@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.kafka.common.errors.SerializationException;
+
+/** Writes marshalers into arrays of their precomputed serialized size. */
+final class MarshalerBytes {
+
+  /**
+   * Returns the binary serialization of the given marshaler.
+   *
+   * @throws SerializationException if the marshaler does not write exactly its serialized size
+   */
+  static byte[] toByteArray(Marshaler marshaler) {
+    byte[] bytes = new byte[marshaler.getBinarySerializedSize()];
+    FixedByteArrayOutputStream output = new FixedByteArrayOutputStream(bytes);
+    try {
+      marshaler.writeBinaryTo(output);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+    if (output.position != bytes.length) {
+      throw new SerializationException(
+          "Serialized " + output.position + " bytes, expected " + bytes.length);
+    }
+    return bytes;
+  }
+
+  private MarshalerBytes() {}
+
+  /** Writes into an array that was sized up front, so the bytes are never copied. */
+  private static final class FixedByteArrayOutputStream extends OutputStream {
+    private final byte[] bytes;
+    private int position;
+
+    private FixedByteArrayOutputStream(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (position >= bytes.length) {
+        throw new IOException("Serialized size exceeded " + bytes.length + " bytes");
+      }
+      bytes[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (len > bytes.length - position) {
+        throw new IOException("Serialized size exceeded " + bytes.length + " bytes");
+      }
+      System.arraycopy(b, off, bytes, position, len);
+      position += len;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.exporter.internal.otlp.metrics.LowAllocationMetricsRequestMarshaler;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Serializes metrics as the bytes of an OTLP {@code ExportMetricsServiceRequest}, marshaled the
+ * same way as {@link SpanDataSerializer}.
+ */
+public final class MetricDataSerializer implements Serializer<Collection<MetricData>> {
+  private final Queue<LowAllocationMetricsRequestMarshaler> marshalers =
+      new ConcurrentLinkedQueue<>();
+
+  @Override
+  public byte[] serialize(String topic, Collection<MetricData> data) {
+    if (Objects.isNull(data)) {
+      throw new SerializationException("Cannot serialize null");
+    }
+    LowAllocationMetricsRequestMarshaler marshaler = marshalers.poll();
+    if (marshaler == null) {
+      marshaler = new LowAllocationMetricsRequestMarshaler();
+    }
+    try {
+      marshaler.initialize(data);
+      return MarshalerBytes.toByteArray(marshaler);
+    } finally {
+      marshaler.reset();
+      marshalers.offer(marshaler);
+    }
+  }
+}
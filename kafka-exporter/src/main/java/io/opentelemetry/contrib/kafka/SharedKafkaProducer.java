@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Producer} of already serialized OTLP requests that can be shared by {@link
+ * KafkaSpanExporter}, {@link KafkaLogRecordExporter} and {@link KafkaMetricExporter}, so all
+ * signals use the same connections, buffer memory, batching and compression.
+ *
+ * <p>Exporters marshal their data directly into the record value before sending it. The producer is
+ * closed when the last exporter built with it is shut down.
+ */
+@ThreadSafe
+public final class SharedKafkaProducer {
+  private static final Logger logger = LoggerFactory.getLogger(SharedKafkaProducer.class);
+  private final Producer<String, byte[]> producer;
+  private int references;
+  private boolean closed;
+
+  /** Wraps the given producer, which is closed once all exporters using it are shut down. */
+  public static SharedKafkaProducer create(Producer<String, byte[]> producer) {
+    Objects.requireNonNull(producer, "producer cannot be null");
+    return new SharedKafkaProducer(producer);
+  }
+
+  /**
+   * Creates a producer from the given configuration, with {@link StringSerializer} keys and {@link
+   * ByteArraySerializer} values.
+   */
+  public static SharedKafkaProducer create(Map<String, Object> config) {
+    Objects.requireNonNull(config, "config cannot be null");
+    return new SharedKafkaProducer(
+        new KafkaProducer<>(config, new StringSerializer(), new ByteArraySerializer()));
+  }
+
+  private SharedKafkaProducer(Producer<String, byte[]> producer) {
+    this.producer = producer;
+  }
+
+  Producer<String, byte[]> getProducer() {
+    return producer;
+  }
+
+  /** Registers an exporter using the producer. */
+  synchronized void retain() {
+    if (closed) {
+      throw new IllegalStateException("producer is already closed");
+    }
+    references++;
+  }
+
+  /** Unregisters an exporter, closing the producer if it was the last one. */
+  CompletableResultCode release(Duration timeout) {
+    synchronized (this) {
+      if (closed || --references > 0) {
+        return CompletableResultCode.ofSuccess();
+      }
+      closed = true;
+    }
+    try {
+      producer.close(timeout);
+      return CompletableResultCode.ofSuccess();
+    } catch (KafkaException e) {
+      logger.error("Error when trying to shutdown shared Kafka Producer.", e);
+      return CompletableResultCode.ofFailure();
+    }
+  }
+}
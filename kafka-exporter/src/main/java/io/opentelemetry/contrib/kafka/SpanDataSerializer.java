@@ -7,6 +7,7 @@ package io.opentelemetry.contrib.kafka;
 
 import static java.util.stream.Collectors.toList;
 
+import io.opentelemetry.exporter.internal.otlp.traces.LowAllocationTraceRequestMarshaler;
 import io.opentelemetry.exporter.internal.otlp.traces.ResourceSpansMarshaler;
 import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
 import io.opentelemetry.proto.trace.v1.ResourceSpans;
@@ -17,16 +18,52 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Serializer;
 
+/**
+ * Serializes spans as the bytes of an OTLP {@code ExportTraceServiceRequest}.
+ *
+ * <p>Spans are marshaled in a single pass, directly into an array of the precomputed serialized
+ * size. The marshalers are pooled, since the producer may call this serializer from several
+ * threads.
+ */
 public final class SpanDataSerializer implements Serializer<Collection<SpanData>> {
+  private final Queue<LowAllocationTraceRequestMarshaler> marshalers =
+      new ConcurrentLinkedQueue<>();
+
   @Override
   public byte[] serialize(String topic, Collection<SpanData> data) {
     if (Objects.isNull(data)) {
       throw new SerializationException("Cannot serialize null");
     }
-    return convertSpansToRequest(data).toByteArray();
+    LowAllocationTraceRequestMarshaler marshaler = acquireMarshaler();
+    try {
+      marshaler.initialize(data);
+      return MarshalerBytes.toByteArray(marshaler);
+    } finally {
+      marshaler.reset();
+      marshalers.offer(marshaler);
+    }
+  }
+
+  /** Returns the number of bytes {@link #serialize} produces for the given spans. */
+  int getSerializedSize(Collection<SpanData> data) {
+    LowAllocationTraceRequestMarshaler marshaler = acquireMarshaler();
+    try {
+      marshaler.initialize(data);
+      return marshaler.getBinarySerializedSize();
+    } finally {
+      marshaler.reset();
+      marshalers.offer(marshaler);
+    }
+  }
+
+  private LowAllocationTraceRequestMarshaler acquireMarshaler() {
+    LowAllocationTraceRequestMarshaler marshaler = marshalers.poll();
+    return marshaler != null ? marshaler : new LowAllocationTraceRequestMarshaler();
   }
 
   ExportTraceServiceRequest convertSpansToRequest(Collection<SpanData> spans) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * Splits an export batch into producer records.
+ *
+ * <p>When keying by trace ID, spans are grouped by trace ID and each group is sent with the trace
+ * ID as record key, so the default partitioner sends all spans of a trace to the same partition.
+ * When a maximum record size is set, groups whose serialized size exceeds it are cut into records
+ * of consecutive spans, each span being sized once. A single span exceeding the size is sent
+ * alone. The records keep the key of the group.
+ */
+final class SpanRecordSplitter {
+  private final String topicName;
+  private final boolean keyByTraceId;
+  private final int maxRecordBytes;
+  private final SpanDataSerializer sizer = new SpanDataSerializer();
+
+  /**
+   * Creates a new splitter.
+   *
+   * @param maxRecordBytes maximum serialized size of a record, or {@code 0} for no limit
+   */
+  SpanRecordSplitter(String topicName, boolean keyByTraceId, int maxRecordBytes) {
+    this.topicName = topicName;
+    this.keyByTraceId = keyByTraceId;
+    this.maxRecordBytes = maxRecordBytes;
+  }
+
+  List<ProducerRecord<String, Collection<SpanData>>> split(Collection<SpanData> spans) {
+    List<ProducerRecord<String, Collection<SpanData>>> records = new ArrayList<>();
+    if (!keyByTraceId) {
+      addRecords(records, null, new ArrayList<>(spans));
+      return records;
+    }
+    Map<String, List<SpanData>> spansByTraceId = new LinkedHashMap<>();
+    for (SpanData span : spans) {
+      spansByTraceId
+          .computeIfAbsent(span.getSpanContext().getTraceId(), unused -> new ArrayList<>())
+          .add(span);
+    }
+    for (Map.Entry<String, List<SpanData>> entry : spansByTraceId.entrySet()) {
+      addRecords(records, entry.getKey(), entry.getValue());
+    }
+    return records;
+  }
+
+  private void addRecords(
+      List<ProducerRecord<String, Collection<SpanData>>> records,
+      @Nullable String key,
+      List<SpanData> spans) {
+    if (maxRecordBytes <= 0
+        || spans.size() == 1
+        || sizer.getSerializedSize(spans) <= maxRecordBytes) {
+      records.add(record(key, spans));
+      return;
+    }
+    // Sized in a request of its own, a span also counts the resource and scope that the spans of a
+    // record share, so the sum of these sizes is an upper bound of the size of the record.
+    int start = 0;
+    long recordBytes = 0;
+    for (int i = 0; i < spans.size(); i++) {
+      int spanBytes = sizer.getSerializedSize(Collections.singletonList(spans.get(i)));
+      if (i > start && recordBytes + spanBytes > maxRecordBytes) {
+        records.add(record(key, spans.subList(start, i)));
+        start = i;
+        recordBytes = 0;
+      }
+      recordBytes += spanBytes;
+    }
+    records.add(record(key, spans.subList(start, spans.size())));
+  }
+
+  private ProducerRecord<String, Collection<SpanData>> record(
+      @Nullable String key, List<SpanData> spans) {
+    return new ProducerRecord<>(topicName, key, Collections.unmodifiableList(spans));
+  }
+}
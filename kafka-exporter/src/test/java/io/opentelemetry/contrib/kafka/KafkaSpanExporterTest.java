@@ -0,0 +1,143 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import static io.opentelemetry.contrib.kafka.TestUtil.makeBasicSpan;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.Collection;
+import java.util.List;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KafkaSpanExporterTest {
+  private static final String TOPIC = "span_topic";
+  private static final List<SpanData> SPANS =
+      ImmutableList.of(makeBasicSpan("span-1"), makeBasicSpan("span-2"));
+
+  private final InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+  private final SdkMeterProvider meterProvider =
+      SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+  private MockProducer<String, Collection<SpanData>> producer;
+  private KafkaSpanExporter exporter;
+
+  @BeforeEach
+  void setUp() {
+    producer = new MockProducer<>(false, null, null, null);
+    exporter =
+        KafkaSpanExporter.newBuilder()
+            .setTopicName(TOPIC)
+            .setProducer(producer)
+            .setMaxInFlightBatches(2)
+            .setMaxInFlightSpans(3)
+            .setMeterProvider(meterProvider)
+            .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    exporter.shutdown();
+    meterProvider.close();
+  }
+
+  @Test
+  void sendsInlineAndCompletesOnAcknowledgement() {
+    CompletableResultCode result = exporter.export(SPANS);
+
+    // Sent on the calling thread, without an executor.
+    assertThat(producer.history()).hasSize(1);
+    assertThat(result.isDone()).isFalse();
+
+    producer.completeNext();
+
+    assertThat(result.isSuccess()).isTrue();
+  }
+
+  @Test
+  void rejectsBatchesBeyondInFlightSpans() {
+    CompletableResultCode first = exporter.export(SPANS);
+    CompletableResultCode second = exporter.export(SPANS);
+
+    assertThat(second.isDone()).isTrue();
+    assertThat(second.isSuccess()).isFalse();
+    assertThat(producer.history()).hasSize(1);
+
+    producer.completeNext();
+    assertThat(first.isSuccess()).isTrue();
+
+    // Permits are released once the broker acknowledged the batch.
+    CompletableResultCode third = exporter.export(SPANS);
+    assertThat(third.isDone()).isFalse();
+    assertThat(producer.history()).hasSize(2);
+  }
+
+  @Test
+  void rejectsBatchesBeyondInFlightBatches() {
+    exporter.export(ImmutableList.of(makeBasicSpan("span-1")));
+    exporter.export(ImmutableList.of(makeBasicSpan("span-2")));
+    CompletableResultCode rejected = exporter.export(ImmutableList.of(makeBasicSpan("span-3")));
+
+    assertThat(rejected.isSuccess()).isFalse();
+    assertThat(producer.history()).hasSize(2);
+  }
+
+  @Test
+  void releasesPermitsOnFailure() {
+    CompletableResultCode failed = exporter.export(SPANS);
+    producer.errorNext(new KafkaException("Simulated kafka exception"));
+    assertThat(failed.isDone()).isTrue();
+    assertThat(failed.isSuccess()).isFalse();
+
+    producer.sendException = new KafkaException("Simulated kafka exception");
+    assertThat(exporter.export(SPANS).isSuccess()).isFalse();
+    producer.sendException = null;
+
+    exporter.export(SPANS);
+    assertThat(producer.history()).hasSize(2);
+  }
+
+  @Test
+  void reportsInFlightAndRejectedSpans() {
+    exporter.export(SPANS);
+    exporter.export(SPANS);
+
+    assertThat(metricReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.contrib.kafka.exporter.in_flight.batches")
+                    .hasLongGaugeSatisfying(
+                        gauge -> gauge.hasPointsSatisfying(point -> point.hasValue(1))))
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.contrib.kafka.exporter.in_flight.items")
+                    .hasLongGaugeSatisfying(
+                        gauge -> gauge.hasPointsSatisfying(point -> point.hasValue(2))))
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.contrib.kafka.exporter.rejected")
+                    .hasLongSumSatisfying(
+                        sum -> sum.hasPointsSatisfying(point -> point.hasValue(2))));
+  }
+
+  @Test
+  void flushWithoutExecutor() {
+    exporter.export(SPANS);
+
+    assertThat(exporter.flush().isSuccess()).isTrue();
+    assertThat(producer.completeNext()).isFalse();
+  }
+}
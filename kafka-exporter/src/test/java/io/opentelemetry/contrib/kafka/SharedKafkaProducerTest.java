@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import static io.opentelemetry.contrib.kafka.TestUtil.makeBasicSpan;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.testing.logs.TestLogRecordData;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SharedKafkaProducerTest {
+  private MockProducer<String, byte[]> producer;
+  private SharedKafkaProducer sharedProducer;
+
+  @BeforeEach
+  void setUp() {
+    producer = new MockProducer<>(true, null, new StringSerializer(), new ByteArraySerializer());
+    sharedProducer = SharedKafkaProducer.create(producer);
+  }
+
+  @Test
+  void routesEachSignalToItsTopic() throws Exception {
+    KafkaSpanExporter spanExporter =
+        KafkaSpanExporter.newBuilder().setTopicName("spans").setProducer(sharedProducer).build();
+    KafkaLogRecordExporter logExporter =
+        KafkaLogRecordExporter.newBuilder()
+            .setTopicName("logs")
+            .setProducer(sharedProducer)
+            .setMaxInFlightBatches(1)
+            .build();
+    KafkaMetricExporter metricExporter =
+        KafkaMetricExporter.newBuilder()
+            .setTopicName("metrics")
+            .setProducer(sharedProducer)
+            .setMaxInFlightBatches(1)
+            .build();
+
+    CompletableResultCode spanResult =
+        spanExporter.export(ImmutableList.of(makeBasicSpan("span-1")));
+    assertThat(spanResult.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(logExporter.export(ImmutableList.of(makeLogRecord("log-1"))).isSuccess()).isTrue();
+    assertThat(metricExporter.export(collectMetrics()).isSuccess()).isTrue();
+
+    List<ProducerRecord<String, byte[]>> history = producer.history();
+    assertThat(history)
+        .extracting(ProducerRecord::topic)
+        .containsExactly("spans", "logs", "metrics");
+    assertThat(ExportTraceServiceRequest.parseFrom(history.get(0).value()).getResourceSpansCount())
+        .isEqualTo(1);
+    assertThat(
+            ExportLogsServiceRequest.parseFrom(history.get(1).value())
+                .getResourceLogs(0)
+                .getScopeLogs(0)
+                .getLogRecords(0)
+                .getBody()
+                .getStringValue())
+        .isEqualTo("log-1");
+    assertThat(
+            ExportMetricsServiceRequest.parseFrom(history.get(2).value())
+                .getResourceMetrics(0)
+                .getScopeMetrics(0)
+                .getMetrics(0)
+                .getName())
+        .isEqualTo("requests");
+
+    spanExporter.shutdown();
+    logExporter.shutdown();
+    metricExporter.shutdown();
+  }
+
+  @Test
+  void closesProducerAfterLastExporterIsShutdown() {
+    KafkaLogRecordExporter logExporter =
+        KafkaLogRecordExporter.newBuilder()
+            .setTopicName("logs")
+            .setProducer(sharedProducer)
+            .setMaxInFlightBatches(1)
+            .build();
+    KafkaMetricExporter metricExporter =
+        KafkaMetricExporter.newBuilder()
+            .setTopicName("metrics")
+            .setProducer(sharedProducer)
+            .setMaxInFlightBatches(1)
+            .build();
+
+    assertThat(logExporter.shutdown().isSuccess()).isTrue();
+    assertThat(producer.closed()).isFalse();
+    assertThat(logExporter.export(ImmutableList.of(makeLogRecord("log-1"))).isSuccess())
+        .isFalse();
+    assertThat(metricExporter.export(collectMetrics()).isSuccess()).isTrue();
+
+    assertThat(metricExporter.shutdown().isSuccess()).isTrue();
+    assertThat(producer.closed()).isTrue();
+    assertThatThrownBy(
+            () ->
+                KafkaMetricExporter.newBuilder()
+                    .setTopicName("metrics")
+                    .setProducer(sharedProducer)
+                    .build())
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void closedProducerFailsBuildBeforeRegisteringInstruments() {
+    KafkaLogRecordExporter.newBuilder()
+        .setTopicName("logs")
+        .setProducer(sharedProducer)
+        .build()
+        .shutdown();
+    InMemoryMetricReader reader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(reader).build();
+
+    assertThatThrownBy(
+            () ->
+                KafkaSpanExporter.newBuilder()
+                    .setTopicName("spans")
+                    .setProducer(sharedProducer)
+                    .setMaxInFlightBatches(1)
+                    .setMeterProvider(meterProvider)
+                    .build())
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(reader.collectAllMetrics()).isEmpty();
+    meterProvider.close();
+  }
+
+  @Test
+  void logRecordSerializerWritesOtlpRequest() throws Exception {
+    Collection<LogRecordData> logs = ImmutableList.of(makeLogRecord("log-1"));
+    byte[] bytes = new LogRecordDataSerializer().serialize("logs", logs);
+
+    assertThat(ExportLogsServiceRequest.parseFrom(bytes).getResourceLogsCount()).isEqualTo(1);
+  }
+
+  private static LogRecordData makeLogRecord(String body) {
+    return TestLogRecordData.builder()
+        .setBody(body)
+        .setSeverity(Severity.INFO)
+        .setTimestamp(100, TimeUnit.NANOSECONDS)
+        .build();
+  }
+
+  private static Collection<MetricData> collectMetrics() {
+    InMemoryMetricReader reader = InMemoryMetricReader.create();
+    try (SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(reader).build()) {
+      meterProvider.get("test").counterBuilder("requests").build().add(1);
+      return reader.collectAllMetrics();
+    }
+  }
+}
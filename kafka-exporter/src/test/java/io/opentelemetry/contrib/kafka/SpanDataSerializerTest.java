@@ -30,6 +30,20 @@ class SpanDataSerializerTest {
     assertThat(actual).isNotNull();
   }
 
+  @Test
+  void serializeMatchesProtobufRequest() throws Exception {
+    SpanData span1 = makeBasicSpan("span-1");
+    SpanData span2 = makeBasicSpan("span-2");
+    ImmutableList<SpanData> spans = ImmutableList.of(span1, span2);
+
+    byte[] actual = testSubject.serialize("test-topic", spans);
+
+    assertThat(ExportTraceServiceRequest.parseFrom(actual))
+        .isEqualTo(testSubject.convertSpansToRequest(spans));
+    // The marshaler is reused for the next batch.
+    assertThat(testSubject.serialize("test-topic", spans)).isEqualTo(actual);
+  }
+
   @Test
   void serializeEmptyData() {
     byte[] actual = testSubject.serialize("test-topic", Collections.emptySet());
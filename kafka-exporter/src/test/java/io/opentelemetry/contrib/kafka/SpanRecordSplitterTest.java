@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+
+class SpanRecordSplitterTest {
+  private static final String TOPIC = "span_topic";
+  private static final String TRACE_A = "0123456789abcdef0123456789abcdef";
+  private static final String TRACE_B = "fedcba9876543210fedcba9876543210";
+
+  @Test
+  void groupsSpansByTraceId() {
+    SpanData a1 = span(TRACE_A, "a1");
+    SpanData b1 = span(TRACE_B, "b1");
+    SpanData a2 = span(TRACE_A, "a2");
+    SpanRecordSplitter splitter = new SpanRecordSplitter(TOPIC, true, 0);
+
+    List<ProducerRecord<String, Collection<SpanData>>> records =
+        splitter.split(Arrays.asList(a1, b1, a2));
+
+    assertThat(records).hasSize(2);
+    assertThat(records.get(0).topic()).isEqualTo(TOPIC);
+    assertThat(records.get(0).key()).isEqualTo(TRACE_A);
+    assertThat(records.get(0).value()).containsExactly(a1, a2);
+    assertThat(records.get(1).key()).isEqualTo(TRACE_B);
+    assertThat(records.get(1).value()).containsExactly(b1);
+  }
+
+  @Test
+  void splitsRecordsExceedingMaxSizeAndKeepsKey() {
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(span(TRACE_A, "span-" + i));
+    }
+    SpanDataSerializer serializer = new SpanDataSerializer();
+    int maxRecordBytes = serializer.getSerializedSize(spans.subList(0, 3));
+    SpanRecordSplitter splitter = new SpanRecordSplitter(TOPIC, true, maxRecordBytes);
+
+    List<ProducerRecord<String, Collection<SpanData>>> records = splitter.split(spans);
+
+    assertThat(records).hasSizeGreaterThan(1);
+    List<SpanData> allSpans = new ArrayList<>();
+    for (ProducerRecord<String, Collection<SpanData>> record : records) {
+      assertThat(record.key()).isEqualTo(TRACE_A);
+      assertThat(serializer.serialize(TOPIC, record.value()).length)
+          .isLessThanOrEqualTo(maxRecordBytes);
+      allSpans.addAll(record.value());
+    }
+    assertThat(allSpans).containsExactlyElementsOf(spans);
+  }
+
+  @Test
+  void fillsRecordsUpToMaxSize() {
+    List<SpanData> spans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      spans.add(span(TRACE_A, "span-" + i));
+    }
+    SpanDataSerializer serializer = new SpanDataSerializer();
+    int spanBytes = serializer.getSerializedSize(Collections.singletonList(spans.get(0)));
+    SpanRecordSplitter splitter = new SpanRecordSplitter(TOPIC, true, 3 * spanBytes);
+
+    List<ProducerRecord<String, Collection<SpanData>>> records = splitter.split(spans);
+
+    assertThat(records).extracting(record -> record.value().size()).containsExactly(3, 3, 3, 1);
+  }
+
+  @Test
+  void splitsWithoutKey() {
+    List<SpanData> spans = Arrays.asList(span(TRACE_A, "a1"), span(TRACE_B, "b1"));
+    SpanRecordSplitter splitter = new SpanRecordSplitter(TOPIC, false, 1);
+
+    List<ProducerRecord<String, Collection<SpanData>>> records = splitter.split(spans);
+
+    // A single span is never split, even if it exceeds the limit.
+    assertThat(records).hasSize(2);
+    assertThat(records).allSatisfy(record -> assertThat(record.key()).isNull());
+  }
+
+  private static SpanData span(String traceId, String name) {
+    return TestSpanData.builder()
+        .setHasEnded(true)
+        .setSpanContext(
+            SpanContext.create(
+                traceId, "0123456789abcdef", TraceFlags.getSampled(), TraceState.getDefault()))
+        .setName(name)
+        .setKind(SpanKind.SERVER)
+        .setStartEpochNanos(100)
+        .setStatus(StatusData.ok())
+        .setEndEpochNanos(200)
+        .setTotalRecordedLinks(0)
+        .setTotalRecordedEvents(0)
+        .build();
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import java.util.Objects;
+
+/**
+ * A {@link LogRecordFilter} that keeps log records with an attribute equal to a configured value.
+ * Only the configured attribute is looked up; the other attributes of the record are not read.
+ */
+public final class AttributeLogRecordFilter implements LogRecordFilter {
+
+  private final AttributeKey<?> key;
+  private final Object value;
+
+  /**
+   * Creates a new {@code AttributeLogRecordFilter}.
+   *
+   * @param key the attribute to look up
+   * @param value the value the attribute must be equal to
+   */
+  public <T> AttributeLogRecordFilter(AttributeKey<T> key, T value) {
+    this.key = Objects.requireNonNull(key, "key");
+    this.value = Objects.requireNonNull(value, "value");
+  }
+
+  @Override
+  public boolean shouldKeep(ReadWriteLogRecord logRecord) {
+    return value.equals(logRecord.getAttribute(key));
+  }
+}
@@ -11,20 +11,48 @@ import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import java.util.function.Predicate;
 
+/**
+ * A {@link LogRecordProcessor} that passes emitted log records to a delegate only when they are
+ * kept by a filter.
+ *
+ * <p>Prefer {@link #create(LogRecordProcessor, LogRecordFilter)}, which evaluates the filter
+ * against the emitted record directly. A {@link Predicate} of {@link LogRecordData} needs a copy
+ * of every record, including the ones it drops.
+ */
 public final class FilteringLogRecordProcessor implements LogRecordProcessor {
 
   private final LogRecordProcessor delegate;
-  private final Predicate<LogRecordData> predicate;
+  private final LogRecordFilter filter;
 
+  /**
+   * Creates a processor that evaluates {@code predicate} against a {@link LogRecordData} snapshot
+   * of each emitted record.
+   */
   public FilteringLogRecordProcessor(
       LogRecordProcessor delegate, Predicate<LogRecordData> predicate) {
     this.delegate = delegate;
-    this.predicate = predicate;
+    this.filter = logRecord -> predicate.test(logRecord.toLogRecordData());
+  }
+
+  private FilteringLogRecordProcessor(LogRecordProcessor delegate, LogRecordFilter filter) {
+    this.delegate = delegate;
+    this.filter = filter;
+  }
+
+  /**
+   * Creates a processor that passes a record to {@code delegate} when {@code filter} keeps it.
+   *
+   * @param delegate the processor receiving the kept records
+   * @param filter the filter evaluated against each emitted record
+   */
+  public static FilteringLogRecordProcessor create(
+      LogRecordProcessor delegate, LogRecordFilter filter) {
+    return new FilteringLogRecordProcessor(delegate, filter);
   }
 
   @Override
   public void onEmit(Context context, ReadWriteLogRecord readWriteLogRecord) {
-    if (predicate.test(readWriteLogRecord.toLogRecordData())) {
+    if (filter.shouldKeep(readWriteLogRecord)) {
       delegate.onEmit(context, readWriteLogRecord);
     }
   }
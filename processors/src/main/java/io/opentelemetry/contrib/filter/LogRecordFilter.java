@@ -0,0 +1,28 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+
+/**
+ * A filter that decides whether an emitted log record is passed on by {@link
+ * FilteringLogRecordProcessor}.
+ *
+ * <p>Filters read the record through its {@link ReadWriteLogRecord} view, such as {@link
+ * ReadWriteLogRecord#getSeverity()} or {@link ReadWriteLogRecord#getAttribute}, so dropping a
+ * record does not require copying it with {@link ReadWriteLogRecord#toLogRecordData()}.
+ */
+@FunctionalInterface
+public interface LogRecordFilter {
+
+  /**
+   * Evaluates whether the given log record should be kept.
+   *
+   * @param logRecord the log record to evaluate; implementations must not modify it
+   * @return {@code true} if the log record should be passed to the delegate processor
+   */
+  boolean shouldKeep(ReadWriteLogRecord logRecord);
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import java.util.Objects;
+
+/**
+ * A {@link LogRecordFilter} that keeps log records emitted by loggers whose name starts with a
+ * configured prefix, for example {@code "com.example."}. The logger name is the name of the
+ * record's instrumentation scope.
+ */
+public final class LoggerNameLogRecordFilter implements LogRecordFilter {
+
+  private final String prefix;
+
+  /**
+   * Creates a new {@code LoggerNameLogRecordFilter}.
+   *
+   * @param prefix the prefix logger names must start with
+   */
+  public LoggerNameLogRecordFilter(String prefix) {
+    this.prefix = Objects.requireNonNull(prefix, "prefix");
+  }
+
+  @Override
+  public boolean shouldKeep(ReadWriteLogRecord logRecord) {
+    return logRecord.getInstrumentationScopeInfo().getName().startsWith(prefix);
+  }
+}
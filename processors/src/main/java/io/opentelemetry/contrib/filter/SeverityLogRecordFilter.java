@@ -0,0 +1,33 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+
+/**
+ * A {@link LogRecordFilter} that keeps log records whose severity is at least a configurable
+ * minimum. Records without a severity are dropped unless the minimum is {@link
+ * Severity#UNDEFINED_SEVERITY_NUMBER}.
+ */
+public final class SeverityLogRecordFilter implements LogRecordFilter {
+
+  private final int minimumSeverityNumber;
+
+  /**
+   * Creates a new {@code SeverityLogRecordFilter}.
+   *
+   * @param minimumSeverity the lowest severity that is kept
+   */
+  public SeverityLogRecordFilter(Severity minimumSeverity) {
+    this.minimumSeverityNumber = minimumSeverity.getSeverityNumber();
+  }
+
+  @Override
+  public boolean shouldKeep(ReadWriteLogRecord logRecord) {
+    return logRecord.getSeverity().getSeverityNumber() >= minimumSeverityNumber;
+  }
+}
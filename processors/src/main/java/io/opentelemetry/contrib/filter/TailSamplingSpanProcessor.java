@@ -0,0 +1,446 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link SpanProcessor} that makes the keep/drop decision for a whole trace, across export
+ * batches, using the same {@link SpanFilter}s and {@link TraceFilter}s as {@link
+ * FilteringSpanExporter}. Kept spans are passed on to a downstream processor, typically a {@code
+ * BatchSpanProcessor}.
+ *
+ * <p>Ended spans are buffered per trace ID until one of the following happens:
+ *
+ * <ul>
+ *   <li>a {@code SpanFilter} matches one of the spans, and the trace is kept
+ *   <li>the local root span of the trace ends, and the {@code TraceFilter}s are evaluated
+ *   <li>the decision wait elapsed since the first span of the trace ended, and the {@code
+ *       TraceFilter}s are evaluated on the spans buffered so far
+ *   <li>the maximum number of buffered spans is reached, and the trace of the span that exceeded
+ *       the limit is decided on the spans buffered so far
+ * </ul>
+ *
+ * <p>Decisions are remembered for a bounded number of traces, so spans that end after their trace
+ * was decided are passed on or dropped accordingly without being buffered.
+ *
+ * <p>Expiration uses a hashed time wheel: each trace is placed once in the slot of its deadline,
+ * and a background thread only visits the slots whose time has come, so the cost of expiration does
+ * not depend on the number of buffered traces.
+ */
+public final class TailSamplingSpanProcessor implements SpanProcessor {
+
+  private static final AttributeKey<String> REASON_KEY = AttributeKey.stringKey("reason");
+  private static final Attributes NOT_INTERESTING = Attributes.of(REASON_KEY, "not_interesting");
+  private static final String WORKER_THREAD_NAME =
+      TailSamplingSpanProcessor.class.getSimpleName() + "_WorkerThread";
+
+  private final SpanProcessor next;
+  private final List<SpanFilter> spanFilters;
+  private final List<TraceFilter> traceFilters;
+  private final long decisionWaitNanos;
+  private final int maxBufferedSpans;
+  private final int maxRememberedDecisions;
+  private final Clock clock;
+
+  private final Map<String, TraceBuffer> buffers = new ConcurrentHashMap<>();
+  private final AtomicInteger bufferedSpans = new AtomicInteger();
+  private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+  private final Queue<String> decisionOrder = new ConcurrentLinkedQueue<>();
+  private final TimeWheel timeWheel;
+
+  @Nullable private final ScheduledExecutorService executor;
+  @Nullable private final LongCounter droppedSpansCounter;
+  private final List<ObservableLongGauge> gauges = new ArrayList<>();
+  private final AtomicBoolean isShutdown = new AtomicBoolean();
+
+  /**
+   * Returns a new {@link TailSamplingSpanProcessorBuilder}.
+   *
+   * @param next the processor that receives the spans of kept traces
+   */
+  public static TailSamplingSpanProcessorBuilder builder(SpanProcessor next) {
+    return new TailSamplingSpanProcessorBuilder(next);
+  }
+
+  TailSamplingSpanProcessor(
+      SpanProcessor next,
+      List<SpanFilter> spanFilters,
+      List<TraceFilter> traceFilters,
+      long decisionWaitNanos,
+      int maxBufferedSpans,
+      int maxRememberedDecisions,
+      Clock clock,
+      @Nullable Meter meter,
+      boolean startWorker) {
+    this.next = next;
+    this.spanFilters = spanFilters;
+    this.traceFilters = traceFilters;
+    this.decisionWaitNanos = decisionWaitNanos;
+    this.maxBufferedSpans = maxBufferedSpans;
+    this.maxRememberedDecisions = maxRememberedDecisions;
+    this.clock = clock;
+    this.timeWheel = new TimeWheel(decisionWaitNanos, clock.nanoTime());
+
+    if (meter != null) {
+      this.droppedSpansCounter =
+          meter
+              .counterBuilder("otel.contrib.processor.tail_sampling.dropped_spans")
+              .setDescription("Number of spans dropped by a tail sampling decision")
+              .setUnit("{span}")
+              .build();
+      gauges.add(
+          meter
+              .gaugeBuilder("otel.contrib.processor.tail_sampling.buffered_traces")
+              .setDescription("Number of traces waiting for a tail sampling decision")
+              .setUnit("{trace}")
+              .ofLongs()
+              .buildWithCallback(measurement -> measurement.record(buffers.size())));
+      gauges.add(
+          meter
+              .gaugeBuilder("otel.contrib.processor.tail_sampling.buffered_spans")
+              .setDescription(
+                  "Number of spans held in memory while waiting for a tail sampling decision")
+              .setUnit("{span}")
+              .ofLongs()
+              .buildWithCallback(measurement -> measurement.record(bufferedSpans.get())));
+    } else {
+      this.droppedSpansCounter = null;
+    }
+
+    if (startWorker) {
+      executor =
+          Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory(WORKER_THREAD_NAME));
+      executor.scheduleAtFixedRate(
+          this::expireTraces,
+          timeWheel.tickNanos,
+          timeWheel.tickNanos,
+          TimeUnit.NANOSECONDS);
+    } else {
+      executor = null;
+    }
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+    next.onStart(parentContext, span);
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return next.isStartRequired();
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    if (!span.getSpanContext().isSampled()) {
+      next.onEnd(span);
+      return;
+    }
+    String traceId = span.getSpanContext().getTraceId();
+    if (applyRememberedDecision(traceId, span)) {
+      return;
+    }
+    boolean interesting = matchesSpanFilters(span);
+    List<ReadableSpan> kept;
+    while (true) {
+      TraceBuffer buffer = buffers.computeIfAbsent(traceId, this::newBuffer);
+      synchronized (buffer) {
+        if (buffer.decided) {
+          // Decided concurrently, after the decision was remembered and the buffer removed.
+          if (applyRememberedDecision(traceId, span)) {
+            return;
+          }
+          continue;
+        }
+        buffer.spans.add(span);
+        int totalBufferedSpans = bufferedSpans.incrementAndGet();
+        if (interesting) {
+          kept = decide(buffer, true);
+        } else if (isLocalRoot(span) || totalBufferedSpans > maxBufferedSpans) {
+          kept = decide(buffer, matchesTraceFilters(buffer));
+        } else {
+          return;
+        }
+      }
+      break;
+    }
+    forward(kept);
+  }
+
+  private boolean applyRememberedDecision(String traceId, ReadableSpan span) {
+    Boolean decision = decisions.get(traceId);
+    if (decision == null) {
+      return false;
+    }
+    if (decision) {
+      next.onEnd(span);
+    } else {
+      recordDropped(1);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    decideAll();
+    return next.forceFlush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (!isShutdown.compareAndSet(false, true)) {
+      return CompletableResultCode.ofSuccess();
+    }
+    if (executor != null) {
+      executor.shutdown();
+    }
+    for (ObservableLongGauge gauge : gauges) {
+      gauge.close();
+    }
+    decideAll();
+    return next.shutdown();
+  }
+
+  /** Decides all traces whose decision wait elapsed. */
+  void expireTraces() {
+    long now = clock.nanoTime();
+    for (TraceBuffer buffer : timeWheel.advance(now)) {
+      List<ReadableSpan> kept;
+      synchronized (buffer) {
+        if (buffer.decided) {
+          continue;
+        }
+        kept = decide(buffer, matchesTraceFilters(buffer));
+      }
+      forward(kept);
+    }
+  }
+
+  int getBufferedTraceCount() {
+    return buffers.size();
+  }
+
+  int getBufferedSpanCount() {
+    return bufferedSpans.get();
+  }
+
+  private TraceBuffer newBuffer(String traceId) {
+    TraceBuffer buffer = new TraceBuffer(traceId, clock.nanoTime() + decisionWaitNanos);
+    timeWheel.schedule(buffer);
+    return buffer;
+  }
+
+  private void decideAll() {
+    for (TraceBuffer buffer : buffers.values()) {
+      List<ReadableSpan> kept;
+      synchronized (buffer) {
+        if (buffer.decided) {
+          continue;
+        }
+        kept = decide(buffer, matchesTraceFilters(buffer));
+      }
+      forward(kept);
+    }
+  }
+
+  // Must be called while holding the lock of the buffer.
+  @Nullable
+  private List<ReadableSpan> decide(TraceBuffer buffer, boolean keep) {
+    rememberDecision(buffer.traceId, keep);
+    buffer.decided = true;
+    buffers.remove(buffer.traceId, buffer);
+    List<ReadableSpan> spans = buffer.spans;
+    buffer.spans = new ArrayList<>(0);
+    bufferedSpans.addAndGet(-spans.size());
+    if (keep) {
+      return spans;
+    }
+    recordDropped(spans.size());
+    return null;
+  }
+
+  private void rememberDecision(String traceId, boolean keep) {
+    if (decisions.put(traceId, keep) == null) {
+      decisionOrder.add(traceId);
+      // Evict in insertion order, the oldest decisions are the least likely to see late spans.
+      while (decisions.size() > maxRememberedDecisions) {
+        String oldest = decisionOrder.poll();
+        if (oldest == null) {
+          break;
+        }
+        decisions.remove(oldest);
+      }
+    }
+  }
+
+  private void forward(@Nullable List<ReadableSpan> spans) {
+    if (spans == null) {
+      return;
+    }
+    for (ReadableSpan span : spans) {
+      next.onEnd(span);
+    }
+  }
+
+  private boolean matchesSpanFilters(ReadableSpan span) {
+    if (spanFilters.isEmpty()) {
+      return false;
+    }
+    SpanData spanData = span.toSpanData();
+    for (SpanFilter filter : spanFilters) {
+      if (filter.shouldKeep(spanData)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Must be called while holding the lock of the buffer.
+  private boolean matchesTraceFilters(TraceBuffer buffer) {
+    if (traceFilters.isEmpty() || buffer.spans.isEmpty()) {
+      return false;
+    }
+    List<SpanData> spans = new ArrayList<>(buffer.spans.size());
+    for (ReadableSpan span : buffer.spans) {
+      spans.add(span.toSpanData());
+    }
+    for (TraceFilter filter : traceFilters) {
+      if (filter.shouldKeep(buffer.traceId, spans)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void recordDropped(long count) {
+    if (droppedSpansCounter != null && count > 0) {
+      droppedSpansCounter.add(count, NOT_INTERESTING);
+    }
+  }
+
+  private static boolean isLocalRoot(ReadableSpan span) {
+    SpanContext parentSpanContext = span.getParentSpanContext();
+    return !parentSpanContext.isValid() || parentSpanContext.isRemote();
+  }
+
+  @Override
+  public String toString() {
+    return "TailSamplingSpanProcessor{"
+        + "next="
+        + next
+        + ", spanFilters="
+        + spanFilters
+        + ", traceFilters="
+        + traceFilters
+        + ", decisionWaitNanos="
+        + decisionWaitNanos
+        + ", maxBufferedSpans="
+        + maxBufferedSpans
+        + '}';
+  }
+
+  private static final class TraceBuffer {
+    private final String traceId;
+    private final long deadlineNanos;
+    private List<ReadableSpan> spans = new ArrayList<>();
+    private boolean decided;
+
+    private TraceBuffer(String traceId, long deadlineNanos) {
+      this.traceId = traceId;
+      this.deadlineNanos = deadlineNanos;
+    }
+  }
+
+  /**
+   * Slots of traces keyed by the tick of their deadline. There are more slots than ticks in a
+   * decision wait, so a trace is always found in its slot within one rotation of the wheel.
+   */
+  private static final class TimeWheel {
+    private static final int TICKS_PER_DECISION_WAIT = 16;
+    private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Queue<TraceBuffer>[] slots;
+    private long lastTick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TimeWheel(long decisionWaitNanos, long startNanos) {
+      this.tickNanos = Math.max(MIN_TICK_NANOS, decisionWaitNanos / TICKS_PER_DECISION_WAIT);
+      this.startNanos = startNanos;
+      int slotCount = (int) (decisionWaitNanos / tickNanos) + 2;
+      this.slots = new Queue[slotCount];
+      for (int i = 0; i < slotCount; i++) {
+        slots[i] = new ConcurrentLinkedQueue<>();
+      }
+    }
+
+    private long tick(long nanos) {
+      return (nanos - startNanos) / tickNanos;
+    }
+
+    private void schedule(TraceBuffer buffer) {
+      // The slot after the deadline tick, so the deadline has passed when the slot is visited.
+      long tick = tick(buffer.deadlineNanos) + 1;
+      slots[(int) (tick % slots.length)].add(buffer);
+    }
+
+    private synchronized List<TraceBuffer> advance(long nowNanos) {
+      List<TraceBuffer> expired = new ArrayList<>();
+      long currentTick = tick(nowNanos);
+      // No need to visit a slot more than once if the worker fell behind by a whole rotation.
+      long firstTick = Math.max(lastTick + 1, currentTick - slots.length + 1);
+      for (long tick = firstTick; tick <= currentTick; tick++) {
+        Queue<TraceBuffer> slot = slots[(int) (tick % slots.length)];
+        int size = slot.size();
+        for (int i = 0; i < size; i++) {
+          TraceBuffer buffer = slot.poll();
+          if (buffer == null) {
+            break;
+          }
+          if (buffer.deadlineNanos <= nowNanos) {
+            expired.add(buffer);
+          } else {
+            slot.add(buffer);
+          }
+        }
+      }
+      lastTick = Math.max(lastTick, currentTick);
+      return expired;
+    }
+  }
+}
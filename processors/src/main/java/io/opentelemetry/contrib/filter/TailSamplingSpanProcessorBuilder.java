@@ -0,0 +1,143 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/** Builder for {@link TailSamplingSpanProcessor}. */
+public final class TailSamplingSpanProcessorBuilder {
+
+  static final Duration DEFAULT_DECISION_WAIT = Duration.ofSeconds(30);
+  static final int DEFAULT_MAX_BUFFERED_SPANS = 100_000;
+  static final int DEFAULT_MAX_REMEMBERED_DECISIONS = 100_000;
+
+  private final SpanProcessor next;
+  private List<SpanFilter> spanFilters = Collections.emptyList();
+  private List<TraceFilter> traceFilters = Collections.emptyList();
+  private Duration decisionWait = DEFAULT_DECISION_WAIT;
+  private int maxBufferedSpans = DEFAULT_MAX_BUFFERED_SPANS;
+  private int maxRememberedDecisions = DEFAULT_MAX_REMEMBERED_DECISIONS;
+  private Clock clock = Clock.getDefault();
+  @Nullable private Meter meter;
+  private boolean startWorker = true;
+
+  TailSamplingSpanProcessorBuilder(SpanProcessor next) {
+    this.next = Objects.requireNonNull(next, "next");
+  }
+
+  /**
+   * Sets the per-span filters. A trace is kept as soon as any filter matches any of its spans.
+   *
+   * @param spanFilters the span filters
+   */
+  public TailSamplingSpanProcessorBuilder setSpanFilters(List<SpanFilter> spanFilters) {
+    Objects.requireNonNull(spanFilters, "spanFilters");
+    this.spanFilters = Collections.unmodifiableList(new ArrayList<>(spanFilters));
+    return this;
+  }
+
+  /**
+   * Sets the trace filters. They are evaluated on all buffered spans of a trace when its local
+   * root span ends or its decision wait elapsed, and the trace is kept if any filter matches.
+   *
+   * @param traceFilters the trace filters
+   */
+  public TailSamplingSpanProcessorBuilder setTraceFilters(List<TraceFilter> traceFilters) {
+    Objects.requireNonNull(traceFilters, "traceFilters");
+    this.traceFilters = Collections.unmodifiableList(new ArrayList<>(traceFilters));
+    return this;
+  }
+
+  /**
+   * Sets how long to wait for the local root span of a trace, counted from the end of the first
+   * span of the trace. Defaults to 30 seconds.
+   *
+   * @param decisionWait the decision wait
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(Duration decisionWait) {
+    Objects.requireNonNull(decisionWait, "decisionWait");
+    if (decisionWait.isNegative() || decisionWait.isZero()) {
+      throw new IllegalArgumentException("decisionWait must be positive, got: " + decisionWait);
+    }
+    this.decisionWait = decisionWait;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of spans held in memory while waiting for decisions. When exceeded,
+   * the trace of the span that exceeded it is decided on the spans buffered so far. Defaults to
+   * 100000.
+   *
+   * @param maxBufferedSpans the maximum number of buffered spans
+   */
+  public TailSamplingSpanProcessorBuilder setMaxBufferedSpans(int maxBufferedSpans) {
+    if (maxBufferedSpans <= 0) {
+      throw new IllegalArgumentException(
+          "maxBufferedSpans must be positive, got: " + maxBufferedSpans);
+    }
+    this.maxBufferedSpans = maxBufferedSpans;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of decided traces whose decision is remembered for spans ending after
+   * the decision. Defaults to 100000.
+   *
+   * @param maxRememberedDecisions the maximum number of remembered decisions
+   */
+  public TailSamplingSpanProcessorBuilder setMaxRememberedDecisions(int maxRememberedDecisions) {
+    if (maxRememberedDecisions <= 0) {
+      throw new IllegalArgumentException(
+          "maxRememberedDecisions must be positive, got: " + maxRememberedDecisions);
+    }
+    this.maxRememberedDecisions = maxRememberedDecisions;
+    return this;
+  }
+
+  /**
+   * Sets the {@link Meter} used to report dropped spans and buffered traces and spans. Metrics are
+   * disabled by default.
+   *
+   * @param meter the meter
+   */
+  public TailSamplingSpanProcessorBuilder setMeter(Meter meter) {
+    this.meter = Objects.requireNonNull(meter, "meter");
+    return this;
+  }
+
+  // Visible for testing
+  TailSamplingSpanProcessorBuilder setClock(Clock clock) {
+    this.clock = Objects.requireNonNull(clock, "clock");
+    return this;
+  }
+
+  // Visible for testing, expiration is then only triggered by calling expireTraces().
+  TailSamplingSpanProcessorBuilder disableWorker() {
+    this.startWorker = false;
+    return this;
+  }
+
+  public TailSamplingSpanProcessor build() {
+    return new TailSamplingSpanProcessor(
+        next,
+        spanFilters,
+        traceFilters,
+        decisionWait.toNanos(),
+        maxBufferedSpans,
+        maxRememberedDecisions,
+        clock,
+        meter,
+        startWorker);
+  }
+}
@@ -6,10 +6,12 @@
 package io.opentelemetry.contrib.interceptor;
 
 import io.opentelemetry.contrib.interceptor.api.Interceptor;
+import io.opentelemetry.contrib.interceptor.common.ParallelInterceptor;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
 import io.opentelemetry.sdk.logs.export.LogRecordExporter;
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 /** Intercepts logs before delegating them to the real exporter. */
 public final class InterceptableLogRecordExporter implements LogRecordExporter {
@@ -22,6 +24,21 @@ public final class InterceptableLogRecordExporter implements LogRecordExporter {
     this.interceptor = interceptor;
   }
 
+  /**
+   * Creates an exporter that splits large batches into chunks of at least {@link
+   * ParallelInterceptor#DEFAULT_MIN_CHUNK_SIZE} logs and intercepts them in parallel.
+   *
+   * @param parallelism the maximum number of chunks a batch is split into
+   * @see ParallelInterceptor
+   */
+  public InterceptableLogRecordExporter(
+      LogRecordExporter delegate,
+      Interceptor<LogRecordData> interceptor,
+      Executor executor,
+      int parallelism) {
+    this(delegate, new ParallelInterceptor<>(interceptor, executor, parallelism));
+  }
+
   @Override
   public CompletableResultCode export(Collection<LogRecordData> logs) {
     return delegate.export(interceptor.interceptAll(logs));
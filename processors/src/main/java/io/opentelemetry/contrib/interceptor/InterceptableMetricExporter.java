@@ -6,12 +6,14 @@
 package io.opentelemetry.contrib.interceptor;
 
 import io.opentelemetry.contrib.interceptor.api.Interceptor;
+import io.opentelemetry.contrib.interceptor.common.ParallelInterceptor;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 /** Intercepts metrics before delegating them to the real exporter. */
 public final class InterceptableMetricExporter implements MetricExporter {
@@ -23,6 +25,21 @@ public final class InterceptableMetricExporter implements MetricExporter {
     this.interceptor = interceptor;
   }
 
+  /**
+   * Creates an exporter that splits large batches into chunks of at least {@link
+   * ParallelInterceptor#DEFAULT_MIN_CHUNK_SIZE} metrics and intercepts them in parallel.
+   *
+   * @param parallelism the maximum number of chunks a batch is split into
+   * @see ParallelInterceptor
+   */
+  public InterceptableMetricExporter(
+      MetricExporter delegate,
+      Interceptor<MetricData> interceptor,
+      Executor executor,
+      int parallelism) {
+    this(delegate, new ParallelInterceptor<>(interceptor, executor, parallelism));
+  }
+
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
     return delegate.export(interceptor.interceptAll(metrics));
@@ -6,10 +6,12 @@
 package io.opentelemetry.contrib.interceptor;
 
 import io.opentelemetry.contrib.interceptor.api.Interceptor;
+import io.opentelemetry.contrib.interceptor.common.ParallelInterceptor;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
 import java.util.Collection;
+import java.util.concurrent.Executor;
 
 /** Intercepts spans before delegating them to the real exporter. */
 public final class InterceptableSpanExporter implements SpanExporter {
@@ -21,6 +23,21 @@ public final class InterceptableSpanExporter implements SpanExporter {
     this.interceptor = interceptor;
   }
 
+  /**
+   * Creates an exporter that splits large batches into chunks of at least {@link
+   * ParallelInterceptor#DEFAULT_MIN_CHUNK_SIZE} spans and intercepts them in parallel.
+   *
+   * @param parallelism the maximum number of chunks a batch is split into
+   * @see ParallelInterceptor
+   */
+  public InterceptableSpanExporter(
+      SpanExporter delegate,
+      Interceptor<SpanData> interceptor,
+      Executor executor,
+      int parallelism) {
+    this(delegate, new ParallelInterceptor<>(interceptor, executor, parallelism));
+  }
+
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
     return delegate.export(interceptor.interceptAll(spans));
@@ -27,17 +27,33 @@ public interface Interceptor<T> {
   @Nullable
   T intercept(T item);
 
-  /** Intercepts a collection of signals. */
+  /**
+   * Intercepts a collection of signals.
+   *
+   * <p>The default implementation returns {@code items} itself when every item is returned as is,
+   * and only copies items into a new list from the first one that is replaced or excluded.
+   */
   default Collection<T> interceptAll(Collection<T> items) {
-    List<T> result = new ArrayList<>();
-
+    List<T> result = null;
+    int index = 0;
     for (T item : items) {
       T intercepted = intercept(item);
-      if (intercepted != null) {
+      if (result == null && intercepted != item) {
+        result = new ArrayList<>(items.size());
+        int copied = 0;
+        for (T previous : items) {
+          if (copied++ == index) {
+            break;
+          }
+          result.add(previous);
+        }
+      }
+      if (result != null && intercepted != null) {
         result.add(intercepted);
       }
+      index++;
     }
 
-    return result;
+    return result == null ? items : result;
   }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.interceptor.common;
+
+import io.opentelemetry.contrib.interceptor.api.Interceptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nullable;
+
+/**
+ * Runs a delegate interceptor over large collections in parallel chunks.
+ *
+ * <p>Collections of at least twice {@code minChunkSize} items are split into at most {@code
+ * parallelism} contiguous chunks. The calling thread intercepts one chunk and the others are
+ * submitted to the executor, so the number of threads working on a batch is bounded by {@code
+ * parallelism}. Results are concatenated in the original order. Chunks rejected by the executor are
+ * intercepted on the calling thread.
+ *
+ * <p>The delegate must be thread safe, and its {@link Interceptor#interceptAll(Collection)} must
+ * not depend on seeing the whole collection at once.
+ */
+public final class ParallelInterceptor<T> implements Interceptor<T> {
+
+  public static final int DEFAULT_MIN_CHUNK_SIZE = 1024;
+
+  private final Interceptor<T> delegate;
+  private final Executor executor;
+  private final int parallelism;
+  private final int minChunkSize;
+
+  /**
+   * Creates a new {@code ParallelInterceptor} splitting collections into chunks of at least {@link
+   * #DEFAULT_MIN_CHUNK_SIZE} items.
+   *
+   * @param delegate the interceptor to run over each chunk
+   * @param executor the executor running all chunks but the first
+   * @param parallelism the maximum number of chunks a collection is split into
+   */
+  public ParallelInterceptor(Interceptor<T> delegate, Executor executor, int parallelism) {
+    this(delegate, executor, parallelism, DEFAULT_MIN_CHUNK_SIZE);
+  }
+
+  /**
+   * Creates a new {@code ParallelInterceptor}.
+   *
+   * @param delegate the interceptor to run over each chunk
+   * @param executor the executor running all chunks but the first
+   * @param parallelism the maximum number of chunks a collection is split into
+   * @param minChunkSize the minimum number of items in a chunk
+   */
+  public ParallelInterceptor(
+      Interceptor<T> delegate, Executor executor, int parallelism, int minChunkSize) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive, got: " + parallelism);
+    }
+    if (minChunkSize < 1) {
+      throw new IllegalArgumentException("minChunkSize must be positive, got: " + minChunkSize);
+    }
+    this.delegate = delegate;
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.minChunkSize = minChunkSize;
+  }
+
+  @Nullable
+  @Override
+  public T intercept(T item) {
+    return delegate.intercept(item);
+  }
+
+  @Override
+  public Collection<T> interceptAll(Collection<T> items) {
+    int size = items.size();
+    int chunkCount = Math.min(parallelism, size / minChunkSize);
+    if (chunkCount < 2) {
+      return delegate.interceptAll(items);
+    }
+
+    List<T> list =
+        items instanceof List && items instanceof RandomAccess
+            ? (List<T>) items
+            : new ArrayList<>(items);
+    List<List<T>> chunks = new ArrayList<>(chunkCount);
+    for (int i = 0; i < chunkCount; i++) {
+      // Spread the remainder so chunk sizes differ by at most one item.
+      int from = (int) ((long) size * i / chunkCount);
+      int to = (int) ((long) size * (i + 1) / chunkCount);
+      chunks.add(list.subList(from, to));
+    }
+    List<Collection<T>> results = new ArrayList<>(Collections.nCopies(chunkCount, null));
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[chunkCount - 1];
+    for (int i = 1; i < chunkCount; i++) {
+      int chunk = i;
+      Runnable task = () -> results.set(chunk, delegate.interceptAll(chunks.get(chunk)));
+      try {
+        futures[i - 1] = CompletableFuture.runAsync(task, executor);
+      } catch (RejectedExecutionException e) {
+        task.run();
+        futures[i - 1] = CompletableFuture.completedFuture(null);
+      }
+    }
+    results.set(0, delegate.interceptAll(chunks.get(0)));
+    try {
+      CompletableFuture.allOf(futures).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+
+    int resultSize = 0;
+    boolean unchanged = true;
+    for (int i = 0; i < chunkCount; i++) {
+      resultSize += results.get(i).size();
+      unchanged &= results.get(i) == chunks.get(i);
+    }
+    if (unchanged) {
+      return items;
+    }
+    List<T> result = new ArrayList<>(resultSize);
+    for (Collection<T> chunkResult : results) {
+      result.addAll(chunkResult);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import org.junit.jupiter.api.Test;
+
+class AttributeLogRecordFilterTest {
+
+  private static final AttributeKey<String> TENANT = stringKey("tenant");
+
+  private final AttributeLogRecordFilter filter = new AttributeLogRecordFilter(TENANT, "blue");
+
+  @Test
+  void recordWithEqualValueIsKept() {
+    ReadWriteLogRecord logRecord = mock(ReadWriteLogRecord.class);
+    when(logRecord.getAttribute(TENANT)).thenReturn("blue");
+    assertThat(filter.shouldKeep(logRecord)).isTrue();
+  }
+
+  @Test
+  void recordWithOtherOrMissingValueIsDropped() {
+    ReadWriteLogRecord logRecord = mock(ReadWriteLogRecord.class);
+    assertThat(filter.shouldKeep(logRecord)).isFalse();
+
+    when(logRecord.getAttribute(TENANT)).thenReturn("green");
+    assertThat(filter.shouldKeep(logRecord)).isFalse();
+  }
+
+  @Test
+  void nonStringAttributeIsCompared() {
+    AttributeKey<Long> shard = longKey("shard");
+    ReadWriteLogRecord logRecord = mock(ReadWriteLogRecord.class);
+    when(logRecord.getAttribute(shard)).thenReturn(7L);
+    assertThat(new AttributeLogRecordFilter(shard, 7L).shouldKeep(logRecord)).isTrue();
+    assertThat(new AttributeLogRecordFilter(shard, 8L).shouldKeep(logRecord)).isFalse();
+  }
+}
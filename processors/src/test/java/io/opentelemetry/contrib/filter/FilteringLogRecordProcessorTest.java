@@ -6,17 +6,24 @@
 package io.opentelemetry.contrib.filter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdkBuilder;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
 import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.SdkLoggerProviderBuilder;
 import io.opentelemetry.sdk.logs.data.LogRecordData;
@@ -109,4 +116,41 @@ class FilteringLogRecordProcessorTest {
         memoryLogRecordExporter.getFinishedLogRecordItems();
     assertThat(finishedLogRecordItems.size()).isEqualTo(0);
   }
+
+  @Test
+  void verifyFilterDoesNotCopyRecords() {
+    LogRecordProcessor delegate = mock(LogRecordProcessor.class);
+    LogRecordProcessor processor =
+        FilteringLogRecordProcessor.create(delegate, new SeverityLogRecordFilter(Severity.WARN));
+    ReadWriteLogRecord kept = mock(ReadWriteLogRecord.class);
+    when(kept.getSeverity()).thenReturn(Severity.ERROR);
+    ReadWriteLogRecord dropped = mock(ReadWriteLogRecord.class);
+    when(dropped.getSeverity()).thenReturn(Severity.DEBUG);
+
+    processor.onEmit(Context.root(), kept);
+    processor.onEmit(Context.root(), dropped);
+
+    verify(delegate).onEmit(Context.root(), kept);
+    verify(delegate, never()).onEmit(Context.root(), dropped);
+    verify(kept, never()).toLogRecordData();
+    verify(dropped, never()).toLogRecordData();
+  }
+
+  @Test
+  void verifyFilterOnSdkRecords() {
+    SdkLoggerProvider loggerProvider =
+        SdkLoggerProvider.builder()
+            .addLogRecordProcessor(
+                FilteringLogRecordProcessor.create(
+                    logRecordProcessor, new LoggerNameLogRecordFilter("com.example.")))
+            .build();
+    loggerProvider.get("com.example.Service").logRecordBuilder().setBody("One Log").emit();
+    loggerProvider.get("org.example.Service").logRecordBuilder().setBody("Dropped Log").emit();
+
+    List<LogRecordData> finishedLogRecordItems =
+        memoryLogRecordExporter.getFinishedLogRecordItems();
+    assertThat(finishedLogRecordItems).hasSize(1);
+    assertThat(finishedLogRecordItems.get(0).getInstrumentationScopeInfo().getName())
+        .isEqualTo("com.example.Service");
+  }
 }
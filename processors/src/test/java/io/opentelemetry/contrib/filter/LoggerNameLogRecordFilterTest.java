@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import org.junit.jupiter.api.Test;
+
+class LoggerNameLogRecordFilterTest {
+
+  private final LoggerNameLogRecordFilter filter = new LoggerNameLogRecordFilter("com.example.");
+
+  @Test
+  void loggerWithPrefixIsKept() {
+    assertThat(filter.shouldKeep(recordFromLogger("com.example.orders.OrderService"))).isTrue();
+  }
+
+  @Test
+  void loggerWithoutPrefixIsDropped() {
+    assertThat(filter.shouldKeep(recordFromLogger("org.apache.kafka.clients.NetworkClient")))
+        .isFalse();
+    assertThat(filter.shouldKeep(recordFromLogger("com.example"))).isFalse();
+  }
+
+  private static ReadWriteLogRecord recordFromLogger(String loggerName) {
+    ReadWriteLogRecord logRecord = mock(ReadWriteLogRecord.class);
+    when(logRecord.getInstrumentationScopeInfo())
+        .thenReturn(InstrumentationScopeInfo.create(loggerName));
+    return logRecord;
+  }
+}
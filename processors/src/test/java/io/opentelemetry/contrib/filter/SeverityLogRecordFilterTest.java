@@ -0,0 +1,38 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import org.junit.jupiter.api.Test;
+
+class SeverityLogRecordFilterTest {
+
+  private final SeverityLogRecordFilter filter = new SeverityLogRecordFilter(Severity.WARN);
+
+  @Test
+  void recordAtOrAboveMinimumIsKept() {
+    assertThat(filter.shouldKeep(recordWithSeverity(Severity.WARN))).isTrue();
+    assertThat(filter.shouldKeep(recordWithSeverity(Severity.ERROR2))).isTrue();
+  }
+
+  @Test
+  void recordBelowMinimumIsDropped() {
+    assertThat(filter.shouldKeep(recordWithSeverity(Severity.INFO4))).isFalse();
+    assertThat(filter.shouldKeep(recordWithSeverity(Severity.UNDEFINED_SEVERITY_NUMBER)))
+        .isFalse();
+  }
+
+  private static ReadWriteLogRecord recordWithSeverity(Severity severity) {
+    ReadWriteLogRecord logRecord = mock(ReadWriteLogRecord.class);
+    when(logRecord.getSeverity()).thenReturn(severity);
+    return logRecord;
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.filter;
+
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TailSamplingSpanProcessorTest {
+
+  private static final Duration DECISION_WAIT = Duration.ofSeconds(10);
+
+  private final TestClock clock = TestClock.create();
+  private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+  private TailSamplingSpanProcessor processor;
+  private SdkTracerProvider tracerProvider;
+  private Tracer tracer;
+
+  @BeforeEach
+  void setUp() {
+    setUp(TailSamplingSpanProcessor.builder(SimpleSpanProcessor.create(exporter)));
+  }
+
+  private void setUp(TailSamplingSpanProcessorBuilder builder) {
+    processor =
+        builder
+            .setSpanFilters(Collections.singletonList(new ErrorSpanFilter()))
+            .setTraceFilters(
+                Collections.singletonList(new TraceDurationFilter(Duration.ofSeconds(5))))
+            .setDecisionWait(DECISION_WAIT)
+            .setClock(clock)
+            .disableWorker()
+            .build();
+    tracerProvider =
+        SdkTracerProvider.builder().setClock(clock).addSpanProcessor(processor).build();
+    tracer = tracerProvider.get("test");
+  }
+
+  @AfterEach
+  void tearDown() {
+    tracerProvider.shutdown();
+  }
+
+  @Test
+  void uninterestingTraceIsDroppedWhenLocalRootEnds() {
+    Span root = tracer.spanBuilder("root").startSpan();
+    endChild(root, "child", StatusCode.OK);
+    assertThat(processor.getBufferedSpanCount()).isEqualTo(1);
+
+    root.end();
+
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    assertThat(processor.getBufferedTraceCount()).isZero();
+    assertThat(processor.getBufferedSpanCount()).isZero();
+  }
+
+  @Test
+  void errorSpanKeepsBufferedAndLateSpans() {
+    Span root = tracer.spanBuilder("root").startSpan();
+    endChild(root, "first", StatusCode.OK);
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+
+    endChild(root, "error", StatusCode.ERROR);
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("first", "error");
+
+    root.end();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("first", "error", "root");
+  }
+
+  @Test
+  void slowTraceIsKeptAcrossBatches() {
+    Span root = tracer.spanBuilder("root").startSpan();
+    endChild(root, "child", StatusCode.OK);
+    clock.advance(6, TimeUnit.SECONDS);
+
+    root.end();
+
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child", "root");
+  }
+
+  @Test
+  void lateSpanOfDroppedTraceIsDropped() {
+    Span root = tracer.spanBuilder("root").startSpan();
+    Span late = tracer.spanBuilder("late").setParent(Context.current().with(root)).startSpan();
+    root.end();
+
+    late.setStatus(StatusCode.ERROR);
+    late.end();
+
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+  }
+
+  @Test
+  void traceIsDecidedWhenDecisionWaitElapses() {
+    Span root = tracer.spanBuilder("root").startSpan();
+    endChild(root, "child", StatusCode.OK);
+    clock.advance(6, TimeUnit.SECONDS);
+    endChild(root, "slow-child", StatusCode.OK);
+
+    processor.expireTraces();
+    assertThat(processor.getBufferedTraceCount()).isEqualTo(1);
+
+    clock.advance(DECISION_WAIT);
+    processor.expireTraces();
+
+    assertThat(processor.getBufferedTraceCount()).isZero();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child", "slow-child");
+
+    root.end();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child", "slow-child", "root");
+  }
+
+  @Test
+  void traceIsDecidedEarlyWhenBufferIsFull() {
+    tracerProvider.shutdown();
+    exporter.reset();
+    setUp(
+        TailSamplingSpanProcessor.builder(SimpleSpanProcessor.create(exporter))
+            .setMaxBufferedSpans(2));
+
+    Span first = tracer.spanBuilder("first").startSpan();
+    endChild(first, "a", StatusCode.OK);
+    Span second = tracer.spanBuilder("second").startSpan();
+    endChild(second, "b", StatusCode.OK);
+    assertThat(processor.getBufferedSpanCount()).isEqualTo(2);
+
+    endChild(second, "c", StatusCode.OK);
+
+    assertThat(processor.getBufferedTraceCount()).isEqualTo(1);
+    assertThat(processor.getBufferedSpanCount()).isEqualTo(1);
+  }
+
+  @Test
+  void forceFlushDecidesPendingTraces() {
+    Span root = tracer.spanBuilder("root").startSpan();
+    Span child = tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan();
+    clock.advance(6, TimeUnit.SECONDS);
+    child.end();
+
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(processor.getBufferedTraceCount()).isZero();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child");
+  }
+
+  @Test
+  void droppedSpansAreCountedByTheProcessor() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    tracerProvider.shutdown();
+    setUp(
+        TailSamplingSpanProcessor.builder(SimpleSpanProcessor.create(exporter))
+            .setMeter(meterProvider.get("test")));
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    endChild(root, "child", StatusCode.OK);
+    root.end();
+
+    assertThat(metricReader.collectAllMetrics())
+        .anySatisfy(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.contrib.processor.tail_sampling.dropped_spans")
+                    .hasLongSumSatisfying(
+                        sum -> sum.isMonotonic().hasPointsSatisfying(point -> point.hasValue(2))));
+    meterProvider.close();
+  }
+
+  private void endChild(Span parent, String name, StatusCode statusCode) {
+    try (Scope ignored = parent.makeCurrent()) {
+      Span child = tracer.spanBuilder(name).startSpan();
+      child.setStatus(statusCode);
+      child.end();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.interceptor.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.contrib.interceptor.api.Interceptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelInterceptorTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void interceptsChunksInParallelPreservingOrder() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    Interceptor<Integer> interceptor =
+        new ParallelInterceptor<>(
+            item -> {
+              threads.add(Thread.currentThread());
+              return item % 3 == 0 ? null : item * 10;
+            },
+            executor,
+            4,
+            10);
+
+    Collection<Integer> result = interceptor.interceptAll(range(0, 100));
+
+    assertThat(result)
+        .containsExactlyElementsOf(
+            IntStream.range(0, 100)
+                .filter(i -> i % 3 != 0)
+                .mapToObj(i -> i * 10)
+                .collect(Collectors.toList()));
+    assertThat(threads).contains(Thread.currentThread()).hasSizeGreaterThan(1);
+  }
+
+  @Test
+  void unchangedItemsAreNotCopied() {
+    List<Integer> items = range(0, 100);
+    Interceptor<Integer> interceptor = new ParallelInterceptor<>(item -> item, executor, 4, 10);
+
+    assertThat(interceptor.interceptAll(items)).isSameAs(items);
+    Set<Integer> set = new LinkedHashSet<>(items);
+    assertThat(interceptor.interceptAll(set)).isSameAs(set);
+  }
+
+  @Test
+  void smallBatchesAreInterceptedOnCallingThread() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    Interceptor<Integer> interceptor =
+        new ParallelInterceptor<>(
+            item -> {
+              threads.add(Thread.currentThread());
+              return item + 1;
+            },
+            executor,
+            4,
+            10);
+
+    assertThat(interceptor.interceptAll(range(0, 19))).containsExactlyElementsOf(range(1, 20));
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  void rejectedChunksAreInterceptedOnCallingThread() {
+    Interceptor<Integer> interceptor =
+        new ParallelInterceptor<>(
+            item -> item + 1,
+            command -> {
+              throw new RejectedExecutionException();
+            },
+            4,
+            10);
+
+    assertThat(interceptor.interceptAll(range(0, 100))).containsExactlyElementsOf(range(1, 101));
+  }
+
+  @Test
+  void exceptionsArePropagated() {
+    Interceptor<Integer> interceptor =
+        new ParallelInterceptor<>(
+            item -> {
+              if (item == 99) {
+                throw new IllegalStateException("boom");
+              }
+              return item;
+            },
+            executor,
+            4,
+            10);
+
+    assertThatThrownBy(() -> interceptor.interceptAll(range(0, 100)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("boom");
+  }
+
+  private static List<Integer> range(int from, int to) {
+    List<Integer> list = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      list.add(i);
+    }
+    return list;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.sampler;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LinksBasedSamplerBenchmark {
+
+  @Param({"0", "8", "32"})
+  public int extraAttributeCount;
+
+  @Param({"0", "1", "8"})
+  public int linkCount;
+
+  private Sampler sampler;
+  private Attributes attributes;
+  private List<LinkData> links;
+  private String[] traceIds;
+
+  @Setup
+  public void setup() {
+    sampler = LinksBasedSampler.create(Sampler.traceIdRatioBased(0.5));
+
+    AttributesBuilder builder = Attributes.builder();
+    for (int j = 0; j < extraAttributeCount; j++) {
+      builder.put("attribute." + j, "value" + j);
+    }
+    attributes = builder.build();
+
+    Random random = new Random(0);
+    links = new ArrayList<>();
+    for (int i = 0; i < linkCount; i++) {
+      // Only the last link is sampled, so the whole list is scanned.
+      TraceFlags flags = i == linkCount - 1 ? TraceFlags.getSampled() : TraceFlags.getDefault();
+      links.add(
+          LinkData.create(
+              SpanContext.create(
+                  TraceId.fromLongs(random.nextLong(), random.nextLong()),
+                  SpanId.fromLong(random.nextLong()),
+                  flags,
+                  TraceState.getDefault())));
+    }
+    traceIds = new String[64];
+    for (int i = 0; i < traceIds.length; i++) {
+      traceIds[i] = TraceId.fromLongs(random.nextLong(), random.nextLong());
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public SamplingResult shouldSample_01Thread(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public SamplingResult shouldSample_04Threads(ThreadState threadState) {
+    return shouldSample(threadState);
+  }
+
+  private SamplingResult shouldSample(ThreadState threadState) {
+    int i = threadState.next++;
+    return sampler.shouldSample(
+        Context.root(),
+        traceIds[i & (traceIds.length - 1)],
+        "process",
+        SpanKind.CONSUMER,
+        attributes,
+        links);
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    int next;
+  }
+}
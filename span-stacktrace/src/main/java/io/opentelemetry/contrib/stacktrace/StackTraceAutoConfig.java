@@ -44,7 +44,11 @@ public class StackTraceAutoConfig implements AutoConfigurationCustomizerProvider
   }
 
   static StackTraceSpanProcessor create(DeclarativeConfigProperties properties) {
-    return new StackTraceSpanProcessor(getMinDuration(properties), getFilterPredicate(properties));
+    return new StackTraceSpanProcessor(
+        getMinDuration(properties),
+        getFilterPredicate(properties),
+        properties.getInt("max_frames", StackTraceSpanProcessor.DEFAULT_MAX_FRAMES),
+        properties.getInt("max_captures_per_second", Integer.MAX_VALUE));
   }
 
   static DeclarativeConfigProperties createDeclarativeConfig(ConfigProperties properties) {
@@ -0,0 +1,140 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.stacktrace;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import javax.annotation.Nullable;
+
+/**
+ * Captures the stack trace of the thread ending a span, formatted like {@link
+ * Throwable#printStackTrace()} without the SDK frames.
+ *
+ * <p>Frames are read from {@link Throwable#getStackTrace()} rather than from the printed stack
+ * trace, SDK frames are skipped by index and at most {@code maxFrames} frames are kept. Formatted
+ * stack traces are cached by frame sequence, so spans ending at the same call site share one
+ * string. The number of captures is limited per second.
+ */
+final class StackTraceCapture {
+
+  private static final String SDK_SPAN_CLASS_NAME = "io.opentelemetry.sdk.trace.SdkSpan";
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+  private static final int MAX_CACHED_STACK_TRACES = 1024;
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final int maxFrames;
+  private final int maxCapturesPerSecond;
+  private final LongSupplier nanoClock;
+  private final ConcurrentHashMap<FrameSequence, String> cache = new ConcurrentHashMap<>();
+  private final AtomicLong windowStartNanos;
+  private final AtomicInteger windowCaptures = new AtomicInteger();
+
+  StackTraceCapture(int maxFrames, int maxCapturesPerSecond) {
+    this(maxFrames, maxCapturesPerSecond, System::nanoTime);
+  }
+
+  // Visible for testing
+  StackTraceCapture(int maxFrames, int maxCapturesPerSecond, LongSupplier nanoClock) {
+    if (maxFrames <= 0) {
+      throw new IllegalArgumentException("maximum number of frames must be positive");
+    }
+    if (maxCapturesPerSecond <= 0) {
+      throw new IllegalArgumentException("maximum number of captures per second must be positive");
+    }
+    this.maxFrames = maxFrames;
+    this.maxCapturesPerSecond = maxCapturesPerSecond;
+    this.nanoClock = nanoClock;
+    this.windowStartNanos = new AtomicLong(nanoClock.getAsLong());
+  }
+
+  /** Returns the current stack trace, or {@code null} if the capture budget is exhausted. */
+  @Nullable
+  String capture() {
+    if (!tryAcquire()) {
+      return null;
+    }
+    StackTraceElement[] frames = new Throwable().getStackTrace();
+    return format(frames, firstApplicationFrame(frames));
+  }
+
+  // Visible for testing
+  String format(StackTraceElement[] frames, int start) {
+    int end = Math.min(frames.length, start + maxFrames);
+    FrameSequence key = new FrameSequence(Arrays.copyOfRange(frames, start, end));
+    String stackTrace = cache.get(key);
+    if (stackTrace != null) {
+      return stackTrace;
+    }
+    StringBuilder builder = new StringBuilder();
+    for (StackTraceElement frame : key.frames) {
+      builder.append("\tat ").append(frame).append(LINE_SEPARATOR);
+    }
+    if (end < frames.length) {
+      builder.append("\t... ").append(frames.length - end).append(" more").append(LINE_SEPARATOR);
+    }
+    stackTrace = builder.toString();
+    if (cache.size() >= MAX_CACHED_STACK_TRACES) {
+      return stackTrace;
+    }
+    String previous = cache.putIfAbsent(key, stackTrace);
+    return previous != null ? previous : stackTrace;
+  }
+
+  /**
+   * Returns the index of the frame calling {@code SdkSpan.end}, or {@code 0} if the span was not
+   * ended through the SDK.
+   */
+  private static int firstApplicationFrame(StackTraceElement[] frames) {
+    for (int i = frames.length - 1; i >= 0; i--) {
+      StackTraceElement frame = frames[i];
+      if (frame.getClassName().equals(SDK_SPAN_CLASS_NAME) && frame.getMethodName().equals("end")) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  private boolean tryAcquire() {
+    long now = nanoClock.getAsLong();
+    long windowStart = windowStartNanos.get();
+    if (now - windowStart >= WINDOW_NANOS && windowStartNanos.compareAndSet(windowStart, now)) {
+      windowCaptures.set(0);
+    }
+    // Captures racing with a window reset may be counted against either window.
+    return windowCaptures.incrementAndGet() <= maxCapturesPerSecond;
+  }
+
+  private static final class FrameSequence {
+    private final StackTraceElement[] frames;
+    private final int hashCode;
+
+    private FrameSequence(StackTraceElement[] frames) {
+      this.frames = frames;
+      this.hashCode = Arrays.hashCode(frames);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof FrameSequence)) {
+        return false;
+      }
+      FrameSequence that = (FrameSequence) obj;
+      return hashCode == that.hashCode && Arrays.equals(frames, that.frames);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -10,28 +10,52 @@ import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.internal.ExtendedSpanProcessor;
 import io.opentelemetry.semconv.CodeAttributes;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.function.Predicate;
 
 public class StackTraceSpanProcessor implements ExtendedSpanProcessor {
 
+  static final int DEFAULT_MAX_FRAMES = 256;
+
   private final long minSpanDurationNanos;
 
   private final Predicate<ReadableSpan> filterPredicate;
 
+  private final int maxFrames;
+
+  private final int maxCapturesPerSecond;
+
+  private final StackTraceCapture stackTraceCapture;
+
   /**
    * @param minSpanDurationNanos minimum span duration in ns for stacktrace capture
    * @param filterPredicate extra filter function to exclude spans if needed
    */
   public StackTraceSpanProcessor(
       long minSpanDurationNanos, Predicate<ReadableSpan> filterPredicate) {
+    this(minSpanDurationNanos, filterPredicate, DEFAULT_MAX_FRAMES, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param minSpanDurationNanos minimum span duration in ns for stacktrace capture
+   * @param filterPredicate extra filter function to exclude spans if needed
+   * @param maxFrames maximum number of frames kept in a stacktrace
+   * @param maxCapturesPerSecond maximum number of stacktraces captured per second, spans ending
+   *     once it is reached have no stacktrace
+   */
+  public StackTraceSpanProcessor(
+      long minSpanDurationNanos,
+      Predicate<ReadableSpan> filterPredicate,
+      int maxFrames,
+      int maxCapturesPerSecond) {
     if (minSpanDurationNanos < 0) {
       throw new IllegalArgumentException("minimal span duration must be positive or zero");
     }
 
     this.minSpanDurationNanos = minSpanDurationNanos;
     this.filterPredicate = filterPredicate;
+    this.maxFrames = maxFrames;
+    this.maxCapturesPerSecond = maxCapturesPerSecond;
+    this.stackTraceCapture = new StackTraceCapture(maxFrames, maxCapturesPerSecond);
   }
 
   @Override
@@ -70,7 +94,10 @@ public class StackTraceSpanProcessor implements ExtendedSpanProcessor {
       return;
     }
 
-    span.setAttribute(CodeAttributes.CODE_STACKTRACE, generateSpanEndStacktrace());
+    String stackTrace = stackTraceCapture.capture();
+    if (stackTrace != null) {
+      span.setAttribute(CodeAttributes.CODE_STACKTRACE, stackTrace);
+    }
   }
 
   @Override
@@ -81,31 +108,6 @@ public class StackTraceSpanProcessor implements ExtendedSpanProcessor {
   @Override
   public void onEnd(ReadableSpan readableSpan) {}
 
-  private static String generateSpanEndStacktrace() {
-    Throwable exception = new Throwable();
-    StringWriter stringWriter = new StringWriter();
-    try (PrintWriter printWriter = new PrintWriter(stringWriter)) {
-      exception.printStackTrace(printWriter);
-    }
-    return removeInternalFrames(stringWriter.toString());
-  }
-
-  private static String removeInternalFrames(String stackTrace) {
-    String lastInternal = "at io.opentelemetry.sdk.trace.SdkSpan.end";
-
-    int idx = stackTrace.lastIndexOf(lastInternal);
-    if (idx == -1) {
-      // should usually not happen, this means that the span processor was called from somewhere
-      // else
-      return stackTrace;
-    }
-    int nextNewLine = stackTrace.indexOf('\n', idx);
-    if (nextNewLine == -1) {
-      nextNewLine = stackTrace.length() - 1;
-    }
-    return stackTrace.substring(nextNewLine + 1);
-  }
-
   @Override
   public String toString() {
     return "StackTraceSpanProcessor{"
@@ -113,6 +115,10 @@ public class StackTraceSpanProcessor implements ExtendedSpanProcessor {
         + minSpanDurationNanos
         + ", filterPredicate="
         + filterPredicate
+        + ", maxFrames="
+        + maxFrames
+        + ", maxCapturesPerSecond="
+        + maxCapturesPerSecond
         + '}';
   }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.contrib.stacktrace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class StackTraceCaptureTest {
+
+  private static final StackTraceElement[] FRAMES = {
+    new StackTraceElement("io.opentelemetry.sdk.trace.SdkSpan", "endInternal", "SdkSpan.java", 10),
+    new StackTraceElement("io.opentelemetry.sdk.trace.SdkSpan", "end", "SdkSpan.java", 20),
+    new StackTraceElement("com.example.Service", "handle", "Service.java", 30),
+    new StackTraceElement("com.example.Server", "run", "Server.java", 40),
+    new StackTraceElement("java.lang.Thread", "run", "Thread.java", 50)
+  };
+
+  private final AtomicLong nanoTime = new AtomicLong();
+
+  @Test
+  void formatsLikePrintStackTrace() {
+    StackTraceCapture capture = new StackTraceCapture(10, Integer.MAX_VALUE, nanoTime::get);
+
+    assertThat(capture.format(FRAMES, 2))
+        .isEqualTo(
+            "\tat com.example.Service.handle(Service.java:30)"
+                + System.lineSeparator()
+                + "\tat com.example.Server.run(Server.java:40)"
+                + System.lineSeparator()
+                + "\tat java.lang.Thread.run(Thread.java:50)"
+                + System.lineSeparator());
+  }
+
+  @Test
+  void truncatesToMaxFrames() {
+    StackTraceCapture capture = new StackTraceCapture(1, Integer.MAX_VALUE, nanoTime::get);
+
+    assertThat(capture.format(FRAMES, 2))
+        .isEqualTo(
+            "\tat com.example.Service.handle(Service.java:30)"
+                + System.lineSeparator()
+                + "\t... 2 more"
+                + System.lineSeparator());
+  }
+
+  @Test
+  void reusesStringForSameFrames() {
+    StackTraceCapture capture = new StackTraceCapture(10, Integer.MAX_VALUE, nanoTime::get);
+
+    String first = capture.format(FRAMES, 2);
+    String second = capture.format(FRAMES.clone(), 2);
+
+    assertThat(second).isSameAs(first);
+    assertThat(capture.format(FRAMES, 3)).isNotEqualTo(first);
+  }
+
+  @Test
+  void capturesCallerFrames() {
+    StackTraceCapture capture = new StackTraceCapture(10, Integer.MAX_VALUE, nanoTime::get);
+
+    assertThat(capture.capture())
+        .startsWith("\tat " + StackTraceCapture.class.getName() + ".capture(")
+        .contains(StackTraceCaptureTest.class.getName() + ".capturesCallerFrames(");
+  }
+
+  @Test
+  void limitsCapturesPerSecond() {
+    StackTraceCapture capture = new StackTraceCapture(10, 2, nanoTime::get);
+
+    assertThat(capture.capture()).isNotNull();
+    assertThat(capture.capture()).isNotNull();
+    assertThat(capture.capture()).isNull();
+
+    nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertThat(capture.capture()).isNotNull();
+  }
+
+  @Test
+  void invalidLimits() {
+    assertThatThrownBy(() -> new StackTraceCapture(0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new StackTraceCapture(1, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}